@@ -0,0 +1,54 @@
+#!/usr/bin/env bash
+# 响应编码对比：JSON / CBOR / Smile，分别在不压缩和 gzip 下统计网络字节数与耗时
+#
+# 用法：scripts/benchmark-encoding.sh [服务地址] [轮数]
+#   需要管理员账号，默认 admin/admin，可通过 USERNAME、PASSWORD 环境变量覆盖。
+# 服务端的序列化耗时（压缩前字节数、平均微秒）见脚本最后输出的 /api/monitor/encoding。
+set -euo pipefail
+
+BASE=${1:-http://localhost:8080}
+ROUNDS=${2:-20}
+USERNAME=${USERNAME:-admin}
+PASSWORD=${PASSWORD:-admin}
+
+TOKEN=$(curl -s -H 'Content-Type: application/json' \
+  -d "{\"username\":\"$USERNAME\",\"password\":\"$PASSWORD\"}" \
+  "$BASE/api/auth/login" | sed -n 's/.*"token":"\([^"]*\)".*/\1/p')
+if [[ -z "$TOKEN" ]]; then
+  echo "登录失败" >&2
+  exit 1
+fi
+
+ENDPOINTS=(
+  "/api/permissions/tree"
+  "/api/users?current=1&size=100"
+  "/api/roles?current=1&size=100"
+  "/api/permissions/menus"
+)
+ACCEPTS=("application/json" "application/cbor" "application/x-jackson-smile")
+ENCODINGS=("identity" "gzip")
+
+curl -s -X DELETE -H "Authorization: Bearer $TOKEN" "$BASE/api/monitor/encoding" > /dev/null
+
+printf "%-34s %-30s %-9s %10s %10s\n" "接口" "Accept" "编码" "字节" "平均ms"
+for endpoint in "${ENDPOINTS[@]}"; do
+  for accept in "${ACCEPTS[@]}"; do
+    for encoding in "${ENCODINGS[@]}"; do
+      total=0 bytes=0
+      for ((i = 1; i <= ROUNDS; i++)); do
+        read -r size time < <(curl -s -o /dev/null -w '%{size_download} %{time_total}\n' \
+          -H "Authorization: Bearer $TOKEN" -H "Accept: $accept" -H "Accept-Encoding: $encoding" \
+          "$BASE$endpoint")
+        bytes=$size
+        total=$(awk -v a="$total" -v b="$time" 'BEGIN {print a + b}')
+      done
+      printf "%-34s %-30s %-9s %10d %10.2f\n" "$endpoint" "$accept" "$encoding" "$bytes" \
+        "$(awk -v t="$total" -v n="$ROUNDS" 'BEGIN {print t * 1000 / n}')"
+    done
+  done
+done
+
+echo
+echo "服务端序列化统计："
+curl -s -H "Authorization: Bearer $TOKEN" "$BASE/api/monitor/encoding"
+echo
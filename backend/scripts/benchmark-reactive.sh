@@ -0,0 +1,68 @@
+#!/usr/bin/env bash
+# 阻塞（Tomcat + JDBC）与非阻塞（Mono + R2DBC）读路径对比：高并发下的吞吐、JVM 线程数和连接占用
+#
+# 用法：scripts/benchmark-reactive.sh [服务地址] [并发连接数] [持续秒数]
+#   服务端需以 --reactive-read.enabled=true 启动；一万并发时还需放开 Tomcat 的连接上限，例如
+#   --server.tomcat.max-connections=12000 --server.tomcat.accept-count=2000，
+#   压测机需要 ulimit -n 大于并发连接数。
+#   依赖 wrk；需要管理员账号，默认 admin/admin，可通过 USERNAME、PASSWORD 环境变量覆盖。
+# 每轮压测期间每秒采样一次 /api/monitor/connections，输出 JVM 峰值线程数、JDBC/R2DBC 连接的峰值占用和等待数。
+set -euo pipefail
+
+BASE=${1:-http://localhost:8080}
+CONNECTIONS=${2:-10000}
+DURATION=${3:-30}
+THREADS=${WRK_THREADS:-$(nproc)}
+USERNAME=${USERNAME:-admin}
+PASSWORD=${PASSWORD:-admin}
+
+TOKEN=$(curl -s -H 'Content-Type: application/json' \
+  -d "{\"username\":\"$USERNAME\",\"password\":\"$PASSWORD\"}" \
+  "$BASE/api/auth/login" | sed -n 's/.*"token":"\([^"]*\)".*/\1/p')
+if [[ -z "$TOKEN" ]]; then
+  echo "登录失败" >&2
+  exit 1
+fi
+
+ENDPOINTS=("/auth/me" "/permissions/menus" "/roles/all")
+
+# 从 /api/monitor/connections 的 JSON 中取 "section":{..."key":值...}
+field() {
+  sed -n "s/.*\"$1\":{[^}]*\"$2\":\([0-9]*\).*/\1/p" <<< "$3"
+}
+
+sample_until() {
+  local pid=$1 peak_jdbc=0 wait_jdbc=0 peak_r2dbc=0 wait_r2dbc=0 json value
+  while kill -0 "$pid" 2>/dev/null; do
+    json=$(curl -s -m 2 -H "Authorization: Bearer $TOKEN" "$BASE/api/monitor/connections" || true)
+    value=$(field jdbc active "$json"); ((${value:-0} > peak_jdbc)) && peak_jdbc=$value
+    value=$(field jdbc awaiting "$json"); ((${value:-0} > wait_jdbc)) && wait_jdbc=$value
+    value=$(field r2dbc acquired "$json"); ((${value:-0} > peak_r2dbc)) && peak_r2dbc=$value
+    value=$(field r2dbc pending "$json"); ((${value:-0} > wait_r2dbc)) && wait_r2dbc=$value
+    sleep 1
+  done
+  json=$(curl -s -H "Authorization: Bearer $TOKEN" "$BASE/api/monitor/connections")
+  echo "$(field jvm peakThreads "$json") $peak_jdbc $wait_jdbc $peak_r2dbc $wait_r2dbc"
+}
+
+printf "%-10s %-20s %10s %10s %8s %9s %9s %9s %9s\n" \
+  "读路径" "接口" "请求/秒" "P99" "峰值线程" "JDBC占用" "JDBC等待" "R2DBC占用" "R2DBC等待"
+for endpoint in "${ENDPOINTS[@]}"; do
+  for mode in blocking reactive; do
+    if [[ $mode == reactive ]]; then url="$BASE/api/reactive$endpoint"; else url="$BASE/api$endpoint"; fi
+    curl -s -X DELETE -H "Authorization: Bearer $TOKEN" "$BASE/api/monitor/connections" > /dev/null
+
+    wrk -t"$THREADS" -c"$CONNECTIONS" -d"${DURATION}s" --latency \
+      -H "Authorization: Bearer $TOKEN" "$url" > "/tmp/benchmark-reactive-$mode.log" 2>&1 &
+    wrk_pid=$!
+    read -r peak_threads peak_jdbc wait_jdbc peak_r2dbc wait_r2dbc < <(sample_until "$wrk_pid")
+    wait "$wrk_pid" || true
+
+    rps=$(awk '/Requests\/sec/ {print $2}' "/tmp/benchmark-reactive-$mode.log")
+    p99=$(awk '$1 == "99%" {print $2}' "/tmp/benchmark-reactive-$mode.log")
+    printf "%-10s %-20s %10s %10s %8s %9s %9s %9s %9s\n" "$mode" "$endpoint" "${rps:--}" "${p99:--}" \
+      "${peak_threads:--}" "$peak_jdbc" "$wait_jdbc" "$peak_r2dbc" "$wait_r2dbc"
+    sleep 5
+  done
+done
+echo "wrk 原始输出见 /tmp/benchmark-reactive-*.log（只保留每种读路径的最后一轮）"
@@ -0,0 +1,47 @@
+#!/usr/bin/env bash
+# 启动耗时与内存对比：fat jar / AOT+CDS / GraalVM 原生镜像
+#
+# 先分别构建：
+#   mvn package                       -> target/paypro-admin-1.0.0.jar（fat jar）
+#   mvn -Pcds package                 -> target/paypro-admin-1.0.0.jar + target/lib + target/app.jsa
+#   mvn -Pnative native:compile       -> target/paypro-admin
+# 构建 cds 会覆盖 fat jar，可先把 fat jar 复制为 target/paypro-admin-fat.jar。
+#
+# 用法：scripts/benchmark-startup.sh [轮数]，需要可用的数据库（application-dev.yml）。
+set -euo pipefail
+
+cd "$(dirname "$0")/../target"
+ROUNDS=${1:-5}
+PORT=18080
+
+measure() {
+  local name=$1; shift
+  local total_ms=0 total_rss=0 ok=0
+  for ((i = 1; i <= ROUNDS; i++)); do
+    local start end pid rss
+    start=$(date +%s%3N)
+    "$@" --server.port=$PORT > "benchmark-$name.log" 2>&1 &
+    pid=$!
+    # 以 Spring Boot 的 Started 日志作为就绪标志
+    until grep -q "Started ManagementApplication" "benchmark-$name.log"; do
+      if ! kill -0 "$pid" 2>/dev/null; then
+        echo "$name 启动失败，见 target/benchmark-$name.log" >&2
+        return
+      fi
+      sleep 0.05
+    done
+    end=$(date +%s%3N)
+    rss=$(awk '/VmRSS/ {print $2}' "/proc/$pid/status")
+    kill "$pid" && wait "$pid" 2>/dev/null || true
+    total_ms=$((total_ms + end - start))
+    total_rss=$((total_rss + rss))
+    ok=$((ok + 1))
+  done
+  if ((ok > 0)); then
+    printf "%-10s 平均启动 %6d ms   平均RSS %6d MB\n" "$name" $((total_ms / ok)) $((total_rss / ok / 1024))
+  fi
+}
+
+[[ -f paypro-admin-fat.jar ]] && measure fat-jar java -jar paypro-admin-fat.jar
+[[ -f app.jsa ]] && measure aot-cds java -XX:SharedArchiveFile=app.jsa -Dspring.aot.enabled=true -jar paypro-admin-1.0.0.jar
+[[ -x paypro-admin ]] && measure native ./paypro-admin
@@ -1,13 +1,24 @@
 package com.india.management;
 
+import com.india.management.startup.CdsTrainingRun;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class ManagementApplication {
 
     public static void main(String[] args) {
-        SpringApplication.run(ManagementApplication.class, args);
+        SpringApplication application = new SpringApplication(ManagementApplication.class);
+        // 记录启动阶段耗时，由 StartupTimingReporter 汇总
+        application.setApplicationStartup(new BufferingApplicationStartup(4096));
+        if (CdsTrainingRun.isEnabled()) {
+            CdsTrainingRun.run(application, args);
+            return;
+        }
+        application.run(args);
     }
 
 }
@@ -0,0 +1,64 @@
+package com.india.management.archive;
+
+import java.util.List;
+
+/**
+ * 参与归档的表
+ * <p>
+ * 主表（带 deleted 列）归档逻辑删除的记录，归档时一并移走以这些记录为外键的关联表记录。
+ * 列清单与 schema.sql 中的 *_archive 表保持一致。
+ */
+public enum ArchiveTable {
+
+    USER_ROLE("sys_user_role", "id, user_id, role_id"),
+    ROLE_PERMISSION("sys_role_permission", "id, role_id, permission_id"),
+
+    USER("sys_user", "id, username, password, email, full_name, enabled, create_time, update_time, version, deleted",
+            new Link(USER_ROLE, "user_id")),
+    ROLE("sys_role", "id, name, code, description, create_time, update_time, version, deleted",
+            new Link(USER_ROLE, "role_id"), new Link(ROLE_PERMISSION, "role_id")),
+    PERMISSION("sys_permission", "id, code, name, description, type, path, component, icon, sort, parent_id, "
+            + "create_time, update_time, version, deleted",
+            new Link(ROLE_PERMISSION, "permission_id")),
+    MERCHANT("sys_merchant", "id, code, name, contact_person, contact_phone, email, address, status, business_type, "
+            + "description, create_time, update_time, deleted");
+
+    /**
+     * 关联表及其指向主表的外键列
+     */
+    public record Link(ArchiveTable table, String foreignKey) {
+    }
+
+    private final String table;
+    private final String columns;
+    private final List<Link> links;
+
+    ArchiveTable(String table, String columns, Link... links) {
+        this.table = table;
+        this.columns = columns;
+        this.links = List.of(links);
+    }
+
+    public String getTable() {
+        return table;
+    }
+
+    public String getArchiveTable() {
+        return table + "_archive";
+    }
+
+    public String getColumns() {
+        return columns;
+    }
+
+    public List<Link> getLinks() {
+        return links;
+    }
+
+    /**
+     * 关联表自身没有 deleted 列，只随主表归档
+     */
+    public boolean isSoftDeleted() {
+        return columns.endsWith("deleted");
+    }
+}
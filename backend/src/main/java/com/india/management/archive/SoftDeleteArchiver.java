@@ -0,0 +1,242 @@
+package com.india.management.archive;
+
+import com.india.management.mapper.ArchiveMapper;
+import com.india.management.mapper.UserIndexMapper;
+import com.india.management.sharding.UserShardRouter;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * 逻辑删除数据归档
+ * <p>
+ * 逻辑删除的用户、角色、权限、商户会一直留在热表里，所有查询都要带 deleted = 0，唯一键也不能复用。
+ * 这里定时把它们连同关联表中的记录分批移入 *_archive 表：每批按主键取少量ID，
+ * 在一个短事务内复制并删除，批次之间暂停，避免长时间持有行锁、占满 IO。
+ * 归档在独立线程中执行，不占用定时任务线程（缓存失效总线的拉取同样依赖它）。
+ * 多节点同时执行时复制使用 INSERT IGNORE，删除按主键进行，重复执行没有副作用。
+ * 开启分库时用户在每个分片上分别归档，归档后删除主库中对应的全局索引，用户名和邮箱随之释放；
+ * 角色的用户关联记录在每个分片上移走，分片上的角色、权限副本由主数据同步删除。
+ */
+@Component
+@Slf4j
+public class SoftDeleteArchiver {
+
+    private final ArchiveMapper archiveMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final UserShardRouter userShardRouter;
+    private final UserIndexMapper userIndexMapper;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "soft-delete-archiver");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final Map<ArchiveTable, Long> backlog = new ConcurrentHashMap<>();
+    private final Map<ArchiveTable, LongAdder> archived = new EnumMap<>(ArchiveTable.class);
+    private final LongAdder runs = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+
+    private volatile long lastRunTime;
+    private volatile long lastRunDuration;
+    private volatile long lastRunRows;
+
+    @Value("${archive.enabled:true}")
+    private boolean enabled;
+
+    @Value("${archive.batch-size:200}")
+    private int batchSize;
+
+    @Value("${archive.batch-pause:200}")
+    private long batchPauseMs;
+
+    @Value("${archive.max-batches:50}")
+    private int maxBatches;
+
+    public SoftDeleteArchiver(ArchiveMapper archiveMapper, TransactionTemplate transactionTemplate,
+                              UserShardRouter userShardRouter, UserIndexMapper userIndexMapper) {
+        this.archiveMapper = archiveMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.userShardRouter = userShardRouter;
+        this.userIndexMapper = userIndexMapper;
+        for (ArchiveTable table : ArchiveTable.values()) {
+            archived.put(table, new LongAdder());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${archive.interval:600000}", initialDelayString = "${archive.initial-delay:120000}")
+    public void scheduledRun() {
+        if (enabled) {
+            trigger();
+        }
+    }
+
+    /**
+     * 在归档线程中执行一轮归档，已在执行时返回 false
+     */
+    public boolean trigger() {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        executor.execute(this::run);
+        return true;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 每张主表最多归档 max-batches 批
+     */
+    private void run() {
+        long start = System.currentTimeMillis();
+        long rows = 0;
+        try {
+            for (ArchiveTable table : ArchiveTable.values()) {
+                if (table.isSoftDeleted()) {
+                    rows += archiveTable(table);
+                }
+            }
+            runs.increment();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            errors.increment();
+            log.error("归档逻辑删除数据失败: {}", e.getMessage());
+        } finally {
+            lastRunTime = start;
+            lastRunDuration = System.currentTimeMillis() - start;
+            lastRunRows = rows;
+            running.set(false);
+        }
+        if (rows > 0) {
+            log.info("归档逻辑删除数据 {} 条，耗时 {} ms", rows, lastRunDuration);
+        }
+    }
+
+    /**
+     * 开启分库时用户表逐个分片归档，其他表在主库归档
+     */
+    private long archiveTable(ArchiveTable table) throws InterruptedException {
+        List<Integer> shards = new ArrayList<>();
+        if (table == ArchiveTable.USER && userShardRouter.isEnabled()) {
+            IntStream.range(0, userShardRouter.shardCount()).forEach(shards::add);
+        } else {
+            shards.add(null);
+        }
+        long rows = 0;
+        long pending = 0;
+        for (Integer shard : shards) {
+            rows += archiveBatches(table, shard);
+            pending += at(shard, () -> archiveMapper.countDeleted(table.getTable()));
+        }
+        backlog.put(table, pending);
+        return rows;
+    }
+
+    private long archiveBatches(ArchiveTable table, Integer shard) throws InterruptedException {
+        long rows = 0;
+        for (int batch = 0; batch < maxBatches; batch++) {
+            List<Long> ids = at(shard, () -> archiveMapper.selectDeletedIds(table.getTable(), batchSize));
+            if (ids.isEmpty()) {
+                break;
+            }
+            Integer moved = at(shard, () -> transactionTemplate.execute(status -> archiveBatch(table, ids)));
+            if (shard != null) {
+                // 分片上的用户已移走，释放全局索引中的用户名和邮箱
+                userShardRouter.onPrimary(() -> userIndexMapper.deleteBatchIds(ids));
+            }
+            rows += moved == null ? 0 : moved;
+            if (ids.size() < batchSize) {
+                break;
+            }
+            Thread.sleep(batchPauseMs);
+        }
+        return rows;
+    }
+
+    /**
+     * shard 为 null 时在主库执行
+     */
+    private <T> T at(Integer shard, Supplier<T> action) {
+        return shard == null ? userShardRouter.onPrimary(action) : userShardRouter.onShard(shard, action);
+    }
+
+    /**
+     * 先移走关联表记录，再移走主表记录，同一事务内完成
+     */
+    private int archiveBatch(ArchiveTable table, List<Long> ids) {
+        long now = System.currentTimeMillis();
+        for (ArchiveTable.Link link : table.getLinks()) {
+            archiveLink(link, ids, now);
+            if (link.table() == ArchiveTable.USER_ROLE && table != ArchiveTable.USER && userShardRouter.isEnabled()) {
+                // 用户角色关系分布在各分片上，每个分片各自一个事务
+                for (int shard = 0; shard < userShardRouter.shardCount(); shard++) {
+                    userShardRouter.inShardTransaction(shard, () -> {
+                        archiveLink(link, ids, now);
+                        return null;
+                    });
+                }
+            }
+        }
+        archiveMapper.copyToArchive(table.getTable(), table.getArchiveTable(), table.getColumns(),
+                "id", ids, true, now);
+        int count = archiveMapper.deleteByKeys(table.getTable(), "id", ids, true);
+        archived.get(table).add(count);
+        return count;
+    }
+
+    private void archiveLink(ArchiveTable.Link link, List<Long> ids, long now) {
+        ArchiveTable linkTable = link.table();
+        archiveMapper.copyToArchive(linkTable.getTable(), linkTable.getArchiveTable(), linkTable.getColumns(),
+                link.foreignKey(), ids, false, now);
+        int count = archiveMapper.deleteByKeys(linkTable.getTable(), link.foreignKey(), ids, false);
+        archived.get(linkTable).add(count);
+    }
+
+    /**
+     * 统计信息：各表待归档数（上次执行后）、累计归档数和上次执行的归档速率
+     */
+    public Map<String, Object> statistics() {
+        Map<String, Object> tables = new LinkedHashMap<>();
+        for (ArchiveTable table : ArchiveTable.values()) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            if (table.isSoftDeleted()) {
+                item.put("backlog", backlog.get(table));
+            }
+            item.put("archived", archived.get(table).sum());
+            tables.put(table.getTable(), item);
+        }
+
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("enabled", enabled);
+        map.put("running", running.get());
+        map.put("runs", runs.sum());
+        map.put("errors", errors.sum());
+        map.put("lastRunTime", lastRunTime);
+        map.put("lastRunDurationMs", lastRunDuration);
+        map.put("lastRunRows", lastRunRows);
+        map.put("lastRunRowsPerSecond", lastRunDuration == 0 ? 0.0 : lastRunRows * 1000.0 / lastRunDuration);
+        map.put("tables", tables);
+        return map;
+    }
+}
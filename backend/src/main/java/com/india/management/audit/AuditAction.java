@@ -0,0 +1,10 @@
+package com.india.management.audit;
+
+/**
+ * 审计操作类型
+ */
+public enum AuditAction {
+    CREATE,
+    UPDATE,
+    DELETE
+}
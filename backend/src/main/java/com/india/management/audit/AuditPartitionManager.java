@@ -0,0 +1,84 @@
+package com.india.management.audit;
+
+import com.india.management.mapper.AuditLogMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * 审计表分区维护
+ * <p>
+ * 审计表按月分区（分区名 pYYYYMM，上界为下月1日零点的毫秒时间戳），
+ * 每天检查一次：提前创建未来几个月的分区，并删除超出保留期的旧分区。
+ * 多节点同时执行时，后执行的 DDL 会失败并被忽略。
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AuditPartitionManager {
+
+    private static final DateTimeFormatter PARTITION_FORMAT = DateTimeFormatter.ofPattern("'p'yyyyMM");
+
+    private final AuditLogMapper auditLogMapper;
+
+    @Value("${audit.partition.months-ahead:2}")
+    private int monthsAhead;
+
+    @Value("${audit.partition.retention-months:12}")
+    private int retentionMonths;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        maintain();
+    }
+
+    @Scheduled(cron = "${audit.partition.cron:0 10 3 * * ?}")
+    public void maintain() {
+        try {
+            List<String> partitions = auditLogMapper.selectPartitionNames();
+            if (partitions.isEmpty()) {
+                log.warn("审计表未分区，跳过分区维护");
+                return;
+            }
+
+            YearMonth current = YearMonth.now();
+            String latest = partitions.stream()
+                    .filter(name -> !"p_future".equals(name))
+                    .reduce((first, second) -> second)
+                    .orElse(null);
+
+            for (int i = 0; i <= monthsAhead; i++) {
+                YearMonth month = current.plusMonths(i);
+                String name = month.format(PARTITION_FORMAT);
+                if (latest != null && name.compareTo(latest) <= 0) {
+                    continue;
+                }
+                long lessThan = month.plusMonths(1).atDay(1).atStartOfDay(ZoneId.systemDefault())
+                        .toInstant().toEpochMilli();
+                auditLogMapper.addPartition(name, lessThan);
+                log.info("创建审计分区: {}", name);
+            }
+
+            if (retentionMonths > 0) {
+                String oldest = current.minusMonths(retentionMonths).format(PARTITION_FORMAT);
+                for (String name : partitions) {
+                    if (!"p_future".equals(name) && name.compareTo(oldest) < 0) {
+                        auditLogMapper.dropPartition(name);
+                        log.info("删除过期审计分区: {}", name);
+                    }
+                }
+            }
+        } catch (Exception e) {
+            log.warn("审计分区维护失败: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.india.management.audit;
+
+/**
+ * 审计对象类型
+ */
+public enum AuditTarget {
+    USER,
+    ROLE,
+    PERMISSION,
+    MERCHANT
+}
@@ -0,0 +1,208 @@
+package com.india.management.audit;
+
+import com.india.management.encoding.JsonWriters;
+import com.india.management.entity.AuditLog;
+import com.india.management.mapper.AuditLogMapper;
+import com.india.management.security.UserPrincipal;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 异步审计日志
+ * <p>
+ * 业务线程只把事件放入有界环形队列（事务提交后才入队，回滚的操作不记录），
+ * 后台写线程批量取出并用一条多值 INSERT 写入 sys_audit_log。
+ * 队列满时业务线程最多等待 offer-timeout 毫秒，仍然放不进去则丢弃并计数，不会拖慢业务请求。
+ * 应用关闭时写线程会把队列中剩余的事件全部写完。
+ */
+@Component
+@Slf4j
+public class AuditTrail {
+
+    private final AuditLogMapper auditLogMapper;
+    private final JsonWriters jsonWriters;
+
+    @Value("${audit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${audit.queue-capacity:8192}")
+    private int queueCapacity;
+
+    @Value("${audit.batch-size:500}")
+    private int batchSize;
+
+    @Value("${audit.flush-interval:1000}")
+    private long flushIntervalMs;
+
+    @Value("${audit.offer-timeout:10}")
+    private long offerTimeoutMs;
+
+    private ArrayBlockingQueue<AuditLog> queue;
+    private Thread writer;
+    private volatile boolean running;
+
+    private final LongAdder enqueued = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    public AuditTrail(AuditLogMapper auditLogMapper, JsonWriters jsonWriters) {
+        this.auditLogMapper = auditLogMapper;
+        this.jsonWriters = jsonWriters;
+    }
+
+    @PostConstruct
+    public void start() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        running = true;
+        writer = new Thread(this::runWriter, "audit-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * 不中断写线程：中断标记会留到最后的写入，连接池取连接时直接失败，剩余事件被丢弃。
+     * 写线程最多在一个 flush-interval 后从 poll 醒来，看到停止标记后写完剩余事件
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        writer.join(flushIntervalMs + TimeUnit.SECONDS.toMillis(10));
+        log.info("审计日志写线程已停止，剩余未写入: {}", queue.size());
+    }
+
+    /**
+     * 记录一条审计事件，在事务内调用时于提交后入队
+     *
+     * @param detail 变更详情，序列化为 JSON 保存
+     */
+    public void record(AuditAction action, AuditTarget target, Long targetId, Map<String, Object> detail) {
+        if (!enabled) {
+            return;
+        }
+
+        AuditLog auditLog = new AuditLog();
+        auditLog.setAction(action.name());
+        auditLog.setTargetType(target.name());
+        auditLog.setTargetId(targetId);
+        auditLog.setDetail(toJson(detail));
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal) {
+            auditLog.setOperatorId(principal.getId());
+            auditLog.setOperatorName(principal.getUsername());
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(auditLog);
+                }
+            });
+        } else {
+            enqueue(auditLog);
+        }
+    }
+
+    /**
+     * 构建变更详情，参数按 key、value 交替传入，value 可以为 null
+     */
+    public static Map<String, Object> details(Object... keyValues) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        for (int i = 0; i + 1 < keyValues.length; i += 2) {
+            map.put(String.valueOf(keyValues[i]), keyValues[i + 1]);
+        }
+        return map;
+    }
+
+    public Map<String, Object> statistics() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("enabled", enabled);
+        map.put("queueSize", queue.size());
+        map.put("queueCapacity", queueCapacity);
+        map.put("enqueued", enqueued.sum());
+        map.put("dropped", dropped.sum());
+        map.put("written", written.sum());
+        map.put("batches", batches.sum());
+        map.put("failed", failed.sum());
+        return map;
+    }
+
+    private void enqueue(AuditLog auditLog) {
+        auditLog.setCreateTime(System.currentTimeMillis());
+        try {
+            if (queue.offer(auditLog, offerTimeoutMs, TimeUnit.MILLISECONDS)) {
+                enqueued.increment();
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        dropped.increment();
+        log.warn("审计队列已满，丢弃事件: {} {} {}", auditLog.getAction(), auditLog.getTargetType(), auditLog.getTargetId());
+    }
+
+    private void runWriter() {
+        List<AuditLog> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                AuditLog first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                flush(batch);
+            } catch (InterruptedException e) {
+                // 意外中断也按停止处理，退出循环后写完剩余事件
+                break;
+            }
+        }
+
+        // 清除中断标记，否则最后的写入在取连接时就会失败
+        Thread.interrupted();
+        while (queue.drainTo(batch, batchSize) > 0) {
+            flush(batch);
+        }
+    }
+
+    private void flush(List<AuditLog> batch) {
+        try {
+            auditLogMapper.insertBatch(batch);
+            written.add(batch.size());
+            batches.increment();
+        } catch (Exception e) {
+            failed.add(batch.size());
+            log.error("审计日志写入失败，丢弃 {} 条: {}", batch.size(), e.getMessage());
+        } finally {
+            batch.clear();
+        }
+    }
+
+    private String toJson(Map<String, Object> detail) {
+        if (detail == null || detail.isEmpty()) {
+            return null;
+        }
+        try {
+            return jsonWriters.writeMap(detail);
+        } catch (Exception e) {
+            return String.valueOf(detail);
+        }
+    }
+}
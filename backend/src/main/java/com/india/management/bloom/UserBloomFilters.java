@@ -0,0 +1,293 @@
+package com.india.management.bloom;
+
+import com.india.management.cache.CacheInvalidationBus;
+import com.india.management.cache.CacheInvalidationListener;
+import com.india.management.cache.CacheRegion;
+import com.india.management.entity.User;
+import com.india.management.sharding.UserShardRouter;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * 用户名、邮箱的布隆过滤器
+ * <p>
+ * 启动就绪后全量扫描 sys_user（包括已逻辑删除、尚未归档的记录，它们仍占用唯一键；开启分库时扫描主库的全局索引）构建，
+ * 之后按 USER 缓存失效事件把新建或修改后的用户名、邮箱加入过滤器；布隆过滤器不支持删除，
+ * 删除和归档腾出的值要等下一次定时重建才会移出，期间只会多一次数据库确认，不会误判为不存在。
+ * 登录、注册和可用性检查在过滤器判定"一定不存在"时跳过数据库查询；
+ * 过滤器未就绪、值含非 ASCII 字符（库表排序规则对重音、全角等不敏感，无法在这里等价归一化）时一律视为可能存在。
+ * 其他节点的变更经缓存失效总线延迟约一个拉取周期到达，数据库唯一键仍是最终依据。
+ * <p>
+ * 登录的"一定不存在"会直接拒绝真实用户，只在过滤器确认是最新的时候采用：缓存失效总线正常拉取
+ * （{@link CacheInvalidationBus#isCurrent()}），且没有读取失败而漏加的变更；否则照常查库，记为 untrustedNegatives。
+ */
+@Component
+@Slf4j
+public class UserBloomFilters implements CacheInvalidationListener {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    private final UserShardRouter userShardRouter;
+    private final CacheInvalidationBus cacheInvalidationBus;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "user-bloom-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean rebuildScheduled = new AtomicBoolean();
+    /** 重建期间加入的值，新过滤器替换后补录，避免扫描开始后提交的变更丢失 */
+    private final Queue<User> pendingDuringRebuild = new ConcurrentLinkedQueue<>();
+    private volatile boolean rebuilding;
+    /** 漏加变更的次数；重建开始时记下该值，成功后即覆盖了此前所有漏加的变更 */
+    private final AtomicLong missedUpdates = new AtomicLong();
+    private volatile long coveredMissedUpdates;
+
+    private volatile BloomFilter usernames;
+    private volatile BloomFilter emails;
+
+    private final LongAdder definiteNegatives = new LongAdder();
+    private final LongAdder possiblePositives = new LongAdder();
+    private final LongAdder bypassed = new LongAdder();
+    private final LongAdder untrustedNegatives = new LongAdder();
+    private final LongAdder rebuilds = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private volatile long lastRebuildTime;
+    private volatile long lastRebuildDuration;
+
+    @Value("${bloom.enabled:true}")
+    private boolean enabled;
+
+    @Value("${bloom.expected-insertions:100000}")
+    private long expectedInsertions;
+
+    @Value("${bloom.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    public UserBloomFilters(UserShardRouter userShardRouter, CacheInvalidationBus cacheInvalidationBus) {
+        this.userShardRouter = userShardRouter;
+        this.cacheInvalidationBus = cacheInvalidationBus;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        if (enabled) {
+            trigger();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${bloom.rebuild-interval:3600000}", initialDelayString = "${bloom.rebuild-interval:3600000}")
+    public void scheduledRebuild() {
+        if (enabled) {
+            trigger();
+        }
+    }
+
+    /**
+     * 在重建线程中全量重建过滤器，已有重建在排队时返回 false
+     */
+    public boolean trigger() {
+        if (!rebuildScheduled.compareAndSet(false, true)) {
+            return false;
+        }
+        executor.execute(this::rebuild);
+        return true;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public boolean mightContainUsername(String username) {
+        return mightContain(usernames, username);
+    }
+
+    public boolean mightContainEmail(String email) {
+        return mightContain(emails, email);
+    }
+
+    /**
+     * 登录用：过滤器判定不存在且确认是最新的时返回 true，可以不查库直接拒绝
+     */
+    public boolean definitelyAbsentUsername(String username) {
+        if (mightContain(usernames, username)) {
+            return false;
+        }
+        if (cacheInvalidationBus.isCurrent() && coveredMissedUpdates == missedUpdates.get()) {
+            return true;
+        }
+        untrustedNegatives.increment();
+        return false;
+    }
+
+    @Override
+    public void onInvalidate(CacheRegion region, Long entityId) {
+        // 首次构建开始前的变更会被扫描覆盖
+        if (region != CacheRegion.USER || (usernames == null && !rebuilding)) {
+            return;
+        }
+        if (entityId == null) {
+            missedUpdates.incrementAndGet();
+            trigger();
+            return;
+        }
+        try {
+            User user = userShardRouter.selectIdentityById(entityId);
+            if (user != null) {
+                add(user);
+            }
+        } catch (Exception e) {
+            // 读不到最新值时整体重建，重建完成前新用户名可能被判定为不存在
+            log.warn("读取用户 {} 加入布隆过滤器失败，改为全量重建: {}", entityId, e.getMessage());
+            missedUpdates.incrementAndGet();
+            trigger();
+        }
+    }
+
+    /**
+     * 先登记补录再写入当前过滤器：若写入的是即将被替换的旧过滤器，登记一定发生在替换之前，会被补录
+     */
+    private void add(User user) {
+        if (rebuilding) {
+            pendingDuringRebuild.add(user);
+        }
+        put(usernames, emails, user);
+    }
+
+    private void rebuild() {
+        rebuildScheduled.set(false);
+        long start = System.currentTimeMillis();
+        long missed = missedUpdates.get();
+        rebuilding = true;
+        pendingDuringRebuild.clear();
+        try {
+            long count = userShardRouter.countIdentities();
+            long capacity = Math.max(expectedInsertions, count * 2);
+            BloomFilter newUsernames = BloomFilter.create(capacity, falsePositiveRate);
+            BloomFilter newEmails = BloomFilter.create(capacity, falsePositiveRate);
+            userShardRouter.scanIdentities(context -> put(newUsernames, newEmails, context.getResultObject()));
+
+            usernames = newUsernames;
+            emails = newEmails;
+            rebuilding = false;
+            User pending;
+            while ((pending = pendingDuringRebuild.poll()) != null) {
+                put(newUsernames, newEmails, pending);
+            }
+
+            coveredMissedUpdates = missed;
+            rebuilds.increment();
+            lastRebuildTime = start;
+            lastRebuildDuration = System.currentTimeMillis() - start;
+            log.info("用户布隆过滤器重建完成，{} 个用户，容量 {}，耗时 {} ms",
+                    newUsernames.getInsertions(), capacity, lastRebuildDuration);
+        } catch (Exception e) {
+            errors.increment();
+            log.error("用户布隆过滤器重建失败: {}", e.getMessage(), e);
+        } finally {
+            rebuilding = false;
+        }
+    }
+
+    private static void put(BloomFilter usernameFilter, BloomFilter emailFilter, User user) {
+        if (usernameFilter == null) {
+            return;
+        }
+        String username = normalize(user.getUsername());
+        if (username != null) {
+            usernameFilter.put(username);
+        }
+        String email = normalize(user.getEmail());
+        if (email != null) {
+            emailFilter.put(email);
+        }
+    }
+
+    private boolean mightContain(BloomFilter filter, String value) {
+        String key = normalize(value);
+        if (!enabled || filter == null || key == null || !isAscii(key)) {
+            bypassed.increment();
+            return true;
+        }
+        if (filter.mightContain(key)) {
+            possiblePositives.increment();
+            return true;
+        }
+        definiteNegatives.increment();
+        return false;
+    }
+
+    /**
+     * 近似 utf8mb4_unicode_ci 的比较：去掉首尾空白、去掉重音符号、转小写
+     */
+    private static String normalize(String value) {
+        if (value == null) {
+            return null;
+        }
+        String decomposed = Normalizer.normalize(value.trim(), Normalizer.Form.NFKD);
+        return COMBINING_MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean isAscii(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) > 0x7f) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 统计信息：过滤器参数、判定次数和上次重建情况
+     */
+    public Map<String, Object> statistics() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("enabled", enabled);
+        map.put("ready", usernames != null);
+        map.put("rebuilding", rebuilding);
+        map.put("definiteNegatives", definiteNegatives.sum());
+        map.put("possiblePositives", possiblePositives.sum());
+        map.put("bypassed", bypassed.sum());
+        map.put("untrustedNegatives", untrustedNegatives.sum());
+        map.put("missedUpdates", missedUpdates.get() - coveredMissedUpdates);
+        map.put("rebuilds", rebuilds.sum());
+        map.put("errors", errors.sum());
+        map.put("lastRebuildTime", lastRebuildTime);
+        map.put("lastRebuildDurationMs", lastRebuildDuration);
+        map.put("username", describe(usernames));
+        map.put("email", describe(emails));
+        return map;
+    }
+
+    private static Map<String, Object> describe(BloomFilter filter) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        if (filter != null) {
+            map.put("insertions", filter.getInsertions());
+            map.put("expectedInsertions", filter.getExpectedInsertions());
+            map.put("bitSize", filter.getBitSize());
+            map.put("hashFunctions", filter.getHashFunctions());
+            map.put("targetFalsePositiveRate", filter.getFalsePositiveRate());
+            map.put("estimatedFalsePositiveRate", filter.estimatedFalsePositiveRate());
+        }
+        return map;
+    }
+}
@@ -0,0 +1,286 @@
+package com.india.management.cache;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.india.management.entity.CacheEvent;
+import com.india.management.mapper.CacheEventMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.cache.Cache;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.StringUtils;
+
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 跨节点缓存失效总线
+ * <p>
+ * 发布：在业务事务内向 sys_cache_event 写入一条事件（事务性 outbox），事务提交后立即通知本节点监听器。
+ * 订阅：每个节点定时拉取其他节点写入的新事件，清空对应的 MyBatis 缓存并通知本节点监听器。
+ * <p>
+ * 自增ID按分配顺序而非提交顺序可见，拉取时跳过的ID会作为“空洞”继续补查一段时间，避免漏掉晚提交的事件。
+ */
+@Component
+@Slf4j
+public class CacheInvalidationBus {
+
+    private final CacheEventMapper cacheEventMapper;
+    private final SqlSessionFactory sqlSessionFactory;
+    private final ObjectProvider<CacheInvalidationListener> listeners;
+
+    @Value("${cache.bus.enabled:true}")
+    private boolean enabled;
+
+    @Value("${cache.bus.node-id:}")
+    private String nodeId;
+
+    @Value("${cache.bus.batch-size:500}")
+    private int batchSize;
+
+    @Value("${cache.bus.gap-timeout:10000}")
+    private long gapTimeoutMs;
+
+    @Value("${cache.bus.retention:600000}")
+    private long retentionMs;
+
+    @Value("${cache.bus.poll-interval:500}")
+    private long pollIntervalMs;
+
+    private volatile long lastEventId = -1;
+    private volatile long lastPollSuccess;
+
+    /**
+     * 尚未出现的事件ID -> 首次发现空洞的时间
+     */
+    private final Map<Long, Long> pendingGaps = new ConcurrentHashMap<>();
+
+    private final LongAdder published = new LongAdder();
+    private final LongAdder applied = new LongAdder();
+    private final LongAdder pollErrors = new LongAdder();
+    private final LongAdder delayTotal = new LongAdder();
+    private final AtomicLong delayMax = new AtomicLong();
+    private volatile long lastDelay;
+
+    public CacheInvalidationBus(CacheEventMapper cacheEventMapper,
+                                SqlSessionFactory sqlSessionFactory,
+                                ObjectProvider<CacheInvalidationListener> listeners) {
+        this.cacheEventMapper = cacheEventMapper;
+        this.sqlSessionFactory = sqlSessionFactory;
+        this.listeners = listeners;
+    }
+
+    @PostConstruct
+    public void init() {
+        if (!StringUtils.hasText(nodeId)) {
+            String host;
+            try {
+                host = InetAddress.getLocalHost().getHostName();
+            } catch (Exception e) {
+                host = "unknown";
+            }
+            nodeId = host + "-" + UUID.randomUUID().toString().substring(0, 8);
+        }
+        log.info("缓存失效总线节点ID: {}", nodeId);
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * 发布失效事件，需在修改数据的同一事务内调用
+     *
+     * @param region   缓存区域
+     * @param entityId 实体ID，为 null 表示整个区域
+     */
+    public void publish(CacheRegion region, Long entityId) {
+        if (enabled) {
+            CacheEvent event = new CacheEvent(null, region.name(), entityId, nodeId, System.currentTimeMillis());
+            cacheEventMapper.insert(event);
+            published.increment();
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    notifyListeners(region, entityId);
+                }
+            });
+        } else {
+            notifyListeners(region, entityId);
+        }
+    }
+
+    /**
+     * 拉取并应用其他节点的失效事件
+     */
+    @Scheduled(fixedDelayString = "${cache.bus.poll-interval:500}")
+    public void poll() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            if (lastEventId < 0) {
+                lastEventId = selectMaxEventId();
+                lastPollSuccess = System.currentTimeMillis();
+                return;
+            }
+
+            List<CacheEvent> events = new ArrayList<>();
+            if (!pendingGaps.isEmpty()) {
+                LambdaQueryWrapper<CacheEvent> gapWrapper = new LambdaQueryWrapper<>();
+                gapWrapper.in(CacheEvent::getId, pendingGaps.keySet());
+                List<CacheEvent> lateEvents = cacheEventMapper.selectList(gapWrapper);
+                lateEvents.forEach(event -> pendingGaps.remove(event.getId()));
+                events.addAll(lateEvents);
+            }
+
+            LambdaQueryWrapper<CacheEvent> wrapper = new LambdaQueryWrapper<>();
+            wrapper.gt(CacheEvent::getId, lastEventId)
+                    .orderByAsc(CacheEvent::getId)
+                    .last("LIMIT " + batchSize);
+            List<CacheEvent> newEvents = cacheEventMapper.selectList(wrapper);
+
+            long now = System.currentTimeMillis();
+            long expected = lastEventId + 1;
+            for (CacheEvent event : newEvents) {
+                for (long gapId = expected; gapId < event.getId() && pendingGaps.size() < batchSize; gapId++) {
+                    pendingGaps.put(gapId, now);
+                }
+                expected = event.getId() + 1;
+                lastEventId = event.getId();
+            }
+            events.addAll(newEvents);
+
+            expireGaps(now);
+            events.forEach(this::apply);
+            lastPollSuccess = now;
+        } catch (Exception e) {
+            pollErrors.increment();
+            log.error("拉取缓存失效事件失败: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 是否在正常接收其他节点的事件：总线开启、最近三个拉取周期内拉取成功、没有等待中的空洞。
+     * 此时其他节点的变更最多延迟约一个拉取周期到达
+     */
+    public boolean isCurrent() {
+        return enabled && System.currentTimeMillis() - lastPollSuccess <= 3 * pollIntervalMs && pendingGaps.isEmpty();
+    }
+
+    /**
+     * 清理过期事件
+     */
+    @Scheduled(fixedDelayString = "${cache.bus.purge-interval:60000}")
+    public void purge() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            LambdaQueryWrapper<CacheEvent> wrapper = new LambdaQueryWrapper<>();
+            wrapper.lt(CacheEvent::getCreateTime, System.currentTimeMillis() - retentionMs);
+            int count = cacheEventMapper.delete(wrapper);
+            if (count > 0) {
+                log.info("清理过期缓存失效事件: {} 条", count);
+            }
+        } catch (Exception e) {
+            log.error("清理缓存失效事件失败: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 统计信息
+     */
+    public Map<String, Object> statistics() {
+        long appliedCount = applied.sum();
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("nodeId", nodeId);
+        map.put("enabled", enabled);
+        map.put("lastEventId", lastEventId);
+        map.put("pendingGaps", pendingGaps.size());
+        map.put("published", published.sum());
+        map.put("applied", appliedCount);
+        map.put("pollErrors", pollErrors.sum());
+        map.put("current", isCurrent());
+        map.put("lastDelayMs", lastDelay);
+        map.put("maxDelayMs", delayMax.get());
+        map.put("avgDelayMs", appliedCount == 0 ? 0.0 : (double) delayTotal.sum() / appliedCount);
+        return map;
+    }
+
+    private void apply(CacheEvent event) {
+        if (nodeId.equals(event.getNodeId())) {
+            // 本节点事件已在事务提交时处理
+            return;
+        }
+
+        CacheRegion region;
+        try {
+            region = CacheRegion.valueOf(event.getRegion());
+        } catch (IllegalArgumentException e) {
+            log.warn("未知的缓存区域: {}", event.getRegion());
+            return;
+        }
+
+        Configuration configuration = sqlSessionFactory.getConfiguration();
+        if (configuration.getCacheNames().contains(region.getNamespace())) {
+            Cache cache = configuration.getCache(region.getNamespace());
+            cache.clear();
+        }
+        notifyListeners(region, event.getEntityId());
+
+        // 跨节点时延依赖各节点时钟同步
+        long delay = Math.max(0, System.currentTimeMillis() - event.getCreateTime());
+        applied.increment();
+        delayTotal.add(delay);
+        delayMax.accumulateAndGet(delay, Math::max);
+        lastDelay = delay;
+    }
+
+    private void notifyListeners(CacheRegion region, Long entityId) {
+        listeners.orderedStream().forEach(listener -> {
+            try {
+                listener.onInvalidate(region, entityId);
+            } catch (Exception e) {
+                log.error("缓存失效监听器执行失败: {}", listener.getClass().getSimpleName(), e);
+            }
+        });
+    }
+
+    private void expireGaps(long now) {
+        Iterator<Map.Entry<Long, Long>> iterator = pendingGaps.entrySet().iterator();
+        while (iterator.hasNext()) {
+            if (now - iterator.next().getValue() > gapTimeoutMs) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private long selectMaxEventId() {
+        QueryWrapper<CacheEvent> wrapper = new QueryWrapper<>();
+        wrapper.select("IFNULL(MAX(id), 0)");
+        List<Object> result = cacheEventMapper.selectObjs(wrapper);
+        if (result.isEmpty() || result.get(0) == null) {
+            return 0;
+        }
+        return ((Number) result.get(0)).longValue();
+    }
+}
@@ -0,0 +1,15 @@
+package com.india.management.cache;
+
+/**
+ * 缓存失效监听器
+ * <p>
+ * 进程内缓存实现此接口并注册为 Spring Bean，即可收到本节点及其他节点发布的失效事件。
+ */
+public interface CacheInvalidationListener {
+
+    /**
+     * @param region   失效的缓存区域
+     * @param entityId 失效的实体ID，为 null 时表示整个区域失效
+     */
+    void onInvalidate(CacheRegion region, Long entityId);
+}
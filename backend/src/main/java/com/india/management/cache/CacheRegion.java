@@ -0,0 +1,39 @@
+package com.india.management.cache;
+
+import com.india.management.mapper.PermissionMapper;
+import com.india.management.mapper.RoleMapper;
+import com.india.management.mapper.UserMapper;
+
+/**
+ * 缓存区域，对应一类需要失效的数据
+ */
+public enum CacheRegion {
+
+    /**
+     * 用户基本信息及用户角色关系
+     */
+    USER(UserMapper.class),
+
+    /**
+     * 角色基本信息及角色权限关系
+     */
+    ROLE(RoleMapper.class),
+
+    /**
+     * 权限（菜单、按钮）
+     */
+    PERMISSION(PermissionMapper.class);
+
+    private final String namespace;
+
+    CacheRegion(Class<?> mapperClass) {
+        this.namespace = mapperClass.getName();
+    }
+
+    /**
+     * 对应的 MyBatis 缓存命名空间
+     */
+    public String getNamespace() {
+        return namespace;
+    }
+}
@@ -0,0 +1,86 @@
+package com.india.management.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 缓存命中统计
+ * <p>
+ * MyBatis 通过反射创建缓存实例，不受 Spring 管理，因此统计信息放在静态注册表中，按命名空间区分。
+ */
+public final class CacheStatistics {
+
+    private static final Map<String, Counter> COUNTERS = new ConcurrentHashMap<>();
+
+    private CacheStatistics() {
+    }
+
+    public static Counter register(String namespace, int capacity) {
+        return COUNTERS.computeIfAbsent(namespace, key -> new Counter(capacity));
+    }
+
+    /**
+     * 所有命名空间的统计快照
+     */
+    public static Map<String, Map<String, Object>> snapshot() {
+        Map<String, Map<String, Object>> result = new TreeMap<>();
+        COUNTERS.forEach((namespace, counter) -> result.put(namespace, counter.toMap()));
+        return result;
+    }
+
+    public static void reset() {
+        COUNTERS.values().forEach(Counter::reset);
+    }
+
+    public static final class Counter {
+
+        private final int capacity;
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder puts = new LongAdder();
+        private final LongAdder clears = new LongAdder();
+
+        private Counter(int capacity) {
+            this.capacity = capacity;
+        }
+
+        void recordRequest(boolean hit) {
+            requests.increment();
+            if (hit) {
+                hits.increment();
+            }
+        }
+
+        void recordPut() {
+            puts.increment();
+        }
+
+        void recordClear() {
+            clears.increment();
+        }
+
+        void reset() {
+            requests.reset();
+            hits.reset();
+            puts.reset();
+            clears.reset();
+        }
+
+        Map<String, Object> toMap() {
+            long requestCount = requests.sum();
+            long hitCount = hits.sum();
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("capacity", capacity);
+            map.put("requests", requestCount);
+            map.put("hits", hitCount);
+            map.put("misses", requestCount - hitCount);
+            map.put("hitRatio", requestCount == 0 ? 0.0 : (double) hitCount / requestCount);
+            map.put("puts", puts.sum());
+            map.put("clears", clears.sum());
+            return map;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.india.management.cache;
+
+import com.india.management.sharding.ShardContext;
+import org.apache.ibatis.builder.InitializingObject;
+import org.apache.ibatis.cache.Cache;
+import org.apache.ibatis.cache.decorators.FifoCache;
+import org.apache.ibatis.cache.decorators.LruCache;
+import org.apache.ibatis.cache.decorators.SerializedCache;
+import org.apache.ibatis.cache.decorators.SynchronizedCache;
+import org.apache.ibatis.cache.impl.PerpetualCache;
+
+/**
+ * MyBatis 二级缓存实现（实体级）
+ * <p>
+ * 通过 {@code @CacheNamespace(implementation = EntityCache.class)} 挂在 Mapper 上，
+ * 只缓存 BaseMapper 注入的单表查询（selectById、selectList 等）。
+ * 同一命名空间下的 insert/update/delete（含逻辑删除）执行后会整体清空。
+ * 容量和淘汰策略可通过 {@code @Property} 配置，命中统计登记到 {@link CacheStatistics}。
+ * MyBatis 的缓存键不包含数据源，分库时按 {@link ShardContext} 把分片号加入缓存键，
+ * 避免跨分片查询时把一个分片的结果返回给另一个分片。
+ */
+public class EntityCache implements Cache, InitializingObject {
+
+    private record ShardKey(int shard, Object key) {
+    }
+
+    private final String id;
+
+    private int size = 1024;
+
+    private String eviction = "LRU";
+
+    private Cache delegate;
+
+    private CacheStatistics.Counter counter;
+
+    public EntityCache(String id) {
+        this.id = id;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public void setEviction(String eviction) {
+        this.eviction = eviction;
+    }
+
+    @Override
+    public void initialize() {
+        Cache cache = new PerpetualCache(id);
+        if ("FIFO".equalsIgnoreCase(eviction)) {
+            FifoCache fifoCache = new FifoCache(cache);
+            fifoCache.setSize(size);
+            cache = fifoCache;
+        } else {
+            LruCache lruCache = new LruCache(cache);
+            lruCache.setSize(size);
+            cache = lruCache;
+        }
+        // 序列化存取，避免调用方修改缓存中的实体（如 setRoles、setChildren）
+        cache = new SerializedCache(cache);
+        this.delegate = new SynchronizedCache(cache);
+        this.counter = CacheStatistics.register(id, size);
+    }
+
+    @Override
+    public String getId() {
+        return id;
+    }
+
+    @Override
+    public void putObject(Object key, Object value) {
+        delegate.putObject(shardKey(key), value);
+        counter.recordPut();
+    }
+
+    @Override
+    public Object getObject(Object key) {
+        Object value = delegate.getObject(shardKey(key));
+        counter.recordRequest(value != null);
+        return value;
+    }
+
+    @Override
+    public Object removeObject(Object key) {
+        return delegate.removeObject(shardKey(key));
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+        counter.recordClear();
+    }
+
+    @Override
+    public int getSize() {
+        return delegate.getSize();
+    }
+
+    private static Object shardKey(Object key) {
+        Integer shard = ShardContext.current();
+        return shard == null ? key : new ShardKey(shard, key);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Cache)) {
+            return false;
+        }
+        return id.equals(((Cache) o).getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return id.hashCode();
+    }
+}
@@ -0,0 +1,69 @@
+package com.india.management.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.india.management.encoding.EncodingStatistics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * 响应编码
+ * <p>
+ * 按 Accept 头协商 JSON、CBOR（application/cbor）或 Smile（application/x-jackson-smile）。
+ * 三种转换器都基于 Spring Boot 配置的 Jackson2ObjectMapperBuilder 创建，共享同样的模块和字段过滤器，
+ * 并记录每个接口的序列化耗时和字节数。压缩由 server.compression 按响应大小阈值处理。
+ */
+@Configuration
+public class HttpEncodingConfig {
+
+    /**
+     * 用运行时生成的 Lambda 代替反射访问属性，减少序列化/反序列化的 CPU 开销
+     */
+    @Bean
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(
+            Jackson2ObjectMapperBuilder builder, EncodingStatistics statistics) {
+        return new MappingJackson2HttpMessageConverter(builder.build()) {
+            @Override
+            protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+                statistics.measure(outputMessage, message -> super.writeInternal(object, type, message));
+            }
+        };
+    }
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter mappingJackson2CborHttpMessageConverter(
+            Jackson2ObjectMapperBuilder builder, EncodingStatistics statistics) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build()) {
+            @Override
+            protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+                statistics.measure(outputMessage, message -> super.writeInternal(object, type, message));
+            }
+        };
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter mappingJackson2SmileHttpMessageConverter(
+            Jackson2ObjectMapperBuilder builder, EncodingStatistics statistics) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build()) {
+            @Override
+            protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+                statistics.measure(outputMessage, message -> super.writeInternal(object, type, message));
+            }
+        };
+    }
+}
@@ -0,0 +1,18 @@
+package com.india.management.config;
+
+import com.india.management.fieldset.FieldSetResponseBodyAdvice;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JacksonConfig {
+
+    /**
+     * 实体类带有 @JsonFilter，未按请求选择字段时默认序列化全部属性
+     */
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer fieldSetFilterCustomizer() {
+        return builder -> builder.filters(FieldSetResponseBodyAdvice.defaultFilterProvider());
+    }
+}
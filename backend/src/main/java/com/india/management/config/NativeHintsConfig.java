@@ -0,0 +1,172 @@
+package com.india.management.config;
+
+import com.india.management.cache.EntityCache;
+import com.india.management.dto.ChangePasswordRequest;
+import com.india.management.dto.LoginRequest;
+import com.india.management.dto.RegisterRequest;
+import com.india.management.dto.UpdateUserRequest;
+import com.india.management.entity.AuditLog;
+import com.india.management.entity.CacheEvent;
+import com.india.management.entity.Merchant;
+import com.india.management.entity.Permission;
+import com.india.management.entity.Role;
+import com.india.management.entity.RolePermission;
+import com.india.management.entity.User;
+import com.india.management.entity.UserIndex;
+import com.india.management.entity.UserRole;
+import com.india.management.mapper.ArchiveMapper;
+import com.india.management.mapper.AuditLogMapper;
+import com.india.management.mapper.CacheEventMapper;
+import com.india.management.mapper.MerchantMapper;
+import com.india.management.mapper.PermissionMapper;
+import com.india.management.mapper.RoleMapper;
+import com.india.management.mapper.RolePermissionMapper;
+import com.india.management.mapper.ShardSyncMapper;
+import com.india.management.mapper.StatisticsMapper;
+import com.india.management.mapper.UserIndexMapper;
+import com.india.management.mapper.UserMapper;
+import com.india.management.mapper.UserRoleMapper;
+import com.india.management.rbac.PermissionMatrix;
+import com.india.management.rbac.RoleImpact;
+import com.india.management.security.UserPrincipal;
+import com.india.management.vo.ApiResponse;
+import org.apache.ibatis.session.SqlSession;
+import org.mybatis.spring.mapper.MapperFactoryBean;
+import org.springframework.beans.factory.support.MergedBeanDefinitionPostProcessor;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.core.ResolvableType;
+import org.springframework.util.ClassUtils;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * GraalVM 原生镜像的运行时提示
+ * <p>
+ * MyBatis 通过反射读写实体、通过 JDK 动态代理实现 Mapper 和插件，MyBatis-Plus 的 Lambda 条件构造器
+ * 依赖 SerializedLambda，jjwt 运行时按类名加载实现类，这些在 AOT 分析时都不可见，需要显式声明。
+ * Lambda 的序列化提示（lambdaCapturingTypes）见 META-INF/native-image 下的 serialization-config.json。
+ */
+@Configuration
+@ImportRuntimeHints(NativeHintsConfig.ManagementRuntimeHints.class)
+public class NativeHintsConfig {
+
+    /**
+     * AOT 生成的 Bean 定义只保留 MapperFactoryBean 的原始类型，按 Mapper 接口注入时无法匹配，
+     * 这里把泛型补全为 MapperFactoryBean&lt;XxxMapper&gt;
+     */
+    @Bean
+    public static MergedBeanDefinitionPostProcessor mapperFactoryBeanTypeResolver() {
+        return (beanDefinition, beanType, beanName) -> resolveMapperFactoryBeanType(beanDefinition);
+    }
+
+    private static void resolveMapperFactoryBeanType(RootBeanDefinition beanDefinition) {
+        if (!beanDefinition.hasBeanClass() || !MapperFactoryBean.class.isAssignableFrom(beanDefinition.getBeanClass())
+                || !beanDefinition.getResolvableType().hasUnresolvableGenerics()) {
+            return;
+        }
+        Object mapperInterface = beanDefinition.getPropertyValues().get("mapperInterface");
+        if (mapperInterface instanceof String className) {
+            mapperInterface = ClassUtils.resolveClassName(className, NativeHintsConfig.class.getClassLoader());
+        }
+        if (mapperInterface instanceof Class<?> mapperClass) {
+            beanDefinition.setTargetType(ResolvableType.forClassWithGenerics(beanDefinition.getBeanClass(), mapperClass));
+        }
+    }
+
+    static class ManagementRuntimeHints implements RuntimeHintsRegistrar {
+
+        private static final List<Class<?>> ENTITIES = List.of(
+                User.class, Role.class, Permission.class, UserRole.class, RolePermission.class,
+                CacheEvent.class, AuditLog.class, Merchant.class, UserIndex.class);
+
+        private static final List<Class<?>> MAPPERS = List.of(
+                UserMapper.class, RoleMapper.class, PermissionMapper.class, UserRoleMapper.class,
+                RolePermissionMapper.class, CacheEventMapper.class, AuditLogMapper.class,
+                StatisticsMapper.class, MerchantMapper.class, ArchiveMapper.class, UserIndexMapper.class,
+                ShardSyncMapper.class);
+
+        private static final List<Class<?>> PAYLOADS = List.of(
+                ApiResponse.class, UserPrincipal.class, LoginRequest.class, RegisterRequest.class,
+                UpdateUserRequest.class, ChangePasswordRequest.class, PermissionMatrix.class,
+                PermissionMatrix.Column.class, PermissionMatrix.Row.class, RoleImpact.class,
+                RoleImpact.Change.class);
+
+        private static final List<String> JJWT_TYPES = List.of(
+                "io.jsonwebtoken.impl.DefaultJwtBuilder",
+                "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+                "io.jsonwebtoken.impl.DefaultJwtParser",
+                "io.jsonwebtoken.impl.DefaultClaims",
+                "io.jsonwebtoken.impl.DefaultJwsHeader",
+                "io.jsonwebtoken.impl.compression.DefaultCompressionCodecResolver",
+                "io.jsonwebtoken.jackson.io.JacksonSerializer",
+                "io.jsonwebtoken.jackson.io.JacksonDeserializer");
+
+        private static final List<String> MYBATIS_TYPES = List.of(
+                "org.apache.ibatis.logging.stdout.StdOutImpl",
+                "org.apache.ibatis.logging.slf4j.Slf4jImpl",
+                "org.apache.ibatis.scripting.xmltags.XMLLanguageDriver",
+                "org.apache.ibatis.scripting.defaults.RawLanguageDriver",
+                "com.baomidou.mybatisplus.core.MybatisXMLLanguageDriver",
+                "org.apache.ibatis.javassist.util.proxy.ProxyFactory",
+                "java.lang.invoke.SerializedLambda");
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            MemberCategory[] beanAccess = {
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                    MemberCategory.INVOKE_DECLARED_METHODS,
+                    MemberCategory.DECLARED_FIELDS
+            };
+
+            ENTITIES.forEach(type -> hints.reflection().registerType(type, beanAccess));
+            // EntityCache 以 Java 序列化方式保存实体
+            hints.serialization().registerType(User.class);
+            hints.serialization().registerType(Role.class);
+            hints.serialization().registerType(Permission.class);
+            PAYLOADS.forEach(type -> hints.reflection().registerType(type, beanAccess));
+            MAPPERS.forEach(type -> {
+                hints.reflection().registerType(type, MemberCategory.INVOKE_PUBLIC_METHODS);
+                hints.proxies().registerJdkProxy(type);
+            });
+            hints.serialization().registerType(ArrayList.class);
+            hints.serialization().registerType(HashSet.class);
+            hints.serialization().registerType(Long.class);
+            hints.serialization().registerType(Number.class);
+
+            hints.reflection().registerType(EntityCache.class, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                    MemberCategory.INVOKE_PUBLIC_METHODS);
+            JJWT_TYPES.forEach(name -> hints.reflection().registerType(TypeReference.of(name), beanAccess));
+            MYBATIS_TYPES.forEach(name -> hints.reflection().registerType(TypeReference.of(name), beanAccess));
+
+            // SqlSessionTemplate、MyBatis 插件和 SQL 日志使用的 JDK 动态代理
+            hints.proxies().registerJdkProxy(SqlSession.class);
+            hints.proxies().registerJdkProxy(TypeReference.of("org.apache.ibatis.executor.Executor"));
+            hints.proxies().registerJdkProxy(TypeReference.of("org.apache.ibatis.executor.statement.StatementHandler"));
+            hints.proxies().registerJdkProxy(TypeReference.of("org.apache.ibatis.executor.parameter.ParameterHandler"));
+            hints.proxies().registerJdkProxy(TypeReference.of("org.apache.ibatis.executor.resultset.ResultSetHandler"));
+            hints.proxies().registerJdkProxy(Connection.class);
+            hints.proxies().registerJdkProxy(PreparedStatement.class);
+            hints.proxies().registerJdkProxy(Statement.class);
+            hints.proxies().registerJdkProxy(ResultSet.class);
+
+            hints.resources().registerPattern("mapper/*.xml");
+            hints.resources().registerPattern("schema.sql");
+            hints.resources().registerPattern("shard-schema.sql");
+            hints.resources().registerPattern("data.sql");
+            hints.resources().registerPattern("org/apache/ibatis/builder/xml/*.dtd");
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.india.management.config;
 
+import com.india.management.deadline.DeadlineFilter;
+import com.india.management.ratelimit.RateLimitFilter;
 import com.india.management.security.CustomAccessDeniedHandler;
 import com.india.management.security.CustomAuthenticationEntryPoint;
 import com.india.management.security.CustomUserDetailsService;
@@ -30,6 +32,8 @@ public class SecurityConfig {
 
     private final CustomUserDetailsService userDetailsService;
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final RateLimitFilter rateLimitFilter;
+    private final DeadlineFilter deadlineFilter;
     private final CustomAuthenticationEntryPoint authenticationEntryPoint;
     private final CustomAccessDeniedHandler accessDeniedHandler;
 
@@ -73,6 +77,10 @@ public class SecurityConfig {
 
         http.authenticationProvider(authenticationProvider());
         http.addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+        // 限流在JWT认证之前执行，被拒绝的请求不再加载用户信息
+        http.addFilterBefore(rateLimitFilter, JwtAuthenticationFilter.class);
+        // 截止时间最先设置，JWT认证中加载用户信息的查询同样受限
+        http.addFilterBefore(deadlineFilter, RateLimitFilter.class);
 
         return http.build();
     }
@@ -0,0 +1,32 @@
+package com.india.management.controller;
+
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.india.management.entity.AuditLog;
+import com.india.management.service.AuditLogService;
+import com.india.management.vo.ApiResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/audit-logs")
+@RequiredArgsConstructor
+public class AuditLogController {
+
+    private final AuditLogService auditLogService;
+
+    @GetMapping
+    @PreAuthorize("hasAuthority('system:audit:list')")
+    public ApiResponse<Page<AuditLog>> getAuditLogPage(
+            @RequestParam(defaultValue = "1") int current,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String targetType,
+            @RequestParam(required = false) Long targetId,
+            @RequestParam(required = false) Long operatorId,
+            @RequestParam(required = false) Long startTime,
+            @RequestParam(required = false) Long endTime) {
+        Page<AuditLog> page = auditLogService.getAuditLogPage(current, size, targetType, targetId,
+                operatorId, startTime, endTime);
+        return ApiResponse.success(page);
+    }
+}
@@ -5,13 +5,21 @@ import com.india.management.dto.LoginRequest;
 import com.india.management.dto.RegisterRequest;
 import com.india.management.dto.UpdateUserRequest;
 import com.india.management.entity.User;
+import com.india.management.exception.BusinessException;
+import com.india.management.exception.ErrorCode;
 import com.india.management.exception.ValidationException;
+import com.india.management.fieldset.EntityFields;
+import com.india.management.push.AuthorizationPushService;
+import com.india.management.security.UserPrincipal;
 import com.india.management.service.AuthService;
+import com.india.management.service.BootstrapService;
 import com.india.management.service.UserService;
 import com.india.management.vo.ApiResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -23,19 +31,28 @@ public class AuthController {
 
     private final AuthService authService;
     private final UserService userService;
+    private final BootstrapService bootstrapService;
+    private final AuthorizationPushService authorizationPushService;
 
     @PostMapping("/login")
-    public ApiResponse<?> login(@Valid @RequestBody LoginRequest loginRequest) {
+    public ApiResponse<?> login(@Valid @RequestBody LoginRequest loginRequest,
+                                @RequestParam(required = false) String fields,
+                                @RequestParam(required = false) String permissionFields) {
+        // 登录查询是关联查询，fields/permissionFields 只裁剪返回的用户和权限字段
+        EntityFields.USER.select(fields);
+        EntityFields.PERMISSION.select(permissionFields);
         Map<String, Object> result = authService.login(loginRequest.getUsername(), loginRequest.getPassword());
         return ApiResponse.success(result);
     }
 
     @PostMapping("/register")
     public ApiResponse<?> register(@Valid @RequestBody RegisterRequest registerRequest) {
-        // 检查用户名是否已存在
-        User existingUser = userService.getUserByUsername(registerRequest.getUsername());
-        if (existingUser != null) {
-            throw new ValidationException("用户名已存在");
+        // 检查用户名、邮箱是否已存在（并发注册仍由唯一键兜底）
+        if (userService.isUsernameTaken(registerRequest.getUsername())) {
+            throw new ValidationException(ErrorCode.USERNAME_EXISTS);
+        }
+        if (userService.isEmailTaken(registerRequest.getEmail())) {
+            throw new ValidationException(ErrorCode.EMAIL_EXISTS);
         }
 
         // 创建新用户
@@ -50,6 +67,22 @@ public class AuthController {
         return ApiResponse.success(createdUser);
     }
 
+    /**
+     * 注册前实时检查用户名、邮箱是否可用，只返回传入的项
+     */
+    @GetMapping("/availability")
+    public ApiResponse<?> availability(@RequestParam(required = false) String username,
+                                       @RequestParam(required = false) String email) {
+        Map<String, Object> result = new HashMap<>();
+        if (StringUtils.hasText(username)) {
+            result.put("username", !userService.isUsernameTaken(username));
+        }
+        if (StringUtils.hasText(email)) {
+            result.put("email", !userService.isEmailTaken(email));
+        }
+        return ApiResponse.success(result);
+    }
+
     @GetMapping("/me")
     public ApiResponse<?> getCurrentUser() {
         // 使用HashMap代替Map.of()，避免空指针异常
@@ -59,6 +92,30 @@ public class AuthController {
         return ApiResponse.success(result);
     }
 
+    /**
+     * 前端启动数据：当前用户、权限、菜单树和角色列表，一次请求返回
+     */
+    @GetMapping("/bootstrap")
+    public ApiResponse<?> bootstrap() {
+        UserPrincipal userPrincipal = authService.getCurrentUser();
+        if (userPrincipal == null) {
+            throw new BusinessException(ErrorCode.NOT_LOGGED_IN);
+        }
+        return ApiResponse.success(bootstrapService.bootstrap(userPrincipal));
+    }
+
+    /**
+     * 当前用户的授权变更推送（Server-Sent Events），收到 authorization 事件后重新获取权限
+     */
+    @GetMapping("/events")
+    public SseEmitter events() {
+        UserPrincipal userPrincipal = authService.getCurrentUser();
+        if (userPrincipal == null) {
+            throw new BusinessException(ErrorCode.NOT_LOGGED_IN);
+        }
+        return authorizationPushService.subscribe(userPrincipal.getId());
+    }
+
     @PutMapping("/me")
     public ApiResponse<?> updateCurrentUser(@Valid @RequestBody UpdateUserRequest updateUserRequest) {
         User updatedUser = authService.updateCurrentUser(updateUserRequest);
@@ -0,0 +1,24 @@
+package com.india.management.controller;
+
+import com.india.management.stats.DashboardStatistics;
+import com.india.management.vo.ApiResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/dashboard")
+@RequiredArgsConstructor
+public class DashboardController {
+
+    private final DashboardStatistics dashboardStatistics;
+
+    /**
+     * 仪表盘统计，直接读取内存计数
+     */
+    @GetMapping("/stats")
+    public ApiResponse<Map<String, Object>> getStatistics(@RequestParam(defaultValue = "30") int days) {
+        return ApiResponse.success(dashboardStatistics.snapshot(days));
+    }
+}
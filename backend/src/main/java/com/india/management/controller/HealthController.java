@@ -0,0 +1,37 @@
+package com.india.management.controller;
+
+import com.india.management.vo.ApiResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.LivenessState;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 存活/就绪探针，就绪状态在启动预热（WarmupRunner）完成后才变为 ACCEPTING_TRAFFIC
+ */
+@RestController
+@RequestMapping("/api/public/health")
+@RequiredArgsConstructor
+public class HealthController {
+
+    private final ApplicationAvailability applicationAvailability;
+
+    @GetMapping("/liveness")
+    public ResponseEntity<ApiResponse<String>> liveness() {
+        LivenessState state = applicationAvailability.getLivenessState();
+        return ResponseEntity.status(state == LivenessState.CORRECT ? HttpStatus.OK : HttpStatus.SERVICE_UNAVAILABLE)
+                .body(ApiResponse.success(state.name()));
+    }
+
+    @GetMapping("/readiness")
+    public ResponseEntity<ApiResponse<String>> readiness() {
+        ReadinessState state = applicationAvailability.getReadinessState();
+        return ResponseEntity.status(state == ReadinessState.ACCEPTING_TRAFFIC ? HttpStatus.OK : HttpStatus.SERVICE_UNAVAILABLE)
+                .body(ApiResponse.success(state.name()));
+    }
+}
@@ -0,0 +1,81 @@
+package com.india.management.controller;
+
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.india.management.dto.MerchantQueryRequest;
+import com.india.management.dto.MerchantStatusRequest;
+import com.india.management.entity.Merchant;
+import com.india.management.fieldset.EntityFields;
+import com.india.management.service.MerchantService;
+import com.india.management.vo.ApiResponse;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/merchants")
+@RequiredArgsConstructor
+public class MerchantController {
+
+    private final MerchantService merchantService;
+
+    @GetMapping
+    @PreAuthorize("hasAuthority('system:merchant:list')")
+    public ApiResponse<Page<Merchant>> getMerchantPage(@Valid MerchantQueryRequest query) {
+        Page<Merchant> page = merchantService.getMerchantPage(query, EntityFields.MERCHANT.select(query.getFields()));
+        return ApiResponse.success(page);
+    }
+
+    @GetMapping("/{id}")
+    @PreAuthorize("hasAuthority('system:merchant:query')")
+    public ApiResponse<Merchant> getMerchantDetail(@PathVariable Long id, @RequestParam(required = false) String fields) {
+        Merchant merchant = merchantService.getMerchantDetail(id, EntityFields.MERCHANT.select(fields));
+        return ApiResponse.success(merchant);
+    }
+
+    @GetMapping("/code/{code}")
+    @PreAuthorize("hasAuthority('system:merchant:query')")
+    public ApiResponse<Merchant> getMerchantByCode(@PathVariable String code) {
+        Merchant merchant = merchantService.getMerchantByCode(code);
+        return ApiResponse.success(merchant);
+    }
+
+    @PostMapping
+    @PreAuthorize("hasAuthority('system:merchant:add')")
+    public ApiResponse<Merchant> createMerchant(@RequestBody Merchant merchant) {
+        Merchant createdMerchant = merchantService.createMerchant(merchant);
+        return ApiResponse.success(createdMerchant);
+    }
+
+    @PutMapping("/{id}")
+    @PreAuthorize("hasAuthority('system:merchant:edit')")
+    public ApiResponse<Merchant> updateMerchant(@PathVariable Long id, @RequestBody Merchant merchant) {
+        merchant.setId(id);
+        Merchant updatedMerchant = merchantService.updateMerchant(merchant);
+        return ApiResponse.success(updatedMerchant);
+    }
+
+    @DeleteMapping("/{id}")
+    @PreAuthorize("hasAuthority('system:merchant:delete')")
+    public ApiResponse<Boolean> deleteMerchant(@PathVariable Long id) {
+        boolean result = merchantService.deleteMerchant(id);
+        return ApiResponse.success(result);
+    }
+
+    @PutMapping("/{id}/status")
+    @PreAuthorize("hasAuthority('system:merchant:edit')")
+    public ApiResponse<Boolean> updateMerchantStatus(@PathVariable Long id, @Valid @RequestBody MerchantStatusRequest request) {
+        boolean result = merchantService.updateStatus(id, request.getStatus());
+        return ApiResponse.success(result);
+    }
+
+    /**
+     * 批量修改状态
+     */
+    @PutMapping("/status")
+    @PreAuthorize("hasAuthority('system:merchant:edit')")
+    public ApiResponse<Integer> updateMerchantStatusBatch(@Valid @RequestBody MerchantStatusRequest request) {
+        int updated = merchantService.updateStatus(request.getIds(), request.getStatus());
+        return ApiResponse.success(updated);
+    }
+}
@@ -0,0 +1,217 @@
+package com.india.management.controller;
+
+import com.india.management.archive.SoftDeleteArchiver;
+import com.india.management.audit.AuditTrail;
+import com.india.management.bloom.UserBloomFilters;
+import com.india.management.cache.CacheInvalidationBus;
+import com.india.management.cache.CacheStatistics;
+import com.india.management.deadline.DeadlineFilter;
+import com.india.management.deadline.DeadlineInterceptor;
+import com.india.management.encoding.EncodingStatistics;
+import com.india.management.exception.ErrorLogThrottle;
+import com.india.management.idgen.SnowflakeIdGenerator;
+import com.india.management.push.AuthorizationPushService;
+import com.india.management.ratelimit.RateLimitFilter;
+import com.india.management.rbac.AuthorizationIndex;
+import com.india.management.rbac.PermissionMatrixService;
+import com.india.management.reactive.ConnectionUsage;
+import com.india.management.resilience.SingleFlightRegistry;
+import com.india.management.security.PrincipalLoader;
+import com.india.management.sharding.ShardMaintenance;
+import com.india.management.sharding.UserShardRouter;
+import com.india.management.startup.StartupTimingReporter;
+import com.india.management.startup.WarmupRunner;
+import com.india.management.vo.ApiResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/monitor")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class MonitorController {
+
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final RateLimitFilter rateLimitFilter;
+    private final AuditTrail auditTrail;
+    private final StartupTimingReporter startupTimingReporter;
+    private final ErrorLogThrottle errorLogThrottle;
+    private final EncodingStatistics encodingStatistics;
+    private final SoftDeleteArchiver softDeleteArchiver;
+    private final ConnectionUsage connectionUsage;
+    private final WarmupRunner warmupRunner;
+    private final PrincipalLoader principalLoader;
+    private final UserBloomFilters userBloomFilters;
+    private final UserShardRouter userShardRouter;
+    private final SnowflakeIdGenerator idGenerator;
+    private final PermissionMatrixService permissionMatrixService;
+    private final AuthorizationIndex authorizationIndex;
+    private final AuthorizationPushService authorizationPushService;
+    private final SingleFlightRegistry singleFlightRegistry;
+    private final DeadlineFilter deadlineFilter;
+    private final DeadlineInterceptor deadlineInterceptor;
+    private final ObjectProvider<ShardMaintenance> shardMaintenance;
+
+    @GetMapping("/cache")
+    public ApiResponse<Map<String, Map<String, Object>>> getCacheStatistics() {
+        return ApiResponse.success(CacheStatistics.snapshot());
+    }
+
+    @DeleteMapping("/cache")
+    public ApiResponse<Boolean> resetCacheStatistics() {
+        CacheStatistics.reset();
+        return ApiResponse.success(true);
+    }
+
+    @GetMapping("/cache-bus")
+    public ApiResponse<Map<String, Object>> getCacheBusStatistics() {
+        return ApiResponse.success(cacheInvalidationBus.statistics());
+    }
+
+    @GetMapping("/rate-limit")
+    public ApiResponse<Map<String, Object>> getRateLimitStatistics() {
+        return ApiResponse.success(rateLimitFilter.statistics());
+    }
+
+    @GetMapping("/audit")
+    public ApiResponse<Map<String, Object>> getAuditStatistics() {
+        return ApiResponse.success(auditTrail.statistics());
+    }
+
+    @GetMapping("/startup")
+    public ApiResponse<Map<String, Object>> getStartupStatistics() {
+        return ApiResponse.success(startupTimingReporter.statistics());
+    }
+
+    @GetMapping("/warmup")
+    public ApiResponse<Map<String, Object>> getWarmupStatistics() {
+        return ApiResponse.success(warmupRunner.statistics());
+    }
+
+    @GetMapping("/principal-loader")
+    public ApiResponse<Map<String, Object>> getPrincipalLoaderStatistics() {
+        return ApiResponse.success(principalLoader.statistics());
+    }
+
+    @GetMapping("/bloom")
+    public ApiResponse<Map<String, Object>> getBloomStatistics() {
+        return ApiResponse.success(userBloomFilters.statistics());
+    }
+
+    @PostMapping("/bloom")
+    public ApiResponse<Boolean> rebuildBloomFilters() {
+        return ApiResponse.success(userBloomFilters.trigger());
+    }
+
+    @GetMapping("/id-generator")
+    public ApiResponse<Map<String, Object>> getIdGeneratorStatistics() {
+        return ApiResponse.success(idGenerator.statistics());
+    }
+
+    @GetMapping("/permission-matrix")
+    public ApiResponse<Map<String, Object>> getPermissionMatrixStatistics() {
+        return ApiResponse.success(permissionMatrixService.statistics());
+    }
+
+    @GetMapping("/authz-index")
+    public ApiResponse<Map<String, Object>> getAuthorizationIndexStatistics() {
+        return ApiResponse.success(authorizationIndex.statistics());
+    }
+
+    @PostMapping("/authz-index")
+    public ApiResponse<Boolean> rebuildAuthorizationIndex() {
+        return ApiResponse.success(authorizationIndex.trigger());
+    }
+
+    @GetMapping("/single-flight")
+    public ApiResponse<Map<String, Object>> getSingleFlightStatistics() {
+        return ApiResponse.success(singleFlightRegistry.statistics());
+    }
+
+    @GetMapping("/deadline")
+    public ApiResponse<Map<String, Object>> getDeadlineStatistics() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("endpoints", deadlineFilter.statistics());
+        map.put("statements", deadlineInterceptor.statistics());
+        return ApiResponse.success(map);
+    }
+
+    @DeleteMapping("/deadline")
+    public ApiResponse<Boolean> resetDeadlineStatistics() {
+        deadlineFilter.reset();
+        return ApiResponse.success(true);
+    }
+
+    @GetMapping("/sse")
+    public ApiResponse<Map<String, Object>> getPushStatistics() {
+        return ApiResponse.success(authorizationPushService.statistics());
+    }
+
+    @GetMapping("/sharding")
+    public ApiResponse<Map<String, Object>> getShardingStatistics() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("enabled", userShardRouter.isEnabled());
+        map.put("shards", userShardRouter.shardCount());
+        shardMaintenance.ifAvailable(maintenance -> map.putAll(maintenance.statistics()));
+        return ApiResponse.success(map);
+    }
+
+    /**
+     * 立即把角色权限主数据同步到各分片并迁入存量用户，未开启分库时返回 false
+     */
+    @PostMapping("/sharding")
+    public ApiResponse<Boolean> syncShards() {
+        ShardMaintenance maintenance = shardMaintenance.getIfAvailable();
+        if (maintenance == null) {
+            return ApiResponse.success(false);
+        }
+        maintenance.syncCatalog();
+        maintenance.migrateLegacyUsers();
+        return ApiResponse.success(true);
+    }
+
+    @GetMapping("/errors")
+    public ApiResponse<Map<String, Object>> getErrorStatistics() {
+        return ApiResponse.success(errorLogThrottle.statistics());
+    }
+
+    @GetMapping("/encoding")
+    public ApiResponse<Map<String, Map<String, Object>>> getEncodingStatistics() {
+        return ApiResponse.success(encodingStatistics.snapshot());
+    }
+
+    @DeleteMapping("/encoding")
+    public ApiResponse<Boolean> resetEncodingStatistics() {
+        encodingStatistics.reset();
+        return ApiResponse.success(true);
+    }
+
+    @GetMapping("/archive")
+    public ApiResponse<Map<String, Object>> getArchiveStatistics() {
+        return ApiResponse.success(softDeleteArchiver.statistics());
+    }
+
+    /**
+     * 立即执行一轮归档（异步），已在执行时返回 false
+     */
+    @PostMapping("/archive")
+    public ApiResponse<Boolean> runArchive() {
+        return ApiResponse.success(softDeleteArchiver.trigger());
+    }
+
+    @GetMapping("/connections")
+    public ApiResponse<Map<String, Object>> getConnectionUsage() {
+        return ApiResponse.success(connectionUsage.statistics());
+    }
+
+    @DeleteMapping("/connections")
+    public ApiResponse<Boolean> resetConnectionPeak() {
+        connectionUsage.resetPeak();
+        return ApiResponse.success(true);
+    }
+}
@@ -1,6 +1,7 @@
 package com.india.management.controller;
 
 import com.india.management.entity.Permission;
+import com.india.management.fieldset.EntityFields;
 import com.india.management.service.PermissionService;
 import com.india.management.vo.ApiResponse;
 import lombok.RequiredArgsConstructor;
@@ -20,31 +21,38 @@ public class PermissionController {
 
     @GetMapping("/tree")
     @PreAuthorize("hasAuthority('system:permission:list')")
-    public ApiResponse<List<Permission>> getPermissionTree() {
-        List<Permission> permissionTree = permissionService.getPermissionTree();
+    public ApiResponse<List<Permission>> getPermissionTree(@RequestParam(required = false) String fields) {
+        // 树形结构总是返回 children
+        String treeFields = fields == null || fields.isBlank() ? null : fields + ",children";
+        List<Permission> permissionTree = permissionService.getPermissionTree(EntityFields.PERMISSION.select(treeFields));
         return ApiResponse.success(permissionTree);
     }
 
     @GetMapping("/menus")
-    public ApiResponse<List<Permission>> getAllMenus() {
-        List<Permission> menus = permissionService.getAllMenus();
+    public ApiResponse<List<Permission>> getAllMenus(@RequestParam(required = false) String fields) {
+        List<Permission> menus = permissionService.getAllMenus(EntityFields.PERMISSION.select(fields));
         return ApiResponse.success(menus);
     }
 
     @GetMapping("/buttons")
-    public ApiResponse<List<Permission>> getAllButtons() {
-        List<Permission> buttons = permissionService.getAllButtons();
+    public ApiResponse<List<Permission>> getAllButtons(@RequestParam(required = false) String fields) {
+        List<Permission> buttons = permissionService.getAllButtons(EntityFields.PERMISSION.select(fields));
         return ApiResponse.success(buttons);
     }
 
     @GetMapping("/user/menus")
-    public ApiResponse<List<Permission>> getUserMenus(@RequestParam Long userId) {
+    public ApiResponse<List<Permission>> getUserMenus(@RequestParam Long userId,
+                                                      @RequestParam(required = false) String fields) {
+        // 关联查询只在序列化时裁剪字段
+        EntityFields.PERMISSION.select(fields);
         List<Permission> menus = permissionService.getUserMenus(userId);
         return ApiResponse.success(menus);
     }
 
     @GetMapping("/user/buttons")
-    public ApiResponse<List<Permission>> getUserButtons(@RequestParam Long userId) {
+    public ApiResponse<List<Permission>> getUserButtons(@RequestParam Long userId,
+                                                        @RequestParam(required = false) String fields) {
+        EntityFields.PERMISSION.select(fields);
         List<Permission> buttons = permissionService.getUserButtons(userId);
         return ApiResponse.success(buttons);
     }
@@ -52,16 +60,16 @@ public class PermissionController {
     @PostMapping
     @PreAuthorize("hasAuthority('system:permission:add')")
     public ApiResponse<Permission> createPermission(@RequestBody Permission permission) {
-        boolean result = permissionService.save(permission);
-        return ApiResponse.success(permission);
+        Permission createdPermission = permissionService.createPermission(permission);
+        return ApiResponse.success(createdPermission);
     }
 
     @PutMapping("/{id}")
     @PreAuthorize("hasAuthority('system:permission:edit')")
     public ApiResponse<Permission> updatePermission(@PathVariable Long id, @RequestBody Permission permission) {
         permission.setId(id);
-        boolean ignore = permissionService.updateById(permission);
-        return ApiResponse.success(permission);
+        Permission updatedPermission = permissionService.updatePermission(permission);
+        return ApiResponse.success(updatedPermission);
     }
 
     @DeleteMapping("/{id}")
@@ -0,0 +1,68 @@
+package com.india.management.controller;
+
+import com.india.management.entity.Permission;
+import com.india.management.entity.Role;
+import com.india.management.fieldset.EntityFields;
+import com.india.management.reactive.ReactiveReadRepository;
+import com.india.management.security.UserPrincipal;
+import com.india.management.service.AuthService;
+import com.india.management.vo.ApiResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 热点读接口的非阻塞版本
+ * <p>
+ * 与 /api/auth/me、/api/permissions/menus、/api/roles/all 返回相同的数据。处理方法返回 Mono，
+ * Spring MVC 以异步请求处理：发出查询后立即归还 Tomcat 线程，R2DBC 连接只在查询执行期间占用，
+ * 结果就绪后再派发回容器写出响应。
+ */
+@RestController
+@RequestMapping("/api/reactive")
+@RequiredArgsConstructor
+@ConditionalOnExpression("${reactive-read.enabled:false} and !${sharding.enabled:false}")
+public class ReactiveReadController {
+
+    private final ReactiveReadRepository reactiveReadRepository;
+    private final AuthService authService;
+
+    @GetMapping("/auth/me")
+    public Mono<ApiResponse<Map<String, Object>>> getCurrentUser() {
+        // 安全上下文绑定在请求线程上，必须在订阅前取出
+        UserPrincipal userPrincipal = authService.getCurrentUser();
+        Mono<List<Permission>> permissions = userPrincipal == null ? Mono.empty()
+                : reactiveReadRepository.findPermissionsByUserId(userPrincipal.getId()).collectList();
+        return permissions
+                .map(list -> result(userPrincipal, list))
+                .defaultIfEmpty(result(userPrincipal, null))
+                .map(ApiResponse::success);
+    }
+
+    @GetMapping("/permissions/menus")
+    public Mono<ApiResponse<List<Permission>>> getAllMenus(@RequestParam(required = false) String fields) {
+        EntityFields.PERMISSION.select(fields);
+        return reactiveReadRepository.findMenus().collectList().map(ApiResponse::success);
+    }
+
+    @GetMapping("/roles/all")
+    public Mono<ApiResponse<List<Role>>> getAllRoles(@RequestParam(required = false) String fields) {
+        EntityFields.ROLE.select(fields);
+        return reactiveReadRepository.findRoles().collectList().map(ApiResponse::success);
+    }
+
+    private static Map<String, Object> result(UserPrincipal userPrincipal, List<Permission> permissions) {
+        Map<String, Object> result = new HashMap<>();
+        result.put("user", userPrincipal);
+        result.put("permissions", permissions);
+        return result;
+    }
+}
@@ -2,6 +2,11 @@ package com.india.management.controller;
 
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.india.management.entity.Role;
+import com.india.management.fieldset.EntityFields;
+import com.india.management.rbac.AuthorizationIndex;
+import com.india.management.rbac.PermissionMatrix;
+import com.india.management.rbac.PermissionMatrixService;
+import com.india.management.rbac.RoleImpact;
 import com.india.management.service.RoleService;
 import com.india.management.vo.ApiResponse;
 import lombok.RequiredArgsConstructor;
@@ -18,28 +23,40 @@ import java.util.List;
 public class RoleController {
 
     private final RoleService roleService;
+    private final PermissionMatrixService permissionMatrixService;
+    private final AuthorizationIndex authorizationIndex;
 
     @GetMapping
     @PreAuthorize("hasAuthority('system:role:list')")
     public ApiResponse<Page<Role>> getRolePage(
             @RequestParam(defaultValue = "1") int current,
             @RequestParam(defaultValue = "10") int size,
-            @RequestParam(required = false) String name) {
-        Page<Role> page = roleService.getRolePage(current, size, name);
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) String fields) {
+        Page<Role> page = roleService.getRolePage(current, size, name, EntityFields.ROLE.select(fields));
         return ApiResponse.success(page);
     }
 
     @GetMapping("/all")
-    public ApiResponse<List<Role>> getAllRoles() {
-        List<Role> roles = roleService.getAllRoles();
+    public ApiResponse<List<Role>> getAllRoles(@RequestParam(required = false) String fields) {
+        List<Role> roles = roleService.getAllRoles(EntityFields.ROLE.select(fields));
         return ApiResponse.success(roles);
     }
 
+    /**
+     * 全部角色的权限分配矩阵，version 与当前版本相同时只返回版本号
+     */
+    @GetMapping("/matrix")
+    @PreAuthorize("hasAuthority('system:role:list')")
+    public ApiResponse<PermissionMatrix> getPermissionMatrix(@RequestParam(required = false) String version) {
+        return ApiResponse.success(permissionMatrixService.getMatrix(version));
+    }
+
     @GetMapping("/{id}")
     @PreAuthorize("hasAuthority('system:role:query')")
-    public ApiResponse<Role> getRoleDetail(@PathVariable Long id) {
+    public ApiResponse<Role> getRoleDetail(@PathVariable Long id, @RequestParam(required = false) String fields) {
         log.info("获取角色详情，ID: {}", id);
-        Role role = roleService.getRoleDetail(id);
+        Role role = roleService.getRoleDetail(id, EntityFields.ROLE.select(fields));
         log.info("角色详情: {}", role);
         return ApiResponse.success(role);
     }
@@ -61,6 +78,15 @@ public class RoleController {
         return ApiResponse.success(updatedRole);
     }
 
+    /**
+     * 预估按请求体（与更新角色相同）修改权限后各权限得失的用户数，不做任何修改
+     */
+    @PostMapping("/{id}/impact")
+    @PreAuthorize("hasAuthority('system:role:edit')")
+    public ApiResponse<RoleImpact> previewUpdateImpact(@PathVariable Long id, @RequestBody Role role) {
+        return ApiResponse.success(authorizationIndex.impact(id, role.getPermissionIds()));
+    }
+
     @DeleteMapping("/{id}")
     @PreAuthorize("hasAuthority('system:role:delete')")
     public ApiResponse<Boolean> deleteRole(@PathVariable Long id) {
@@ -2,33 +2,65 @@ package com.india.management.controller;
 
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.india.management.entity.User;
+import com.india.management.fieldset.EntityFields;
+import com.india.management.rbac.AuthorizationIndex;
 import com.india.management.service.UserService;
 import com.india.management.vo.ApiResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/users")
 @RequiredArgsConstructor
 public class UserController {
 
     private final UserService userService;
+    private final AuthorizationIndex authorizationIndex;
 
     @GetMapping
     @PreAuthorize("hasAuthority('system:user:list')")
     public ApiResponse<Page<User>> getUserPage(
             @RequestParam(defaultValue = "1") int current,
             @RequestParam(defaultValue = "10") int size,
-            @RequestParam(required = false) String username) {
-        Page<User> page = userService.getUserPage(current, size, username);
+            @RequestParam(required = false) String username,
+            @RequestParam(required = false) String fields) {
+        Page<User> page = userService.getUserPage(current, size, username, EntityFields.USER.select(fields));
         return ApiResponse.success(page);
     }
 
+    /**
+     * 持有角色、权限的用户：满足全部 require、不满足任何 exclude，条件为 role:角色编码 或 permission:权限编码
+     */
+    @GetMapping("/holders")
+    @PreAuthorize("hasAuthority('system:user:list')")
+    public ApiResponse<Page<User>> getHolders(
+            @RequestParam(required = false) List<String> require,
+            @RequestParam(required = false) List<String> exclude,
+            @RequestParam(defaultValue = "false") boolean enabledOnly,
+            @RequestParam(defaultValue = "1") int current,
+            @RequestParam(defaultValue = "10") int size) {
+        Page<Long> holders = authorizationIndex.holders(require, exclude, enabledOnly, current, size);
+        Page<User> page = new Page<>(holders.getCurrent(), holders.getSize(), holders.getTotal());
+        page.setRecords(userService.listUsersByIds(holders.getRecords()));
+        return ApiResponse.success(page);
+    }
+
+    @GetMapping("/holders/count")
+    @PreAuthorize("hasAuthority('system:user:list')")
+    public ApiResponse<Long> countHolders(
+            @RequestParam(required = false) List<String> require,
+            @RequestParam(required = false) List<String> exclude,
+            @RequestParam(defaultValue = "false") boolean enabledOnly) {
+        return ApiResponse.success(authorizationIndex.count(require, exclude, enabledOnly));
+    }
+
     @GetMapping("/{id}")
     @PreAuthorize("hasAuthority('system:user:query')")
-    public ApiResponse<User> getUserDetail(@PathVariable Long id) {
-        User user = userService.getUserDetail(id);
+    public ApiResponse<User> getUserDetail(@PathVariable Long id, @RequestParam(required = false) String fields) {
+        User user = userService.getUserDetail(id, EntityFields.USER.select(fields));
         return ApiResponse.success(user);
     }
 
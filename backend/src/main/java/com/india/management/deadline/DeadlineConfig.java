@@ -0,0 +1,25 @@
+package com.india.management.deadline;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+
+@Configuration
+public class DeadlineConfig {
+
+    /**
+     * 由 MyBatis 自动配置注册到 SqlSessionFactory
+     */
+    @Bean
+    public DeadlineInterceptor deadlineInterceptor() {
+        return new DeadlineInterceptor();
+    }
+
+    /**
+     * 由任务执行自动配置应用到 applicationTaskExecutor，分库并行查询等异步任务沿用请求的截止时间
+     */
+    @Bean
+    public TaskDecorator deadlineTaskDecorator() {
+        return RequestDeadline::propagate;
+    }
+}
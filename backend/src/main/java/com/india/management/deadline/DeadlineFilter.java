@@ -0,0 +1,145 @@
+package com.india.management.deadline;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 请求截止时间过滤器
+ * <p>
+ * 按配置的接口预算为请求设置截止时间，过滤器位于限流和 JWT 认证之前，加载用户信息的查询同样受限。
+ * 请求结束后按接口（请求方法 + 匹配的路径模式）统计超出预算和因截止时间中止的次数，
+ * 便于找出拖慢整体尾延迟的接口。
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DeadlineFilter extends OncePerRequestFilter {
+
+    private static final String UNMATCHED = "unmatched";
+
+    private final DeadlineProperties properties;
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        log.info("请求截止时间: enabled={} default={}ms rules={}", properties.isEnabled(),
+                properties.getDefaultBudget(), properties.getRules().size());
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long budget = resolveBudget(request.getRequestURI(), request.getMethod());
+        if (budget <= 0) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        RequestDeadline deadline = RequestDeadline.start(budget);
+        RequestDeadline previous = RequestDeadline.attach(deadline);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestDeadline.restore(previous);
+            record(request, deadline);
+        }
+    }
+
+    private long resolveBudget(String path, String method) {
+        for (DeadlineProperties.Rule rule : properties.getRules()) {
+            if (matches(rule, path, method)) {
+                return rule.getBudget();
+            }
+        }
+        return properties.getDefaultBudget();
+    }
+
+    private boolean matches(DeadlineProperties.Rule rule, String path, String method) {
+        if (!rule.getMethods().isEmpty() && rule.getMethods().stream().noneMatch(method::equalsIgnoreCase)) {
+            return false;
+        }
+        for (String pattern : rule.getPatterns()) {
+            if (pathMatcher.match(pattern, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 未匹配到处理器的请求归入同一项，统计项数量不随请求路径增长
+     */
+    private void record(HttpServletRequest request, RequestDeadline deadline) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String key = request.getMethod() + " " + (pattern != null ? pattern : UNMATCHED);
+        Counter counter = counters.computeIfAbsent(key, k -> new Counter(deadline.getBudgetMillis()));
+        long elapsed = deadline.elapsedMillis();
+        counter.requests.increment();
+        if (elapsed > deadline.getBudgetMillis()) {
+            counter.exceeded.increment();
+        }
+        if (deadline.isTimedOut()) {
+            counter.timeouts.increment();
+        }
+        counter.maxMillis.accumulateAndGet(elapsed, Math::max);
+    }
+
+    /**
+     * 各接口的预算、请求数、超出预算次数、因截止时间中止次数和最长耗时
+     */
+    public Map<String, Map<String, Object>> statistics() {
+        Map<String, Map<String, Object>> snapshot = new TreeMap<>();
+        counters.forEach((key, counter) -> {
+            long requests = counter.requests.sum();
+            long exceeded = counter.exceeded.sum();
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("budgetMillis", counter.budgetMillis);
+            map.put("requests", requests);
+            map.put("exceeded", exceeded);
+            map.put("exceededRatio", requests == 0 ? 0.0 : (double) exceeded / requests);
+            map.put("timeouts", counter.timeouts.sum());
+            map.put("maxMillis", counter.maxMillis.get());
+            snapshot.put(key, map);
+        });
+        return snapshot;
+    }
+
+    public void reset() {
+        counters.clear();
+    }
+
+    private static class Counter {
+        private final long budgetMillis;
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder exceeded = new LongAdder();
+        private final LongAdder timeouts = new LongAdder();
+        private final AtomicLong maxMillis = new AtomicLong();
+
+        Counter(long budgetMillis) {
+            this.budgetMillis = budgetMillis;
+        }
+    }
+}
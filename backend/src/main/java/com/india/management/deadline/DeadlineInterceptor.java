@@ -0,0 +1,59 @@
+package com.india.management.deadline;
+
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+
+import java.sql.Connection;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 按请求剩余时间为每条 SQL 设置查询超时
+ * <p>
+ * JDBC 查询超时以秒为单位，这里向上取整（至少 1 秒），已有更短的超时时保留原值；
+ * 超时后驱动取消语句，异常经 Spring 转换为 QueryTimeoutException，事务随之回滚。
+ * 截止时间已过时不再执行语句，直接抛出 SQLTimeoutException，与语句超时走同一条处理路径。
+ */
+@Intercepts(@Signature(type = StatementHandler.class, method = "prepare", args = {Connection.class, Integer.class}))
+public class DeadlineInterceptor implements Interceptor {
+
+    private final LongAdder bounded = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        RequestDeadline deadline = RequestDeadline.current();
+        if (deadline == null) {
+            return invocation.proceed();
+        }
+        if (deadline.isExpired()) {
+            rejected.increment();
+            deadline.markTimedOut();
+            throw new SQLTimeoutException("请求已超过截止时间，语句未执行");
+        }
+        Statement statement = (Statement) invocation.proceed();
+        int seconds = (int) Math.max(1, (deadline.remainingMillis() + 999) / 1000);
+        int configured = statement.getQueryTimeout();
+        if (configured == 0 || seconds < configured) {
+            statement.setQueryTimeout(seconds);
+        }
+        bounded.increment();
+        return statement;
+    }
+
+    /**
+     * 统计信息：设置了超时的语句数、因截止时间已过而未执行的语句数
+     */
+    public Map<String, Object> statistics() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("bounded", bounded.sum());
+        map.put("rejected", rejected.sum());
+        return map;
+    }
+}
@@ -0,0 +1,48 @@
+package com.india.management.deadline;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 请求截止时间配置
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "deadline")
+public class DeadlineProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * 未命中任何规则时的处理预算，单位毫秒，0 表示不设截止时间
+     */
+    private long defaultBudget = 10000;
+
+    /**
+     * 按顺序匹配，第一条命中的规则生效
+     */
+    private List<Rule> rules = new ArrayList<>();
+
+    @Data
+    public static class Rule {
+
+        /**
+         * 路径匹配（Ant风格），命中任意一个即生效
+         */
+        private List<String> patterns = new ArrayList<>();
+
+        /**
+         * 限定的请求方法，为空表示全部
+         */
+        private List<String> methods = new ArrayList<>();
+
+        /**
+         * 处理预算，单位毫秒，0 表示不设截止时间（如长连接）
+         */
+        private long budget;
+    }
+}
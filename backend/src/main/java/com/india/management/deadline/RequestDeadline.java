@@ -0,0 +1,146 @@
+package com.india.management.deadline;
+
+import com.india.management.exception.DeadlineExceededException;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 请求截止时间
+ * <p>
+ * 由 {@link DeadlineFilter} 按接口预算在请求线程上设置，经 {@link #propagate(Runnable)} 带到异步任务线程；
+ * {@link DeadlineInterceptor} 据此为每条 SQL 设置剩余时间内的查询超时，等待异步结果时也不超过剩余时间。
+ * 没有设置截止时间的线程（定时任务、启动任务等）不受影响。
+ */
+public final class RequestDeadline {
+
+    private static final ThreadLocal<RequestDeadline> CURRENT = new ThreadLocal<>();
+
+    private final long budgetMillis;
+    private final long startNanos;
+    private final long deadlineNanos;
+    private volatile boolean timedOut;
+
+    private RequestDeadline(long budgetMillis) {
+        this.budgetMillis = budgetMillis;
+        this.startNanos = System.nanoTime();
+        this.deadlineNanos = startNanos + TimeUnit.MILLISECONDS.toNanos(budgetMillis);
+    }
+
+    public static RequestDeadline start(long budgetMillis) {
+        return new RequestDeadline(budgetMillis);
+    }
+
+    /**
+     * 当前线程的截止时间，未设置时返回 null
+     */
+    public static RequestDeadline current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * 设置当前线程的截止时间，返回原来的值供 {@link #restore(RequestDeadline)} 还原
+     */
+    static RequestDeadline attach(RequestDeadline deadline) {
+        RequestDeadline previous = CURRENT.get();
+        CURRENT.set(deadline);
+        return previous;
+    }
+
+    static void restore(RequestDeadline previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    /**
+     * 让任务在提交方的截止时间下执行
+     */
+    public static Runnable propagate(Runnable task) {
+        RequestDeadline deadline = CURRENT.get();
+        if (deadline == null) {
+            return task;
+        }
+        return () -> {
+            RequestDeadline previous = attach(deadline);
+            try {
+                task.run();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    /**
+     * 已超过截止时间时放弃后续工作
+     */
+    public static void check() {
+        RequestDeadline deadline = CURRENT.get();
+        if (deadline != null && deadline.isExpired()) {
+            throw deadline.exceeded();
+        }
+    }
+
+    /**
+     * 等待异步结果，最多等到当前线程的截止时间；超时后取消任务（尚未开始的不再执行）。
+     * 异常与 {@link CompletableFuture#join()} 一致
+     */
+    public static <T> T join(CompletableFuture<T> future) {
+        RequestDeadline deadline = CURRENT.get();
+        if (deadline == null) {
+            return future.join();
+        }
+        try {
+            return future.get(deadline.remainingMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw deadline.exceeded();
+        } catch (ExecutionException e) {
+            throw new CompletionException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("等待异步结果时被中断");
+        }
+    }
+
+    public long getBudgetMillis() {
+        return budgetMillis;
+    }
+
+    public long elapsedMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * 剩余时间，已超过截止时间时为 0
+     */
+    public long remainingMillis() {
+        return Math.max(0, TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime()));
+    }
+
+    public boolean isExpired() {
+        return System.nanoTime() - deadlineNanos >= 0;
+    }
+
+    /**
+     * 标记本次请求因截止时间中止了工作（语句超时、拒绝执行、放弃等待）
+     */
+    public void markTimedOut() {
+        timedOut = true;
+    }
+
+    public boolean isTimedOut() {
+        return timedOut;
+    }
+
+    private DeadlineExceededException exceeded() {
+        markTimedOut();
+        return new DeadlineExceededException();
+    }
+}
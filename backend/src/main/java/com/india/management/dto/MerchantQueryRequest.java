@@ -0,0 +1,48 @@
+package com.india.management.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+
+/**
+ * 商户列表查询条件
+ * <p>
+ * 传 lastId 时使用键集分页（id &lt; lastId），忽略 current 和 searchCount（不返回总数），翻页成本与页码无关；
+ * 不传时按 current 分页，深分页先在覆盖索引上定位 id 再回表。
+ */
+@Data
+public class MerchantQueryRequest {
+
+    @Min(value = 1, message = "页码必须大于0")
+    private int current = 1;
+
+    @Min(value = 1, message = "每页条数必须大于0")
+    @Max(value = 500, message = "每页条数不能超过500")
+    private int size = 10;
+
+    /**
+     * 名称前缀
+     */
+    private String name;
+
+    /**
+     * 编码前缀
+     */
+    private String code;
+
+    private String status;
+
+    private String businessType;
+
+    /**
+     * 上一页最后一条记录的 id
+     */
+    private Long lastId;
+
+    /**
+     * 是否查询总数，滚动加载时可以关闭
+     */
+    private boolean searchCount = true;
+
+    private String fields;
+}
@@ -0,0 +1,22 @@
+package com.india.management.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class MerchantStatusRequest {
+
+    /**
+     * 批量修改时的商户ID，单个修改时取路径中的ID
+     */
+    @Size(max = 1000, message = "单次最多修改1000个商户")
+    private List<Long> ids;
+
+    @NotBlank(message = "状态不能为空")
+    @Pattern(regexp = "active|inactive", message = "状态只能是 active 或 inactive")
+    private String status;
+}
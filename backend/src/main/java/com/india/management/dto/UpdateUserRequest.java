@@ -2,6 +2,7 @@ package com.india.management.dto;
 
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
 import lombok.Data;
 
 @Data
@@ -12,4 +13,10 @@ public class UpdateUserRequest {
     private String email;
 
     private String fullName;
+
+    /**
+     * 读取时的版本号（当前用户信息中的 version），用于乐观锁校验
+     */
+    @NotNull(message = "版本号不能为空")
+    private Integer version;
 }
@@ -0,0 +1,117 @@
+package com.india.management.encoding;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 响应序列化统计
+ * <p>
+ * 按接口（请求映射模式）和编码（JSON/CBOR/Smile）统计序列化次数、压缩前字节数和序列化耗时，
+ * 用于比较不同编码在各接口上的体积和 CPU 开销。压缩后的网络字节数见 scripts/benchmark-encoding.sh。
+ */
+@Component
+public class EncodingStatistics {
+
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    /**
+     * 执行一次序列化并记录耗时和输出字节数
+     */
+    public void measure(HttpOutputMessage outputMessage, MessageWriter writer) throws IOException {
+        CountingOutputMessage counting = new CountingOutputMessage(outputMessage);
+        long start = System.nanoTime();
+        writer.write(counting);
+        long elapsed = System.nanoTime() - start;
+
+        MediaType contentType = outputMessage.getHeaders().getContentType();
+        String key = endpoint() + " " + (contentType != null ? contentType.getSubtype() : "unknown");
+        Counter counter = counters.computeIfAbsent(key, k -> new Counter());
+        counter.count.increment();
+        counter.bytes.add(counting.bytes);
+        counter.nanos.add(elapsed);
+    }
+
+    public Map<String, Map<String, Object>> snapshot() {
+        Map<String, Map<String, Object>> snapshot = new TreeMap<>();
+        counters.forEach((key, counter) -> {
+            long count = counter.count.sum();
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("count", count);
+            map.put("avgBytes", count == 0 ? 0 : counter.bytes.sum() / count);
+            map.put("avgMicros", count == 0 ? 0 : counter.nanos.sum() / count / 1000);
+            snapshot.put(key, map);
+        });
+        return snapshot;
+    }
+
+    public void reset() {
+        counters.clear();
+    }
+
+    private String endpoint() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            HttpServletRequest request = attributes.getRequest();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            return request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI());
+        }
+        return "unknown";
+    }
+
+    @FunctionalInterface
+    public interface MessageWriter {
+        void write(HttpOutputMessage outputMessage) throws IOException;
+    }
+
+    private static class Counter {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder bytes = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+    }
+
+    private static class CountingOutputMessage implements HttpOutputMessage {
+
+        private final HttpOutputMessage delegate;
+        private long bytes;
+
+        CountingOutputMessage(HttpOutputMessage delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public OutputStream getBody() throws IOException {
+            return new FilterOutputStream(delegate.getBody()) {
+                @Override
+                public void write(int b) throws IOException {
+                    out.write(b);
+                    bytes++;
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) throws IOException {
+                    out.write(b, off, len);
+                    bytes += len;
+                }
+            };
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.india.management.encoding;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.india.management.vo.ApiResponse;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * 共享的 ObjectWriter
+ * <p>
+ * 基于 Spring 配置好的 ObjectMapper（含 Blackbird 模块和字段过滤器）创建，ObjectWriter 不可变且线程安全，
+ * writerFor 预先确定根类型，省去每次序列化时查找根序列化器。过滤器、Controller 之外直接写响应的地方都使用这里的实例。
+ */
+@Component
+public class JsonWriters {
+
+    private final ObjectWriter apiResponseWriter;
+    private final ObjectWriter mapWriter;
+
+    public JsonWriters(ObjectMapper objectMapper) {
+        this.apiResponseWriter = objectMapper.writerFor(ApiResponse.class);
+        this.mapWriter = objectMapper.writerFor(Map.class);
+    }
+
+    public byte[] writeApiResponse(ApiResponse<?> apiResponse) throws JsonProcessingException {
+        return apiResponseWriter.writeValueAsBytes(apiResponse);
+    }
+
+    public String writeMap(Map<String, ?> map) throws JsonProcessingException {
+        return mapWriter.writeValueAsString(map);
+    }
+
+    /**
+     * 在 Spring MVC 之外（过滤器、安全处理器）直接写出 JSON 响应
+     */
+    public void write(HttpServletResponse response, int status, ApiResponse<?> apiResponse) throws IOException {
+        byte[] body = writeApiResponse(apiResponse);
+        response.setStatus(status);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+}
@@ -0,0 +1,32 @@
+package com.india.management.entity;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@TableName("sys_audit_log")
+public class AuditLog {
+
+    @TableId(type = IdType.AUTO)
+    private Long id;
+
+    private Long operatorId; // 操作人ID
+
+    private String operatorName; // 操作人用户名
+
+    private String action; // 操作类型：CREATE、UPDATE、DELETE
+
+    private String targetType; // 操作对象类型：USER、ROLE、PERMISSION
+
+    private Long targetId; // 操作对象ID
+
+    private String detail; // 变更详情（JSON）
+
+    private Long createTime; // 分区键
+}
@@ -0,0 +1,26 @@
+package com.india.management.entity;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@TableName("sys_cache_event")
+public class CacheEvent {
+
+    @TableId(type = IdType.AUTO)
+    private Long id;
+
+    private String region; // 缓存区域，见 CacheRegion
+
+    private Long entityId; // 实体ID，为空表示整个区域
+
+    private String nodeId; // 发布事件的节点
+
+    private Long createTime;
+}
@@ -0,0 +1,49 @@
+package com.india.management.entity;
+
+import com.baomidou.mybatisplus.annotation.*;
+import com.fasterxml.jackson.annotation.JsonFilter;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonFilter("merchant")
+@TableName("sys_merchant")
+public class Merchant implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @TableId(type = IdType.ASSIGN_ID)
+    private Long id;
+
+    private String code; // 商户编码，唯一
+
+    private String name; // 商户名称
+
+    private String contactPerson; // 联系人
+
+    private String contactPhone; // 联系电话
+
+    private String email;
+
+    private String address;
+
+    private String status; // 状态：active（启用）、inactive（禁用）
+
+    private String businessType; // 业务类型
+
+    private String description;
+
+    @TableField(fill = FieldFill.INSERT)
+    private Long createTime;
+
+    @TableField(fill = FieldFill.INSERT_UPDATE)
+    private Long updateTime;
+
+    @TableLogic
+    private Integer deleted;
+}
@@ -1,19 +1,24 @@
 package com.india.management.entity;
 
 import com.baomidou.mybatisplus.annotation.*;
+import com.fasterxml.jackson.annotation.JsonFilter;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.io.Serializable;
 import java.util.List;
 
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+@JsonFilter("permission")
 @TableName("sys_permission")
-public class Permission {
+public class Permission implements Serializable {
 
-    @TableId(type = IdType.AUTO)
+    private static final long serialVersionUID = 1L;
+
+    @TableId(type = IdType.ASSIGN_ID)
     private Long id;
 
     private String code; // 权限编码，例如：system:user:add
@@ -40,6 +45,9 @@ public class Permission {
     @TableField(fill = FieldFill.INSERT_UPDATE)
     private Long updateTime;
 
+    @Version
+    private Integer version;
+
     @TableLogic
     private Integer deleted;
 
@@ -1,20 +1,25 @@
 package com.india.management.entity;
 
 import com.baomidou.mybatisplus.annotation.*;
+import com.fasterxml.jackson.annotation.JsonFilter;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.io.Serializable;
 import java.util.List;
 import java.util.Set;
 
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+@JsonFilter("role")
 @TableName("sys_role")
-public class Role {
+public class Role implements Serializable {
 
-    @TableId(type = IdType.AUTO)
+    private static final long serialVersionUID = 1L;
+
+    @TableId(type = IdType.ASSIGN_ID)
     private Long id;
 
     private String name;
@@ -29,6 +34,9 @@ public class Role {
     @TableField(fill = FieldFill.INSERT_UPDATE)
     private Long updateTime;
 
+    @Version
+    private Integer version;
+
     @TableLogic
     private Integer deleted;
 
@@ -13,7 +13,7 @@ import lombok.NoArgsConstructor;
 @TableName("sys_role_permission")
 public class RolePermission {
 
-    @TableId(type = IdType.AUTO)
+    @TableId(type = IdType.ASSIGN_ID)
     private Long id;
 
     private Long roleId;
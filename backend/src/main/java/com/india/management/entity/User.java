@@ -1,23 +1,30 @@
 package com.india.management.entity;
 
 import com.baomidou.mybatisplus.annotation.*;
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.io.Serializable;
 import java.util.List;
 
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+@JsonFilter("user")
 @TableName("sys_user")
-public class User {
+public class User implements Serializable {
 
-    @TableId(type = IdType.AUTO)
+    private static final long serialVersionUID = 1L;
+
+    @TableId(type = IdType.ASSIGN_ID)
     private Long id;
 
     private String username;
 
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     private String password;
 
     private String email;
@@ -32,6 +39,9 @@ public class User {
     @TableField(fill = FieldFill.INSERT_UPDATE)
     private Long updateTime;
 
+    @Version
+    private Integer version;
+
     @TableLogic
     private Integer deleted;
 
@@ -0,0 +1,27 @@
+package com.india.management.entity;
+
+import com.baomidou.mybatisplus.annotation.FieldFill;
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableField;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@TableName("sys_user_index")
+public class UserIndex {
+
+    @TableId(type = IdType.ASSIGN_ID)
+    private Long id; // 用户ID，分片见 UserShardRouter.shardOf
+
+    private String username;
+
+    private String email;
+
+    @TableField(fill = FieldFill.INSERT)
+    private Long createTime;
+}
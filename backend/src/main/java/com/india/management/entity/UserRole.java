@@ -13,7 +13,7 @@ import lombok.NoArgsConstructor;
 @TableName("sys_user_role")
 public class UserRole {
 
-    @TableId(type = IdType.AUTO)
+    @TableId(type = IdType.ASSIGN_ID)
     private Long id;
 
     private Long userId;
@@ -2,32 +2,62 @@ package com.india.management.exception;
 
 /**
  * 业务异常基类
+ * <p>
+ * 业务异常属于预期内的失败，不采集堆栈（writableStackTrace=false），也不记录被抑制异常，
+ * 高频的登录失败、参数错误不会因为遍历调用栈而变慢。带 cause 的异常堆栈仍保留在 cause 上。
  */
 public class BusinessException extends RuntimeException {
     
-    private Integer code;
+    private final ErrorCode errorCode;
+
+    private final Integer code;
     
+    public BusinessException(ErrorCode errorCode) {
+        this(errorCode, errorCode.getMessage(), null);
+    }
+
+    public BusinessException(ErrorCode errorCode, String message) {
+        this(errorCode, message, null);
+    }
+
+    public BusinessException(ErrorCode errorCode, String message, Throwable cause) {
+        this(errorCode, message, errorCode.getCode(), cause);
+    }
+
     public BusinessException(String message) {
-        super(message);
-        this.code = 500;
+        this(ErrorCode.BUSINESS_ERROR, message, 500, null);
     }
     
     public BusinessException(String message, Throwable cause) {
-        super(message, cause);
-        this.code = 500;
+        this(ErrorCode.BUSINESS_ERROR, message, 500, cause);
     }
     
     public BusinessException(String message, Integer code) {
-        super(message);
-        this.code = code;
+        this(ErrorCode.BUSINESS_ERROR, message, code, null);
     }
     
     public BusinessException(String message, Integer code, Throwable cause) {
-        super(message, cause);
+        this(ErrorCode.BUSINESS_ERROR, message, code, cause);
+    }
+
+    private BusinessException(ErrorCode errorCode, String message, Integer code, Throwable cause) {
+        super(message, cause, false, false);
+        this.errorCode = errorCode;
         this.code = code;
     }
     
     public Integer getCode() {
         return this.code;
     }
+
+    public ErrorCode getErrorCode() {
+        return this.errorCode;
+    }
+
+    /**
+     * 是否使用错误码的默认提示，是则可以直接返回预先序列化的响应体
+     */
+    public boolean hasDefaultMessage() {
+        return errorCode.getMessage().equals(getMessage());
+    }
 }
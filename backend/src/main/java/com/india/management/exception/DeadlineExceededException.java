@@ -0,0 +1,11 @@
+package com.india.management.exception;
+
+/**
+ * 请求超过截止时间，后续工作已放弃
+ */
+public class DeadlineExceededException extends BusinessException {
+
+    public DeadlineExceededException() {
+        super(ErrorCode.DEADLINE_EXCEEDED);
+    }
+}
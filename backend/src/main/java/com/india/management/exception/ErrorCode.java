@@ -0,0 +1,62 @@
+package com.india.management.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * 错误码目录
+ * <p>
+ * 预期内的业务失败统一在这里登记错误码、HTTP 状态和默认提示，
+ * 使用默认提示抛出的异常由 {@link ErrorResponses} 直接返回预先序列化好的响应体。
+ */
+public enum ErrorCode {
+
+    BUSINESS_ERROR(10000, HttpStatus.OK, "操作失败"),
+    USER_NOT_FOUND(10001, HttpStatus.OK, "用户不存在"),
+    NOT_LOGGED_IN(10002, HttpStatus.OK, "用户未登录"),
+    OLD_PASSWORD_INCORRECT(10003, HttpStatus.BAD_REQUEST, "旧密码不正确"),
+    PASSWORD_CONFIRM_MISMATCH(10004, HttpStatus.BAD_REQUEST, "新密码与确认密码不一致"),
+    USERNAME_EXISTS(10005, HttpStatus.BAD_REQUEST, "用户名已存在"),
+    BAD_CREDENTIALS(10006, HttpStatus.OK, "用户名或密码错误"),
+    EMAIL_EXISTS(10007, HttpStatus.BAD_REQUEST, "邮箱已存在"),
+    MERCHANT_CODE_EXISTS(10101, HttpStatus.BAD_REQUEST, "商户编码已存在"),
+    MERCHANT_STATUS_INVALID(10102, HttpStatus.BAD_REQUEST, "商户状态只能是 active 或 inactive"),
+
+    VALIDATION_FAILED(40000, HttpStatus.BAD_REQUEST, "参数验证失败"),
+    REQUEST_BODY_UNREADABLE(40001, HttpStatus.BAD_REQUEST, "请求体格式错误"),
+    AUTHENTICATION_REQUIRED(40100, HttpStatus.UNAUTHORIZED, "请先登录"),
+    ACCESS_DENIED(40300, HttpStatus.FORBIDDEN, "权限不足，无法访问"),
+    RESOURCE_NOT_FOUND(40400, HttpStatus.NOT_FOUND, "未找到请求的资源"),
+    METHOD_NOT_ALLOWED(40500, HttpStatus.METHOD_NOT_ALLOWED, "不支持该请求方法"),
+    DATA_DUPLICATE(40900, HttpStatus.CONFLICT, "数据已存在，请勿重复添加"),
+    DATA_REFERENCED(40901, HttpStatus.CONFLICT, "数据被引用，无法操作"),
+    DATA_OPERATION_FAILED(40902, HttpStatus.CONFLICT, "数据操作失败"),
+    CONCURRENT_MODIFICATION(40903, HttpStatus.CONFLICT, "数据已被其他人修改，请刷新后重试"),
+
+    SYSTEM_ERROR(50000, HttpStatus.INTERNAL_SERVER_ERROR, "系统异常，请联系管理员"),
+    AUTH_SERVICE_UNAVAILABLE(50300, HttpStatus.SERVICE_UNAVAILABLE, "认证服务暂不可用，请稍后重试"),
+    AUTHZ_INDEX_NOT_READY(50301, HttpStatus.SERVICE_UNAVAILABLE, "授权索引正在构建，请稍后重试"),
+    PUSH_UNAVAILABLE(50302, HttpStatus.SERVICE_UNAVAILABLE, "推送连接数已达上限，请稍后重试"),
+    DEADLINE_EXCEEDED(50303, HttpStatus.SERVICE_UNAVAILABLE, "请求处理超时，请稍后重试");
+
+    private final int code;
+    private final HttpStatus httpStatus;
+    private final String message;
+
+    ErrorCode(int code, HttpStatus httpStatus, String message) {
+        this.code = code;
+        this.httpStatus = httpStatus;
+        this.message = message;
+    }
+
+    public int getCode() {
+        return code;
+    }
+
+    public HttpStatus getHttpStatus() {
+        return httpStatus;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
@@ -0,0 +1,122 @@
+package com.india.management.exception;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 异常日志限流
+ * <p>
+ * 同一类异常（按 key 区分）在一个时间窗口内只输出第一条日志，其余只计数，
+ * 窗口结束后合并输出一条"重复 N 次"的汇总，避免错误风暴时日志量随请求量线性增长。
+ * key 的数量有上限，超出后新 key 的日志全部合并到溢出计数中。
+ */
+@Component
+@Slf4j
+public class ErrorLogThrottle {
+
+    @Value("${error-log.window:60000}")
+    private long windowMs;
+
+    @Value("${error-log.max-keys:1024}")
+    private int maxKeys;
+
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+
+    private final LongAdder suppressed = new LongAdder();
+    private final LongAdder overflow = new LongAdder();
+
+    /**
+     * 记录一次异常，返回本次是否应该输出日志
+     */
+    public boolean tryAcquire(String key) {
+        Window window = windows.get(key);
+        if (window == null) {
+            if (windows.size() >= maxKeys) {
+                overflow.increment();
+                return false;
+            }
+            window = windows.computeIfAbsent(key, k -> new Window());
+        }
+        if (window.hit(key, System.currentTimeMillis())) {
+            return true;
+        }
+        suppressed.increment();
+        return false;
+    }
+
+    /**
+     * 输出已结束窗口的汇总，并清理长时间没有再出现的 key
+     */
+    @Scheduled(fixedDelayString = "${error-log.window:60000}")
+    public void flush() {
+        long now = System.currentTimeMillis();
+        windows.entrySet().removeIf(entry -> entry.getValue().expire(entry.getKey(), now));
+        long overflowed = overflow.sumThenReset();
+        if (overflowed > 0) {
+            log.warn("异常种类超过上限 {}，{} 条日志未输出", maxKeys, overflowed);
+        }
+    }
+
+    public Map<String, Object> statistics() {
+        Map<String, Long> top = new LinkedHashMap<>();
+        windows.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, Window> e) -> e.getValue().total).reversed())
+                .limit(50)
+                .forEach(entry -> top.put(entry.getKey(), entry.getValue().total));
+
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("window", windowMs);
+        map.put("keys", windows.size());
+        map.put("suppressed", suppressed.sum());
+        map.put("top", top);
+        return map;
+    }
+
+    private class Window {
+
+        private long start;
+        private long repeated;
+        private volatile long total;
+
+        synchronized boolean hit(String key, long now) {
+            total++;
+            if (start == 0 || now - start >= windowMs) {
+                report(key);
+                start = now;
+                return true;
+            }
+            repeated++;
+            return false;
+        }
+
+        /**
+         * 窗口已结束时输出汇总；连续两个窗口都没有出现的 key 返回 true 以便清理
+         */
+        synchronized boolean expire(String key, long now) {
+            if (now - start < windowMs) {
+                return false;
+            }
+            if (repeated > 0) {
+                report(key);
+                start = now;
+                return false;
+            }
+            return now - start >= 2 * windowMs;
+        }
+
+        private void report(String key) {
+            if (repeated > 0) {
+                log.warn("[{}] 在 {} 秒内重复出现 {} 次，已合并输出", key, windowMs / 1000, repeated);
+                repeated = 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.india.management.exception;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.india.management.encoding.JsonWriters;
+import com.india.management.vo.ApiResponse;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * 预先序列化的错误响应
+ * <p>
+ * 启动时把每个错误码默认提示对应的 ApiResponse 序列化为 JSON 字节，
+ * 错误路径上直接写出字节数组，不再为每次失败创建响应对象并序列化。
+ */
+@Component
+public class ErrorResponses {
+
+    private final Map<ErrorCode, byte[]> bodies = new EnumMap<>(ErrorCode.class);
+
+    public ErrorResponses(JsonWriters jsonWriters) throws JsonProcessingException {
+        for (ErrorCode errorCode : ErrorCode.values()) {
+            bodies.put(errorCode, jsonWriters.writeApiResponse(ApiResponse.error(errorCode)));
+        }
+    }
+
+    public byte[] body(ErrorCode errorCode) {
+        return bodies.get(errorCode);
+    }
+
+    public ResponseEntity<byte[]> of(ErrorCode errorCode) {
+        return ResponseEntity.status(errorCode.getHttpStatus())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(bodies.get(errorCode));
+    }
+}
@@ -1,12 +1,16 @@
 package com.india.management.exception;
 
+import com.india.management.deadline.RequestDeadline;
 import com.india.management.vo.ApiResponse;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.QueryTimeoutException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -29,38 +33,31 @@ import java.util.stream.Collectors;
 
 /**
  * 全局异常处理器
+ * <p>
+ * 预期内的失败（业务异常、参数错误、认证失败等）只输出一行 WARN，不打印堆栈；
+ * 只有未预期的异常才输出完整堆栈。所有异常日志都经过 {@link ErrorLogThrottle} 限流合并。
  */
 @RestControllerAdvice
+@RequiredArgsConstructor
 @Slf4j
 public class GlobalExceptionHandler {
 
-    /**
-     * 处理自定义业务异常
-     */
-    @ExceptionHandler(BusinessException.class)
-    public ApiResponse<?> handleBusinessException(BusinessException e) {
-        log.error("业务异常: {}", e.getMessage(), e);
-        return ApiResponse.error(e.getMessage());
-    }
+    private final ErrorResponses errorResponses;
+    private final ErrorLogThrottle errorLogThrottle;
 
     /**
-     * 处理资源未找到异常
+     * 处理自定义业务异常（包括资源未找到、参数验证异常）
      */
-    @ExceptionHandler(ResourceNotFoundException.class)
-    @ResponseStatus(HttpStatus.NOT_FOUND)
-    public ApiResponse<?> handleResourceNotFoundException(ResourceNotFoundException e) {
-        log.error("资源未找到: {}", e.getMessage(), e);
-        return ApiResponse.error(e.getMessage());
-    }
-
-    /**
-     * 处理参数验证异常
-     */
-    @ExceptionHandler(ValidationException.class)
-    @ResponseStatus(HttpStatus.BAD_REQUEST)
-    public ApiResponse<?> handleValidationException(ValidationException e) {
-        log.error("参数验证失败: {}", e.getMessage(), e);
-        return ApiResponse.error(e.getMessage());
+    @ExceptionHandler(BusinessException.class)
+    public ResponseEntity<?> handleBusinessException(BusinessException e) {
+        ErrorCode errorCode = e.getErrorCode();
+        if (errorLogThrottle.tryAcquire(e.getClass().getSimpleName() + ":" + errorCode.name())) {
+            log.warn("业务异常: [{}] {}", errorCode.getCode(), e.getMessage());
+        }
+        if (e.hasDefaultMessage()) {
+            return errorResponses.of(errorCode);
+        }
+        return ResponseEntity.status(errorCode.getHttpStatus()).body(ApiResponse.error(errorCode, e.getMessage()));
     }
 
     /**
@@ -69,12 +66,9 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(MethodArgumentNotValidException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ApiResponse<?> handleMethodArgumentNotValidException(MethodArgumentNotValidException e) {
-        log.error("参数绑定失败: {}", e.getMessage(), e);
-        List<FieldError> fieldErrors = e.getBindingResult().getFieldErrors();
-        String errorMessage = fieldErrors.stream()
-                .map(error -> error.getField() + ": " + error.getDefaultMessage())
-                .collect(Collectors.joining(", "));
-        return ApiResponse.error("参数验证失败: " + errorMessage);
+        String errorMessage = joinFieldErrors(e.getBindingResult().getFieldErrors());
+        warn(e, "参数绑定失败: {}", errorMessage);
+        return ApiResponse.error(ErrorCode.VALIDATION_FAILED, "参数验证失败: " + errorMessage);
     }
 
     /**
@@ -83,12 +77,9 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(BindException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ApiResponse<?> handleBindException(BindException e) {
-        log.error("参数绑定失败: {}", e.getMessage(), e);
-        List<FieldError> fieldErrors = e.getBindingResult().getFieldErrors();
-        String errorMessage = fieldErrors.stream()
-                .map(error -> error.getField() + ": " + error.getDefaultMessage())
-                .collect(Collectors.joining(", "));
-        return ApiResponse.error("参数绑定失败: " + errorMessage);
+        String errorMessage = joinFieldErrors(e.getBindingResult().getFieldErrors());
+        warn(e, "参数绑定失败: {}", errorMessage);
+        return ApiResponse.error(ErrorCode.VALIDATION_FAILED, "参数绑定失败: " + errorMessage);
     }
 
     /**
@@ -97,11 +88,11 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(ConstraintViolationException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ApiResponse<?> handleConstraintViolationException(ConstraintViolationException e) {
-        log.error("约束违反: {}", e.getMessage(), e);
         String errorMessage = e.getConstraintViolations().stream()
                 .map(ConstraintViolation::getMessage)
                 .collect(Collectors.joining(", "));
-        return ApiResponse.error("参数验证失败: " + errorMessage);
+        warn(e, "约束违反: {}", errorMessage);
+        return ApiResponse.error(ErrorCode.VALIDATION_FAILED, "参数验证失败: " + errorMessage);
     }
 
     /**
@@ -110,8 +101,8 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(MissingServletRequestParameterException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ApiResponse<?> handleMissingServletRequestParameterException(MissingServletRequestParameterException e) {
-        log.error("请求参数缺失: {}", e.getMessage(), e);
-        return ApiResponse.error("请求参数缺失: " + e.getParameterName());
+        warn(e, "请求参数缺失: {}", e.getParameterName());
+        return ApiResponse.error(ErrorCode.VALIDATION_FAILED, "请求参数缺失: " + e.getParameterName());
     }
 
     /**
@@ -120,18 +111,18 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(MethodArgumentTypeMismatchException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ApiResponse<?> handleMethodArgumentTypeMismatchException(MethodArgumentTypeMismatchException e) {
-        log.error("参数类型不匹配: {}", e.getMessage(), e);
-        return ApiResponse.error("参数类型不匹配: " + e.getName() + " 应为 " + e.getRequiredType().getSimpleName() + " 类型");
+        warn(e, "参数类型不匹配: {}", e.getName());
+        String requiredType = e.getRequiredType() != null ? e.getRequiredType().getSimpleName() : "未知";
+        return ApiResponse.error(ErrorCode.VALIDATION_FAILED, "参数类型不匹配: " + e.getName() + " 应为 " + requiredType + " 类型");
     }
 
     /**
      * 处理HTTP消息不可读异常
      */
     @ExceptionHandler(HttpMessageNotReadableException.class)
-    @ResponseStatus(HttpStatus.BAD_REQUEST)
-    public ApiResponse<?> handleHttpMessageNotReadableException(HttpMessageNotReadableException e) {
-        log.error("HTTP消息不可读: {}", e.getMessage(), e);
-        return ApiResponse.error("请求体格式错误");
+    public ResponseEntity<byte[]> handleHttpMessageNotReadableException(HttpMessageNotReadableException e) {
+        warn(e, "HTTP消息不可读: {}", e.getMessage());
+        return errorResponses.of(ErrorCode.REQUEST_BODY_UNREADABLE);
     }
 
     /**
@@ -140,8 +131,8 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(HttpRequestMethodNotSupportedException.class)
     @ResponseStatus(HttpStatus.METHOD_NOT_ALLOWED)
     public ApiResponse<?> handleHttpRequestMethodNotSupportedException(HttpRequestMethodNotSupportedException e) {
-        log.error("请求方法不支持: {}", e.getMessage(), e);
-        return ApiResponse.error("不支持 " + e.getMethod() + " 请求方法");
+        warn(e, "请求方法不支持: {}", e.getMethod());
+        return ApiResponse.error(ErrorCode.METHOD_NOT_ALLOWED, "不支持 " + e.getMethod() + " 请求方法");
     }
 
     /**
@@ -150,85 +141,107 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(NoHandlerFoundException.class)
     @ResponseStatus(HttpStatus.NOT_FOUND)
     public ApiResponse<?> handleNoHandlerFoundException(NoHandlerFoundException e) {
-        log.error("资源未找到: {}", e.getMessage(), e);
-        return ApiResponse.error("未找到资源: " + e.getRequestURL());
+        warn(e, "资源未找到: {}", e.getRequestURL());
+        return ApiResponse.error(ErrorCode.RESOURCE_NOT_FOUND, "未找到资源: " + e.getRequestURL());
     }
 
     /**
      * 处理元素未找到异常
      */
     @ExceptionHandler(NoSuchElementException.class)
-    @ResponseStatus(HttpStatus.NOT_FOUND)
-    public ApiResponse<?> handleNoSuchElementException(NoSuchElementException e) {
-        log.error("元素未找到: {}", e.getMessage(), e);
-        return ApiResponse.error("未找到请求的资源");
+    public ResponseEntity<byte[]> handleNoSuchElementException(NoSuchElementException e) {
+        warn(e, "元素未找到: {}", e.getMessage());
+        return errorResponses.of(ErrorCode.RESOURCE_NOT_FOUND);
     }
 
     /**
      * 处理数据完整性违反异常
      */
     @ExceptionHandler(DataIntegrityViolationException.class)
-    @ResponseStatus(HttpStatus.CONFLICT)
-    public ApiResponse<?> handleDataIntegrityViolationException(DataIntegrityViolationException e) {
-        log.error("数据完整性违反: {}", e.getMessage(), e);
-        String message = "数据操作失败";
-        if (e.getCause() instanceof SQLException) {
-            SQLException sqlEx = (SQLException) e.getCause();
+    public ResponseEntity<byte[]> handleDataIntegrityViolationException(DataIntegrityViolationException e) {
+        warn(e, "数据完整性违反: {}", e.getMostSpecificCause().getMessage());
+        ErrorCode errorCode = ErrorCode.DATA_OPERATION_FAILED;
+        if (e.getCause() instanceof SQLException sqlEx && sqlEx.getMessage() != null) {
             if (sqlEx.getMessage().contains("foreign key constraint")) {
-                message = "数据被引用，无法操作";
+                errorCode = ErrorCode.DATA_REFERENCED;
             } else if (sqlEx.getMessage().contains("Duplicate entry")) {
-                message = "数据已存在，请勿重复添加";
+                errorCode = ErrorCode.DATA_DUPLICATE;
             }
         }
-        return ApiResponse.error(message);
+        return errorResponses.of(errorCode);
     }
 
     /**
      * 处理重复键异常
      */
     @ExceptionHandler(DuplicateKeyException.class)
-    @ResponseStatus(HttpStatus.CONFLICT)
-    public ApiResponse<?> handleDuplicateKeyException(DuplicateKeyException e) {
-        log.error("重复键异常: {}", e.getMessage(), e);
-        return ApiResponse.error("数据已存在，请勿重复添加");
+    public ResponseEntity<byte[]> handleDuplicateKeyException(DuplicateKeyException e) {
+        warn(e, "重复键异常: {}", e.getMostSpecificCause().getMessage());
+        return errorResponses.of(ErrorCode.DATA_DUPLICATE);
+    }
+
+    /**
+     * 处理语句超时（按请求剩余时间设置的查询超时，或截止时间已过未执行）
+     */
+    @ExceptionHandler(QueryTimeoutException.class)
+    public ResponseEntity<byte[]> handleQueryTimeoutException(QueryTimeoutException e) {
+        RequestDeadline deadline = RequestDeadline.current();
+        if (deadline != null) {
+            deadline.markTimedOut();
+        }
+        warn(e, "语句超时: {}", e.getMostSpecificCause().getMessage());
+        return errorResponses.of(ErrorCode.DEADLINE_EXCEEDED);
     }
 
     /**
      * 处理访问拒绝异常
      */
     @ExceptionHandler(AccessDeniedException.class)
-    @ResponseStatus(HttpStatus.FORBIDDEN)
-    public ApiResponse<?> handleAccessDeniedException(AccessDeniedException e) {
-        log.error("访问拒绝: {}", e.getMessage(), e);
-        return ApiResponse.error("权限不足，无法访问");
+    public ResponseEntity<byte[]> handleAccessDeniedException(AccessDeniedException e) {
+        warn(e, "访问拒绝: {}", e.getMessage());
+        return errorResponses.of(ErrorCode.ACCESS_DENIED);
     }
 
     /**
      * 处理认证凭证异常
      */
     @ExceptionHandler(BadCredentialsException.class)
-    public ApiResponse<?> handleBadCredentialsException(BadCredentialsException e) {
-        log.error("认证凭证异常: {}", e.getMessage(), e);
-        return ApiResponse.error("用户名或密码错误");
+    public ResponseEntity<byte[]> handleBadCredentialsException(BadCredentialsException e) {
+        warn(e, "认证凭证异常: {}", e.getMessage());
+        return errorResponses.of(ErrorCode.BAD_CREDENTIALS);
     }
 
     /**
      * 处理认证不足异常
      */
     @ExceptionHandler(InsufficientAuthenticationException.class)
-    @ResponseStatus(HttpStatus.UNAUTHORIZED)
-    public ApiResponse<?> handleInsufficientAuthenticationException(InsufficientAuthenticationException e) {
-        log.error("认证不足: {}", e.getMessage(), e);
-        return ApiResponse.error("请先登录");
+    public ResponseEntity<byte[]> handleInsufficientAuthenticationException(InsufficientAuthenticationException e) {
+        warn(e, "认证不足: {}", e.getMessage());
+        return errorResponses.of(ErrorCode.AUTHENTICATION_REQUIRED);
     }
 
     /**
-     * 处理所有未捕获的异常
+     * 处理所有未捕获的异常，只有这里输出完整堆栈
      */
     @ExceptionHandler(Exception.class)
-    @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
-    public ApiResponse<?> handleException(Exception e) {
-        log.error("系统异常: {}", e.getMessage(), e);
-        return ApiResponse.error("系统异常，请联系管理员");
+    public ResponseEntity<byte[]> handleException(Exception e) {
+        StackTraceElement[] stackTrace = e.getStackTrace();
+        String key = e.getClass().getName() + (stackTrace.length > 0 ? "@" + stackTrace[0] : "");
+        if (errorLogThrottle.tryAcquire(key)) {
+            log.error("系统异常: {}", e.getMessage(), e);
+        }
+        return errorResponses.of(ErrorCode.SYSTEM_ERROR);
+    }
+
+    private void warn(Exception e, String format, Object argument) {
+        if (errorLogThrottle.tryAcquire(e.getClass().getSimpleName())) {
+            log.warn(format, argument);
+        }
+    }
+
+    private String joinFieldErrors(List<FieldError> fieldErrors) {
+        return fieldErrors.stream()
+                .map(error -> error.getField() + ": " + error.getDefaultMessage())
+                .collect(Collectors.joining(", "));
     }
 }
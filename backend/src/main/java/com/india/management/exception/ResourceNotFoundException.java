@@ -6,10 +6,10 @@ package com.india.management.exception;
 public class ResourceNotFoundException extends BusinessException {
     
     public ResourceNotFoundException(String message) {
-        super(message, 404);
+        super(ErrorCode.RESOURCE_NOT_FOUND, message);
     }
     
     public ResourceNotFoundException(String resourceName, String fieldName, Object fieldValue) {
-        super(String.format("%s 未找到，%s: %s", resourceName, fieldName, fieldValue), 404);
+        super(ErrorCode.RESOURCE_NOT_FOUND, String.format("%s 未找到，%s: %s", resourceName, fieldName, fieldValue));
     }
 }
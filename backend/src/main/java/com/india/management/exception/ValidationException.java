@@ -5,11 +5,15 @@ package com.india.management.exception;
  */
 public class ValidationException extends BusinessException {
     
+    public ValidationException(ErrorCode errorCode) {
+        super(errorCode);
+    }
+
     public ValidationException(String message) {
-        super(message, 400);
+        super(ErrorCode.VALIDATION_FAILED, message);
     }
     
     public ValidationException(String message, Throwable cause) {
-        super(message, 400, cause);
+        super(ErrorCode.VALIDATION_FAILED, message, cause);
     }
 }
@@ -0,0 +1,63 @@
+package com.india.management.fieldset;
+
+import com.india.management.entity.Merchant;
+import com.india.management.entity.Permission;
+import com.india.management.entity.Role;
+import com.india.management.entity.User;
+
+/**
+ * 各实体允许客户端选择的字段，密码、逻辑删除标记等字段不在白名单内
+ */
+public final class EntityFields {
+
+    public static final FieldCatalog<User> USER = FieldCatalog.of("user", "id", User::getId)
+            .column("username", User::getUsername)
+            .column("email", User::getEmail)
+            .column("fullName", User::getFullName)
+            .column("enabled", User::getEnabled)
+            .column("createTime", User::getCreateTime)
+            .column("updateTime", User::getUpdateTime)
+            .column("version", User::getVersion)
+            .relation("roles");
+
+    public static final FieldCatalog<Role> ROLE = FieldCatalog.of("role", "id", Role::getId)
+            .column("name", Role::getName)
+            .column("code", Role::getCode)
+            .column("description", Role::getDescription)
+            .column("createTime", Role::getCreateTime)
+            .column("updateTime", Role::getUpdateTime)
+            .column("version", Role::getVersion)
+            .relation("permissions");
+
+    public static final FieldCatalog<Permission> PERMISSION = FieldCatalog.of("permission", "id", Permission::getId)
+            .column("code", Permission::getCode)
+            .column("name", Permission::getName)
+            .column("description", Permission::getDescription)
+            .column("type", Permission::getType)
+            .column("path", Permission::getPath)
+            .column("component", Permission::getComponent)
+            .column("icon", Permission::getIcon)
+            .column("sort", Permission::getSort)
+            .column("parentId", Permission::getParentId)
+            .column("createTime", Permission::getCreateTime)
+            .column("updateTime", Permission::getUpdateTime)
+            .column("version", Permission::getVersion)
+            .relation("children")
+            .required(Permission::getParentId);
+
+    public static final FieldCatalog<Merchant> MERCHANT = FieldCatalog.of("merchant", "id", Merchant::getId)
+            .column("code", Merchant::getCode)
+            .column("name", Merchant::getName)
+            .column("contactPerson", Merchant::getContactPerson)
+            .column("contactPhone", Merchant::getContactPhone)
+            .column("email", Merchant::getEmail)
+            .column("address", Merchant::getAddress)
+            .column("status", Merchant::getStatus)
+            .column("businessType", Merchant::getBusinessType)
+            .column("description", Merchant::getDescription)
+            .column("createTime", Merchant::getCreateTime)
+            .column("updateTime", Merchant::getUpdateTime);
+
+    private EntityFields() {
+    }
+}
@@ -0,0 +1,116 @@
+package com.india.management.fieldset;
+
+import com.baomidou.mybatisplus.core.toolkit.support.SFunction;
+import com.india.management.exception.ValidationException;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 实体可选字段目录（白名单）
+ * <p>
+ * 每个字段对应一个数据库列（关联字段如 roles、children 没有对应列），
+ * 客户端通过 fields 参数选择字段时，只查询对应的列，并且只序列化选中的属性。
+ * 主键字段总是返回；required 列总是查询（例如构建权限树需要的 parentId），但只有被选中时才返回。
+ */
+public final class FieldCatalog<T> {
+
+    private final String filterId;
+    private final String keyField;
+    private final Map<String, SFunction<T, ?>> fields = new LinkedHashMap<>();
+    private final List<SFunction<T, ?>> requiredColumns = new ArrayList<>();
+
+    private FieldCatalog(String filterId, String keyField, SFunction<T, ?> keyColumn) {
+        this.filterId = filterId;
+        this.keyField = keyField;
+        this.fields.put(keyField, keyColumn);
+        this.requiredColumns.add(keyColumn);
+    }
+
+    /**
+     * @param filterId 实体类上 @JsonFilter 的 ID
+     */
+    public static <T> FieldCatalog<T> of(String filterId, String keyField, SFunction<T, ?> keyColumn) {
+        return new FieldCatalog<>(filterId, keyField, keyColumn);
+    }
+
+    public FieldCatalog<T> column(String name, SFunction<T, ?> column) {
+        fields.put(name, column);
+        return this;
+    }
+
+    public FieldCatalog<T> relation(String name) {
+        fields.put(name, null);
+        return this;
+    }
+
+    public FieldCatalog<T> required(SFunction<T, ?> column) {
+        requiredColumns.add(column);
+        return this;
+    }
+
+    /**
+     * 全部字段
+     */
+    public FieldSet<T> all() {
+        return new FieldSet<>(null, Collections.emptyList());
+    }
+
+    /**
+     * 解析 fields 参数（逗号分隔），校验白名单，并把序列化过滤条件绑定到当前请求
+     *
+     * @param fields 为空时返回全部字段
+     */
+    public FieldSet<T> select(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return all();
+        }
+
+        Set<String> names = new LinkedHashSet<>();
+        names.add(keyField);
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!this.fields.containsKey(name)) {
+                throw new ValidationException("不支持的字段: " + name + "，可选字段: " + String.join(",", this.fields.keySet()));
+            }
+            names.add(name);
+        }
+
+        List<SFunction<T, ?>> columns = new ArrayList<>(requiredColumns);
+        for (String name : names) {
+            SFunction<T, ?> column = this.fields.get(name);
+            if (column != null && !columns.contains(column)) {
+                columns.add(column);
+            }
+        }
+
+        bind(names);
+        return new FieldSet<>(Collections.unmodifiableSet(names), columns);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void bind(Set<String> names) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return;
+        }
+        Map<String, Set<String>> filters = (Map<String, Set<String>>) attributes.getAttribute(
+                FieldSetResponseBodyAdvice.FILTERS_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (filters == null) {
+            filters = new HashMap<>();
+            attributes.setAttribute(FieldSetResponseBodyAdvice.FILTERS_ATTRIBUTE, filters, RequestAttributes.SCOPE_REQUEST);
+        }
+        filters.put(filterId, names);
+    }
+}
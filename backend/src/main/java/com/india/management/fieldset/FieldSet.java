@@ -0,0 +1,47 @@
+package com.india.management.fieldset;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.toolkit.support.SFunction;
+
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * 一次请求选中的字段
+ */
+public final class FieldSet<T> {
+
+    private final Set<String> names;
+    private final List<SFunction<T, ?>> columns;
+
+    FieldSet(Set<String> names, List<SFunction<T, ?>> columns) {
+        this.names = names;
+        this.columns = columns;
+    }
+
+    public boolean isAll() {
+        return names == null;
+    }
+
+    /**
+     * 选中字段的规范表示（与请求中的顺序无关），全部字段为 "*"，用作合并加载等的键
+     */
+    public String key() {
+        return names == null ? "*" : String.join(",", new TreeSet<>(names));
+    }
+
+    public boolean includes(String name) {
+        return names == null || names.contains(name);
+    }
+
+    /**
+     * 把选中字段对应的列下推到查询的 SELECT 列表
+     */
+    public LambdaQueryWrapper<T> project(LambdaQueryWrapper<T> wrapper) {
+        if (!isAll()) {
+            wrapper.select(columns);
+        }
+        return wrapper;
+    }
+}
@@ -0,0 +1,50 @@
+package com.india.management.fieldset;
+
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.AbstractMappingJacksonResponseBodyAdvice;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 按 {@link FieldCatalog#select(String)} 绑定到请求上的字段列表设置 Jackson 属性过滤器，
+ * 没有选择字段的实体仍然序列化全部属性
+ */
+@RestControllerAdvice
+public class FieldSetResponseBodyAdvice extends AbstractMappingJacksonResponseBodyAdvice {
+
+    static final String FILTERS_ATTRIBUTE = FieldSetResponseBodyAdvice.class.getName() + ".FILTERS";
+
+    /**
+     * 未指定字段时使用的过滤器，ObjectMapper 也需要配置它，否则带 @JsonFilter 的实体无法序列化
+     */
+    public static SimpleFilterProvider defaultFilterProvider() {
+        return new SimpleFilterProvider().setDefaultFilter(SimpleBeanPropertyFilter.serializeAll());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void beforeBodyWriteInternal(MappingJacksonValue bodyContainer, MediaType contentType,
+                                           MethodParameter returnType, ServerHttpRequest request,
+                                           ServerHttpResponse response) {
+        if (!(request instanceof ServletServerHttpRequest servletRequest)) {
+            return;
+        }
+        Map<String, Set<String>> filters = (Map<String, Set<String>>) servletRequest.getServletRequest()
+                .getAttribute(FILTERS_ATTRIBUTE);
+        if (filters == null) {
+            return;
+        }
+        SimpleFilterProvider provider = defaultFilterProvider();
+        filters.forEach((filterId, names) -> provider.addFilter(filterId, SimpleBeanPropertyFilter.filterOutAllExcept(names)));
+        bodyContainer.setFilters(provider);
+    }
+}
@@ -0,0 +1,265 @@
+package com.india.management.idgen;
+
+import com.baomidou.mybatisplus.core.incrementer.IdentifierGenerator;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 时间有序的ID生成器，作为 MyBatis-Plus 的 IdentifierGenerator（实体 IdType.ASSIGN_ID）
+ * <p>
+ * 结构：41 位毫秒时间戳（自 2024-01-01 起约 69 年）| 5 位节点号 | 7 位毫秒内序号，共 53 位，
+ * 前端按 JavaScript number 处理不会丢失精度；单节点每毫秒 128 个。
+ * 时间戳和序号合并保存在一个 AtomicLong 中，用 CAS 推进，不加锁。
+ * <p>
+ * 逻辑时钟只进不退：墙上时钟回拨时沿用上次的时间戳继续递增序号，序号用尽时借用下一毫秒，
+ * 领先墙上时钟超过 max-drift 时等待时钟追上。节点号默认从 {@link WorkerIdLease} 租用，
+ * 续约时记下逻辑时钟，接管同一节点号的进程从该时间之后开始生成。
+ * <p>
+ * 租约只在最近一次成功续约后的 lease-timeout - lease-margin 内使用：续约持续失败（如主库不可用）时，
+ * 到期后的 nextId 先同步续约，租约已被接管时重新租用，续约仍失败则拒绝生成，
+ * 避免其他节点在 lease-timeout 之后接管同一节点号时生成重复的ID。
+ */
+@Component
+@Slf4j
+public class SnowflakeIdGenerator implements IdentifierGenerator {
+
+    /** 2024-01-01T00:00:00Z */
+    public static final long EPOCH = 1704067200000L;
+
+    private static final int WORKER_BITS = 5;
+    private static final int SEQUENCE_BITS = 7;
+    private static final int TIMESTAMP_BITS = 41;
+    private static final int MAX_WORKERS = 1 << WORKER_BITS;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private final WorkerIdLease workerIdLease;
+    private final String owner;
+
+    /** 逻辑时间戳（相对 EPOCH）<< SEQUENCE_BITS | 序号 */
+    private final AtomicLong state = new AtomicLong();
+    private volatile int workerId = -1;
+    /** 租约的本地有效期（墙上时钟毫秒），按续约发起时间计算，早于数据库中心跳的实际时间 */
+    private volatile long leaseValidUntil;
+
+    private final LongAdder generated = new LongAdder();
+    private final LongAdder driftWaits = new LongAdder();
+    private final LongAdder leaseAcquisitions = new LongAdder();
+    private final LongAdder leaseLosses = new LongAdder();
+    private final LongAdder leaseExpirations = new LongAdder();
+
+    @Value("${id-generator.worker-id:-1}")
+    private int configuredWorkerId;
+
+    @Value("${id-generator.lease-timeout:60000}")
+    private long leaseTimeoutMs;
+
+    @Value("${id-generator.lease-margin:10000}")
+    private long leaseMarginMs;
+
+    @Value("${id-generator.max-drift:2000}")
+    private long maxDriftMs;
+
+    public SnowflakeIdGenerator(WorkerIdLease workerIdLease) {
+        this.workerIdLease = workerIdLease;
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "unknown";
+        }
+        this.owner = host + "-" + ManagementFactory.getRuntimeMXBean().getPid() + "-"
+                + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    @Override
+    public Long nextId(Object entity) {
+        return nextId();
+    }
+
+    public long nextId() {
+        long worker = (long) workerId() << SEQUENCE_BITS;
+        while (true) {
+            long current = state.get();
+            long last = current >>> SEQUENCE_BITS;
+            long now = System.currentTimeMillis() - EPOCH;
+            long next;
+            if (now > last) {
+                next = now << SEQUENCE_BITS;
+            } else if ((current & SEQUENCE_MASK) < SEQUENCE_MASK) {
+                next = current + 1;
+            } else {
+                next = (last + 1) << SEQUENCE_BITS;
+            }
+            long timestamp = next >>> SEQUENCE_BITS;
+            if (timestamp - now > maxDriftMs) {
+                driftWaits.increment();
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+                continue;
+            }
+            if (timestamp >= 1L << TIMESTAMP_BITS) {
+                throw new IllegalStateException("ID 时间戳已超出 " + TIMESTAMP_BITS + " 位");
+            }
+            if (state.compareAndSet(current, next)) {
+                generated.increment();
+                return timestamp << (WORKER_BITS + SEQUENCE_BITS) | worker | (next & SEQUENCE_MASK);
+            }
+        }
+    }
+
+    /**
+     * 从ID中取出生成时间（毫秒时间戳）
+     */
+    public static long timestampOf(long id) {
+        return (id >>> (WORKER_BITS + SEQUENCE_BITS)) + EPOCH;
+    }
+
+    private int workerId() {
+        int current = workerId;
+        if (current >= 0 && (configuredWorkerId >= 0 || System.currentTimeMillis() < leaseValidUntil)) {
+            return current;
+        }
+        return acquireWorkerId();
+    }
+
+    private synchronized int acquireWorkerId() {
+        if (workerId >= 0) {
+            if (configuredWorkerId >= 0 || System.currentTimeMillis() < leaseValidUntil) {
+                return workerId;
+            }
+            if (renewExpiredLease(workerId)) {
+                return workerId;
+            }
+        }
+        if (configuredWorkerId >= 0) {
+            if (configuredWorkerId >= MAX_WORKERS) {
+                throw new IllegalStateException("id-generator.worker-id 必须小于 " + MAX_WORKERS);
+            }
+            workerId = configuredWorkerId;
+            log.info("ID 生成器使用配置的节点号 {}", workerId);
+            return workerId;
+        }
+        long requestedAt = System.currentTimeMillis();
+        WorkerIdLease.Lease lease;
+        try {
+            lease = workerIdLease.acquire(owner, MAX_WORKERS, leaseTimeoutMs);
+        } catch (Exception e) {
+            throw new IllegalStateException("租用 ID 生成器节点号失败: " + e.getMessage(), e);
+        }
+        if (lease == null) {
+            throw new IllegalStateException("ID 生成器的 " + MAX_WORKERS + " 个节点号都已被占用");
+        }
+        // 从上一任持有者最后使用的时间之后开始
+        long resumeFrom = Math.max(0, lease.lastTimestamp() - EPOCH + 1);
+        state.accumulateAndGet(resumeFrom << SEQUENCE_BITS, Math::max);
+        leaseAcquisitions.increment();
+        leaseValidUntil = requestedAt + leaseTimeoutMs - leaseMarginMs;
+        workerId = lease.workerId();
+        log.info("ID 生成器租用节点号 {}（{}）", workerId, owner);
+        return workerId;
+    }
+
+    /**
+     * 租约本地已到期（定时续约一直失败）时同步续约：成功则继续使用，已被接管时返回 false 由调用方重新租用，
+     * 续约仍失败时拒绝生成
+     */
+    private boolean renewExpiredLease(int current) {
+        leaseExpirations.increment();
+        long requestedAt = System.currentTimeMillis();
+        boolean renewed;
+        try {
+            renewed = workerIdLease.renew(current, owner, lastTimestamp());
+        } catch (Exception e) {
+            throw new IllegalStateException("ID 生成器节点号 " + current + " 的租约已到期且无法续约，暂停生成: "
+                    + e.getMessage(), e);
+        }
+        if (renewed) {
+            leaseValidUntil = requestedAt + leaseTimeoutMs - leaseMarginMs;
+            log.warn("ID 生成器节点号 {} 的租约到期前未能续约，已在生成时补续", current);
+            return true;
+        }
+        leaseLosses.increment();
+        log.error("ID 生成器节点号 {} 的租约已被其他节点接管，重新租用", current);
+        workerId = -1;
+        return false;
+    }
+
+    @Scheduled(fixedDelayString = "${id-generator.renew-interval:10000}",
+            initialDelayString = "${id-generator.renew-interval:10000}")
+    public void renew() {
+        int current = workerId;
+        if (current < 0 || configuredWorkerId >= 0) {
+            return;
+        }
+        long requestedAt = System.currentTimeMillis();
+        try {
+            if (workerIdLease.renew(current, owner, lastTimestamp())) {
+                synchronized (this) {
+                    if (workerId == current) {
+                        leaseValidUntil = Math.max(leaseValidUntil, requestedAt + leaseTimeoutMs - leaseMarginMs);
+                    }
+                }
+            } else {
+                leaseLosses.increment();
+                log.error("ID 生成器节点号 {} 的租约已被其他节点接管，重新租用", current);
+                synchronized (this) {
+                    if (workerId == current) {
+                        workerId = -1;
+                    }
+                }
+            }
+        } catch (Exception e) {
+            // 续约失败时在本地有效期内继续使用当前节点号，到期后由 nextId 同步续约
+            log.warn("ID 生成器节点号续约失败，租约剩余 {} ms: {}",
+                    Math.max(0, leaseValidUntil - System.currentTimeMillis()), e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void release() {
+        int current = workerId;
+        if (current < 0 || configuredWorkerId >= 0) {
+            return;
+        }
+        try {
+            workerIdLease.release(current, owner, lastTimestamp());
+        } catch (Exception e) {
+            log.warn("释放 ID 生成器节点号失败: {}", e.getMessage());
+        }
+    }
+
+    private long lastTimestamp() {
+        return (state.get() >>> SEQUENCE_BITS) + EPOCH;
+    }
+
+    /**
+     * 统计信息：节点号、生成数量、逻辑时钟领先墙上时钟的毫秒数和等待次数
+     */
+    public Map<String, Object> statistics() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("workerId", workerId);
+        map.put("owner", owner);
+        map.put("generated", generated.sum());
+        map.put("lastTimestamp", lastTimestamp());
+        map.put("driftMs", Math.max(0, lastTimestamp() - System.currentTimeMillis()));
+        map.put("driftWaits", driftWaits.sum());
+        map.put("leaseAcquisitions", leaseAcquisitions.sum());
+        map.put("leaseLosses", leaseLosses.sum());
+        map.put("leaseExpirations", leaseExpirations.sum());
+        map.put("leaseRemainingMs", configuredWorkerId >= 0 ? null
+                : Math.max(0, leaseValidUntil - System.currentTimeMillis()));
+        return map;
+    }
+}
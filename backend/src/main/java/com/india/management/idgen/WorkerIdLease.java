@@ -0,0 +1,105 @@
+package com.india.management.idgen;
+
+import com.india.management.sharding.ShardRoutingDataSource;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * ID 生成器节点号的租约，保存在主库 sys_id_worker 表中
+ * <p>
+ * 每个节点启动后占用一个心跳已过期（或从未使用过）的节点号，定时续约；节点正常关闭时释放。
+ * 表中同时记录持有者最后使用的时间戳，新持有者从该时间之后开始生成，避免换机后时钟落后造成重复。
+ * 这里直接从数据源取独立连接（自动提交），不加入调用方的事务，分库时固定使用主库。
+ */
+@Component
+public class WorkerIdLease {
+
+    /**
+     * 取得的租约：节点号和上一任持有者最后使用的时间戳（毫秒，0 表示从未使用）
+     */
+    public record Lease(int workerId, long lastTimestamp) {
+    }
+
+    private final DataSource dataSource;
+
+    public WorkerIdLease(DataSource dataSource) {
+        this.dataSource = dataSource instanceof ShardRoutingDataSource routing ? routing.getPrimary() : dataSource;
+    }
+
+    /**
+     * 依次尝试 0 ~ maxWorkers-1，占用第一个空闲或心跳早于 now - timeoutMs 的节点号，全部被占用时返回 null
+     */
+    public Lease acquire(String owner, int maxWorkers, long timeoutMs) throws SQLException {
+        long now = System.currentTimeMillis();
+        try (Connection connection = dataSource.getConnection()) {
+            for (int workerId = 0; workerId < maxWorkers; workerId++) {
+                try (PreparedStatement statement = connection.prepareStatement(
+                        "INSERT IGNORE INTO sys_id_worker (worker_id, owner, heartbeat_time, last_timestamp) VALUES (?, ?, ?, 0)")) {
+                    statement.setInt(1, workerId);
+                    statement.setString(2, owner);
+                    statement.setLong(3, now);
+                    if (statement.executeUpdate() == 1) {
+                        return new Lease(workerId, 0);
+                    }
+                }
+                try (PreparedStatement statement = connection.prepareStatement(
+                        "UPDATE sys_id_worker SET owner = ?, heartbeat_time = ? WHERE worker_id = ? AND heartbeat_time < ?")) {
+                    statement.setString(1, owner);
+                    statement.setLong(2, now);
+                    statement.setInt(3, workerId);
+                    statement.setLong(4, now - timeoutMs);
+                    if (statement.executeUpdate() == 1) {
+                        return new Lease(workerId, lastTimestamp(connection, workerId));
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 续约并记下最后使用的时间戳，租约已被他人接管时返回 false
+     */
+    public boolean renew(int workerId, String owner, long lastTimestamp) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                     "UPDATE sys_id_worker SET heartbeat_time = ?, last_timestamp = GREATEST(last_timestamp, ?) "
+                             + "WHERE worker_id = ? AND owner = ?")) {
+            statement.setLong(1, System.currentTimeMillis());
+            statement.setLong(2, lastTimestamp);
+            statement.setInt(3, workerId);
+            statement.setString(4, owner);
+            return statement.executeUpdate() == 1;
+        }
+    }
+
+    /**
+     * 释放租约：心跳清零，其他节点可以立即接管
+     */
+    public void release(int workerId, String owner, long lastTimestamp) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                     "UPDATE sys_id_worker SET heartbeat_time = 0, last_timestamp = GREATEST(last_timestamp, ?) "
+                             + "WHERE worker_id = ? AND owner = ?")) {
+            statement.setLong(1, lastTimestamp);
+            statement.setInt(2, workerId);
+            statement.setString(3, owner);
+            statement.executeUpdate();
+        }
+    }
+
+    private static long lastTimestamp(Connection connection, int workerId) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT last_timestamp FROM sys_id_worker WHERE worker_id = ?")) {
+            statement.setInt(1, workerId);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() ? resultSet.getLong(1) : 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.india.management.mapper;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 逻辑删除数据归档，表名和列名只来自 {@link com.india.management.archive.ArchiveTable}
+ */
+@Mapper
+public interface ArchiveMapper {
+
+    /**
+     * 待归档的逻辑删除记录数
+     */
+    long countDeleted(@Param("table") String table);
+
+    /**
+     * 按主键顺序取一批逻辑删除记录的ID
+     */
+    List<Long> selectDeletedIds(@Param("table") String table, @Param("limit") int limit);
+
+    /**
+     * 把 keyColumn 属于 ids 的记录复制到归档表，onlyDeleted 时只复制逻辑删除的记录
+     */
+    int copyToArchive(@Param("table") String table, @Param("archiveTable") String archiveTable,
+                      @Param("columns") String columns, @Param("keyColumn") String keyColumn,
+                      @Param("ids") Collection<Long> ids, @Param("onlyDeleted") boolean onlyDeleted,
+                      @Param("archivedTime") long archivedTime);
+
+    /**
+     * 从热表删除 keyColumn 属于 ids 的记录，onlyDeleted 时只删除逻辑删除的记录
+     */
+    int deleteByKeys(@Param("table") String table, @Param("keyColumn") String keyColumn,
+                     @Param("ids") Collection<Long> ids, @Param("onlyDeleted") boolean onlyDeleted);
+}
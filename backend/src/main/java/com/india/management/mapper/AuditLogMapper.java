@@ -0,0 +1,32 @@
+package com.india.management.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.india.management.entity.AuditLog;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
+
+@Mapper
+public interface AuditLogMapper extends BaseMapper<AuditLog> {
+
+    /**
+     * 批量插入审计日志（单条多值 INSERT）
+     */
+    int insertBatch(@Param("logs") List<AuditLog> logs);
+
+    /**
+     * 查询审计表现有的分区名
+     */
+    List<String> selectPartitionNames();
+
+    /**
+     * 从 p_future 分区中拆出一个新分区
+     */
+    void addPartition(@Param("name") String name, @Param("lessThan") long lessThan);
+
+    /**
+     * 删除分区
+     */
+    void dropPartition(@Param("name") String name);
+}
@@ -0,0 +1,9 @@
+package com.india.management.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.india.management.entity.CacheEvent;
+import org.apache.ibatis.annotations.Mapper;
+
+@Mapper
+public interface CacheEventMapper extends BaseMapper<CacheEvent> {
+}
@@ -0,0 +1,9 @@
+package com.india.management.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.india.management.entity.Merchant;
+import org.apache.ibatis.annotations.Mapper;
+
+@Mapper
+public interface MerchantMapper extends BaseMapper<Merchant> {
+}
@@ -1,13 +1,17 @@
 package com.india.management.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.india.management.cache.EntityCache;
 import com.india.management.entity.Role;
+import org.apache.ibatis.annotations.CacheNamespace;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Property;
 
 import java.util.List;
 
 @Mapper
+@CacheNamespace(implementation = EntityCache.class, properties = @Property(name = "size", value = "256"))
 public interface RoleMapper extends BaseMapper<Role> {
     
     /**
@@ -3,7 +3,15 @@ package com.india.management.mapper;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.india.management.entity.RolePermission;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
 
 @Mapper
 public interface RolePermissionMapper extends BaseMapper<RolePermission> {
+
+    /**
+     * 多行 INSERT 一次写入，ID 由调用方预先分配
+     */
+    int insertBatch(@Param("rows") List<RolePermission> rows);
 }
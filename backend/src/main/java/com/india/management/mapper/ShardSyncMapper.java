@@ -0,0 +1,35 @@
+package com.india.management.mapper;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 主库与分片之间的整行复制，表名和列名只来自 {@link com.india.management.archive.ArchiveTable}
+ */
+@Mapper
+public interface ShardSyncMapper {
+
+    /**
+     * 读取整行，ids 为 null 时读取全表
+     */
+    List<Map<String, Object>> selectRows(@Param("table") String table, @Param("columns") String columns,
+                                         @Param("keyColumn") String keyColumn, @Param("ids") Collection<Long> ids);
+
+    /**
+     * 按列顺序写入多行，replace 时覆盖主键或唯一键相同的行，否则跳过
+     */
+    int writeRows(@Param("table") String table, @Param("columns") String columns,
+                  @Param("rows") List<List<Object>> rows, @Param("replace") boolean replace);
+
+    /**
+     * 删除 id 不在 ids 中的行，ids 为空时清空
+     */
+    int deleteExcept(@Param("table") String table, @Param("ids") Collection<Long> ids);
+
+    int deleteByKeys(@Param("table") String table, @Param("keyColumn") String keyColumn,
+                     @Param("ids") Collection<Long> ids);
+}
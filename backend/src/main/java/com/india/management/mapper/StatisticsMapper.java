@@ -0,0 +1,39 @@
+package com.india.management.mapper;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 统计对账查询，仅由定时对账使用，仪表盘读取的是内存计数
+ */
+@Mapper
+public interface StatisticsMapper {
+
+    /**
+     * 用户总数和启用用户数（total、enabled）
+     */
+    Map<String, Object> countUsers();
+
+    long countRoles();
+
+    /**
+     * 按类型统计权限数（type、total）
+     */
+    List<Map<String, Object>> countPermissionsByType();
+
+    /**
+     * 每个角色的用户数（roleId、name、total）
+     */
+    List<Map<String, Object>> countUsersPerRole();
+
+    /**
+     * 按天统计注册数（day 为 epochDay，total）
+     *
+     * @param since  起始时间戳（毫秒）
+     * @param offset 时区偏移（毫秒），用于按本地日期分桶
+     */
+    List<Map<String, Object>> countRegistrationsPerDay(@Param("since") long since, @Param("offset") long offset);
+}
@@ -0,0 +1,43 @@
+package com.india.management.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.india.management.entity.User;
+import com.india.management.entity.UserIndex;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.session.ResultHandler;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 用户全局索引（主库 sys_user_index），分库时按用户名、邮箱定位用户，并保证二者跨分片唯一
+ */
+@Mapper
+public interface UserIndexMapper extends BaseMapper<UserIndex> {
+
+    Long selectIdByUsername(@Param("username") String username);
+
+    boolean existsUsername(@Param("username") String username);
+
+    boolean existsEmail(@Param("email") String email);
+
+    /**
+     * 逐行读取全部用户名和邮箱
+     */
+    void scanIdentities(ResultHandler<User> handler);
+
+    User selectIdentityById(@Param("id") Long id);
+
+    /**
+     * 主库 sys_user 中 id 大于 afterId、尚未建立索引的存量用户
+     */
+    List<Long> selectUnindexedUserIds(@Param("afterId") long afterId, @Param("limit") int limit);
+
+    /**
+     * 按主库 sys_user 中的存量用户建立索引，用户名或邮箱冲突的跳过
+     */
+    int indexLegacyUsers(@Param("ids") Collection<Long> ids);
+
+    List<Long> selectExistingIds(@Param("ids") Collection<Long> ids);
+}
@@ -1,15 +1,55 @@
 package com.india.management.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.india.management.cache.EntityCache;
 import com.india.management.entity.User;
+import org.apache.ibatis.annotations.CacheNamespace;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Property;
+import org.apache.ibatis.session.ResultHandler;
 
 @Mapper
+@CacheNamespace(implementation = EntityCache.class, properties = @Property(name = "size", value = "1024"))
 public interface UserMapper extends BaseMapper<User> {
     
     /**
      * 根据用户名查询用户信息，包括角色和权限
      */
     User selectUserWithRolesByUsername(@Param("username") String username);
+
+    /**
+     * 逐行读取全部用户名和邮箱（包括已逻辑删除、尚未归档的记录，它们仍占用唯一键）
+     */
+    void scanIdentities(ResultHandler<User> handler);
+
+    /**
+     * 按ID读取用户名和邮箱，不经过二级缓存
+     */
+    User selectIdentityById(@Param("id") Long id);
+
+    /**
+     * 用户表总行数（包括已逻辑删除的记录）
+     */
+    long countIdentities();
+
+    /**
+     * 用户名是否已被占用（与 uk_username 一致，包括已逻辑删除的记录）
+     */
+    boolean existsUsername(@Param("username") String username);
+
+    /**
+     * 邮箱是否已被占用（与 uk_email 一致，包括已逻辑删除的记录）
+     */
+    boolean existsEmail(@Param("email") String email);
+
+    /**
+     * 逐行读取未删除用户的ID和启用状态，按ID排序
+     */
+    void scanActiveUsers(ResultHandler<User> handler);
+
+    /**
+     * 未删除用户的启用状态，不经过二级缓存；用户不存在或已删除时返回 null
+     */
+    Boolean selectEnabledById(@Param("id") Long id);
 }
@@ -3,7 +3,26 @@ package com.india.management.mapper;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.india.management.entity.UserRole;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.session.ResultHandler;
+
+import java.util.List;
 
 @Mapper
 public interface UserRoleMapper extends BaseMapper<UserRole> {
+
+    /**
+     * 多行 INSERT 一次写入，ID 由调用方预先分配
+     */
+    int insertBatch(@Param("rows") List<UserRole> rows);
+
+    /**
+     * 逐行读取全部用户角色关系（只含 user_id、role_id）
+     */
+    void scanLinks(ResultHandler<UserRole> handler);
+
+    /**
+     * 用户的角色ID
+     */
+    List<Long> selectRoleIdsByUserId(@Param("userId") Long userId);
 }
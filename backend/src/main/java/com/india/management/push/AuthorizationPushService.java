@@ -0,0 +1,342 @@
+package com.india.management.push;
+
+import com.india.management.cache.CacheInvalidationListener;
+import com.india.management.cache.CacheRegion;
+import com.india.management.exception.BusinessException;
+import com.india.management.exception.ErrorCode;
+import com.india.management.rbac.AuthorizationIndex;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayDeque;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 授权变更推送（Server-Sent Events）
+ * <p>
+ * 连接建立后请求线程立即归还，SseEmitter 经 Servlet 异步支持保持连接，空闲连接不占线程。
+ * 收到缓存失效事件（包括其他节点经缓存失效总线转发的）时，按区域找出受影响的已连接用户：
+ * USER 为该用户本人，ROLE 为持有该角色的用户（查 {@link AuthorizationIndex}，未就绪时推给全部连接），
+ * PERMISSION 推给全部连接。事件只是"请重新获取权限"的信号，不携带权限内容。
+ * <p>
+ * 每个连接一个有界缓冲区，由少量发送线程写出；同一连接上尚未发出的授权变更事件合并为一条，
+ * 缓冲区满（客户端长时间不读）时断开连接，客户端重连后重新获取权限。
+ * 心跳线程定时向空闲连接写注释行，防止代理按空闲超时断开，也借此发现已失效的连接。
+ * 排在其他监听器之后执行，客户端据此重新获取权限时本节点的用户缓存已经失效。
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class AuthorizationPushService implements CacheInvalidationListener {
+
+    private static final String EVENT_CONNECTED = "connected";
+    private static final String EVENT_AUTHORIZATION = "authorization";
+
+    private final AuthorizationIndex authorizationIndex;
+
+    private final Map<Long, Set<Client>> clientsByUser = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final AtomicLong eventIds = new AtomicLong();
+
+    private ScheduledExecutorService heartbeatScheduler;
+    private ExecutorService senders;
+
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder published = new LongAdder();
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder overflows = new LongAdder();
+    private final LongAdder sendFailures = new LongAdder();
+    private final LongAdder heartbeats = new LongAdder();
+
+    @Value("${sse.enabled:true}")
+    private boolean enabled;
+
+    @Value("${sse.timeout:1800000}")
+    private long timeoutMs;
+
+    @Value("${sse.heartbeat-interval:25000}")
+    private long heartbeatIntervalMs;
+
+    @Value("${sse.buffer-size:8}")
+    private int bufferSize;
+
+    @Value("${sse.max-connections:20000}")
+    private int maxConnections;
+
+    @Value("${sse.max-connections-per-user:5}")
+    private int maxConnectionsPerUser;
+
+    @Value("${sse.sender-threads:4}")
+    private int senderThreads;
+
+    @Value("${sse.reconnect-delay:5000}")
+    private long reconnectDelayMs;
+
+    public AuthorizationPushService(AuthorizationIndex authorizationIndex) {
+        this.authorizationIndex = authorizationIndex;
+    }
+
+    @PostConstruct
+    public void start() {
+        AtomicInteger threadIndex = new AtomicInteger();
+        senders = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "sse-sender-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        heartbeatScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "sse-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        heartbeatScheduler.scheduleWithFixedDelay(this::heartbeat, heartbeatIntervalMs, heartbeatIntervalMs,
+                TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeatScheduler.shutdownNow();
+        clientsByUser.values().forEach(clients -> clients.forEach(Client::close));
+        senders.shutdown();
+    }
+
+    /**
+     * 为用户建立推送连接；超出总连接数时拒绝，超出单用户连接数时断开该用户最早的连接
+     */
+    public SseEmitter subscribe(Long userId) {
+        if (!enabled) {
+            throw new BusinessException(ErrorCode.PUSH_UNAVAILABLE, "授权变更推送未启用");
+        }
+        if (connections.incrementAndGet() > maxConnections) {
+            connections.decrementAndGet();
+            rejected.increment();
+            throw new BusinessException(ErrorCode.PUSH_UNAVAILABLE);
+        }
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Client client = new Client(userId, emitter);
+        emitter.onCompletion(() -> unregister(client));
+        emitter.onTimeout(client::close);
+        emitter.onError(error -> client.close());
+
+        Set<Client> clients = clientsByUser.computeIfAbsent(userId, key -> ConcurrentHashMap.newKeySet());
+        clients.add(client);
+        if (clients.size() > maxConnectionsPerUser) {
+            clients.stream().min((a, b) -> Long.compare(a.connectedAt, b.connectedAt)).ifPresent(Client::close);
+        }
+        accepted.increment();
+        // 首个事件带上重连间隔，同时让代理立即转发响应头
+        client.offer(SseEmitter.event().name(EVENT_CONNECTED).id(nextEventId()).reconnectTime(reconnectDelayMs)
+                .data(Map.of("time", System.currentTimeMillis()), MediaType.APPLICATION_JSON), false);
+        return emitter;
+    }
+
+    @Override
+    public void onInvalidate(CacheRegion region, Long entityId) {
+        if (clientsByUser.isEmpty()) {
+            return;
+        }
+        switch (region) {
+            case USER -> {
+                if (entityId == null) {
+                    broadcast(region);
+                } else {
+                    notifyUser(entityId, region);
+                }
+            }
+            case ROLE -> {
+                Set<Long> holders = entityId == null ? null
+                        : authorizationIndex.filterRoleHolders(entityId, clientsByUser.keySet());
+                if (holders == null) {
+                    broadcast(region);
+                } else {
+                    holders.forEach(userId -> notifyUser(userId, region));
+                }
+            }
+            case PERMISSION -> broadcast(region);
+        }
+    }
+
+    private void broadcast(CacheRegion region) {
+        clientsByUser.keySet().forEach(userId -> notifyUser(userId, region));
+    }
+
+    private void notifyUser(Long userId, CacheRegion region) {
+        Set<Client> clients = clientsByUser.get(userId);
+        if (clients == null) {
+            return;
+        }
+        for (Client client : clients) {
+            client.offer(SseEmitter.event().name(EVENT_AUTHORIZATION).id(nextEventId()).data(Map.of(
+                    "reason", region.name().toLowerCase(Locale.ROOT), "time", System.currentTimeMillis()),
+                    MediaType.APPLICATION_JSON), true);
+            published.increment();
+        }
+    }
+
+    private void heartbeat() {
+        long idleSince = System.currentTimeMillis() - heartbeatIntervalMs / 2;
+        clientsByUser.values().forEach(clients -> clients.forEach(client -> {
+            if (client.lastSent < idleSince && client.offer(SseEmitter.event().comment("heartbeat"), false)) {
+                heartbeats.increment();
+            }
+        }));
+    }
+
+    private void unregister(Client client) {
+        Set<Client> clients = clientsByUser.get(client.userId);
+        if (clients != null && clients.remove(client)) {
+            connections.decrementAndGet();
+            clientsByUser.computeIfPresent(client.userId, (key, set) -> set.isEmpty() ? null : set);
+        }
+    }
+
+    private String nextEventId() {
+        return Long.toString(eventIds.incrementAndGet());
+    }
+
+    /**
+     * 一个推送连接：有界缓冲区 + 同一时刻至多一个发送任务，保证同一连接上的写入串行
+     */
+    private final class Client {
+
+        private record Pending(SseEmitter.SseEventBuilder event, boolean change) {
+        }
+
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final long connectedAt = System.currentTimeMillis();
+        /** 以下字段由 this 保护 */
+        private final ArrayDeque<Pending> buffer = new ArrayDeque<>(2);
+        private boolean changePending;
+        private boolean draining;
+        private boolean closed;
+        private volatile long lastSent = connectedAt;
+
+        Client(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        /**
+         * 加入缓冲区并在需要时启动发送任务，连接已关闭或缓冲区已满时返回 false
+         */
+        boolean offer(SseEmitter.SseEventBuilder event, boolean change) {
+            synchronized (this) {
+                if (closed) {
+                    return false;
+                }
+                if (change && changePending) {
+                    coalesced.increment();
+                    return true;
+                }
+                if (!change && draining) {
+                    // 正在发送，心跳没有必要
+                    return false;
+                }
+                if (buffer.size() >= bufferSize) {
+                    overflows.increment();
+                    closeLocked();
+                    return false;
+                }
+                buffer.add(new Pending(event, change));
+                changePending |= change;
+                if (draining) {
+                    return true;
+                }
+                draining = true;
+            }
+            try {
+                senders.execute(this::drain);
+            } catch (Exception e) {
+                close();
+                return false;
+            }
+            return true;
+        }
+
+        private void drain() {
+            while (true) {
+                Pending pending;
+                synchronized (this) {
+                    pending = closed ? null : buffer.poll();
+                    if (pending == null) {
+                        draining = false;
+                        return;
+                    }
+                    // 取出后再有变更需要另发一条，客户端可能已按这一条读过权限
+                    if (pending.change()) {
+                        changePending = false;
+                    }
+                }
+                try {
+                    emitter.send(pending.event());
+                    lastSent = System.currentTimeMillis();
+                    if (pending.change()) {
+                        delivered.increment();
+                    }
+                } catch (Exception e) {
+                    sendFailures.increment();
+                    close();
+                }
+            }
+        }
+
+        void close() {
+            synchronized (this) {
+                closeLocked();
+            }
+        }
+
+        private void closeLocked() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            buffer.clear();
+            unregister(this);
+            try {
+                emitter.complete();
+            } catch (Exception ignored) {
+                // 连接已断开
+            }
+        }
+    }
+
+    /**
+     * 统计信息：连接数、推送与合并次数、缓冲区溢出和发送失败次数
+     */
+    public Map<String, Object> statistics() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("enabled", enabled);
+        map.put("connections", connections.get());
+        map.put("users", clientsByUser.size());
+        map.put("maxConnections", maxConnections);
+        map.put("accepted", accepted.sum());
+        map.put("rejected", rejected.sum());
+        map.put("published", published.sum());
+        map.put("delivered", delivered.sum());
+        map.put("coalesced", coalesced.sum());
+        map.put("overflows", overflows.sum());
+        map.put("sendFailures", sendFailures.sum());
+        map.put("heartbeats", heartbeats.sum());
+        return map;
+    }
+}
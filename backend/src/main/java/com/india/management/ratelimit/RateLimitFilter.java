@@ -0,0 +1,209 @@
+package com.india.management.ratelimit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.india.management.encoding.JsonWriters;
+import com.india.management.vo.ApiResponse;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 限流过滤器
+ * <p>
+ * 按配置的规则对 IP、用户名、接口分别限流，所有命中的规则都通过才放行；
+ * 被限流的请求返回 429 并带上 Retry-After。过滤器位于 JWT 认证之前，被拒绝的请求不会访问数据库。
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final int MAX_BODY_SIZE = 8192;
+
+    private final RateLimitProperties properties;
+    private final ObjectMapper objectMapper;
+    private final JsonWriters jsonWriters;
+    private final ApplicationAvailability applicationAvailability;
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final List<CompiledRule> rules = new ArrayList<>();
+
+    @PostConstruct
+    public void init() {
+        for (RateLimitProperties.Rule rule : properties.getRules()) {
+            TokenBucketLimiter limiter = new TokenBucketLimiter(rule.getName(), rule.getCapacity(),
+                    rule.getRefillPerSecond(), properties.getMaxBuckets());
+            rules.add(new CompiledRule(rule, limiter));
+            log.info("限流规则: {} {} key={} capacity={} refill={}/s", rule.getName(), rule.getPatterns(),
+                    rule.getKey(), rule.getCapacity(), rule.getRefillPerSecond());
+        }
+    }
+
+    /**
+     * 就绪之前只有本机的启动预热请求，不参与限流
+     */
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled() || rules.isEmpty()
+                || (applicationAvailability.getReadinessState() != ReadinessState.ACCEPTING_TRAFFIC
+                && isLoopback(request.getRemoteAddr()));
+    }
+
+    private boolean isLoopback(String address) {
+        return "127.0.0.1".equals(address) || "0:0:0:0:0:0:0:1".equals(address) || "::1".equals(address);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String path = request.getRequestURI();
+        String method = request.getMethod();
+        HttpServletRequest currentRequest = request;
+        String username = null;
+        boolean usernameResolved = false;
+
+        for (CompiledRule compiled : rules) {
+            if (!compiled.matches(path, method)) {
+                continue;
+            }
+
+            String key;
+            switch (compiled.rule.getKey()) {
+                case USERNAME -> {
+                    if (!usernameResolved) {
+                        if (!(currentRequest instanceof CachedBodyRequestWrapper)) {
+                            CachedBodyRequestWrapper wrapped = wrapBody(request);
+                            if (wrapped == null) {
+                                log.warn("请求体超过 {} 字节，拒绝: path={}", MAX_BODY_SIZE, path);
+                                writePayloadTooLarge(response);
+                                return;
+                            }
+                            currentRequest = wrapped;
+                        }
+                        username = resolveUsername(currentRequest);
+                        usernameResolved = true;
+                    }
+                    // 请求体中取不到用户名时按IP计数，不能因为请求体格式跳过该规则
+                    key = username != null ? username : "ip:" + resolveClientIp(request);
+                }
+                case ENDPOINT -> key = method + " " + path;
+                default -> key = resolveClientIp(request);
+            }
+
+            long waitNanos = compiled.limiter.tryAcquire(key);
+            if (waitNanos > 0) {
+                long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+                log.warn("请求被限流: rule={}, key={}, path={}", compiled.rule.getName(), key, path);
+                writeTooManyRequests(response, retryAfter);
+                return;
+            }
+        }
+
+        filterChain.doFilter(currentRequest, response);
+    }
+
+    /**
+     * 清理空闲令牌桶
+     */
+    @Scheduled(fixedDelayString = "${rate-limit.evict-interval:30000}")
+    public void evictIdleBuckets() {
+        for (CompiledRule compiled : rules) {
+            int evicted = compiled.limiter.evictIdle();
+            if (evicted > 0) {
+                log.debug("清理空闲令牌桶: rule={}, count={}", compiled.rule.getName(), evicted);
+            }
+        }
+    }
+
+    public Map<String, Object> statistics() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        rules.forEach(compiled -> map.put(compiled.rule.getName(), compiled.limiter.statistics()));
+        return map;
+    }
+
+    /**
+     * 缓存请求体，声明的长度或实际读到的内容超过上限时返回 null
+     */
+    private CachedBodyRequestWrapper wrapBody(HttpServletRequest request) throws IOException {
+        if (request.getContentLengthLong() > MAX_BODY_SIZE) {
+            return null;
+        }
+        return CachedBodyRequestWrapper.read(request, MAX_BODY_SIZE);
+    }
+
+    private String resolveUsername(HttpServletRequest request) {
+        if (!(request instanceof CachedBodyRequestWrapper wrapper) || wrapper.getBody().length == 0) {
+            return null;
+        }
+        try {
+            JsonNode node = objectMapper.readTree(wrapper.getBody()).get("username");
+            return node != null && node.isTextual() ? node.asText() : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private String resolveClientIp(HttpServletRequest request) {
+        if (properties.isTrustForwardedFor()) {
+            String forwardedFor = request.getHeader("X-Forwarded-For");
+            if (StringUtils.hasText(forwardedFor)) {
+                int comma = forwardedFor.indexOf(',');
+                return (comma > 0 ? forwardedFor.substring(0, comma) : forwardedFor).trim();
+            }
+        }
+        return request.getRemoteAddr();
+    }
+
+    private void writeTooManyRequests(HttpServletResponse response, long retryAfterSeconds) throws IOException {
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        jsonWriters.write(response, HttpStatus.TOO_MANY_REQUESTS.value(), ApiResponse.error("请求过于频繁，请稍后再试"));
+    }
+
+    private void writePayloadTooLarge(HttpServletResponse response) throws IOException {
+        jsonWriters.write(response, HttpStatus.PAYLOAD_TOO_LARGE.value(), ApiResponse.error("请求体过大"));
+    }
+
+    private class CompiledRule {
+
+        private final RateLimitProperties.Rule rule;
+        private final TokenBucketLimiter limiter;
+
+        CompiledRule(RateLimitProperties.Rule rule, TokenBucketLimiter limiter) {
+            this.rule = rule;
+            this.limiter = limiter;
+        }
+
+        boolean matches(String path, String method) {
+            if (!rule.getMethods().isEmpty() && rule.getMethods().stream().noneMatch(method::equalsIgnoreCase)) {
+                return false;
+            }
+            for (String pattern : rule.getPatterns()) {
+                if (pathMatcher.match(pattern, path)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.india.management.ratelimit;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 限流配置
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * 是否信任 X-Forwarded-For 请求头（部署在负载均衡之后时开启）
+     */
+    private boolean trustForwardedFor = false;
+
+    /**
+     * 每条规则最多保留的令牌桶数量，超出后新key不再限流
+     */
+    private int maxBuckets = 100000;
+
+    /**
+     * 空闲令牌桶清理间隔，单位毫秒
+     */
+    private long evictInterval = 30000;
+
+    private List<Rule> rules = new ArrayList<>();
+
+    @Data
+    public static class Rule {
+
+        private String name;
+
+        /**
+         * 路径匹配（Ant风格），命中任意一个即生效
+         */
+        private List<String> patterns = new ArrayList<>();
+
+        /**
+         * 限定的请求方法，为空表示全部
+         */
+        private List<String> methods = new ArrayList<>();
+
+        private KeyType key = KeyType.IP;
+
+        /**
+         * 桶容量，即允许的突发请求数
+         */
+        private int capacity = 10;
+
+        /**
+         * 每秒补充的令牌数
+         */
+        private double refillPerSecond = 1;
+    }
+
+    public enum KeyType {
+        /**
+         * 按客户端IP
+         */
+        IP,
+        /**
+         * 按请求体中的用户名（登录、注册）
+         */
+        USERNAME,
+        /**
+         * 按接口全局限流
+         */
+        ENDPOINT
+    }
+}
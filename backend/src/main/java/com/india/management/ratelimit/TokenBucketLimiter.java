@@ -0,0 +1,107 @@
+package com.india.management.ratelimit;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 无锁令牌桶
+ * <p>
+ * 采用 GCRA（通用信元速率算法）实现，每个桶只保存一个“理论到达时间”（TAT），
+ * 通过一次 CAS 完成取令牌，等价于容量为 capacity、速率为 refillPerSecond 的令牌桶。
+ * TAT 不晚于当前时间的桶已经是满桶，清理时直接移除不会影响限流结果。
+ * <p>
+ * 桶数量达到 maxBuckets 时，新出现的键共用一个溢出桶（同样的容量和速率），而不是直接放行：
+ * 键可能来自请求体（如登录用户名），不断更换键填满桶表不能让限流失效。
+ */
+public class TokenBucketLimiter {
+
+    private final String name;
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final int maxBuckets;
+
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong overflowBucket = new AtomicLong(Long.MIN_VALUE);
+
+    private final LongAdder allowed = new LongAdder();
+    private final LongAdder limited = new LongAdder();
+    private final LongAdder overflow = new LongAdder();
+
+    public TokenBucketLimiter(String name, int capacity, double refillPerSecond, int maxBuckets) {
+        if (capacity <= 0 || !(refillPerSecond > 0)) {
+            throw new IllegalArgumentException("限流规则 " + name + " 的 capacity 和 refill-per-second 必须大于 0");
+        }
+        this.name = name;
+        this.intervalNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / refillPerSecond));
+        // TAT 与当前时间的差值要能用 long 表示，留出一半余量
+        if (intervalNanos > Long.MAX_VALUE / 2 / capacity) {
+            throw new IllegalArgumentException("限流规则 " + name + " 的 capacity / refill-per-second 过大");
+        }
+        this.burstNanos = intervalNanos * capacity;
+        this.maxBuckets = maxBuckets;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * 尝试获取一个令牌
+     *
+     * @return 0 表示放行，大于 0 表示需要等待的纳秒数
+     */
+    public long tryAcquire(String key) {
+        AtomicLong bucket = buckets.get(key);
+        if (bucket == null) {
+            if (buckets.size() >= maxBuckets) {
+                // 桶数量达到上限时共用溢出桶，保证内存有界且不放松限流
+                overflow.increment();
+                bucket = overflowBucket;
+            } else {
+                bucket = buckets.computeIfAbsent(key, k -> new AtomicLong(Long.MIN_VALUE));
+            }
+        }
+
+        long now = System.nanoTime();
+        while (true) {
+            long tat = bucket.get();
+            long start = tat == Long.MIN_VALUE || tat - now < 0 ? now : tat;
+            long newTat = start + intervalNanos;
+            long wait = newTat - now - burstNanos;
+            if (wait > 0) {
+                limited.increment();
+                return wait;
+            }
+            if (bucket.compareAndSet(tat, newTat)) {
+                allowed.increment();
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * 清理已补满的空闲桶
+     */
+    public int evictIdle() {
+        long now = System.nanoTime();
+        int before = buckets.size();
+        buckets.values().removeIf(bucket -> {
+            long tat = bucket.get();
+            return tat == Long.MIN_VALUE || tat - now <= 0;
+        });
+        return before - buckets.size();
+    }
+
+    public Map<String, Object> statistics() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("buckets", buckets.size());
+        map.put("allowed", allowed.sum());
+        map.put("limited", limited.sum());
+        map.put("overflow", overflow.sum());
+        return map;
+    }
+}
@@ -0,0 +1,575 @@
+package com.india.management.rbac;
+
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.india.management.cache.CacheInvalidationListener;
+import com.india.management.cache.CacheRegion;
+import com.india.management.entity.User;
+import com.india.management.exception.BusinessException;
+import com.india.management.exception.ErrorCode;
+import com.india.management.exception.ResourceNotFoundException;
+import com.india.management.exception.ValidationException;
+import com.india.management.mapper.UserMapper;
+import com.india.management.mapper.UserRoleMapper;
+import com.india.management.sharding.UserShardRouter;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * 反向授权索引：某个角色、权限由哪些用户持有
+ * <p>
+ * 用户ID映射为连续的序号，每个角色一个 {@link RoaringBitmap} 记录持有它的用户序号；
+ * 权限的持有者是授予该权限的角色位图之并，角色到权限的关系取自 {@link PermissionMatrixService}（角色数量少，按需合并）。
+ * 启动就绪后全量扫描用户和用户角色关系构建（开启分库时扫描每个分片），之后按 USER 缓存失效事件
+ * （包括其他节点经缓存失效总线转发的）重新读取该用户的启用状态和角色增量更新；
+ * 定时全量重建兜底丢失的事件，同时回收已删除用户占用的序号。
+ * <p>
+ * 构建时序号按ID升序分配，之后的新用户追加在末尾，ID 时间有序，列表顺序与ID顺序基本一致。
+ */
+@Component
+@Slf4j
+public class AuthorizationIndex implements CacheInvalidationListener {
+
+    private static final String ROLE_PREFIX = "role:";
+    private static final String PERMISSION_PREFIX = "permission:";
+
+    /** 从权限矩阵解出的授予关系，按矩阵版本缓存 */
+    private record Grants(String version, Map<String, Long> roleIds, Map<String, PermissionMatrix.Column> permissions,
+                          Map<Long, PermissionMatrix.Column> permissionsById, Map<Long, Set<Long>> permissionsByRole,
+                          Map<Long, Set<Long>> rolesByPermission) {
+    }
+
+    private final UserShardRouter userShardRouter;
+    private final UserMapper userMapper;
+    private final UserRoleMapper userRoleMapper;
+    private final PermissionMatrixService permissionMatrixService;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    /** 单个用户的读取和写入串行执行，后读到的状态一定后写入 */
+    private final Object refreshLock = new Object();
+    private volatile State state;
+    private volatile Grants grants;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "authz-index-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean rebuildScheduled = new AtomicBoolean();
+    /** 重建期间变更的用户，新索引替换后重新读取 */
+    private final Queue<Long> pendingDuringRebuild = new ConcurrentLinkedQueue<>();
+    private volatile boolean rebuilding;
+
+    private final LongAdder queries = new LongAdder();
+    private final LongAdder refreshes = new LongAdder();
+    private final LongAdder rebuilds = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private volatile long lastRebuildTime;
+    private volatile long lastRebuildDuration;
+
+    @Value("${authz-index.enabled:true}")
+    private boolean enabled;
+
+    public AuthorizationIndex(UserShardRouter userShardRouter, UserMapper userMapper, UserRoleMapper userRoleMapper,
+                              PermissionMatrixService permissionMatrixService) {
+        this.userShardRouter = userShardRouter;
+        this.userMapper = userMapper;
+        this.userRoleMapper = userRoleMapper;
+        this.permissionMatrixService = permissionMatrixService;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        if (enabled) {
+            trigger();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${authz-index.rebuild-interval:3600000}",
+            initialDelayString = "${authz-index.rebuild-interval:3600000}")
+    public void scheduledRebuild() {
+        if (enabled) {
+            trigger();
+        }
+    }
+
+    /**
+     * 在重建线程中全量重建索引，已有重建在排队时返回 false
+     */
+    public boolean trigger() {
+        if (!rebuildScheduled.compareAndSet(false, true)) {
+            return false;
+        }
+        executor.execute(this::rebuild);
+        return true;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public void onInvalidate(CacheRegion region, Long entityId) {
+        // 首次构建开始前的变更会被扫描覆盖
+        if (region != CacheRegion.USER || (state == null && !rebuilding)) {
+            return;
+        }
+        if (entityId == null) {
+            trigger();
+            return;
+        }
+        if (rebuilding) {
+            pendingDuringRebuild.add(entityId);
+        }
+        try {
+            refresh(entityId);
+        } catch (Exception e) {
+            errors.increment();
+            log.warn("读取用户 {} 更新授权索引失败，改为全量重建: {}", entityId, e.getMessage());
+            trigger();
+        }
+    }
+
+    /**
+     * 同时满足 require 中全部条件、不满足 exclude 中任何条件的用户数；
+     * 条件为 role:角色编码 或 permission:权限编码，enabledOnly 时只计启用的用户
+     */
+    public long count(List<String> require, List<String> exclude, boolean enabledOnly) {
+        Grants current = grants();
+        return read(state -> select(state, current, require, exclude, enabledOnly).cardinality());
+    }
+
+    /**
+     * 按序号顺序分页列出满足条件的用户ID，条件同 {@link #count}
+     */
+    public Page<Long> holders(List<String> require, List<String> exclude, boolean enabledOnly, long current, int size) {
+        Grants currentGrants = grants();
+        long page = Math.max(1, current);
+        return read(state -> {
+            RoaringBitmap result = select(state, currentGrants, require, exclude, enabledOnly);
+            int[] ordinals = result.slice((page - 1) * size, size);
+            List<Long> userIds = new ArrayList<>(ordinals.length);
+            for (int ordinal : ordinals) {
+                userIds.add(state.userIds[ordinal]);
+            }
+            Page<Long> holders = new Page<>(page, size, result.cardinality());
+            holders.setRecords(userIds);
+            return holders;
+        });
+    }
+
+    /**
+     * 预估把角色的权限改为 permissionIds 后各权限得失的用户数；与 RoleService.updateRole 一致，
+     * permissionIds 为空时视为不修改权限
+     */
+    public RoleImpact impact(Long roleId, Collection<Long> permissionIds) {
+        Grants current = grants();
+        Set<Long> granted = current.permissionsByRole().get(roleId);
+        if (granted == null) {
+            throw new ResourceNotFoundException("角色", "id", roleId);
+        }
+        Set<Long> target = permissionIds == null || permissionIds.isEmpty() ? granted : new LinkedHashSet<>(permissionIds);
+        for (Long permissionId : target) {
+            if (!current.permissionsById().containsKey(permissionId)) {
+                throw new ValidationException("权限不存在: " + permissionId);
+            }
+        }
+        return read(state -> {
+            RoaringBitmap members = state.roleUsers.getOrDefault(roleId, new RoaringBitmap());
+            RoaringBitmap affected = new RoaringBitmap();
+            List<RoleImpact.Change> added = new ArrayList<>();
+            List<RoleImpact.Change> removed = new ArrayList<>();
+            for (Long permissionId : target) {
+                if (!granted.contains(permissionId)) {
+                    RoaringBitmap gaining = RoaringBitmap.andNot(members, heldElsewhere(state, current, permissionId, roleId));
+                    added.add(change(current, permissionId, gaining.cardinality()));
+                    affected = RoaringBitmap.or(affected, gaining);
+                }
+            }
+            for (Long permissionId : granted) {
+                if (!target.contains(permissionId)) {
+                    RoaringBitmap losing = RoaringBitmap.andNot(members, heldElsewhere(state, current, permissionId, roleId));
+                    removed.add(change(current, permissionId, losing.cardinality()));
+                    affected = RoaringBitmap.or(affected, losing);
+                }
+            }
+            return new RoleImpact(roleId, members.cardinality(), added, removed, affected.cardinality());
+        });
+    }
+
+    /**
+     * 从 userIds 中筛出持有该角色的用户（角色已删除时按删除前的关系），索引未就绪时返回 null
+     */
+    public Set<Long> filterRoleHolders(Long roleId, Collection<Long> userIds) {
+        if (!enabled) {
+            return null;
+        }
+        lock.readLock().lock();
+        try {
+            State current = state;
+            if (current == null) {
+                return null;
+            }
+            RoaringBitmap members = current.roleUsers.get(roleId);
+            Set<Long> holders = new HashSet<>();
+            if (members != null) {
+                for (Long userId : userIds) {
+                    Integer ordinal = current.ordinals.get(userId);
+                    if (ordinal != null && members.contains(ordinal)) {
+                        holders.add(userId);
+                    }
+                }
+            }
+            return holders;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private <T> T read(Function<State, T> reader) {
+        if (!enabled) {
+            throw new BusinessException(ErrorCode.AUTHZ_INDEX_NOT_READY, "授权索引未启用");
+        }
+        lock.readLock().lock();
+        try {
+            State current = state;
+            if (current == null) {
+                throw new BusinessException(ErrorCode.AUTHZ_INDEX_NOT_READY);
+            }
+            queries.increment();
+            return reader.apply(current);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static RoaringBitmap select(State state, Grants grants, List<String> require, List<String> exclude,
+                                        boolean enabledOnly) {
+        RoaringBitmap result = enabledOnly ? state.enabled : state.users;
+        if (require != null) {
+            for (String term : require) {
+                result = RoaringBitmap.and(result, resolve(state, grants, term));
+            }
+        }
+        if (exclude != null) {
+            for (String term : exclude) {
+                result = RoaringBitmap.andNot(result, resolve(state, grants, term));
+            }
+        }
+        return result;
+    }
+
+    private static RoaringBitmap resolve(State state, Grants grants, String term) {
+        if (term.startsWith(ROLE_PREFIX)) {
+            Long roleId = grants.roleIds().get(term.substring(ROLE_PREFIX.length()));
+            if (roleId == null) {
+                throw new ValidationException("角色不存在: " + term.substring(ROLE_PREFIX.length()));
+            }
+            return state.roleUsers.getOrDefault(roleId, new RoaringBitmap());
+        }
+        if (term.startsWith(PERMISSION_PREFIX)) {
+            PermissionMatrix.Column permission = grants.permissions().get(term.substring(PERMISSION_PREFIX.length()));
+            if (permission == null) {
+                throw new ValidationException("权限不存在: " + term.substring(PERMISSION_PREFIX.length()));
+            }
+            return heldElsewhere(state, grants, permission.id(), null);
+        }
+        throw new ValidationException("条件应为 role:角色编码 或 permission:权限编码: " + term);
+    }
+
+    /**
+     * 经 excludedRole 以外的角色持有该权限的用户
+     */
+    private static RoaringBitmap heldElsewhere(State state, Grants grants, Long permissionId, Long excludedRole) {
+        RoaringBitmap result = new RoaringBitmap();
+        for (Long roleId : grants.rolesByPermission().getOrDefault(permissionId, Set.of())) {
+            RoaringBitmap members = state.roleUsers.get(roleId);
+            if (members != null && !roleId.equals(excludedRole)) {
+                result = RoaringBitmap.or(result, members);
+            }
+        }
+        return result;
+    }
+
+    private static RoleImpact.Change change(Grants grants, Long permissionId, long users) {
+        PermissionMatrix.Column permission = grants.permissionsById().get(permissionId);
+        return new RoleImpact.Change(permissionId, permission.code(), permission.name(), users);
+    }
+
+    private Grants grants() {
+        PermissionMatrix matrix = permissionMatrixService.getMatrix(null);
+        Grants current = grants;
+        if (current != null && current.version().equals(matrix.version())) {
+            return current;
+        }
+        Map<String, Long> roleIds = new HashMap<>();
+        Map<String, PermissionMatrix.Column> permissions = new HashMap<>();
+        Map<Long, PermissionMatrix.Column> permissionsById = new HashMap<>();
+        Map<Long, Set<Long>> permissionsByRole = new HashMap<>();
+        Map<Long, Set<Long>> rolesByPermission = new HashMap<>();
+        List<PermissionMatrix.Column> columns = matrix.permissions();
+        for (PermissionMatrix.Column column : columns) {
+            permissions.put(column.code(), column);
+            permissionsById.put(column.id(), column);
+        }
+        for (PermissionMatrix.Row row : matrix.roles()) {
+            roleIds.put(row.code(), row.id());
+            Set<Long> granted = new HashSet<>();
+            BitSet bits = BitSet.valueOf(Base64.getDecoder().decode(row.bits()));
+            for (int i = bits.nextSetBit(0); i >= 0; i = bits.nextSetBit(i + 1)) {
+                Long permissionId = columns.get(i).id();
+                granted.add(permissionId);
+                rolesByPermission.computeIfAbsent(permissionId, key -> new HashSet<>()).add(row.id());
+            }
+            permissionsByRole.put(row.id(), granted);
+        }
+        current = new Grants(matrix.version(), roleIds, permissions, permissionsById, permissionsByRole,
+                rolesByPermission);
+        grants = current;
+        return current;
+    }
+
+    private void refresh(Long userId) {
+        synchronized (refreshLock) {
+            Boolean userEnabled = userShardRouter.forUser(userId, () -> userMapper.selectEnabledById(userId));
+            List<Long> roleIds = userEnabled == null ? List.of()
+                    : userShardRouter.forUser(userId, () -> userRoleMapper.selectRoleIdsByUserId(userId));
+            lock.writeLock().lock();
+            try {
+                State current = state;
+                if (current == null) {
+                    return;
+                }
+                if (userEnabled == null) {
+                    current.remove(userId);
+                } else {
+                    current.put(userId, userEnabled, roleIds);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+            refreshes.increment();
+        }
+    }
+
+    private void rebuild() {
+        rebuildScheduled.set(false);
+        long start = System.currentTimeMillis();
+        rebuilding = true;
+        pendingDuringRebuild.clear();
+        try {
+            State built = build();
+            lock.writeLock().lock();
+            try {
+                state = built;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            rebuilding = false;
+            Long pending;
+            while ((pending = pendingDuringRebuild.poll()) != null) {
+                refresh(pending);
+            }
+
+            rebuilds.increment();
+            lastRebuildTime = start;
+            lastRebuildDuration = System.currentTimeMillis() - start;
+            log.info("授权索引重建完成，{} 个用户，{} 个角色，耗时 {} ms",
+                    built.users.cardinality(), built.roleUsers.size(), lastRebuildDuration);
+        } catch (Exception e) {
+            errors.increment();
+            log.error("授权索引重建失败: {}", e.getMessage(), e);
+        } finally {
+            rebuilding = false;
+        }
+    }
+
+    private State build() {
+        List<UserScan> scans = userShardRouter.acrossShards(shard -> {
+            UserScan scan = new UserScan();
+            userMapper.scanActiveUsers(context -> scan.add(context.getResultObject()));
+            return scan;
+        });
+        int total = scans.stream().mapToInt(scan -> scan.count).sum();
+        long[] userIds = new long[total];
+        Set<Long> disabled = new HashSet<>();
+        int offset = 0;
+        for (UserScan scan : scans) {
+            System.arraycopy(scan.ids, 0, userIds, offset, scan.count);
+            offset += scan.count;
+            disabled.addAll(scan.disabled);
+        }
+        Arrays.sort(userIds);
+
+        State built = new State(total);
+        for (long userId : userIds) {
+            int ordinal = built.ordinal(userId);
+            built.users.add(ordinal);
+            if (!disabled.contains(userId)) {
+                built.enabled.add(ordinal);
+            }
+        }
+        userShardRouter.acrossShards(shard -> {
+            userRoleMapper.scanLinks(context -> {
+                synchronized (built) {
+                    built.link(context.getResultObject().getUserId(), context.getResultObject().getRoleId());
+                }
+            });
+            return null;
+        });
+        return built;
+    }
+
+    /**
+     * 单个分片扫描出的用户ID和其中已禁用的用户
+     */
+    private static final class UserScan {
+        private long[] ids = new long[1024];
+        private int count;
+        private final Set<Long> disabled = new HashSet<>();
+
+        void add(User user) {
+            if (count == ids.length) {
+                ids = Arrays.copyOf(ids, count * 2);
+            }
+            ids[count++] = user.getId();
+            if (!Boolean.TRUE.equals(user.getEnabled())) {
+                disabled.add(user.getId());
+            }
+        }
+    }
+
+    /**
+     * 索引内容，读写都在 lock 保护下进行
+     */
+    private static final class State {
+        private final Map<Long, Integer> ordinals;
+        private long[] userIds;
+        private int next;
+        /** 未删除的用户 */
+        private final RoaringBitmap users = new RoaringBitmap();
+        private final RoaringBitmap enabled = new RoaringBitmap();
+        private final Map<Long, RoaringBitmap> roleUsers = new HashMap<>();
+
+        State(int capacity) {
+            this.ordinals = new HashMap<>(Math.max(16, capacity * 4 / 3 + 1));
+            this.userIds = new long[Math.max(16, capacity)];
+        }
+
+        int ordinal(long userId) {
+            Integer ordinal = ordinals.get(userId);
+            if (ordinal != null) {
+                return ordinal;
+            }
+            if (next == userIds.length) {
+                userIds = Arrays.copyOf(userIds, next * 2);
+            }
+            userIds[next] = userId;
+            ordinals.put(userId, next);
+            return next++;
+        }
+
+        /**
+         * 扫描到的用户角色关系，已删除用户的关系不计入
+         */
+        void link(Long userId, Long roleId) {
+            Integer ordinal = ordinals.get(userId);
+            if (ordinal != null && users.contains(ordinal)) {
+                roleUsers.computeIfAbsent(roleId, key -> new RoaringBitmap()).add(ordinal);
+            }
+        }
+
+        void put(long userId, boolean userEnabled, Collection<Long> roleIds) {
+            int ordinal = ordinal(userId);
+            users.add(ordinal);
+            if (userEnabled) {
+                enabled.add(ordinal);
+            } else {
+                enabled.remove(ordinal);
+            }
+            roleUsers.forEach((roleId, members) -> {
+                if (!roleIds.contains(roleId)) {
+                    members.remove(ordinal);
+                }
+            });
+            roleIds.forEach(roleId -> roleUsers.computeIfAbsent(roleId, key -> new RoaringBitmap()).add(ordinal));
+        }
+
+        /**
+         * 删除的用户只从位图中移除，序号在下次全量重建时回收
+         */
+        void remove(long userId) {
+            Integer ordinal = ordinals.get(userId);
+            if (ordinal == null) {
+                return;
+            }
+            users.remove(ordinal);
+            enabled.remove(ordinal);
+            roleUsers.values().forEach(members -> members.remove(ordinal));
+        }
+
+        long sizeInBytes() {
+            long bytes = users.sizeInBytes() + enabled.sizeInBytes() + userIds.length * 8L;
+            for (RoaringBitmap members : roleUsers.values()) {
+                bytes += members.sizeInBytes();
+            }
+            return bytes;
+        }
+    }
+
+    /**
+     * 统计信息：索引规模、查询和增量更新次数、上次重建情况
+     */
+    public Map<String, Object> statistics() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("enabled", enabled);
+        map.put("rebuilding", rebuilding);
+        lock.readLock().lock();
+        try {
+            State current = state;
+            map.put("ready", current != null);
+            if (current != null) {
+                map.put("users", current.users.cardinality());
+                map.put("enabledUsers", current.enabled.cardinality());
+                map.put("ordinals", current.next);
+                map.put("roles", current.roleUsers.size());
+                map.put("estimatedBytes", current.sizeInBytes());
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        map.put("queries", queries.sum());
+        map.put("refreshes", refreshes.sum());
+        map.put("rebuilds", rebuilds.sum());
+        map.put("errors", errors.sum());
+        map.put("lastRebuildTime", lastRebuildTime);
+        map.put("lastRebuildDurationMs", lastRebuildDuration);
+        return map;
+    }
+}
@@ -0,0 +1,23 @@
+package com.india.management.rbac;
+
+import java.util.List;
+
+/**
+ * 角色 × 权限分配矩阵
+ * <p>
+ * permissions 按ID排序，下标即权限序号；每个角色的 bits 是按权限序号排列的位图（第 i 位在第 i / 8 个字节的
+ * 第 i % 8 位，低位在前），Base64 编码。version 是内容摘要，内容相同的矩阵在任何节点上版本都相同；
+ * 请求带上当前版本且未变化时 modified 为 false，不再返回矩阵内容。
+ */
+public record PermissionMatrix(String version, boolean modified, List<Column> permissions, List<Row> roles) {
+
+    public record Column(Long id, String code, String name, String type, Long parentId) {
+    }
+
+    public record Row(Long id, String code, String name, int count, String bits) {
+    }
+
+    public static PermissionMatrix notModified(String version) {
+        return new PermissionMatrix(version, false, null, null);
+    }
+}
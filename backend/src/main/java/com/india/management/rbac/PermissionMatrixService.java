@@ -0,0 +1,150 @@
+package com.india.management.rbac;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.india.management.cache.CacheInvalidationListener;
+import com.india.management.cache.CacheRegion;
+import com.india.management.entity.Permission;
+import com.india.management.entity.Role;
+import com.india.management.entity.RolePermission;
+import com.india.management.mapper.PermissionMapper;
+import com.india.management.mapper.RoleMapper;
+import com.india.management.mapper.RolePermissionMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 角色 × 权限矩阵
+ * <p>
+ * 角色、权限经 Mapper 二级缓存读取，关联关系一次查出后在内存中组装为每个角色一个位图。
+ * 组装结果缓存在内存中，ROLE、PERMISSION 失效事件（包括其他节点经缓存失效总线转发的）使其作废；
+ * 组装期间发生失效时本次结果只返回不缓存，避免把旧数据留在缓存里。
+ */
+@Service
+@RequiredArgsConstructor
+public class PermissionMatrixService implements CacheInvalidationListener {
+
+    private record Snapshot(long generation, PermissionMatrix matrix) {
+    }
+
+    private final RoleMapper roleMapper;
+    private final PermissionMapper permissionMapper;
+    private final RolePermissionMapper rolePermissionMapper;
+
+    private final AtomicLong generation = new AtomicLong();
+    private volatile Snapshot cached;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder notModified = new LongAdder();
+    private final LongAdder builds = new LongAdder();
+
+    /**
+     * 获取矩阵，clientVersion 与当前版本相同时只返回版本号
+     */
+    public PermissionMatrix getMatrix(String clientVersion) {
+        PermissionMatrix matrix = current();
+        if (clientVersion != null && clientVersion.equals(matrix.version())) {
+            notModified.increment();
+            return PermissionMatrix.notModified(matrix.version());
+        }
+        return matrix;
+    }
+
+    @Override
+    public void onInvalidate(CacheRegion region, Long entityId) {
+        if (region == CacheRegion.ROLE || region == CacheRegion.PERMISSION) {
+            generation.incrementAndGet();
+        }
+    }
+
+    private PermissionMatrix current() {
+        long expected = generation.get();
+        Snapshot snapshot = cached;
+        if (snapshot != null && snapshot.generation() == expected) {
+            hits.increment();
+            return snapshot.matrix();
+        }
+        PermissionMatrix matrix = build();
+        builds.increment();
+        if (generation.get() == expected) {
+            cached = new Snapshot(expected, matrix);
+        }
+        return matrix;
+    }
+
+    private PermissionMatrix build() {
+        List<Permission> permissions = permissionMapper.selectList(new LambdaQueryWrapper<Permission>()
+                .select(Permission::getId, Permission::getCode, Permission::getName, Permission::getType,
+                        Permission::getParentId)
+                .orderByAsc(Permission::getId));
+        List<Role> roles = roleMapper.selectList(new LambdaQueryWrapper<Role>()
+                .select(Role::getId, Role::getCode, Role::getName)
+                .orderByAsc(Role::getId));
+        List<RolePermission> links = rolePermissionMapper.selectList(new LambdaQueryWrapper<RolePermission>()
+                .select(RolePermission::getRoleId, RolePermission::getPermissionId));
+
+        Map<Long, Integer> ordinals = new HashMap<>();
+        List<PermissionMatrix.Column> columns = new ArrayList<>(permissions.size());
+        for (Permission permission : permissions) {
+            ordinals.put(permission.getId(), columns.size());
+            columns.add(new PermissionMatrix.Column(permission.getId(), permission.getCode(), permission.getName(),
+                    permission.getType(), permission.getParentId()));
+        }
+
+        Map<Long, BitSet> bitsByRole = new LinkedHashMap<>();
+        roles.forEach(role -> bitsByRole.put(role.getId(), new BitSet(columns.size())));
+        for (RolePermission link : links) {
+            BitSet bits = bitsByRole.get(link.getRoleId());
+            Integer ordinal = ordinals.get(link.getPermissionId());
+            // 指向已删除角色或权限的关联记录不计入
+            if (bits != null && ordinal != null) {
+                bits.set(ordinal);
+            }
+        }
+
+        long hash = 0xcbf29ce484222325L;
+        for (PermissionMatrix.Column column : columns) {
+            hash = fnv(hash, column.id() + ":" + column.code() + ":" + column.name() + ":" + column.type()
+                    + ":" + column.parentId() + ";");
+        }
+        List<PermissionMatrix.Row> rows = new ArrayList<>(roles.size());
+        for (Role role : roles) {
+            BitSet bits = bitsByRole.get(role.getId());
+            String encoded = Base64.getEncoder().encodeToString(bits.toByteArray());
+            rows.add(new PermissionMatrix.Row(role.getId(), role.getCode(), role.getName(), bits.cardinality(), encoded));
+            hash = fnv(hash, role.getId() + ":" + role.getCode() + ":" + role.getName() + ":" + encoded + ";");
+        }
+        return new PermissionMatrix(Long.toHexString(hash), true, columns, rows);
+    }
+
+    private static long fnv(long hash, String value) {
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    /**
+     * 统计信息：缓存命中、未变化和重新组装次数
+     */
+    public Map<String, Object> statistics() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        Snapshot snapshot = cached;
+        map.put("version", snapshot == null ? null : snapshot.matrix().version());
+        map.put("hits", hits.sum());
+        map.put("notModified", notModified.sum());
+        map.put("builds", builds.sum());
+        return map;
+    }
+}
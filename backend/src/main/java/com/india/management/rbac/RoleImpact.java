@@ -0,0 +1,15 @@
+package com.india.management.rbac;
+
+import java.util.List;
+
+/**
+ * 修改角色权限前的影响预估
+ * <p>
+ * roleUsers 为持有该角色的用户数；added、removed 中的 users 分别是因这次修改新获得、失去该权限的用户数
+ * （已通过其他角色持有的不计入），affectedUsers 为权限有任何变化的用户数（去重）。
+ */
+public record RoleImpact(Long roleId, long roleUsers, List<Change> added, List<Change> removed, long affectedUsers) {
+
+    public record Change(Long permissionId, String code, String name, long users) {
+    }
+}
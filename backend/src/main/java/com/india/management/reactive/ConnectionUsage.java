@@ -0,0 +1,77 @@
+package com.india.management.reactive;
+
+import com.india.management.sharding.ShardRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * JDBC / R2DBC 连接池和 JVM 线程的占用情况，用于对比阻塞与非阻塞读路径
+ */
+@Component
+@RequiredArgsConstructor
+public class ConnectionUsage {
+
+    private final DataSource dataSource;
+    private final ObjectProvider<ReactiveReadConfig.ReactivePool> reactiveConnectionPool;
+
+    public Map<String, Object> statistics() {
+        Map<String, Object> map = new LinkedHashMap<>();
+
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        Map<String, Object> jvm = new LinkedHashMap<>();
+        jvm.put("threads", threads.getThreadCount());
+        jvm.put("peakThreads", threads.getPeakThreadCount());
+        map.put("jvm", jvm);
+
+        if (dataSource instanceof ShardRoutingDataSource routing) {
+            map.put("jdbc", hikari(routing.getPrimary()));
+            map.put("shards", routing.getShards().stream().map(ConnectionUsage::hikari).toList());
+        } else if (dataSource instanceof HikariDataSource hikari) {
+            map.put("jdbc", hikari(hikari));
+        }
+
+        ReactiveReadConfig.ReactivePool reactivePool = reactiveConnectionPool.getIfAvailable();
+        if (reactivePool != null) {
+            reactivePool.pool().getMetrics().ifPresent(metrics -> {
+                Map<String, Object> r2dbc = new LinkedHashMap<>();
+                r2dbc.put("acquired", metrics.acquiredSize());
+                r2dbc.put("idle", metrics.idleSize());
+                r2dbc.put("allocated", metrics.allocatedSize());
+                r2dbc.put("pending", metrics.pendingAcquireSize());
+                r2dbc.put("maxSize", metrics.getMaxAllocatedSize());
+                map.put("r2dbc", r2dbc);
+            });
+        }
+        return map;
+    }
+
+    private static Map<String, Object> hikari(HikariDataSource hikari) {
+        Map<String, Object> jdbc = new LinkedHashMap<>();
+        jdbc.put("pool", hikari.getPoolName());
+        HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+        if (pool != null) {
+            jdbc.put("active", pool.getActiveConnections());
+            jdbc.put("idle", pool.getIdleConnections());
+            jdbc.put("total", pool.getTotalConnections());
+            jdbc.put("awaiting", pool.getThreadsAwaitingConnection());
+        }
+        jdbc.put("maxSize", hikari.getMaximumPoolSize());
+        return jdbc;
+    }
+
+    /**
+     * 重置 JVM 峰值线程数，便于按轮次压测
+     */
+    public void resetPeak() {
+        ManagementFactory.getThreadMXBean().resetPeakThreadCount();
+    }
+}
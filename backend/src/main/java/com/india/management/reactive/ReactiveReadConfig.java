@@ -0,0 +1,59 @@
+package com.india.management.reactive;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import java.time.Duration;
+
+/**
+ * 非阻塞读路径的 R2DBC 连接池
+ * <p>
+ * 只在 reactive-read.enabled=true 时创建，写操作和其余查询仍走 MyBatis + JDBC。
+ * 开启分库（sharding.enabled=true）时不创建：这里的 SQL 直接查询单库的用户表，不经过分片路由。
+ * 以 AOT 模式（cds/native 构建）运行时该条件在构建期确定，需要在构建时就打开。
+ * <p>
+ * 连接池包在 {@link ReactivePool} 中注册：容器里一旦出现 ConnectionFactory 类型的 Bean，
+ * DataSourceAutoConfiguration 就会退让，JDBC 数据源不再创建。
+ */
+@Configuration
+@ConditionalOnExpression("${reactive-read.enabled:false} and !${sharding.enabled:false}")
+public class ReactiveReadConfig {
+
+    public record ReactivePool(ConnectionPool pool) {
+
+        public void dispose() {
+            pool.dispose();
+        }
+    }
+
+    @Bean(destroyMethod = "dispose")
+    public ReactivePool reactiveConnectionPool(@Value("${reactive-read.url}") String url,
+                                                 @Value("${reactive-read.username:${spring.datasource.username}}") String username,
+                                                 @Value("${reactive-read.password:${spring.datasource.password}}") String password,
+                                                 @Value("${reactive-read.pool.initial-size:2}") int initialSize,
+                                                 @Value("${reactive-read.pool.max-size:10}") int maxSize,
+                                                 @Value("${reactive-read.pool.max-idle-time:PT30M}") Duration maxIdleTime) {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build();
+        return new ReactivePool(new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .name("reactive-read")
+                .initialSize(initialSize)
+                .maxSize(maxSize)
+                .maxIdleTime(maxIdleTime)
+                .build()));
+    }
+
+    @Bean
+    public DatabaseClient reactiveDatabaseClient(ReactivePool reactiveConnectionPool) {
+        return DatabaseClient.create(reactiveConnectionPool.pool());
+    }
+}
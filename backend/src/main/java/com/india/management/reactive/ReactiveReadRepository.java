@@ -0,0 +1,88 @@
+package com.india.management.reactive;
+
+import com.india.management.entity.Permission;
+import com.india.management.entity.Role;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+/**
+ * 非阻塞读路径的查询，SQL 与对应 Mapper 中的查询保持一致
+ */
+@Repository
+@RequiredArgsConstructor
+@ConditionalOnExpression("${reactive-read.enabled:false} and !${sharding.enabled:false}")
+public class ReactiveReadRepository {
+
+    private static final String PERMISSION_COLUMNS = "p.id, p.code, p.name, p.description, p.type, p.path, "
+            + "p.component, p.icon, p.sort, p.parent_id, p.create_time, p.update_time, p.version";
+
+    private final DatabaseClient reactiveDatabaseClient;
+
+    /**
+     * 全部菜单权限，同 PermissionService.getAllMenus
+     */
+    public Flux<Permission> findMenus() {
+        return reactiveDatabaseClient.sql("SELECT " + PERMISSION_COLUMNS + " FROM sys_permission p "
+                        + "WHERE p.type = 'menu' AND p.deleted = 0 ORDER BY p.sort")
+                .map(ReactiveReadRepository::toPermission)
+                .all();
+    }
+
+    /**
+     * 用户拥有的权限，同 PermissionMapper.selectPermissionsByUserId
+     */
+    public Flux<Permission> findPermissionsByUserId(Long userId) {
+        return reactiveDatabaseClient.sql("SELECT DISTINCT " + PERMISSION_COLUMNS + " FROM sys_permission p "
+                        + "INNER JOIN sys_role_permission rp ON p.id = rp.permission_id "
+                        + "INNER JOIN sys_role r ON rp.role_id = r.id "
+                        + "INNER JOIN sys_user_role ur ON r.id = ur.role_id "
+                        + "WHERE ur.user_id = :userId AND p.deleted = 0 AND r.deleted = 0")
+                .bind("userId", userId)
+                .map(ReactiveReadRepository::toPermission)
+                .all();
+    }
+
+    /**
+     * 全部角色，同 RoleService.getAllRoles
+     */
+    public Flux<Role> findRoles() {
+        return reactiveDatabaseClient.sql("SELECT id, name, code, description, create_time, update_time, version "
+                        + "FROM sys_role WHERE deleted = 0")
+                .map(ReactiveReadRepository::toRole)
+                .all();
+    }
+
+    private static Permission toPermission(Readable row) {
+        Permission permission = new Permission();
+        permission.setId(row.get("id", Long.class));
+        permission.setCode(row.get("code", String.class));
+        permission.setName(row.get("name", String.class));
+        permission.setDescription(row.get("description", String.class));
+        permission.setType(row.get("type", String.class));
+        permission.setPath(row.get("path", String.class));
+        permission.setComponent(row.get("component", String.class));
+        permission.setIcon(row.get("icon", String.class));
+        permission.setSort(row.get("sort", Integer.class));
+        permission.setParentId(row.get("parent_id", Long.class));
+        permission.setCreateTime(row.get("create_time", Long.class));
+        permission.setUpdateTime(row.get("update_time", Long.class));
+        permission.setVersion(row.get("version", Integer.class));
+        return permission;
+    }
+
+    private static Role toRole(Readable row) {
+        Role role = new Role();
+        role.setId(row.get("id", Long.class));
+        role.setName(row.get("name", String.class));
+        role.setCode(row.get("code", String.class));
+        role.setDescription(row.get("description", String.class));
+        role.setCreateTime(row.get("create_time", Long.class));
+        role.setUpdateTime(row.get("update_time", Long.class));
+        role.setVersion(row.get("version", Integer.class));
+        return role;
+    }
+}
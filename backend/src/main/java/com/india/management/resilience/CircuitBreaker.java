@@ -0,0 +1,164 @@
+package com.india.management.resilience;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 基于调用次数滑动窗口的熔断器
+ * <p>
+ * 关闭状态下记录最近 windowSize 次调用的结果，调用数达到 minimumCalls 后，失败率或慢调用率
+ * 超过阈值即打开；打开状态拒绝所有调用，openDuration 后进入半开状态，放行 halfOpenCalls 次试探调用，
+ * 全部成功则关闭，任何一次失败或慢调用则重新打开。
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private static final byte FAILURE = 1;
+    private static final byte SLOW = 2;
+
+    private final String name;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final double slowRateThreshold;
+    private final long slowCallNanos;
+    private final long openNanos;
+    private final int halfOpenCalls;
+
+    /**
+     * 窗口内每次调用的结果位（FAILURE、SLOW），以下字段都由 this 保护
+     */
+    private final byte[] outcomes;
+    private int index;
+    private int count;
+    private int failures;
+    private int slowCalls;
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int halfOpenPermits;
+    private int halfOpenSuccesses;
+
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder failedCalls = new LongAdder();
+    private final LongAdder slowCallCount = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder opened = new LongAdder();
+
+    public CircuitBreaker(String name, int windowSize, int minimumCalls, double failureRateThreshold,
+                          double slowRateThreshold, long slowCallMs, long openDurationMs, int halfOpenCalls) {
+        this.name = name;
+        this.outcomes = new byte[Math.max(1, windowSize)];
+        this.minimumCalls = Math.max(1, Math.min(minimumCalls, outcomes.length));
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowRateThreshold = slowRateThreshold;
+        this.slowCallNanos = TimeUnit.MILLISECONDS.toNanos(slowCallMs);
+        this.openNanos = TimeUnit.MILLISECONDS.toNanos(openDurationMs);
+        this.halfOpenCalls = Math.max(1, halfOpenCalls);
+    }
+
+    /**
+     * 是否允许本次调用，允许时调用方必须随后调用 onSuccess 或 onError
+     */
+    public synchronized boolean tryAcquire() {
+        if (state == State.OPEN && System.nanoTime() - openedAt >= openNanos) {
+            state = State.HALF_OPEN;
+            halfOpenPermits = halfOpenCalls;
+            halfOpenSuccesses = 0;
+        }
+        if (state == State.CLOSED) {
+            return true;
+        }
+        if (state == State.HALF_OPEN && halfOpenPermits > 0) {
+            halfOpenPermits--;
+            return true;
+        }
+        rejected.increment();
+        return false;
+    }
+
+    public void onSuccess(long elapsedNanos) {
+        record(false, elapsedNanos >= slowCallNanos);
+    }
+
+    public void onError(long elapsedNanos) {
+        record(true, elapsedNanos >= slowCallNanos);
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    private synchronized void record(boolean failure, boolean slow) {
+        calls.increment();
+        if (failure) {
+            failedCalls.increment();
+        }
+        if (slow) {
+            slowCallCount.increment();
+        }
+
+        switch (state) {
+            case HALF_OPEN -> {
+                if (failure || slow) {
+                    open();
+                } else if (++halfOpenSuccesses >= halfOpenCalls) {
+                    state = State.CLOSED;
+                    resetWindow();
+                }
+            }
+            case CLOSED -> {
+                if (count == outcomes.length) {
+                    byte evicted = outcomes[index];
+                    failures -= evicted & FAILURE;
+                    slowCalls -= (evicted & SLOW) >> 1;
+                } else {
+                    count++;
+                }
+                outcomes[index] = (byte) ((failure ? FAILURE : 0) | (slow ? SLOW : 0));
+                index = (index + 1) % outcomes.length;
+                failures += failure ? 1 : 0;
+                slowCalls += slow ? 1 : 0;
+                if (count >= minimumCalls && ((double) failures / count >= failureRateThreshold
+                        || (double) slowCalls / count >= slowRateThreshold)) {
+                    open();
+                }
+            }
+            default -> {
+                // 打开之前发出、之后才返回的调用不再计入
+            }
+        }
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = System.nanoTime();
+        opened.increment();
+        resetWindow();
+    }
+
+    private void resetWindow() {
+        index = 0;
+        count = 0;
+        failures = 0;
+        slowCalls = 0;
+    }
+
+    public synchronized Map<String, Object> statistics() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("name", name);
+        map.put("state", state);
+        map.put("windowCalls", count);
+        map.put("windowFailureRate", count == 0 ? 0.0 : (double) failures / count);
+        map.put("windowSlowRate", count == 0 ? 0.0 : (double) slowCalls / count);
+        map.put("calls", calls.sum());
+        map.put("failures", failedCalls.sum());
+        map.put("slowCalls", slowCallCount.sum());
+        map.put("rejected", rejected.sum());
+        map.put("opened", opened.sum());
+        return map;
+    }
+}
@@ -0,0 +1,151 @@
+package com.india.management.resilience;
+
+import com.india.management.deadline.RequestDeadline;
+import com.india.management.exception.DeadlineExceededException;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 合并同一键上并发的相同加载
+ * <p>
+ * 某个键没有进行中的加载时，调用方自己执行加载；加载期间到达的同键调用方不再访问数据库，
+ * 等待并共享这一次的结果或异常。加载结束后立即移除，不缓存结果，之后的调用重新加载。
+ * 数据变更后调用 {@link #forgetAll()}，之后到达的调用方开始新的加载，不会拿到变更前开始的那次结果。
+ * <p>
+ * 等待者按自己的请求截止时间等待（{@link RequestDeadline#join}），放弃等待不影响加载方和其他等待者。
+ * 加载方因自己的截止时间失败（DeadlineExceededException、语句超时）时不把异常分给等待者，
+ * 等待者在自己的截止时间内重新加载（其中一个成为新的加载方）。
+ * <p>
+ * 共享的结果对象会交给多个调用方，调用方不应修改它；加载函数不能在同一线程内再次加载同一个键。
+ */
+public class SingleFlight<K, V> {
+
+    /**
+     * 加载方因自己的截止时间失败，通知等待者重新加载
+     */
+    private static final class LeaderDeadlineExceeded extends RuntimeException {
+        private LeaderDeadlineExceeded() {
+            super(null, null, false, false);
+        }
+    }
+
+    private static final LeaderDeadlineExceeded LEADER_DEADLINE_EXCEEDED = new LeaderDeadlineExceeded();
+
+    private static final class Flight<V> {
+        private final CompletableFuture<V> result = new CompletableFuture<>();
+        private final AtomicInteger followers = new AtomicInteger();
+    }
+
+    private final String name;
+    private final Map<K, Flight<V>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder forgotten = new LongAdder();
+    private final LongAdder retried = new LongAdder();
+    private final AtomicLong maxFollowers = new AtomicLong();
+
+    public SingleFlight(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public V load(K key, Supplier<V> loader) {
+        Flight<V> flight = new Flight<>();
+        Flight<V> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            coalesced.increment();
+            maxFollowers.accumulateAndGet(existing.followers.incrementAndGet(), Math::max);
+            try {
+                return await(existing);
+            } catch (LeaderDeadlineExceeded e) {
+                retried.increment();
+                RequestDeadline.check();
+                return load(key, loader);
+            }
+        }
+        loads.increment();
+        V value;
+        try {
+            value = loader.get();
+        } catch (RuntimeException | Error e) {
+            failures.increment();
+            // 先移除再通知，重新加载的等待者不会再等到这一次
+            inFlight.remove(key, flight);
+            flight.result.completeExceptionally(isOwnDeadline(e) ? LEADER_DEADLINE_EXCEEDED : e);
+            throw e;
+        }
+        inFlight.remove(key, flight);
+        flight.result.complete(value);
+        return value;
+    }
+
+    /**
+     * 加载方的失败是否由它自己的截止时间造成（在加载方线程上判断）
+     */
+    private static boolean isOwnDeadline(Throwable e) {
+        if (e instanceof DeadlineExceededException || e instanceof QueryTimeoutException) {
+            return true;
+        }
+        RequestDeadline deadline = RequestDeadline.current();
+        return deadline != null && (deadline.isTimedOut() || deadline.isExpired());
+    }
+
+    /**
+     * 放弃所有进行中的加载：已在等待的调用方仍拿到原结果，之后的调用方重新加载
+     */
+    public void forgetAll() {
+        if (!inFlight.isEmpty()) {
+            forgotten.add(inFlight.size());
+            inFlight.clear();
+        }
+    }
+
+    private static <V> V await(Flight<V> flight) {
+        try {
+            // 等待副本：超过截止时间时 join 会取消所等待的 future，不能取消共享的结果
+            return RequestDeadline.join(flight.result.copy());
+        } catch (CompletionException e) {
+            // 原样抛出加载方的异常（如 UsernameNotFoundException），调用方的异常处理不受影响
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 统计信息：实际加载次数、被合并的调用次数、单次加载最多的等待者数量、加载方超时后等待者重新加载的次数
+     */
+    public Map<String, Object> statistics() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        long loadCount = loads.sum();
+        long coalescedCount = coalesced.sum();
+        map.put("loads", loadCount);
+        map.put("coalesced", coalescedCount);
+        map.put("coalescedRatio", loadCount + coalescedCount == 0 ? 0.0
+                : (double) coalescedCount / (loadCount + coalescedCount));
+        map.put("maxFollowers", maxFollowers.get());
+        map.put("failures", failures.sum());
+        map.put("forgotten", forgotten.sum());
+        map.put("retried", retried.sum());
+        map.put("inFlight", inFlight.size());
+        return map;
+    }
+}
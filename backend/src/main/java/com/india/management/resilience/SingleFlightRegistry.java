@@ -0,0 +1,58 @@
+package com.india.management.resilience;
+
+import com.india.management.cache.CacheInvalidationListener;
+import com.india.management.cache.CacheRegion;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 登记各读路径的 {@link SingleFlight}，按缓存失效事件（包括其他节点经缓存失效总线转发的）放弃相关区域的进行中加载
+ * <p>
+ * 排在其他监听器之前执行：变更提交后到达的请求不会再合并到提交前开始的加载上。
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class SingleFlightRegistry implements CacheInvalidationListener {
+
+    private record Registration(SingleFlight<?, ?> flight, Set<CacheRegion> regions) {
+    }
+
+    private final List<Registration> registrations = new CopyOnWriteArrayList<>();
+
+    /**
+     * 创建并登记，regions 中任一区域失效时放弃该实例进行中的加载
+     */
+    public <K, V> SingleFlight<K, V> create(String name, CacheRegion first, CacheRegion... rest) {
+        SingleFlight<K, V> flight = new SingleFlight<>(name);
+        registrations.add(new Registration(flight, EnumSet.of(first, rest)));
+        return flight;
+    }
+
+    @Override
+    public void onInvalidate(CacheRegion region, Long entityId) {
+        for (Registration registration : registrations) {
+            if (registration.regions().contains(region)) {
+                registration.flight().forgetAll();
+            }
+        }
+    }
+
+    /**
+     * 各实例的统计信息
+     */
+    public Map<String, Object> statistics() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        for (Registration registration : registrations) {
+            map.put(registration.flight().getName(), registration.flight().statistics());
+        }
+        return map;
+    }
+}
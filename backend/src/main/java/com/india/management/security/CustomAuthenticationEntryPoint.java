@@ -1,47 +1,43 @@
 package com.india.management.security;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.india.management.encoding.JsonWriters;
+import com.india.management.exception.ErrorLogThrottle;
 import com.india.management.vo.ApiResponse;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.http.MediaType;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.web.AuthenticationEntryPoint;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 
 @Component
+@RequiredArgsConstructor
 @Slf4j
 public class CustomAuthenticationEntryPoint implements AuthenticationEntryPoint {
 
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final JsonWriters jsonWriters;
+
+    private final ErrorLogThrottle errorLogThrottle;
 
     @Override
     public void commence(HttpServletRequest request, HttpServletResponse response, AuthenticationException authException)
             throws IOException, ServletException {
-        log.error("Unauthorized error: {}", authException.getMessage());
-        
-        // 记录请求信息，帮助调试
-        log.info("Request URI: {}", request.getRequestURI());
-        log.info("Request Method: {}", request.getMethod());
-        log.info("Request Headers: ");
-        request.getHeaderNames().asIterator().forEachRemaining(headerName -> 
-            log.info("{}: {}", headerName, request.getHeader(headerName))
-        );
-        
-        // 设置响应
-        response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
-        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
-        
-        // 创建错误响应
-        ApiResponse<?> apiResponse = ApiResponse.error("未授权：" + authException.getMessage());
+        if (errorLogThrottle.tryAcquire("CustomAuthenticationEntryPoint")) {
+            log.warn("Unauthorized error: {} {} {}", request.getMethod(), request.getRequestURI(), authException.getMessage());
+        }
+
+        // 请求头只在调试时输出，帮助排查
+        if (log.isDebugEnabled()) {
+            request.getHeaderNames().asIterator().forEachRemaining(headerName ->
+                log.debug("{}: {}", headerName, request.getHeader(headerName))
+            );
+        }
         
-        // 写入响应
-        response.getWriter().write(objectMapper.writeValueAsString(apiResponse));
+        // 写入错误响应
+        jsonWriters.write(response, HttpServletResponse.SC_UNAUTHORIZED, ApiResponse.error("未授权：" + authException.getMessage()));
     }
 }
@@ -4,6 +4,7 @@ import com.india.management.entity.Permission;
 import com.india.management.entity.User;
 import com.india.management.mapper.PermissionMapper;
 import com.india.management.mapper.UserMapper;
+import com.india.management.sharding.UserShardRouter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -19,18 +20,26 @@ public class CustomUserDetailsService implements UserDetailsService {
 
     private final UserMapper userMapper;
     private final PermissionMapper permissionMapper;
+    private final UserShardRouter userShardRouter;
 
     @Override
     @Transactional
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        User user = userMapper.selectUserWithRolesByUsername(username);
-        if (user == null) {
-            throw new UsernameNotFoundException("User not found with username: " + username);
-        }
+        // 用户、角色关系和权限都在用户所在分片上查询
+        UserDetails userDetails = userShardRouter.forUsername(username, () -> {
+            User user = userMapper.selectUserWithRolesByUsername(username);
+            if (user == null) {
+                return null;
+            }
 
-        // 获取用户所有权限
-        List<Permission> permissions = permissionMapper.selectPermissionsByUserId(user.getId());
+            // 获取用户所有权限
+            List<Permission> permissions = permissionMapper.selectPermissionsByUserId(user.getId());
 
-        return UserPrincipal.create(user, permissions);
+            return UserPrincipal.create(user, permissions);
+        });
+        if (userDetails == null) {
+            throw new UsernameNotFoundException("User not found with username: " + username);
+        }
+        return userDetails;
     }
 }
@@ -1,11 +1,16 @@
 package com.india.management.security;
 
+import com.india.management.encoding.JsonWriters;
+import com.india.management.exception.ErrorCode;
+import com.india.management.vo.ApiResponse;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.AuthenticationServiceException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
@@ -20,6 +25,7 @@ import java.io.IOException;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider tokenProvider;
+    private final JsonWriters jsonWriters;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
@@ -35,6 +41,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 Authentication authentication = tokenProvider.getAuthentication(jwt);
                 SecurityContextHolder.getContext().setAuthentication(authentication);
             }
+        } catch (AuthenticationServiceException ex) {
+            // 数据库不可用且没有可用的旧用户信息，返回 503 而不是当作未登录
+            log.warn("认证服务暂不可用: {}", path);
+            jsonWriters.write(response, HttpStatus.SERVICE_UNAVAILABLE.value(),
+                    ApiResponse.error(ErrorCode.AUTH_SERVICE_UNAVAILABLE));
+            return;
         } catch (Exception ex) {
             log.error("Could not set user authentication in security context", ex);
         }
@@ -9,7 +9,6 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.stereotype.Component;
 
 import java.security.Key;
@@ -28,10 +27,10 @@ public class JwtTokenProvider {
 
     private Key key;
 
-    private final UserDetailsService userDetailsService;
+    private final PrincipalLoader principalLoader;
 
-    public JwtTokenProvider(UserDetailsService userDetailsService) {
-        this.userDetailsService = userDetailsService;
+    public JwtTokenProvider(PrincipalLoader principalLoader) {
+        this.principalLoader = principalLoader;
     }
 
     @PostConstruct
@@ -67,8 +66,8 @@ public class JwtTokenProvider {
 
         String username = claims.getSubject();
 
-        // 使用UserDetailsService加载用户信息
-        UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+        // 加载用户信息（数据库不可用时使用最近一次成功加载的结果）
+        UserDetails userDetails = principalLoader.load(username);
 
         return new UsernamePasswordAuthenticationToken(userDetails, token, userDetails.getAuthorities());
     }
@@ -0,0 +1,208 @@
+package com.india.management.security;
+
+import com.india.management.cache.CacheInvalidationListener;
+import com.india.management.cache.CacheRegion;
+import com.india.management.resilience.CircuitBreaker;
+import com.india.management.resilience.SingleFlight;
+import com.india.management.resilience.SingleFlightRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * JWT 认证时加载用户信息
+ * <p>
+ * 数据库查询包在熔断器中：失败率或慢调用率超过阈值后熔断，熔断期间不再访问数据库，
+ * 直接使用该用户最近一次成功加载的结果（不超过 max-staleness），同时在后台重新加载；
+ * 熔断器半开时由后台重新加载充当试探调用。没有可用的旧结果时抛出 AuthenticationServiceException，
+ * 由 JwtAuthenticationFilter 返回 503，而不是当作未登录返回 401。
+ * 用户、角色、权限变更时按缓存失效事件丢弃旧结果，避免熔断期间继续使用已撤销的权限。
+ * <p>
+ * 同一用户并发的加载合并为一次查询（同一个令牌的突发请求、权限变更后的集中重新加载），
+ * 合并在事务之外进行，等待的请求不占用数据库连接；每个调用方仍按自己的等待时间向熔断器报告。
+ * <p>
+ * 最近一次成功的结果存放在 ConcurrentHashMap 中，认证路径上不加全局锁；超过 max-entries 时
+ * 先淘汰超过 max-staleness 的条目，仍超出时再任意淘汰一部分，降到上限的九成。
+ */
+@Component
+@Slf4j
+public class PrincipalLoader implements CacheInvalidationListener {
+
+    private record Entry(UserDetails principal, long loadedAt) {
+    }
+
+    private final CustomUserDetailsService userDetailsService;
+    private final CircuitBreaker circuitBreaker;
+    private final SingleFlight<String, UserDetails> principalLoads;
+    private final long maxStalenessMs;
+    private final int maxEntries;
+    private final Map<String, Entry> lastKnownGood = new ConcurrentHashMap<>();
+    private final AtomicBoolean trimming = new AtomicBoolean();
+    private final Set<String> revalidating = ConcurrentHashMap.newKeySet();
+    private final ThreadPoolExecutor revalidator;
+
+    private final LongAdder staleServed = new LongAdder();
+    private final LongAdder unavailable = new LongAdder();
+    private final LongAdder revalidated = new LongAdder();
+
+    public PrincipalLoader(CustomUserDetailsService userDetailsService, SingleFlightRegistry singleFlightRegistry,
+                           @Value("${auth.principal.max-staleness:300000}") long maxStalenessMs,
+                           @Value("${auth.principal.max-entries:10000}") int maxEntries,
+                           @Value("${auth.circuit-breaker.window-size:50}") int windowSize,
+                           @Value("${auth.circuit-breaker.minimum-calls:10}") int minimumCalls,
+                           @Value("${auth.circuit-breaker.failure-rate:0.5}") double failureRate,
+                           @Value("${auth.circuit-breaker.slow-rate:0.5}") double slowRate,
+                           @Value("${auth.circuit-breaker.slow-call:500}") long slowCallMs,
+                           @Value("${auth.circuit-breaker.open-duration:10000}") long openDurationMs,
+                           @Value("${auth.circuit-breaker.half-open-calls:3}") int halfOpenCalls) {
+        this.userDetailsService = userDetailsService;
+        this.maxStalenessMs = maxStalenessMs;
+        this.maxEntries = maxEntries;
+        this.principalLoads = singleFlightRegistry.create("principal", CacheRegion.USER, CacheRegion.ROLE,
+                CacheRegion.PERMISSION);
+        this.circuitBreaker = new CircuitBreaker("principal-loader", windowSize, minimumCalls, failureRate,
+                slowRate, slowCallMs, openDurationMs, halfOpenCalls);
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.revalidator = new ThreadPoolExecutor(1, 2, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(256),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "principal-revalidate-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    public UserDetails load(String username) {
+        if (!circuitBreaker.tryAcquire()) {
+            return serveStale(username, null);
+        }
+        try {
+            return loadAndRemember(username);
+        } catch (UsernameNotFoundException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            return serveStale(username, e);
+        }
+    }
+
+    /**
+     * 已获得熔断器许可后查询数据库并记录结果
+     */
+    private UserDetails loadAndRemember(String username) {
+        long start = System.nanoTime();
+        try {
+            UserDetails principal = principalLoads.load(username, () -> userDetailsService.loadUserByUsername(username));
+            circuitBreaker.onSuccess(System.nanoTime() - start);
+            remember(username, principal);
+            return principal;
+        } catch (UsernameNotFoundException e) {
+            // 用户不存在是正常的查询结果
+            circuitBreaker.onSuccess(System.nanoTime() - start);
+            lastKnownGood.remove(username);
+            throw e;
+        } catch (RuntimeException e) {
+            circuitBreaker.onError(System.nanoTime() - start);
+            throw e;
+        }
+    }
+
+    private UserDetails serveStale(String username, RuntimeException cause) {
+        Entry entry = lastKnownGood.get(username);
+        if (entry == null || System.currentTimeMillis() - entry.loadedAt() > maxStalenessMs) {
+            unavailable.increment();
+            throw new AuthenticationServiceException("认证服务暂不可用", cause);
+        }
+        staleServed.increment();
+        revalidate(username);
+        return entry.principal();
+    }
+
+    private void remember(String username, UserDetails principal) {
+        lastKnownGood.put(username, new Entry(principal, System.currentTimeMillis()));
+        if (lastKnownGood.size() > maxEntries && trimming.compareAndSet(false, true)) {
+            try {
+                trim();
+            } finally {
+                trimming.set(false);
+            }
+        }
+    }
+
+    private void trim() {
+        long expiredBefore = System.currentTimeMillis() - maxStalenessMs;
+        lastKnownGood.values().removeIf(entry -> entry.loadedAt() < expiredBefore);
+        int target = maxEntries - maxEntries / 10;
+        Iterator<String> iterator = lastKnownGood.keySet().iterator();
+        while (lastKnownGood.size() > target && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    /**
+     * 后台重新加载，同一用户同时只有一个任务，熔断器不放行时跳过
+     */
+    private void revalidate(String username) {
+        if (!revalidating.add(username)) {
+            return;
+        }
+        try {
+            revalidator.execute(() -> {
+                try {
+                    if (circuitBreaker.tryAcquire()) {
+                        loadAndRemember(username);
+                        revalidated.increment();
+                    }
+                } catch (RuntimeException e) {
+                    log.debug("后台重新加载用户信息失败: {}: {}", username, e.getMessage());
+                } finally {
+                    revalidating.remove(username);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            revalidating.remove(username);
+        }
+    }
+
+    @Override
+    public void onInvalidate(CacheRegion region, Long entityId) {
+        if (region == CacheRegion.USER && entityId != null) {
+            lastKnownGood.values().removeIf(entry -> entry.principal() instanceof UserPrincipal principal
+                    && entityId.equals(principal.getId()));
+        } else {
+            lastKnownGood.clear();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        revalidator.shutdownNow();
+    }
+
+    public Map<String, Object> statistics() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("circuitBreaker", circuitBreaker.statistics());
+        map.put("entries", lastKnownGood.size());
+        map.put("maxStalenessMs", maxStalenessMs);
+        map.put("staleServed", staleServed.sum());
+        map.put("revalidated", revalidated.sum());
+        map.put("unavailable", unavailable.sum());
+        return map;
+    }
+}
@@ -27,6 +27,8 @@ public class UserPrincipal implements UserDetails {
     private String email;
     private String fullName;
     private boolean enabled;
+    /** 读取时的版本号，修改个人信息时回传 */
+    private Integer version;
     private Collection<? extends GrantedAuthority> authorities;
 
     public static UserPrincipal create(User user, List<Permission> permissions) {
@@ -48,6 +50,7 @@ public class UserPrincipal implements UserDetails {
                 .email(user.getEmail())
                 .fullName(user.getFullName())
                 .enabled(user.getEnabled())
+                .version(user.getVersion())
                 .authorities(authorities)
                 .build();
     }
@@ -0,0 +1,46 @@
+package com.india.management.service;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.india.management.entity.AuditLog;
+import com.india.management.mapper.AuditLogMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.TimeUnit;
+
+@Service
+@RequiredArgsConstructor
+public class AuditLogService extends ServiceImpl<AuditLogMapper, AuditLog> {
+
+    /**
+     * 默认查询最近30天，保证查询带上分区键
+     */
+    private static final long DEFAULT_RANGE_MS = TimeUnit.DAYS.toMillis(30);
+
+    /**
+     * 分页查询审计日志
+     */
+    public Page<AuditLog> getAuditLogPage(int current, int size, String targetType, Long targetId,
+                                          Long operatorId, Long startTime, Long endTime) {
+        long end = endTime != null ? endTime : System.currentTimeMillis();
+        long start = startTime != null ? startTime : end - DEFAULT_RANGE_MS;
+
+        Page<AuditLog> page = new Page<>(current, size);
+        LambdaQueryWrapper<AuditLog> wrapper = new LambdaQueryWrapper<>();
+        wrapper.ge(AuditLog::getCreateTime, start)
+                .le(AuditLog::getCreateTime, end);
+        if (targetType != null && !targetType.isEmpty()) {
+            wrapper.eq(AuditLog::getTargetType, targetType);
+        }
+        if (targetId != null) {
+            wrapper.eq(AuditLog::getTargetId, targetId);
+        }
+        if (operatorId != null) {
+            wrapper.eq(AuditLog::getOperatorId, operatorId);
+        }
+        wrapper.orderByDesc(AuditLog::getCreateTime);
+        return page(page, wrapper);
+    }
+}
@@ -1,14 +1,23 @@
 package com.india.management.service;
 
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.india.management.audit.AuditAction;
+import com.india.management.audit.AuditTarget;
+import com.india.management.audit.AuditTrail;
+import com.india.management.bloom.UserBloomFilters;
+import com.india.management.cache.CacheInvalidationBus;
+import com.india.management.cache.CacheRegion;
 import com.india.management.dto.ChangePasswordRequest;
 import com.india.management.dto.UpdateUserRequest;
 import com.india.management.entity.Permission;
 import com.india.management.entity.User;
 import com.india.management.exception.BusinessException;
+import com.india.management.exception.ErrorCode;
 import com.india.management.exception.ValidationException;
 import com.india.management.mapper.UserMapper;
 import com.india.management.security.JwtTokenProvider;
 import com.india.management.security.UserPrincipal;
+import com.india.management.sharding.UserShardRouter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -30,17 +39,25 @@ public class AuthService {
     private final JwtTokenProvider tokenProvider;
     private final UserMapper userMapper;
     private final PermissionService permissionService;
-    private final UserService userService;
     private final PasswordEncoder passwordEncoder;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final AuditTrail auditTrail;
+    private final UserBloomFilters userBloomFilters;
+    private final UserShardRouter userShardRouter;
 
     /**
      * 用户登录
      */
     public Map<String, Object> login(String username, String password) {
+            // 布隆过滤器判定一定不存在、且过滤器与其他节点的变更同步时不再查库
+            if (userBloomFilters.definitelyAbsentUsername(username)) {
+                throw new BusinessException(ErrorCode.USER_NOT_FOUND);
+            }
+
             // 检查用户是否存在
-            User user = userMapper.selectUserWithRolesByUsername(username);
+            User user = userShardRouter.forUsername(username, () -> userMapper.selectUserWithRolesByUsername(username));
             if (user == null) {
-                throw new BusinessException("用户不存在");
+                throw new BusinessException(ErrorCode.USER_NOT_FOUND);
             }
 
             // 认证
@@ -91,60 +108,79 @@ public class AuthService {
 
     /**
      * 更新当前用户信息
+     * <p>
+     * 只更新邮箱和姓名两列，按请求中的 version 做乐观锁校验
      */
     @Transactional
     public User updateCurrentUser(UpdateUserRequest updateUserRequest) {
         UserPrincipal userPrincipal = getCurrentUser();
         if (userPrincipal == null) {
-            throw new BusinessException("用户未登录");
-        }
-
-        // 获取当前用户
-        User user = userService.getById(userPrincipal.getId());
-        if (user == null) {
-            throw new BusinessException("用户不存在");
+            throw new BusinessException(ErrorCode.NOT_LOGGED_IN);
         }
-
-        // 更新用户信息
-        user.setEmail(updateUserRequest.getEmail());
-        user.setFullName(updateUserRequest.getFullName());
-
-        // 保存更新
-        userService.updateById(user);
-
-        return user;
+        VersionedUpdate.requireVersion(updateUserRequest.getVersion());
+
+        User patch = new User();
+        patch.setEmail(updateUserRequest.getEmail());
+        patch.setFullName(updateUserRequest.getFullName());
+        userShardRouter.updateIdentity(userPrincipal.getId(), null, patch.getEmail());
+        int updated = userShardRouter.inUserTransaction(userPrincipal.getId(), () -> userMapper.update(patch,
+                VersionedUpdate.byId(User::getId, userPrincipal.getId(), User::getVersion, updateUserRequest.getVersion())));
+        VersionedUpdate.requireUpdated(updated);
+        patch.setId(userPrincipal.getId());
+        patch.setVersion(VersionedUpdate.nextVersion(updateUserRequest.getVersion()));
+
+        cacheInvalidationBus.publish(CacheRegion.USER, patch.getId());
+        auditTrail.record(AuditAction.UPDATE, AuditTarget.USER, patch.getId(), AuditTrail.details(
+                "email", patch.getEmail(),
+                "fullName", patch.getFullName()));
+
+        return patch;
     }
 
     /**
      * 修改当前用户密码
+     * <p>
+     * BCrypt 只能在应用内比对，这里只读取密码和版本号，更新时以读到的版本号和哈希为条件（比较并交换），
+     * 期间已被并发修改则更新 0 行，按冲突返回
      */
     @Transactional
     public boolean changePassword(ChangePasswordRequest changePasswordRequest) {
         UserPrincipal userPrincipal = getCurrentUser();
         if (userPrincipal == null) {
-            throw new BusinessException("用户未登录");
+            throw new BusinessException(ErrorCode.NOT_LOGGED_IN);
         }
 
-        // 获取当前用户
-        User user = userService.getById(userPrincipal.getId());
-        if (user == null) {
-            throw new BusinessException("用户不存在");
+        // 验证新密码与确认密码是否一致
+        if (!changePasswordRequest.getNewPassword().equals(changePasswordRequest.getConfirmPassword())) {
+            throw new ValidationException(ErrorCode.PASSWORD_CONFIRM_MISMATCH);
         }
 
-        // 验证旧密码是否正确
-        if (!passwordEncoder.matches(changePasswordRequest.getOldPassword(), user.getPassword())) {
-            throw new ValidationException("旧密码不正确");
+        // 只读取当前密码哈希
+        User current = userShardRouter.forUser(userPrincipal.getId(), () -> userMapper.selectOne(new LambdaQueryWrapper<User>()
+                .select(User::getId, User::getPassword, User::getVersion)
+                .eq(User::getId, userPrincipal.getId())));
+        if (current == null) {
+            throw new BusinessException(ErrorCode.USER_NOT_FOUND);
         }
 
-        // 验证新密码与确认密码是否一致
-        if (!changePasswordRequest.getNewPassword().equals(changePasswordRequest.getConfirmPassword())) {
-            throw new ValidationException("新密码与确认密码不一致");
+        // 验证旧密码是否正确
+        if (!passwordEncoder.matches(changePasswordRequest.getOldPassword(), current.getPassword())) {
+            throw new ValidationException(ErrorCode.OLD_PASSWORD_INCORRECT);
         }
 
-        // 更新密码
-        user.setPassword(passwordEncoder.encode(changePasswordRequest.getNewPassword()));
+        // 条件更新：仅当版本号和密码仍是刚才读到的值时才写入
+        User patch = new User();
+        patch.setPassword(passwordEncoder.encode(changePasswordRequest.getNewPassword()));
+        int updated = userShardRouter.inUserTransaction(current.getId(), () -> userMapper.update(patch,
+                VersionedUpdate.byId(User::getId, current.getId(), User::getVersion, current.getVersion())
+                        .eq(User::getPassword, current.getPassword())));
+        if (updated == 0) {
+            throw new BusinessException(ErrorCode.CONCURRENT_MODIFICATION);
+        }
 
-        // 保存更新
-        return userService.updateById(user);
+        cacheInvalidationBus.publish(CacheRegion.USER, current.getId());
+        auditTrail.record(AuditAction.UPDATE, AuditTarget.USER, current.getId(), AuditTrail.details(
+                "passwordChanged", true));
+        return true;
     }
 }
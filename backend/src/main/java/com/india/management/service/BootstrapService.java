@@ -0,0 +1,63 @@
+package com.india.management.service;
+
+import com.india.management.deadline.RequestDeadline;
+import com.india.management.entity.Permission;
+import com.india.management.entity.Role;
+import com.india.management.fieldset.EntityFields;
+import com.india.management.security.UserPrincipal;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * 前端启动数据
+ * <p>
+ * 把登录后需要的当前用户、权限、菜单树和角色列表合并为一次请求：用户信息直接取自本次请求认证得到的
+ * UserPrincipal，用户权限和角色列表两条查询并行执行，菜单树由权限在内存中派生。
+ * 用户权限是 XML 中的关联查询，不经过 Mapper 二级缓存。
+ */
+@Service
+@RequiredArgsConstructor
+public class BootstrapService {
+
+    private final PermissionService permissionService;
+    private final RoleService roleService;
+    private final ThreadPoolTaskExecutor applicationTaskExecutor;
+
+    public Map<String, Object> bootstrap(UserPrincipal userPrincipal) {
+        CompletableFuture<List<Permission>> permissionsFuture = CompletableFuture.supplyAsync(
+                () -> permissionService.getUserPermissions(userPrincipal.getId()), applicationTaskExecutor);
+        CompletableFuture<List<Role>> rolesFuture = CompletableFuture.supplyAsync(
+                () -> roleService.getAllRoles(EntityFields.ROLE.all()), applicationTaskExecutor);
+
+        List<Permission> permissions = join(permissionsFuture);
+        List<Role> roles = join(rolesFuture);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("user", userPrincipal);
+        result.put("permissions", permissions);
+        result.put("menus", permissionService.buildMenuTree(permissions));
+        result.put("roles", roles);
+        return result;
+    }
+
+    /**
+     * 还原异步查询中抛出的异常，交给全局异常处理；最多等到请求的截止时间
+     */
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return RequestDeadline.join(future);
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
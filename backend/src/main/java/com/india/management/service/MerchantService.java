@@ -0,0 +1,206 @@
+package com.india.management.service;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.india.management.audit.AuditAction;
+import com.india.management.audit.AuditTarget;
+import com.india.management.audit.AuditTrail;
+import com.india.management.dto.MerchantQueryRequest;
+import com.india.management.entity.Merchant;
+import com.india.management.exception.ErrorCode;
+import com.india.management.exception.ResourceNotFoundException;
+import com.india.management.exception.ValidationException;
+import com.india.management.fieldset.FieldSet;
+import com.india.management.mapper.MerchantMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 商户服务
+ * <p>
+ * 商户表按千万级设计：列表固定按 id 倒序，状态、业务类型筛选命中以 id 结尾的联合索引，排序不需要额外排序；
+ * 名称和编码只做前缀匹配，走 idx_name、uk_code 范围扫描，命中的行再按 id 排序，前缀越短排序的行越多。
+ * 批量修改状态是一条 UPDATE ... WHERE id IN (...)。
+ */
+@Service
+@RequiredArgsConstructor
+public class MerchantService extends ServiceImpl<MerchantMapper, Merchant> {
+
+    private static final Set<String> STATUSES = Set.of("active", "inactive");
+
+    private final AuditTrail auditTrail;
+
+    /**
+     * 分页查询商户列表
+     */
+    public Page<Merchant> getMerchantPage(MerchantQueryRequest query, FieldSet<Merchant> fieldSet) {
+        LambdaQueryWrapper<Merchant> wrapper = new LambdaQueryWrapper<>();
+        wrapper.likeRight(StringUtils.hasText(query.getCode()), Merchant::getCode, query.getCode())
+                .likeRight(StringUtils.hasText(query.getName()), Merchant::getName, query.getName())
+                .eq(StringUtils.hasText(query.getStatus()), Merchant::getStatus, query.getStatus())
+                .eq(StringUtils.hasText(query.getBusinessType()), Merchant::getBusinessType, query.getBusinessType())
+                .orderByDesc(Merchant::getId);
+
+        // 键集分页：从上一页最后一条之后开始，没有 OFFSET；带游标条件的总数没有意义，不查询
+        if (query.getLastId() != null) {
+            wrapper.lt(Merchant::getId, query.getLastId());
+            return page(new Page<>(1, query.getSize(), false), fieldSet.project(wrapper));
+        }
+
+        if (query.getCurrent() == 1) {
+            return page(new Page<>(1, query.getSize(), query.isSearchCount()), fieldSet.project(wrapper));
+        }
+
+        // 深分页：先只查 id（覆盖索引，不回表）跳过 OFFSET 行，再按 id 取整行
+        Page<Merchant> idPage = page(new Page<>(query.getCurrent(), query.getSize(), query.isSearchCount()),
+                wrapper.select(Merchant::getId));
+        List<Long> ids = idPage.getRecords().stream().map(Merchant::getId).collect(Collectors.toList());
+        if (!ids.isEmpty()) {
+            LambdaQueryWrapper<Merchant> rowWrapper = fieldSet.project(new LambdaQueryWrapper<>());
+            rowWrapper.in(Merchant::getId, ids);
+            List<Merchant> rows = list(rowWrapper);
+            rows.sort(Comparator.comparing(Merchant::getId).reversed());
+            idPage.setRecords(rows);
+        }
+        return idPage;
+    }
+
+    /**
+     * 获取商户详情
+     */
+    public Merchant getMerchantDetail(Long id, FieldSet<Merchant> fieldSet) {
+        Merchant merchant = fieldSet.isAll() ? getById(id)
+                : getOne(fieldSet.project(new LambdaQueryWrapper<Merchant>()).eq(Merchant::getId, id));
+        if (merchant == null) {
+            throw new ResourceNotFoundException("商户", "id", id);
+        }
+        return merchant;
+    }
+
+    /**
+     * 按编码查询商户（唯一索引）
+     */
+    public Merchant getMerchantByCode(String code) {
+        LambdaQueryWrapper<Merchant> wrapper = new LambdaQueryWrapper<>();
+        wrapper.eq(Merchant::getCode, code);
+        Merchant merchant = getOne(wrapper);
+        if (merchant == null) {
+            throw new ResourceNotFoundException("商户", "code", code);
+        }
+        return merchant;
+    }
+
+    /**
+     * 创建商户
+     */
+    @Transactional
+    public Merchant createMerchant(Merchant merchant) {
+        if (merchant.getStatus() == null) {
+            merchant.setStatus("active");
+        }
+        checkStatus(merchant.getStatus());
+        checkCodeUnique(merchant.getCode(), null);
+        save(merchant);
+        auditTrail.record(AuditAction.CREATE, AuditTarget.MERCHANT, merchant.getId(), merchantDetail(merchant));
+        return merchant;
+    }
+
+    /**
+     * 更新商户，只更新非空字段
+     */
+    @Transactional
+    public Merchant updateMerchant(Merchant merchant) {
+        if (merchant.getStatus() != null) {
+            checkStatus(merchant.getStatus());
+        }
+        if (merchant.getCode() != null) {
+            checkCodeUnique(merchant.getCode(), merchant.getId());
+        }
+        if (!updateById(merchant)) {
+            throw new ResourceNotFoundException("商户", "id", merchant.getId());
+        }
+        auditTrail.record(AuditAction.UPDATE, AuditTarget.MERCHANT, merchant.getId(), merchantDetail(merchant));
+        return getById(merchant.getId());
+    }
+
+    /**
+     * 删除商户
+     */
+    @Transactional
+    public boolean deleteMerchant(Long id) {
+        boolean removed = removeById(id);
+        if (removed) {
+            auditTrail.record(AuditAction.DELETE, AuditTarget.MERCHANT, id, null);
+        }
+        return removed;
+    }
+
+    /**
+     * 修改单个商户状态
+     */
+    @Transactional
+    public boolean updateStatus(Long id, String status) {
+        if (updateStatus(List.of(id), status) == 0 && getById(id) == null) {
+            throw new ResourceNotFoundException("商户", "id", id);
+        }
+        return true;
+    }
+
+    /**
+     * 批量修改商户状态，一条 UPDATE 完成，状态未变化的行不会被改写
+     *
+     * @return 实际修改的行数
+     */
+    @Transactional
+    public int updateStatus(Collection<Long> ids, String status) {
+        checkStatus(status);
+        if (ids == null || ids.isEmpty()) {
+            return 0;
+        }
+        LambdaUpdateWrapper<Merchant> wrapper = new LambdaUpdateWrapper<>();
+        wrapper.set(Merchant::getStatus, status)
+                .set(Merchant::getUpdateTime, System.currentTimeMillis())
+                .in(Merchant::getId, ids)
+                .ne(Merchant::getStatus, status);
+        int updated = baseMapper.update(null, wrapper);
+        if (updated > 0) {
+            auditTrail.record(AuditAction.UPDATE, AuditTarget.MERCHANT, ids.size() == 1 ? ids.iterator().next() : null,
+                    AuditTrail.details("ids", ids, "status", status, "updated", updated));
+        }
+        return updated;
+    }
+
+    private void checkStatus(String status) {
+        if (!STATUSES.contains(status)) {
+            throw new ValidationException(ErrorCode.MERCHANT_STATUS_INVALID);
+        }
+    }
+
+    private void checkCodeUnique(String code, Long excludeId) {
+        LambdaQueryWrapper<Merchant> wrapper = new LambdaQueryWrapper<>();
+        wrapper.select(Merchant::getId).eq(Merchant::getCode, code);
+        Merchant existing = getOne(wrapper);
+        if (existing != null && !existing.getId().equals(excludeId)) {
+            throw new ValidationException(ErrorCode.MERCHANT_CODE_EXISTS);
+        }
+    }
+
+    private Map<String, Object> merchantDetail(Merchant merchant) {
+        return AuditTrail.details(
+                "code", merchant.getCode(),
+                "name", merchant.getName(),
+                "status", merchant.getStatus(),
+                "businessType", merchant.getBusinessType());
+    }
+}
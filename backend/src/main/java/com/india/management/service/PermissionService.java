@@ -2,16 +2,29 @@ package com.india.management.service;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.india.management.audit.AuditAction;
+import com.india.management.audit.AuditTarget;
+import com.india.management.audit.AuditTrail;
+import com.india.management.cache.CacheInvalidationBus;
+import com.india.management.cache.CacheRegion;
 import com.india.management.entity.Permission;
+import com.india.management.fieldset.FieldSet;
 import com.india.management.mapper.PermissionMapper;
+import com.india.management.resilience.SingleFlight;
+import com.india.management.resilience.SingleFlightRegistry;
+import com.india.management.sharding.UserShardRouter;
+import com.india.management.stats.DashboardStatistics;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -20,23 +33,37 @@ import java.util.stream.Collectors;
 public class PermissionService extends ServiceImpl<PermissionMapper, Permission> {
 
     private final PermissionMapper permissionMapper;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final AuditTrail auditTrail;
+    private final DashboardStatistics dashboardStatistics;
+    private final UserShardRouter userShardRouter;
+    private final SingleFlightRegistry singleFlightRegistry;
+
+    private SingleFlight<String, List<Permission>> treeLoads;
+
+    @PostConstruct
+    public void init() {
+        treeLoads = singleFlightRegistry.create("permission-tree", CacheRegion.PERMISSION);
+    }
 
     /**
-     * 获取权限树
+     * 获取权限树，同一字段选择的并发请求合并为一次查询
      */
-    public List<Permission> getPermissionTree() {
-        // 获取所有权限
-        List<Permission> allPermissions = list();
+    public List<Permission> getPermissionTree(FieldSet<Permission> fieldSet) {
+        return treeLoads.load(fieldSet.key(), () -> {
+            // 获取所有权限
+            List<Permission> allPermissions = list(fieldSet.project(new LambdaQueryWrapper<>()));
 
-        // 构建树形结构
-        return buildPermissionTree(allPermissions);
+            // 构建树形结构
+            return buildPermissionTree(allPermissions);
+        });
     }
 
     /**
      * 获取用户权限
      */
     public List<Permission> getUserPermissions(Long userId) {
-        return permissionMapper.selectPermissionsByUserId(userId);
+        return userShardRouter.forUser(userId, () -> permissionMapper.selectPermissionsByUserId(userId));
     }
 
     /**
@@ -61,8 +88,8 @@ public class PermissionService extends ServiceImpl<PermissionMapper, Permission>
     /**
      * 获取所有菜单权限
      */
-    public List<Permission> getAllMenus() {
-        LambdaQueryWrapper<Permission> wrapper = new LambdaQueryWrapper<>();
+    public List<Permission> getAllMenus(FieldSet<Permission> fieldSet) {
+        LambdaQueryWrapper<Permission> wrapper = fieldSet.project(new LambdaQueryWrapper<>());
         wrapper.eq(Permission::getType, "menu");
         wrapper.orderByAsc(Permission::getSort);
         return list(wrapper);
@@ -71,17 +98,35 @@ public class PermissionService extends ServiceImpl<PermissionMapper, Permission>
     /**
      * 获取所有按钮权限
      */
-    public List<Permission> getAllButtons() {
-        LambdaQueryWrapper<Permission> wrapper = new LambdaQueryWrapper<>();
+    public List<Permission> getAllButtons(FieldSet<Permission> fieldSet) {
+        LambdaQueryWrapper<Permission> wrapper = fieldSet.project(new LambdaQueryWrapper<>());
         wrapper.eq(Permission::getType, "button");
         return list(wrapper);
     }
 
+    /**
+     * 用用户拥有的权限构建菜单树，按钮权限不进入树中，父菜单不在权限内的菜单作为顶级菜单
+     */
+    public List<Permission> buildMenuTree(List<Permission> permissions) {
+        List<Permission> menus = permissions.stream()
+                .filter(permission -> "menu".equals(permission.getType()))
+                .sorted(Comparator.comparing(Permission::getSort, Comparator.nullsLast(Comparator.naturalOrder())))
+                .collect(Collectors.toList());
+        Set<Long> menuIds = menus.stream().map(Permission::getId).collect(Collectors.toSet());
+        Map<Long, List<Permission>> children = menus.stream()
+                .filter(menu -> menu.getParentId() != null && menuIds.contains(menu.getParentId()))
+                .collect(Collectors.groupingBy(Permission::getParentId));
+        menus.forEach(menu -> menu.setChildren(children.getOrDefault(menu.getId(), new ArrayList<>())));
+        return menus.stream()
+                .filter(menu -> menu.getParentId() == null || !menuIds.contains(menu.getParentId()))
+                .collect(Collectors.toList());
+    }
+
     /**
      * 根据用户ID获取菜单权限
      */
     public List<Permission> getUserMenus(Long userId) {
-        List<Permission> permissions = permissionMapper.selectPermissionsByUserId(userId);
+        List<Permission> permissions = getUserPermissions(userId);
         return permissions.stream()
                 .filter(permission -> "menu".equals(permission.getType()))
                 .collect(Collectors.toList());
@@ -91,12 +136,53 @@ public class PermissionService extends ServiceImpl<PermissionMapper, Permission>
      * 根据用户ID获取按钮权限
      */
     public List<Permission> getUserButtons(Long userId) {
-        List<Permission> permissions = permissionMapper.selectPermissionsByUserId(userId);
+        List<Permission> permissions = getUserPermissions(userId);
         return permissions.stream()
                 .filter(permission -> "button".equals(permission.getType()))
                 .collect(Collectors.toList());
     }
 
+    /**
+     * 创建权限
+     */
+    @Transactional
+    public Permission createPermission(Permission permission) {
+        save(permission);
+        cacheInvalidationBus.publish(CacheRegion.PERMISSION, permission.getId());
+        dashboardStatistics.permissionCreated(permission);
+        auditTrail.record(AuditAction.CREATE, AuditTarget.PERMISSION, permission.getId(), permissionDetail(permission));
+        return permission;
+    }
+
+    /**
+     * 更新权限
+     */
+    @Transactional
+    public Permission updatePermission(Permission permission) {
+        Permission before = permission.getType() != null ? getById(permission.getId()) : null;
+        // 只写入可编辑的列
+        Permission patch = new Permission();
+        patch.setCode(permission.getCode());
+        patch.setName(permission.getName());
+        patch.setDescription(permission.getDescription());
+        patch.setType(permission.getType());
+        patch.setPath(permission.getPath());
+        patch.setComponent(permission.getComponent());
+        patch.setIcon(permission.getIcon());
+        patch.setSort(permission.getSort());
+        patch.setParentId(permission.getParentId());
+        int updated = baseMapper.update(patch, VersionedUpdate.byId(Permission::getId, permission.getId(),
+                Permission::getVersion, permission.getVersion()));
+        VersionedUpdate.requireUpdated(updated);
+        permission.setVersion(VersionedUpdate.nextVersion(permission.getVersion()));
+        cacheInvalidationBus.publish(CacheRegion.PERMISSION, permission.getId());
+        if (before != null && !permission.getType().equals(before.getType())) {
+            dashboardStatistics.permissionTypeChanged(before.getType(), permission.getType());
+        }
+        auditTrail.record(AuditAction.UPDATE, AuditTarget.PERMISSION, permission.getId(), permissionDetail(permission));
+        return permission;
+    }
+
     /**
      * 删除权限（包括子权限）
      *
@@ -120,6 +206,21 @@ public class PermissionService extends ServiceImpl<PermissionMapper, Permission>
 
         // 删除当前权限
         log.info("删除当前权限，ID: {}", id);
-        return removeById(id);
+        Permission before = getById(id);
+        boolean removed = removeById(id);
+        cacheInvalidationBus.publish(CacheRegion.PERMISSION, id);
+        if (removed && before != null) {
+            dashboardStatistics.permissionDeleted(before);
+        }
+        auditTrail.record(AuditAction.DELETE, AuditTarget.PERMISSION, id, null);
+        return removed;
+    }
+
+    private Map<String, Object> permissionDetail(Permission permission) {
+        return AuditTrail.details(
+                "code", permission.getCode(),
+                "name", permission.getName(),
+                "type", permission.getType(),
+                "parentId", permission.getParentId());
     }
 }
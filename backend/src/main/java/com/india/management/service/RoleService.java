@@ -3,19 +3,32 @@ package com.india.management.service;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.india.management.audit.AuditAction;
+import com.india.management.audit.AuditTarget;
+import com.india.management.audit.AuditTrail;
+import com.india.management.cache.CacheInvalidationBus;
+import com.india.management.cache.CacheRegion;
 import com.india.management.entity.Permission;
 import com.india.management.entity.Role;
 import com.india.management.entity.RolePermission;
+import com.india.management.fieldset.FieldSet;
+import com.india.management.idgen.SnowflakeIdGenerator;
 import com.india.management.mapper.PermissionMapper;
 import com.india.management.mapper.RoleMapper;
 import com.india.management.mapper.RolePermissionMapper;
+import com.india.management.resilience.SingleFlight;
+import com.india.management.resilience.SingleFlightRegistry;
+import com.india.management.stats.DashboardStatistics;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -26,24 +39,39 @@ public class RoleService extends ServiceImpl<RoleMapper, Role> {
 
     private final PermissionMapper permissionMapper;
     private final RolePermissionMapper rolePermissionMapper;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final AuditTrail auditTrail;
+    private final DashboardStatistics dashboardStatistics;
+    private final SnowflakeIdGenerator idGenerator;
+    private final SingleFlightRegistry singleFlightRegistry;
+
+    private SingleFlight<String, List<Role>> allRoleLoads;
+
+    @PostConstruct
+    public void init() {
+        allRoleLoads = singleFlightRegistry.create("all-roles", CacheRegion.ROLE);
+    }
 
     /**
      * 创建角色
      */
     @Transactional
     public Role createRole(Role role) {
-        // 保存角色
+        // ID 在应用内分配，角色和权限关系不需要等待数据库回传主键
+        role.setId(idGenerator.nextId());
         save(role);
 
         // 保存角色权限关系
-        if (role.getPermissions() != null && !role.getPermissions().isEmpty()) {
-            role.getPermissions().forEach(permission -> {
-                RolePermission rolePermission = new RolePermission();
-                rolePermission.setRoleId(role.getId());
-                rolePermission.setPermissionId(permission.getId());
-                rolePermissionMapper.insert(rolePermission);
-            });
+        if (role.getPermissions() != null) {
+            insertRolePermissions(role.getId(), role.getPermissions().stream().map(Permission::getId).toList());
         }
+        cacheInvalidationBus.publish(CacheRegion.ROLE, role.getId());
+        dashboardStatistics.roleCreated(role);
+        auditTrail.record(AuditAction.CREATE, AuditTarget.ROLE, role.getId(), AuditTrail.details(
+                "name", role.getName(),
+                "code", role.getCode(),
+                "permissionIds", role.getPermissions() == null ? null
+                        : role.getPermissions().stream().map(Permission::getId).collect(Collectors.toList())));
 
         return role;
     }
@@ -55,8 +83,19 @@ public class RoleService extends ServiceImpl<RoleMapper, Role> {
     public Role updateRole(Role role) {
         log.info("更新角色: {}", role);
 
-        // 更新角色基本信息
-        updateById(role);
+        // 更新角色基本信息，只写入可编辑的列
+        Role patch = new Role();
+        patch.setName(role.getName());
+        patch.setCode(role.getCode());
+        patch.setDescription(role.getDescription());
+        int updated = baseMapper.update(patch, VersionedUpdate.byId(Role::getId, role.getId(),
+                Role::getVersion, role.getVersion()));
+        VersionedUpdate.requireUpdated(updated);
+        role.setVersion(VersionedUpdate.nextVersion(role.getVersion()));
+        Map<String, Object> auditDetail = AuditTrail.details(
+                "name", role.getName(),
+                "code", role.getCode(),
+                "description", role.getDescription());
 
         // 如果前端传递了权限ID列表，则更新角色权限关系
         if (role.getPermissionIds() != null && !role.getPermissionIds().isEmpty()) {
@@ -79,6 +118,8 @@ public class RoleService extends ServiceImpl<RoleMapper, Role> {
             Set<Long> permissionsToRemove = new HashSet<>(currentPermissionIds);
             permissionsToRemove.removeAll(role.getPermissionIds());
             log.info("需要删除的权限IDs: {}", permissionsToRemove);
+            auditDetail.put("addedPermissionIds", permissionsToAdd);
+            auditDetail.put("removedPermissionIds", permissionsToRemove);
 
             // 4. 删除需要移除的权限
             if (!permissionsToRemove.isEmpty()) {
@@ -90,18 +131,14 @@ public class RoleService extends ServiceImpl<RoleMapper, Role> {
             }
 
             // 5. 添加新的权限
-            if (!permissionsToAdd.isEmpty()) {
-                for (Long permissionId : permissionsToAdd) {
-                    RolePermission rolePermission = new RolePermission();
-                    rolePermission.setRoleId(role.getId());
-                    rolePermission.setPermissionId(permissionId);
-                    rolePermissionMapper.insert(rolePermission);
-                    log.info("添加角色权限关系: 角色ID={}, 权限ID={}", role.getId(), permissionId);
-                }
-            }
+            insertRolePermissions(role.getId(), permissionsToAdd);
+            log.info("添加角色权限关系: 角色ID={}, 权限IDs={}", role.getId(), permissionsToAdd);
         } else if (role.getPermissions() != null) {
             // 兼容旧的方式，如果传递了permissions对象数组
             log.info("使用旧方式更新权限，权限数量: {}", role.getPermissions().size());
+            auditDetail.put("permissionIds", role.getPermissions().stream()
+                    .map(Permission::getId)
+                    .collect(Collectors.toList()));
 
             // 删除原有权限关系
             LambdaQueryWrapper<RolePermission> wrapper = new LambdaQueryWrapper<>();
@@ -110,24 +147,35 @@ public class RoleService extends ServiceImpl<RoleMapper, Role> {
             log.info("删除角色权限关系: 角色ID={}, 删除数量={}", role.getId(), deleteCount);
 
             // 添加新的权限关系
-            role.getPermissions().forEach(permission -> {
-                log.info("添加角色权限关系: 角色ID={}, 权限ID={}", role.getId(), permission.getId());
-                RolePermission rolePermission = new RolePermission();
-                rolePermission.setRoleId(role.getId());
-                rolePermission.setPermissionId(permission.getId());
-                rolePermissionMapper.insert(rolePermission);
-            });
+            List<Long> permissionIds = role.getPermissions().stream().map(Permission::getId).toList();
+            log.info("添加角色权限关系: 角色ID={}, 权限IDs={}", role.getId(), permissionIds);
+            insertRolePermissions(role.getId(), permissionIds);
         }
+        cacheInvalidationBus.publish(CacheRegion.ROLE, role.getId());
+        dashboardStatistics.roleUpdated(role);
+        auditTrail.record(AuditAction.UPDATE, AuditTarget.ROLE, role.getId(), auditDetail);
 
         return role;
     }
 
+    /**
+     * 角色权限关系一条多行 INSERT 写入
+     */
+    private void insertRolePermissions(Long roleId, Collection<Long> permissionIds) {
+        if (permissionIds.isEmpty()) {
+            return;
+        }
+        rolePermissionMapper.insertBatch(permissionIds.stream()
+                .map(permissionId -> new RolePermission(idGenerator.nextId(), roleId, permissionId))
+                .collect(Collectors.toList()));
+    }
+
     /**
      * 分页查询角色列表
      */
-    public Page<Role> getRolePage(int current, int size, String name) {
+    public Page<Role> getRolePage(int current, int size, String name, FieldSet<Role> fieldSet) {
         Page<Role> page = new Page<>(current, size);
-        LambdaQueryWrapper<Role> wrapper = new LambdaQueryWrapper<>();
+        LambdaQueryWrapper<Role> wrapper = fieldSet.project(new LambdaQueryWrapper<>());
         if (name != null && !name.isEmpty()) {
             wrapper.like(Role::getName, name);
         }
@@ -137,14 +185,22 @@ public class RoleService extends ServiceImpl<RoleMapper, Role> {
     /**
      * 获取角色详情
      */
-    public Role getRoleDetail(Long id) {
+    public Role getRoleDetail(Long id, FieldSet<Role> fieldSet) {
         log.info("获取角色详情: ID={}", id);
-        Role role = getById(id);
-        if (role != null) {
+        if (fieldSet.isAll()) {
+            // 角色和权限一条关联查询取回
+            Role role = baseMapper.selectRoleWithPermissionsById(id);
+            if (role == null) {
+                log.warn("未找到角色: ID={}", id);
+            }
+            return role;
+        }
+        Role role = getOne(fieldSet.project(new LambdaQueryWrapper<Role>()).eq(Role::getId, id));
+        if (role == null) {
+            log.warn("未找到角色: ID={}", id);
+        } else if (fieldSet.includes("permissions")) {
             role.setPermissions(permissionMapper.selectPermissionsByRoleId(id));
             log.info("角色详情: {}, 权限数量: {}", role, role.getPermissions().size());
-        } else {
-            log.warn("未找到角色: ID={}", id);
         }
         return role;
     }
@@ -160,14 +216,20 @@ public class RoleService extends ServiceImpl<RoleMapper, Role> {
         rolePermissionMapper.delete(wrapper);
 
         // 删除角色
-        return removeById(id);
+        boolean removed = removeById(id);
+        cacheInvalidationBus.publish(CacheRegion.ROLE, id);
+        if (removed) {
+            dashboardStatistics.roleDeleted(id);
+        }
+        auditTrail.record(AuditAction.DELETE, AuditTarget.ROLE, id, null);
+        return removed;
     }
 
     /**
      * 获取所有角色
      */
-    public List<Role> getAllRoles() {
-        return list();
+    public List<Role> getAllRoles(FieldSet<Role> fieldSet) {
+        return allRoleLoads.load(fieldSet.key(), () -> list(fieldSet.project(new LambdaQueryWrapper<>())));
     }
 
 
@@ -3,16 +3,35 @@ package com.india.management.service;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.india.management.audit.AuditAction;
+import com.india.management.audit.AuditTarget;
+import com.india.management.audit.AuditTrail;
+import com.india.management.bloom.UserBloomFilters;
+import com.india.management.cache.CacheInvalidationBus;
+import com.india.management.cache.CacheRegion;
+import com.india.management.entity.Role;
 import com.india.management.entity.User;
 import com.india.management.entity.UserRole;
+import com.india.management.exception.ValidationException;
+import com.india.management.fieldset.FieldSet;
+import com.india.management.idgen.SnowflakeIdGenerator;
 import com.india.management.mapper.RoleMapper;
 import com.india.management.mapper.UserMapper;
 import com.india.management.mapper.UserRoleMapper;
+import com.india.management.sharding.UserShardRouter;
+import com.india.management.stats.DashboardStatistics;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
 @Service
 @RequiredArgsConstructor
 public class UserService extends ServiceImpl<UserMapper, User> {
@@ -20,6 +39,12 @@ public class UserService extends ServiceImpl<UserMapper, User> {
     private final RoleMapper roleMapper;
     private final UserRoleMapper userRoleMapper;
     private final PasswordEncoder passwordEncoder;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final AuditTrail auditTrail;
+    private final DashboardStatistics dashboardStatistics;
+    private final UserBloomFilters userBloomFilters;
+    private final UserShardRouter userShardRouter;
+    private final SnowflakeIdGenerator idGenerator;
 
     /**
      * 根据用户名查询用户
@@ -27,7 +52,21 @@ public class UserService extends ServiceImpl<UserMapper, User> {
     public User getUserByUsername(String username) {
         LambdaQueryWrapper<User> wrapper = new LambdaQueryWrapper<>();
         wrapper.eq(User::getUsername, username);
-        return getOne(wrapper);
+        return userShardRouter.forUsername(username, () -> getOne(wrapper));
+    }
+
+    /**
+     * 用户名是否已被占用（包括已逻辑删除的用户），布隆过滤器判定一定不存在时不查库
+     */
+    public boolean isUsernameTaken(String username) {
+        return userBloomFilters.mightContainUsername(username) && userShardRouter.existsUsername(username);
+    }
+
+    /**
+     * 邮箱是否已被占用（包括已逻辑删除的用户），布隆过滤器判定一定不存在时不查库
+     */
+    public boolean isEmailTaken(String email) {
+        return userBloomFilters.mightContainEmail(email) && userShardRouter.existsEmail(email);
     }
 
     /**
@@ -37,17 +76,25 @@ public class UserService extends ServiceImpl<UserMapper, User> {
     public User createUser(User user) {
         // 加密密码
         user.setPassword(passwordEncoder.encode(user.getPassword()));
-        // 保存用户
-        save(user);
-        // 保存用户角色关系
-        if (user.getRoles() != null && !user.getRoles().isEmpty()) {
-            user.getRoles().forEach(role -> {
-                UserRole userRole = new UserRole();
-                userRole.setUserId(user.getId());
-                userRole.setRoleId(role.getId());
-                userRoleMapper.insert(userRole);
-            });
-        }
+        // ID 在应用内分配，用户和角色关系不需要等待数据库回传主键
+        user.setId(idGenerator.nextId());
+        // 开启分库时先在全局索引中占用用户名、邮箱
+        userShardRouter.allocateId(user);
+        userShardRouter.inUserTransaction(user.getId(), () -> {
+            // 保存用户
+            save(user);
+            // 保存用户角色关系
+            insertUserRoles(user.getId(), user.getRoles());
+            return null;
+        });
+        cacheInvalidationBus.publish(CacheRegion.USER, user.getId());
+        dashboardStatistics.userCreated(user, roleIds(user.getRoles()));
+        auditTrail.record(AuditAction.CREATE, AuditTarget.USER, user.getId(), AuditTrail.details(
+                "username", user.getUsername(),
+                "email", user.getEmail(),
+                "fullName", user.getFullName(),
+                "enabled", user.getEnabled(),
+                "roleIds", roleIds(user.getRoles())));
         return user;
     }
 
@@ -56,31 +103,54 @@ public class UserService extends ServiceImpl<UserMapper, User> {
      */
     @Transactional
     public User updateUser(User user) {
+        VersionedUpdate.requireVersion(user.getVersion());
+        boolean passwordChanged = user.getPassword() != null && !user.getPassword().isEmpty();
         // 如果密码不为空，则加密密码
-        if (user.getPassword() != null && !user.getPassword().isEmpty()) {
+        if (passwordChanged) {
             user.setPassword(passwordEncoder.encode(user.getPassword()));
         } else {
             // 不更新密码
             user.setPassword(null);
         }
-        // 更新用户
-        updateById(user);
-        
-        // 如果角色不为空，则更新用户角色关系
-        if (user.getRoles() != null) {
-            // 删除原有角色关系
-            LambdaQueryWrapper<UserRole> wrapper = new LambdaQueryWrapper<>();
-            wrapper.eq(UserRole::getUserId, user.getId());
-            userRoleMapper.delete(wrapper);
-            
-            // 添加新的角色关系
-            user.getRoles().forEach(role -> {
-                UserRole userRole = new UserRole();
-                userRole.setUserId(user.getId());
-                userRole.setRoleId(role.getId());
-                userRoleMapper.insert(userRole);
-            });
+        User before = userShardRouter.forUser(user.getId(), () -> getById(user.getId()));
+        List<Long> rolesBefore = user.getRoles() != null ? userRoleIds(user.getId()) : null;
+        // 只更新请求中携带的字段
+        User patch = new User();
+        patch.setUsername(user.getUsername());
+        patch.setPassword(user.getPassword());
+        patch.setEmail(user.getEmail());
+        patch.setFullName(user.getFullName());
+        patch.setEnabled(user.getEnabled());
+        // 用户名、邮箱变更先同步全局索引（与其他分片上的用户冲突时在这里失败）
+        userShardRouter.updateIdentity(user.getId(), patch.getUsername(), patch.getEmail());
+        userShardRouter.inUserTransaction(user.getId(), () -> {
+            int updated = baseMapper.update(patch, VersionedUpdate.byId(User::getId, user.getId(),
+                    User::getVersion, user.getVersion()));
+            VersionedUpdate.requireUpdated(updated);
+
+            // 如果角色不为空，则更新用户角色关系
+            if (user.getRoles() != null) {
+                // 删除原有角色关系
+                LambdaQueryWrapper<UserRole> wrapper = new LambdaQueryWrapper<>();
+                wrapper.eq(UserRole::getUserId, user.getId());
+                userRoleMapper.delete(wrapper);
+
+                // 添加新的角色关系
+                insertUserRoles(user.getId(), user.getRoles());
+            }
+            return updated;
+        });
+        user.setVersion(VersionedUpdate.nextVersion(user.getVersion()));
+        cacheInvalidationBus.publish(CacheRegion.USER, user.getId());
+        if (before != null) {
+            dashboardStatistics.userUpdated(before, user.getEnabled(), rolesBefore, roleIds(user.getRoles()));
         }
+        auditTrail.record(AuditAction.UPDATE, AuditTarget.USER, user.getId(), AuditTrail.details(
+                "email", user.getEmail(),
+                "fullName", user.getFullName(),
+                "enabled", user.getEnabled(),
+                "passwordChanged", passwordChanged,
+                "roleIds", roleIds(user.getRoles())));
         
         return user;
     }
@@ -88,31 +158,94 @@ public class UserService extends ServiceImpl<UserMapper, User> {
     /**
      * 分页查询用户列表
      */
-    public Page<User> getUserPage(int current, int size, String username) {
-        Page<User> page = new Page<>(current, size);
-        LambdaQueryWrapper<User> wrapper = new LambdaQueryWrapper<>();
-        if (username != null && !username.isEmpty()) {
-            wrapper.like(User::getUsername, username);
-        }
-        Page<User> userPage = page(page, wrapper);
+    public Page<User> getUserPage(int current, int size, String username, FieldSet<User> fieldSet) {
+        Page<User> userPage = userShardRouter.isEnabled()
+                ? mergeShardPages(current, size, username, fieldSet)
+                : page(new Page<>(current, size), userQuery(username, fieldSet));
         
         // 查询用户角色
-        userPage.getRecords().forEach(user -> {
-            user.setRoles(roleMapper.selectRolesByUserId(user.getId()));
-        });
+        if (fieldSet.includes("roles")) {
+            userPage.getRecords().forEach(user -> {
+                user.setRoles(userShardRouter.forUser(user.getId(), () -> roleMapper.selectRolesByUserId(user.getId())));
+            });
+        }
         
         return userPage;
     }
 
     /**
-     * 获取用户详情
+     * 用户角色关系一条多行 INSERT 写入
      */
-    public User getUserDetail(Long id) {
-        User user = getById(id);
-        if (user != null) {
-            user.setRoles(roleMapper.selectRolesByUserId(id));
+    private void insertUserRoles(Long userId, List<Role> roles) {
+        if (roles == null || roles.isEmpty()) {
+            return;
         }
-        return user;
+        userRoleMapper.insertBatch(roles.stream()
+                .map(role -> new UserRole(idGenerator.nextId(), userId, role.getId()))
+                .collect(Collectors.toList()));
+    }
+
+    private LambdaQueryWrapper<User> userQuery(String username, FieldSet<User> fieldSet) {
+        LambdaQueryWrapper<User> wrapper = fieldSet.project(new LambdaQueryWrapper<>());
+        if (username != null && !username.isEmpty()) {
+            wrapper.like(User::getUsername, username);
+        }
+        return wrapper;
+    }
+
+    /**
+     * 跨分片分页：各分片按 id 取前 current * size 行并各自计数，归并排序后截取当前页，总数为各分片之和
+     */
+    private Page<User> mergeShardPages(int current, int size, String username, FieldSet<User> fieldSet) {
+        long page = Math.max(1, current);
+        long window = page * size;
+        if (window > userShardRouter.maxMergeWindow()) {
+            throw new ValidationException("分页过深，请使用用户名筛选缩小范围");
+        }
+        List<Page<User>> shardPages = userShardRouter.acrossShards(shard ->
+                page(new Page<>(1, window), userQuery(username, fieldSet).orderByAsc(User::getId)));
+
+        long total = shardPages.stream().mapToLong(Page::getTotal).sum();
+        List<User> records = shardPages.stream()
+                .flatMap(shardPage -> shardPage.getRecords().stream())
+                .sorted(Comparator.comparing(User::getId))
+                .skip((page - 1) * size)
+                .limit(size)
+                .collect(Collectors.toList());
+        Page<User> merged = new Page<>(page, size, total);
+        merged.setRecords(records);
+        return merged;
+    }
+
+    /**
+     * 按ID批量读取用户基本信息（不含密码），按传入顺序返回，已不存在的跳过
+     */
+    public List<User> listUsersByIds(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Integer, List<Long>> idsByShard = ids.stream().collect(Collectors.groupingBy(
+                id -> userShardRouter.isEnabled() ? userShardRouter.shardOf(id) : 0));
+        Map<Long, User> users = new HashMap<>();
+        idsByShard.forEach((shard, shardIds) -> userShardRouter.onShard(shard, () -> list(new LambdaQueryWrapper<User>()
+                .select(User::getId, User::getUsername, User::getEmail, User::getFullName, User::getEnabled,
+                        User::getCreateTime)
+                .in(User::getId, shardIds)))
+                .forEach(user -> users.put(user.getId(), user)));
+        return ids.stream().map(users::get).filter(Objects::nonNull).collect(Collectors.toList());
+    }
+
+    /**
+     * 获取用户详情
+     */
+    public User getUserDetail(Long id, FieldSet<User> fieldSet) {
+        return userShardRouter.forUser(id, () -> {
+            User user = fieldSet.isAll() ? getById(id) : getOne(fieldSet.project(new LambdaQueryWrapper<User>()).eq(User::getId, id));
+            if (user != null && fieldSet.includes("roles")) {
+                user.setRoles(roleMapper.selectRolesByUserId(id));
+            }
+            return user;
+        });
     }
 
     /**
@@ -120,12 +253,37 @@ public class UserService extends ServiceImpl<UserMapper, User> {
      */
     @Transactional
     public boolean deleteUser(Long id) {
-        // 删除用户角色关系
+        User before = userShardRouter.forUser(id, () -> getById(id));
+        List<Long> rolesBefore = userRoleIds(id);
+
+        boolean removed = userShardRouter.inUserTransaction(id, () -> {
+            // 删除用户角色关系
+            LambdaQueryWrapper<UserRole> wrapper = new LambdaQueryWrapper<>();
+            wrapper.eq(UserRole::getUserId, id);
+            userRoleMapper.delete(wrapper);
+
+            // 删除用户（逻辑删除，用户名和邮箱在全局索引中保留到归档）
+            return removeById(id);
+        });
+        cacheInvalidationBus.publish(CacheRegion.USER, id);
+        if (removed && before != null) {
+            dashboardStatistics.userDeleted(before, rolesBefore);
+        }
+        auditTrail.record(AuditAction.DELETE, AuditTarget.USER, id, null);
+        return removed;
+    }
+
+    private List<Long> userRoleIds(Long userId) {
         LambdaQueryWrapper<UserRole> wrapper = new LambdaQueryWrapper<>();
-        wrapper.eq(UserRole::getUserId, id);
-        userRoleMapper.delete(wrapper);
-        
-        // 删除用户
-        return removeById(id);
+        wrapper.eq(UserRole::getUserId, userId);
+        return userShardRouter.forUser(userId, () -> userRoleMapper.selectList(wrapper)).stream()
+                .map(UserRole::getRoleId).collect(Collectors.toList());
+    }
+
+    private List<Long> roleIds(List<Role> roles) {
+        if (roles == null) {
+            return null;
+        }
+        return roles.stream().map(Role::getId).collect(Collectors.toList());
     }
 }
@@ -0,0 +1,57 @@
+package com.india.management.service;
+
+import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
+import com.baomidou.mybatisplus.core.toolkit.support.SFunction;
+import com.india.management.exception.BusinessException;
+import com.india.management.exception.ErrorCode;
+import com.india.management.exception.ValidationException;
+
+/**
+ * 带版本号的部分更新
+ * <p>
+ * 只写入补丁实体中的非空字段，不再“先查整行、改几个字段、整行写回”。
+ * 调用方必须带上读取时的版本号，更新条件为 id = ? AND version = ?，同时把 version 加一；
+ * 版本不一致（已被他人修改或删除）时返回 409，而不是静默覆盖对方的修改。
+ */
+final class VersionedUpdate {
+
+    private VersionedUpdate() {
+    }
+
+    /**
+     * 更新请求必须带版本号，在产生任何写入之前校验
+     */
+    static void requireVersion(Integer expectedVersion) {
+        if (expectedVersion == null) {
+            throw new ValidationException("缺少版本号（version），请刷新后重试");
+        }
+    }
+
+    /**
+     * 按主键和期望版本号构造更新条件
+     */
+    static <T> LambdaUpdateWrapper<T> byId(SFunction<T, Long> idColumn, Long id,
+                                           SFunction<T, Integer> versionColumn, Integer expectedVersion) {
+        requireVersion(expectedVersion);
+        return new LambdaUpdateWrapper<T>()
+                .eq(idColumn, id)
+                .eq(versionColumn, expectedVersion)
+                .setSql("version = version + 1");
+    }
+
+    /**
+     * 更新行数为 0：记录已被他人修改或删除
+     */
+    static void requireUpdated(int rows) {
+        if (rows == 0) {
+            throw new BusinessException(ErrorCode.CONCURRENT_MODIFICATION);
+        }
+    }
+
+    /**
+     * 更新成功后的版本号
+     */
+    static Integer nextVersion(Integer expectedVersion) {
+        return expectedVersion + 1;
+    }
+}
@@ -0,0 +1,27 @@
+package com.india.management.sharding;
+
+/**
+ * 当前线程访问的分片
+ * <p>
+ * 由 {@link UserShardRouter} 在执行分片操作前设置、结束后恢复，{@link ShardRoutingDataSource} 据此选择连接池，
+ * 二级缓存（EntityCache）据此区分不同分片上相同查询的结果。为 null 时访问主库。
+ */
+public final class ShardContext {
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    public static Integer current() {
+        return CURRENT.get();
+    }
+
+    static void set(Integer shard) {
+        if (shard == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(shard);
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package com.india.management.sharding;
+
+import com.india.management.archive.ArchiveTable;
+import com.india.management.cache.CacheInvalidationListener;
+import com.india.management.cache.CacheRegion;
+import com.india.management.mapper.ShardSyncMapper;
+import com.india.management.mapper.UserIndexMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * 分库的数据维护
+ * <p>
+ * 角色、权限主数据只在主库修改，这里把 sys_role、sys_permission、sys_role_permission 整表同步到每个分片
+ * （REPLACE 覆盖，再删除主库已不存在的行），分片上的关联查询因此可以原样执行。
+ * 启动时、收到 ROLE/PERMISSION 失效事件时（排在其他监听器之前同步执行，保证用户权限缓存重新加载时分片已是新数据）
+ * 以及每隔 catalog-sync-interval 各同步一次；多个节点重复同步没有副作用。
+ * <p>
+ * 启动时还会把主库 sys_user 中尚未建立索引的存量用户（开启分库前的数据、data.sql 初始化的管理员）
+ * 连同角色关系复制到所在分片并建立索引，主库的原始行保留不动。
+ */
+@Component
+@ConditionalOnProperty(prefix = "sharding", name = "enabled", havingValue = "true")
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@Slf4j
+public class ShardMaintenance implements CacheInvalidationListener, SmartInitializingSingleton {
+
+    private static final List<ArchiveTable> CATALOG = List.of(
+            ArchiveTable.ROLE, ArchiveTable.PERMISSION, ArchiveTable.ROLE_PERMISSION);
+
+    private static final int WRITE_CHUNK = 500;
+
+    private final UserShardRouter router;
+    private final ShardSyncMapper shardSyncMapper;
+    private final UserIndexMapper userIndexMapper;
+    private final int migrateBatchSize;
+
+    private final LongAdder catalogSyncs = new LongAdder();
+    private final LongAdder catalogSyncErrors = new LongAdder();
+    private final LongAdder migratedUsers = new LongAdder();
+    private final LongAdder skippedUsers = new LongAdder();
+    private volatile long lastCatalogSyncTime;
+    private volatile long lastCatalogSyncDuration;
+
+    public ShardMaintenance(UserShardRouter router, ShardSyncMapper shardSyncMapper, UserIndexMapper userIndexMapper,
+                            ShardingProperties properties) {
+        this.router = router;
+        this.shardSyncMapper = shardSyncMapper;
+        this.userIndexMapper = userIndexMapper;
+        this.migrateBatchSize = properties.getMigrateBatchSize();
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        syncCatalog();
+        try {
+            migrateLegacyUsers();
+        } catch (Exception e) {
+            log.error("存量用户迁入分片失败，下次启动时继续: {}", e.getMessage(), e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${sharding.catalog-sync-interval:300000}",
+            initialDelayString = "${sharding.catalog-sync-interval:300000}")
+    public void scheduledSync() {
+        syncCatalog();
+    }
+
+    @Override
+    public void onInvalidate(CacheRegion region, Long entityId) {
+        if (region == CacheRegion.ROLE || region == CacheRegion.PERMISSION) {
+            syncCatalog();
+        }
+    }
+
+    /**
+     * 把角色、权限主数据整表同步到每个分片，每个分片一个事务
+     */
+    public synchronized void syncCatalog() {
+        long start = System.currentTimeMillis();
+        try {
+            Map<ArchiveTable, List<Map<String, Object>>> source = new LinkedHashMap<>();
+            for (ArchiveTable table : CATALOG) {
+                source.put(table, router.onPrimary(() ->
+                        shardSyncMapper.selectRows(table.getTable(), table.getColumns(), "id", null)));
+            }
+            for (int shard = 0; shard < router.shardCount(); shard++) {
+                router.inShardTransaction(shard, () -> {
+                    source.forEach((table, rows) -> {
+                        List<String> columns = columns(table.getColumns());
+                        write(table.getTable(), table.getColumns(), columns, rows, true);
+                        List<Long> ids = rows.stream().map(row -> ((Number) row.get("id")).longValue()).toList();
+                        shardSyncMapper.deleteExcept(table.getTable(), ids);
+                    });
+                    return null;
+                });
+            }
+            catalogSyncs.increment();
+        } catch (Exception e) {
+            catalogSyncErrors.increment();
+            log.error("同步角色权限主数据到分片失败: {}", e.getMessage(), e);
+        } finally {
+            lastCatalogSyncTime = start;
+            lastCatalogSyncDuration = System.currentTimeMillis() - start;
+        }
+    }
+
+    /**
+     * 主库存量用户迁入分片：先复制到分片再建立索引，用户名或邮箱与已有用户冲突而建不了索引的，撤回分片上的副本
+     */
+    public synchronized void migrateLegacyUsers() {
+        ArchiveTable user = ArchiveTable.USER;
+        List<String> userColumns = columns(user.getColumns());
+        ArchiveTable link = ArchiveTable.USER_ROLE;
+        List<String> linkColumns = columns(link.getColumns());
+        long afterId = 0;
+        while (true) {
+            long cursor = afterId;
+            List<Long> ids = router.onPrimary(() -> userIndexMapper.selectUnindexedUserIds(cursor, migrateBatchSize));
+            if (ids.isEmpty()) {
+                break;
+            }
+            afterId = ids.get(ids.size() - 1);
+
+            List<Map<String, Object>> users = router.onPrimary(() ->
+                    shardSyncMapper.selectRows(user.getTable(), user.getColumns(), "id", ids));
+            List<Map<String, Object>> links = router.onPrimary(() ->
+                    shardSyncMapper.selectRows(link.getTable(), link.getColumns(), "user_id", ids));
+            Map<Integer, List<Map<String, Object>>> usersByShard = users.stream().collect(Collectors.groupingBy(
+                    row -> router.shardOf(((Number) row.get("id")).longValue())));
+            Map<Integer, List<Map<String, Object>>> linksByShard = links.stream().collect(Collectors.groupingBy(
+                    row -> router.shardOf(((Number) row.get("user_id")).longValue())));
+
+            usersByShard.forEach((shard, rows) -> router.inShardTransaction(shard, () -> {
+                write(user.getTable(), user.getColumns(), userColumns, rows, false);
+                write(link.getTable(), link.getColumns(), linkColumns,
+                        linksByShard.getOrDefault(shard, List.of()), false);
+                return null;
+            }));
+
+            router.onPrimary(() -> userIndexMapper.indexLegacyUsers(ids));
+            Set<Long> indexed = new HashSet<>(router.onPrimary(() -> userIndexMapper.selectExistingIds(ids)));
+            Map<Integer, List<Long>> conflicts = new HashMap<>();
+            ids.stream().filter(id -> !indexed.contains(id))
+                    .forEach(id -> conflicts.computeIfAbsent(router.shardOf(id), key -> new ArrayList<>()).add(id));
+            conflicts.forEach((shard, conflictIds) -> router.inShardTransaction(shard, () -> {
+                shardSyncMapper.deleteByKeys(link.getTable(), "user_id", conflictIds);
+                shardSyncMapper.deleteByKeys(user.getTable(), "id", conflictIds);
+                return null;
+            }));
+
+            migratedUsers.add(indexed.size());
+            int skipped = ids.size() - indexed.size();
+            if (skipped > 0) {
+                skippedUsers.add(skipped);
+                log.warn("{} 个存量用户的用户名或邮箱与分片中的用户冲突，未迁入: {}", skipped, conflicts.values());
+            }
+        }
+        if (migratedUsers.sum() > 0) {
+            log.info("存量用户迁入分片 {} 个", migratedUsers.sum());
+        }
+    }
+
+    private void write(String table, String columnList, List<String> columns, List<Map<String, Object>> rows,
+                       boolean replace) {
+        for (int from = 0; from < rows.size(); from += WRITE_CHUNK) {
+            List<List<Object>> values = new ArrayList<>();
+            for (Map<String, Object> row : rows.subList(from, Math.min(rows.size(), from + WRITE_CHUNK))) {
+                List<Object> value = new ArrayList<>(columns.size());
+                columns.forEach(column -> value.add(row.get(column)));
+                values.add(value);
+            }
+            shardSyncMapper.writeRows(table, columnList, values, replace);
+        }
+    }
+
+    private static List<String> columns(String columnList) {
+        return Arrays.stream(columnList.split(",")).map(String::trim).toList();
+    }
+
+    /**
+     * 统计信息：主数据同步次数、耗时和存量用户迁移情况
+     */
+    public Map<String, Object> statistics() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("catalogSyncs", catalogSyncs.sum());
+        map.put("catalogSyncErrors", catalogSyncErrors.sum());
+        map.put("lastCatalogSyncTime", lastCatalogSyncTime);
+        map.put("lastCatalogSyncDurationMs", lastCatalogSyncDuration);
+        map.put("migratedUsers", migratedUsers.sum());
+        map.put("skippedUsers", skippedUsers.sum());
+        return map;
+    }
+}
@@ -0,0 +1,50 @@
+package com.india.management.sharding;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 按 {@link ShardContext} 路由的数据源
+ * <p>
+ * 未设置分片时使用主库（全局表、角色权限主数据、审计、商户等），设置后使用对应分片的连接池。
+ * 事务开始时取得的连接在整个事务内不变，切换分片需要新开事务，见 {@link UserShardRouter}。
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource {
+
+    private final HikariDataSource primary;
+    private final List<HikariDataSource> shards;
+
+    public ShardRoutingDataSource(HikariDataSource primary, List<HikariDataSource> shards) {
+        this.primary = primary;
+        this.shards = List.copyOf(shards);
+        Map<Object, Object> targets = new HashMap<>();
+        for (int i = 0; i < shards.size(); i++) {
+            targets.put(i, shards.get(i));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return ShardContext.current();
+    }
+
+    public HikariDataSource getPrimary() {
+        return primary;
+    }
+
+    public List<HikariDataSource> getShards() {
+        return shards;
+    }
+
+    public void close() {
+        shards.forEach(HikariDataSource::close);
+        primary.close();
+    }
+}
@@ -0,0 +1,57 @@
+package com.india.management.sharding;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 用户数据分库的数据源
+ * <p>
+ * 只在 sharding.enabled=true 时生效：主库仍按 spring.datasource 创建，另按 sharding.shards 为每个分片创建连接池，
+ * 对外只暴露一个 {@link ShardRoutingDataSource}（@Primary），MyBatis、事务管理器、JdbcTemplate 都使用它。
+ * 以 AOT 模式（cds/native 构建）运行时该条件在构建期确定。
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "sharding", name = "enabled", havingValue = "true")
+public class ShardingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean(destroyMethod = "close")
+    @Primary
+    public ShardRoutingDataSource dataSource(HikariDataSource primaryDataSource, DataSourceProperties properties,
+                                             ShardingProperties sharding) {
+        if (sharding.getShards().isEmpty()) {
+            throw new IllegalStateException("sharding.enabled=true 时至少需要配置一个 sharding.shards");
+        }
+        List<HikariDataSource> shards = new ArrayList<>();
+        for (int i = 0; i < sharding.getShards().size(); i++) {
+            ShardingProperties.Shard shard = sharding.getShards().get(i);
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName("shard-" + i);
+            dataSource.setJdbcUrl(shard.getUrl());
+            dataSource.setUsername(StringUtils.hasText(shard.getUsername()) ? shard.getUsername() : properties.getUsername());
+            dataSource.setPassword(StringUtils.hasText(shard.getPassword()) ? shard.getPassword() : properties.getPassword());
+            if (StringUtils.hasText(shard.getDriverClassName())) {
+                dataSource.setDriverClassName(shard.getDriverClassName());
+            }
+            dataSource.setMaximumPoolSize(shard.getMaximumPoolSize());
+            shards.add(dataSource);
+        }
+        return new ShardRoutingDataSource(primaryDataSource, shards);
+    }
+}
@@ -0,0 +1,62 @@
+package com.india.management.sharding;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 用户数据分库配置
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "sharding")
+public class ShardingProperties {
+
+    private boolean enabled = false;
+
+    /**
+     * 分片数据源，用户按ID的哈希取模分布，分片数确定后不能再改（需要先迁移数据）
+     */
+    private List<Shard> shards = new ArrayList<>();
+
+    /**
+     * 角色、权限主数据同步到各分片的间隔，单位毫秒（变更事件会立即触发同步，这里只做兜底）
+     */
+    private long catalogSyncInterval = 300000;
+
+    /**
+     * 主库存量用户迁入分片时每批的用户数
+     */
+    private int migrateBatchSize = 200;
+
+    /**
+     * 跨分片分页时允许的最大 offset + size，每个分片都要取出这么多行再归并
+     */
+    private int maxMergeWindow = 10000;
+
+    @Data
+    public static class Shard {
+
+        private String url;
+
+        /**
+         * 为空时使用 spring.datasource.username
+         */
+        private String username;
+
+        /**
+         * 为空时使用 spring.datasource.password
+         */
+        private String password;
+
+        /**
+         * 为空时按 url 推断，内嵌数据库测试时可指定其他驱动
+         */
+        private String driverClassName;
+
+        private int maximumPoolSize = 10;
+    }
+}
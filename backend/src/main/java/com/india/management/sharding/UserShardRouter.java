@@ -0,0 +1,240 @@
+package com.india.management.sharding;
+
+import com.india.management.deadline.RequestDeadline;
+import com.india.management.entity.User;
+import com.india.management.entity.UserIndex;
+import com.india.management.mapper.UserIndexMapper;
+import com.india.management.exception.DeadlineExceededException;
+import com.india.management.mapper.UserMapper;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.apache.ibatis.session.ResultHandler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+/**
+ * 用户数据的分片路由
+ * <p>
+ * sys_user、sys_user_role 按用户ID分布到 sharding.shards（见 {@link #shardOf}），角色、权限主数据复制到每个分片，
+ * 用户相关的关联查询（UserMapper.xml、RoleMapper.xml、PermissionMapper.xml）在用户所在分片上原样执行。
+ * 主库的 sys_user_index 记录 id、用户名、邮箱：新用户先在这里登记，按用户名登录时据此定位分片，
+ * 用户名和邮箱的跨分片唯一性也由它的唯一键保证。
+ * <p>
+ * 事务开始时取得的连接在整个事务内不变，所以在已有事务中访问分片时另开一个 REQUIRES_NEW 事务；
+ * 主库与分片之间没有分布式事务：写入顺序为主库索引、分片数据，分片写入失败时外层事务回滚索引，
+ * 分片已提交而外层提交失败时只会留下一条没有索引的用户（按用户名查不到）。
+ * <p>
+ * 未开启分库时所有方法直接在当前线程、当前事务中执行，与不分库的行为完全一致。
+ */
+@Component
+public class UserShardRouter {
+
+    private final boolean enabled;
+    private final int shardCount;
+    private final int maxMergeWindow;
+    private final UserIndexMapper userIndexMapper;
+    private final UserMapper userMapper;
+    private final TransactionTemplate requiresNew;
+    private final ThreadPoolTaskExecutor applicationTaskExecutor;
+
+    public UserShardRouter(ShardingProperties properties, UserIndexMapper userIndexMapper, UserMapper userMapper,
+                           PlatformTransactionManager transactionManager,
+                           ThreadPoolTaskExecutor applicationTaskExecutor) {
+        this.enabled = properties.isEnabled();
+        this.shardCount = enabled ? properties.getShards().size() : 1;
+        this.maxMergeWindow = properties.getMaxMergeWindow();
+        this.userIndexMapper = userIndexMapper;
+        this.userMapper = userMapper;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.applicationTaskExecutor = applicationTaskExecutor;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int shardCount() {
+        return shardCount;
+    }
+
+    /**
+     * 用户ID打散后取模：ID 的低位是毫秒内序号，并发低时多为 0，直接取模会集中到少数分片
+     */
+    public int shardOf(long userId) {
+        long hash = userId;
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return (int) Math.floorMod(hash, (long) shardCount);
+    }
+
+    /**
+     * 跨分片分页时每个分片最多取出的行数
+     */
+    public int maxMergeWindow() {
+        return maxMergeWindow;
+    }
+
+    /**
+     * 在指定分片上执行读操作
+     */
+    public <T> T onShard(int shard, Supplier<T> action) {
+        return execute(shard, false, action);
+    }
+
+    /**
+     * 在指定分片上的独立事务中执行写操作（未开启分库时加入当前事务）
+     */
+    public <T> T inShardTransaction(int shard, Supplier<T> action) {
+        return execute(shard, true, action);
+    }
+
+    /**
+     * 在用户所在分片上执行读操作（未开启分库时 userId 可以为 null）
+     */
+    public <T> T forUser(Long userId, Supplier<T> action) {
+        return enabled ? onShard(shardOf(userId), action) : action.get();
+    }
+
+    /**
+     * 在用户所在分片上的独立事务中执行写操作（未开启分库时加入当前事务，userId 可以为 null）
+     */
+    public <T> T inUserTransaction(Long userId, Supplier<T> action) {
+        return enabled ? inShardTransaction(shardOf(userId), action) : action.get();
+    }
+
+    /**
+     * 按用户名经全局索引定位分片后执行，用户不存在时返回 null
+     */
+    public <T> T forUsername(String username, Supplier<T> action) {
+        if (!enabled) {
+            return action.get();
+        }
+        Long userId = onPrimary(() -> userIndexMapper.selectIdByUsername(username));
+        return userId == null ? null : forUser(userId, action);
+    }
+
+    /**
+     * 回到主库执行（用于分片上下文中访问全局表）
+     */
+    public <T> T onPrimary(Supplier<T> action) {
+        return execute(null, false, action);
+    }
+
+    /**
+     * 在每个分片上执行同一操作，结果按分片顺序返回；开启分库时并行执行，超过请求截止时间时取消尚未开始的分片
+     */
+    public <T> List<T> acrossShards(IntFunction<T> action) {
+        if (!enabled) {
+            return List.of(action.apply(0));
+        }
+        List<CompletableFuture<T>> futures = new ArrayList<>(shardCount);
+        for (int i = 0; i < shardCount; i++) {
+            int shard = i;
+            futures.add(CompletableFuture.supplyAsync(() -> onShard(shard, () -> action.apply(shard)),
+                    applicationTaskExecutor));
+        }
+        List<T> results = new ArrayList<>(shardCount);
+        try {
+            for (CompletableFuture<T> future : futures) {
+                results.add(RequestDeadline.join(future));
+            }
+        } catch (DeadlineExceededException e) {
+            futures.forEach(future -> future.cancel(true));
+            throw e;
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+        return results;
+    }
+
+    /**
+     * 开启分库时在全局索引中登记新用户，占用用户名和邮箱；用户未预先分配ID时由索引插入时分配
+     */
+    public void allocateId(User user) {
+        if (!enabled) {
+            return;
+        }
+        UserIndex index = new UserIndex();
+        index.setId(user.getId());
+        index.setUsername(user.getUsername());
+        index.setEmail(user.getEmail());
+        onPrimary(() -> userIndexMapper.insert(index));
+        user.setId(index.getId());
+    }
+
+    /**
+     * 用户名或邮箱修改时同步全局索引，与其他用户冲突时抛出 DuplicateKeyException
+     */
+    public void updateIdentity(Long userId, String username, String email) {
+        if (!enabled || (username == null && email == null)) {
+            return;
+        }
+        UserIndex index = new UserIndex();
+        index.setId(userId);
+        index.setUsername(username);
+        index.setEmail(email);
+        onPrimary(() -> userIndexMapper.updateById(index));
+    }
+
+    public boolean existsUsername(String username) {
+        return enabled ? onPrimary(() -> userIndexMapper.existsUsername(username)) : userMapper.existsUsername(username);
+    }
+
+    public boolean existsEmail(String email) {
+        return enabled ? onPrimary(() -> userIndexMapper.existsEmail(email)) : userMapper.existsEmail(email);
+    }
+
+    public long countIdentities() {
+        return enabled ? onPrimary(() -> userIndexMapper.selectCount(null)) : userMapper.countIdentities();
+    }
+
+    public void scanIdentities(ResultHandler<User> handler) {
+        if (enabled) {
+            onPrimary(() -> {
+                userIndexMapper.scanIdentities(handler);
+                return null;
+            });
+        } else {
+            userMapper.scanIdentities(handler);
+        }
+    }
+
+    public User selectIdentityById(Long userId) {
+        return enabled ? onPrimary(() -> userIndexMapper.selectIdentityById(userId)) : userMapper.selectIdentityById(userId);
+    }
+
+    private <T> T execute(Integer shard, boolean transactional, Supplier<T> action) {
+        if (!enabled) {
+            return action.get();
+        }
+        Integer previous = ShardContext.current();
+        boolean sameShard = previous == null ? shard == null : previous.equals(shard);
+        // 同一分片上的嵌套调用直接加入；切换分片时若当前线程已绑定连接（有事务），需要新开事务才能换连接
+        if (sameShard && (!transactional || TransactionSynchronizationManager.isActualTransactionActive())) {
+            return action.get();
+        }
+        ShardContext.set(shard);
+        try {
+            if (transactional || TransactionSynchronizationManager.isSynchronizationActive()) {
+                return requiresNew.execute(status -> action.get());
+            }
+            return action.get();
+        } finally {
+            ShardContext.set(previous);
+        }
+    }
+}
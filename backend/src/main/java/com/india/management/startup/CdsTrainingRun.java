@@ -0,0 +1,40 @@
+package com.india.management.startup;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.SpringApplicationHook;
+import org.springframework.boot.SpringApplicationRunListener;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.Duration;
+
+/**
+ * CDS 训练运行
+ * <p>
+ * 以 -Dapp.cds.training-run=true 启动时，上下文刷新完成后立即停止（不触发 ApplicationReadyEvent），
+ * JVM 正常退出并通过 -XX:ArchiveClassesAtExit 写出类数据共享归档。由 pom.xml 的 cds profile 调用。
+ */
+public final class CdsTrainingRun {
+
+    private CdsTrainingRun() {
+    }
+
+    public static boolean isEnabled() {
+        return Boolean.getBoolean("app.cds.training-run");
+    }
+
+    public static void run(SpringApplication application, String[] args) {
+        SpringApplicationHook hook = springApplication -> new SpringApplicationRunListener() {
+            @Override
+            public void started(ConfigurableApplicationContext context, Duration timeTaken) {
+                throw new SpringApplication.AbandonedRunException(context);
+            }
+        };
+        try {
+            SpringApplication.withHook(hook, () -> application.run(args));
+        } catch (SpringApplication.AbandonedRunException ex) {
+            if (ex.getApplicationContext() != null) {
+                ex.getApplicationContext().close();
+            }
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.india.management.startup;
+
+import com.india.management.cache.CacheInvalidationListener;
+import jakarta.servlet.Filter;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ReflectionUtils;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 开启 spring.main.lazy-initialization 时仍需立即创建的 Bean
+ * <p>
+ * 过滤器、定时任务（懒加载的 Bean 不会被注册定时任务）、缓存失效监听器、数据库脚本初始化必须在启动时创建，
+ * 其余 Bean（Controller、Service、Mapper 等）在第一次使用时才创建。
+ */
+@Component
+public class EagerBeanExcludeFilter implements LazyInitializationExcludeFilter {
+
+    @Override
+    public boolean isExcluded(String beanName, BeanDefinition beanDefinition, Class<?> beanType) {
+        if (beanType == null) {
+            return false;
+        }
+        if (Filter.class.isAssignableFrom(beanType)
+                || CacheInvalidationListener.class.isAssignableFrom(beanType)
+                || SchemaInitializer.class.isAssignableFrom(beanType)) {
+            return true;
+        }
+        return hasScheduledMethods(beanType);
+    }
+
+    private boolean hasScheduledMethods(Class<?> beanType) {
+        AtomicBoolean found = new AtomicBoolean();
+        ReflectionUtils.doWithMethods(beanType,
+                method -> found.set(true),
+                method -> !found.get() && AnnotatedElementUtils.hasAnnotation(method, Scheduled.class));
+        return found.get();
+    }
+}
@@ -0,0 +1,299 @@
+package com.india.management.startup;
+
+import com.india.management.sharding.ShardRoutingDataSource;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationStartupAware;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.core.io.support.EncodedResource;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.FileCopyUtils;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 数据库脚本初始化
+ * <p>
+ * 替代 spring.sql.init 每次启动都执行 schema.sql/data.sql 的做法：每个脚本执行后把内容校验和记录到
+ * sys_schema_version，下次启动校验和一致则直接跳过，只有脚本发生变化时才重新执行（脚本本身是幂等的）。
+ * 多个节点同时启动时通过 GET_LOCK 串行执行。
+ * <p>
+ * 脚本逐条执行，"表/列/索引已存在""重复数据"这类重复执行时的预期错误忽略；
+ * 其他语句失败（锁等待超时、连接中断等）时不记录校验和，下次启动重新执行该脚本。
+ * <p>
+ * mode：checksum（默认，校验和一致时跳过）、always（每次执行）、never（不执行）。
+ * 开启分库时另在每个分片上执行 shard-locations，各分片有自己的 sys_schema_version。
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SchemaInitializer implements InitializingBean, ApplicationStartupAware {
+
+    private static final String LOCK_NAME = "paypro_schema_init";
+
+    private static final String CREATE_VERSION_TABLE = "CREATE TABLE IF NOT EXISTS `sys_schema_version` ("
+            + "`script` varchar(255) NOT NULL COMMENT '脚本位置',"
+            + "`checksum` varchar(64) NOT NULL COMMENT '脚本内容校验和',"
+            + "`applied_time` bigint(20) NOT NULL COMMENT '执行时间',"
+            + "`duration` bigint(20) NOT NULL COMMENT '执行耗时，单位毫秒',"
+            + "PRIMARY KEY (`script`)"
+            + ") ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='数据库脚本版本表'";
+
+    private static final String UPSERT_VERSION = "INSERT INTO sys_schema_version (script, checksum, applied_time, duration) "
+            + "VALUES (?, ?, ?, ?) ON DUPLICATE KEY UPDATE checksum = VALUES(checksum), "
+            + "applied_time = VALUES(applied_time), duration = VALUES(duration)";
+
+    /**
+     * MySQL：1050 表已存在，1060 列已存在，1061 索引已存在，1062 重复数据，1091 删除的列或索引不存在
+     */
+    private static final Set<Integer> ALREADY_APPLIED_ERROR_CODES = Set.of(1050, 1060, 1061, 1062, 1091);
+
+    /**
+     * 标准 SQLSTATE（内嵌数据库）：表、索引、列已存在
+     */
+    private static final Set<String> ALREADY_APPLIED_SQL_STATES = Set.of("42S01", "42S11", "42S21");
+
+    private final DataSource dataSource;
+    private final ResourceLoader resourceLoader;
+
+    @Value("${schema-init.mode:checksum}")
+    private String mode;
+
+    @Value("${schema-init.locations:classpath:schema.sql,classpath:data.sql}")
+    private String[] locations;
+
+    @Value("${schema-init.shard-locations:classpath:shard-schema.sql}")
+    private String[] shardLocations;
+
+    @Value("${schema-init.lock-timeout:60}")
+    private int lockTimeoutSeconds;
+
+    private ApplicationStartup applicationStartup = ApplicationStartup.DEFAULT;
+
+    @Override
+    public void setApplicationStartup(ApplicationStartup applicationStartup) {
+        this.applicationStartup = applicationStartup;
+    }
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        if ("never".equalsIgnoreCase(mode)) {
+            log.info("数据库脚本初始化已关闭");
+            return;
+        }
+
+        StartupStep step = applicationStartup.start("app.schema.init");
+        int[] counts = new int[2];
+        try {
+            if (dataSource instanceof ShardRoutingDataSource routing) {
+                initialize("primary", routing.getPrimary(), locations, counts);
+                for (int i = 0; i < routing.getShards().size(); i++) {
+                    initialize("shard-" + i, routing.getShards().get(i), shardLocations, counts);
+                }
+            } else {
+                initialize("primary", dataSource, locations, counts);
+            }
+        } finally {
+            step.tag("executed", String.valueOf(counts[0]));
+            step.tag("skipped", String.valueOf(counts[1]));
+            step.end();
+        }
+        log.info("数据库脚本初始化完成，执行 {} 个，跳过 {} 个", counts[0], counts[1]);
+    }
+
+    /**
+     * 在一个库上执行脚本，counts 累计执行数和跳过数
+     */
+    private void initialize(String name, DataSource target, String[] scripts, int[] counts) throws Exception {
+        try (Connection connection = target.getConnection()) {
+            acquireLock(connection);
+            try {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute(CREATE_VERSION_TABLE);
+                }
+                Map<String, String> applied = loadAppliedChecksums(connection);
+
+                for (String location : scripts) {
+                    Resource resource = resourceLoader.getResource(location.trim());
+                    if (!resource.exists()) {
+                        log.warn("数据库脚本不存在: {}", location);
+                        continue;
+                    }
+                    String checksum = checksum(resource);
+                    if ("checksum".equalsIgnoreCase(mode) && checksum.equals(applied.get(location))) {
+                        counts[1]++;
+                        continue;
+                    }
+
+                    long start = System.currentTimeMillis();
+                    int failed = execute(connection, resource, location);
+                    long duration = System.currentTimeMillis() - start;
+                    counts[0]++;
+                    if (failed > 0) {
+                        log.error("数据库脚本 {} ({}) 有 {} 条语句执行失败，不记录校验和，下次启动重新执行",
+                                location, name, failed);
+                        continue;
+                    }
+                    saveChecksum(connection, location, checksum, duration);
+                    log.info("执行数据库脚本: {} ({})，耗时 {} ms", location, name, duration);
+                }
+            } finally {
+                releaseLock(connection);
+            }
+        }
+    }
+
+    /**
+     * 逐条执行脚本，返回非预期失败的语句数
+     */
+    private int execute(Connection connection, Resource resource, String location) throws IOException, SQLException {
+        EncodedResource encoded = new EncodedResource(resource, StandardCharsets.UTF_8);
+        String script;
+        try (Reader reader = encoded.getReader()) {
+            script = FileCopyUtils.copyToString(reader);
+        }
+        List<String> statements = splitStatements(script);
+
+        int failed = 0;
+        try (Statement statement = connection.createStatement()) {
+            for (int i = 0; i < statements.size(); i++) {
+                try {
+                    statement.execute(statements.get(i));
+                } catch (SQLException e) {
+                    if (isAlreadyApplied(e)) {
+                        log.debug("忽略数据库脚本 {} 第 {} 条语句: {}", location, i + 1, e.getMessage());
+                    } else {
+                        failed++;
+                        log.warn("数据库脚本 {} 第 {} 条语句执行失败: {}", location, i + 1, e.getMessage());
+                    }
+                }
+            }
+        }
+        return failed;
+    }
+
+    /**
+     * 按分号拆分脚本（仓库自带的脚本，没有存储过程和自定义分隔符）：
+     * 跳过 -- 和 # 行注释、块注释，引号（'、"、`）内的分号不拆分
+     */
+    private static List<String> splitStatements(String script) {
+        List<String> statements = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        char quote = 0;
+        int length = script.length();
+        for (int i = 0; i < length; i++) {
+            char c = script.charAt(i);
+            if (quote != 0) {
+                current.append(c);
+                if (c == '\\' && quote != '`' && i + 1 < length) {
+                    current.append(script.charAt(++i));
+                } else if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '\'' || c == '"' || c == '`') {
+                quote = c;
+                current.append(c);
+            } else if (c == '#' || (c == '-' && script.startsWith("--", i))) {
+                int end = script.indexOf('\n', i);
+                i = end < 0 ? length : end - 1;
+            } else if (c == '/' && script.startsWith("/*", i)) {
+                int end = script.indexOf("*/", i + 2);
+                i = end < 0 ? length : end + 1;
+                current.append(' ');
+            } else if (c == ';') {
+                addStatement(statements, current);
+            } else {
+                current.append(c);
+            }
+        }
+        addStatement(statements, current);
+        return statements;
+    }
+
+    private static void addStatement(List<String> statements, StringBuilder current) {
+        String statement = current.toString().trim();
+        if (!statement.isEmpty()) {
+            statements.add(statement);
+        }
+        current.setLength(0);
+    }
+
+    /**
+     * 重复执行幂等脚本时的预期错误：表、列、索引已存在，重复数据，删除不存在的列或索引
+     */
+    private boolean isAlreadyApplied(SQLException e) {
+        return ALREADY_APPLIED_ERROR_CODES.contains(e.getErrorCode())
+                || ALREADY_APPLIED_SQL_STATES.contains(e.getSQLState());
+    }
+
+    private Map<String, String> loadAppliedChecksums(Connection connection) throws SQLException {
+        Map<String, String> applied = new HashMap<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT script, checksum FROM sys_schema_version")) {
+            while (resultSet.next()) {
+                applied.put(resultSet.getString(1), resultSet.getString(2));
+            }
+        }
+        return applied;
+    }
+
+    private void saveChecksum(Connection connection, String location, String checksum, long duration) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(UPSERT_VERSION)) {
+            statement.setString(1, location);
+            statement.setString(2, checksum);
+            statement.setLong(3, System.currentTimeMillis());
+            statement.setLong(4, duration);
+            statement.executeUpdate();
+        }
+    }
+
+    private void acquireLock(Connection connection) {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT GET_LOCK(?, ?)")) {
+            statement.setString(1, LOCK_NAME);
+            statement.setInt(2, lockTimeoutSeconds);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                if (!resultSet.next() || resultSet.getInt(1) != 1) {
+                    log.warn("获取数据库脚本初始化锁超时，继续执行");
+                }
+            }
+        } catch (SQLException e) {
+            // 内嵌数据库（如分片测试用的 H2）不支持 GET_LOCK
+            log.warn("获取数据库脚本初始化锁失败，继续执行: {}", e.getMessage());
+        }
+    }
+
+    private void releaseLock(Connection connection) {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+            statement.setString(1, LOCK_NAME);
+            statement.executeQuery().close();
+        } catch (SQLException e) {
+            log.warn("释放数据库脚本初始化锁失败: {}", e.getMessage());
+        }
+    }
+
+    private String checksum(Resource resource) throws IOException {
+        try (InputStream inputStream = resource.getInputStream()) {
+            return DigestUtils.md5DigestAsHex(inputStream);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.india.management.startup;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 启动耗时统计
+ * <p>
+ * 启动类使用 BufferingApplicationStartup 记录各阶段，应用就绪时汇总：JVM 启动到就绪的总耗时、
+ * 上下文刷新耗时、自定义阶段（app.*）耗时以及最慢的 Bean 创建。
+ */
+@Component
+@Slf4j
+public class StartupTimingReporter {
+
+    private static final int TOP_BEANS = 10;
+
+    private volatile Map<String, Object> report = Map.of();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady(ApplicationReadyEvent event) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        long jvmStart = ManagementFactory.getRuntimeMXBean().getStartTime();
+        result.put("timeToReadyMs", System.currentTimeMillis() - jvmStart);
+        result.put("springTimeTakenMs", event.getTimeTaken() == null ? null : event.getTimeTaken().toMillis());
+
+        if (event.getApplicationContext().getApplicationStartup() instanceof BufferingApplicationStartup startup) {
+            StartupTimeline timeline = startup.getBufferedTimeline();
+            Map<String, Long> phases = new LinkedHashMap<>();
+            List<StartupTimeline.TimelineEvent> beans = new ArrayList<>();
+            for (StartupTimeline.TimelineEvent timelineEvent : timeline.getEvents()) {
+                String name = timelineEvent.getStartupStep().getName();
+                if (name.startsWith("app.") || "spring.context.refresh".equals(name)) {
+                    phases.merge(name, timelineEvent.getDuration().toMillis(), Long::sum);
+                } else if ("spring.beans.instantiate".equals(name)) {
+                    beans.add(timelineEvent);
+                }
+            }
+            result.put("phases", phases);
+
+            Map<String, Long> slowestBeans = new LinkedHashMap<>();
+            beans.stream()
+                    .sorted(Comparator.comparing(StartupTimeline.TimelineEvent::getDuration).reversed())
+                    .limit(TOP_BEANS)
+                    .forEach(timelineEvent -> slowestBeans.put(beanName(timelineEvent.getStartupStep()),
+                            timelineEvent.getDuration().toMillis()));
+            result.put("slowestBeans", slowestBeans);
+        }
+
+        report = result;
+        log.info("启动耗时统计: {}", result);
+    }
+
+    public Map<String, Object> statistics() {
+        return report;
+    }
+
+    private String beanName(StartupStep step) {
+        for (StartupStep.Tag tag : step.getTags()) {
+            if ("beanName".equals(tag.getKey())) {
+                return tag.getValue();
+            }
+        }
+        return step.getName();
+    }
+}
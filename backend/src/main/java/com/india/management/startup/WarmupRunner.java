@@ -0,0 +1,247 @@
+package com.india.management.startup;
+
+import com.india.management.fieldset.EntityFields;
+import com.india.management.security.JwtTokenProvider;
+import com.india.management.service.PermissionService;
+import com.india.management.service.RoleService;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.env.Environment;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.lang.management.CompilationMXBean;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 就绪前预热
+ * <p>
+ * ApplicationRunner 在 Spring Boot 发布 ReadinessState.ACCEPTING_TRAFFIC 之前执行，预热完成前
+ * /api/public/health/readiness 返回 503，负载均衡不会把流量转过来。依次执行：
+ * 连接池建满最小空闲连接、加载权限目录和角色列表到二级缓存、预热 BCrypt，
+ * 再以预热账号的 JWT 通过本机 HTTP 循环调用主要接口（经过过滤器、认证、Controller、序列化全链路），
+ * 直到一轮内 JIT 编译耗时的增量连续若干轮低于阈值，或达到轮数/时间上限。
+ * 预热失败只记录日志，不阻止应用就绪。
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class WarmupRunner implements ApplicationRunner {
+
+    private final DataSource dataSource;
+    private final PermissionService permissionService;
+    private final RoleService roleService;
+    private final UserDetailsService userDetailsService;
+    private final JwtTokenProvider tokenProvider;
+    private final PasswordEncoder passwordEncoder;
+    private final Environment environment;
+
+    @Value("${warmup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${warmup.username:admin}")
+    private String username;
+
+    @Value("${warmup.endpoints:/api/auth/bootstrap,/api/auth/me,/api/permissions/tree,/api/permissions/menus,"
+            + "/api/roles/all,/api/users?current=1&size=10,/api/roles?current=1&size=10,/api/merchants?size=20,"
+            + "/api/dashboard/stats}")
+    private List<String> endpoints;
+
+    @Value("${warmup.min-rounds:20}")
+    private int minRounds;
+
+    @Value("${warmup.max-rounds:300}")
+    private int maxRounds;
+
+    @Value("${warmup.max-duration:60000}")
+    private long maxDurationMs;
+
+    @Value("${warmup.settle-rounds:5}")
+    private int settleRounds;
+
+    @Value("${warmup.settle-compile-ms:5}")
+    private long settleCompileMs;
+
+    @Value("${warmup.bcrypt-rounds:5}")
+    private int bcryptRounds;
+
+    private volatile Map<String, Object> report = Map.of("enabled", false);
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        Map<String, Object> result = new LinkedHashMap<>();
+        Map<String, Long> phases = new LinkedHashMap<>();
+        result.put("enabled", true);
+        result.put("phases", phases);
+
+        phase(phases, "connections", this::openConnections);
+        phase(phases, "caches", this::preloadCaches);
+        phase(phases, "bcrypt", this::warmBcrypt);
+        phase(phases, "http", () -> warmEndpoints(result));
+
+        result.put("totalMs", System.currentTimeMillis() - start);
+        report = result;
+        log.info("预热完成: {}", result);
+    }
+
+    public Map<String, Object> statistics() {
+        return report;
+    }
+
+    private void phase(Map<String, Long> phases, String name, Runnable action) {
+        long start = System.currentTimeMillis();
+        try {
+            action.run();
+        } catch (Exception e) {
+            log.warn("预热阶段 {} 失败: {}", name, e.getMessage());
+        }
+        phases.put(name, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * 同时借出最小空闲数量的连接，让连接池在就绪前建好连接
+     */
+    private void openConnections() {
+        int count = dataSource instanceof HikariDataSource hikari ? hikari.getMinimumIdle() : 1;
+        List<Connection> connections = new ArrayList<>();
+        try {
+            for (int i = 0; i < count; i++) {
+                Connection connection = dataSource.getConnection();
+                connections.add(connection);
+                connection.isValid(1);
+            }
+        } catch (Exception e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        } finally {
+            for (Connection connection : connections) {
+                try {
+                    connection.close();
+                } catch (Exception ignored) {
+                    // 归还连接失败不影响预热
+                }
+            }
+        }
+    }
+
+    /**
+     * 权限树、菜单、按钮和全部角色进入二级缓存（PermissionMapper、RoleMapper 上的 @CacheNamespace）
+     * <p>
+     * 按角色查权限的 XML 关联查询不走二级缓存，且只在角色详情、修改时使用，不在这里预加载
+     */
+    private void preloadCaches() {
+        permissionService.getPermissionTree(EntityFields.PERMISSION.all());
+        permissionService.getAllMenus(EntityFields.PERMISSION.all());
+        permissionService.getAllButtons(EntityFields.PERMISSION.all());
+        roleService.getAllRoles(EntityFields.ROLE.all());
+    }
+
+    private void warmBcrypt() {
+        String hash = passwordEncoder.encode("warmup");
+        for (int i = 0; i < bcryptRounds; i++) {
+            passwordEncoder.matches("warmup", hash);
+        }
+    }
+
+    /**
+     * 循环调用主要接口，记录每个接口首次（冷）和最后一轮（热）的耗时
+     */
+    private void warmEndpoints(Map<String, Object> result) {
+        String port = environment.getProperty("local.server.port");
+        if (port == null) {
+            return;
+        }
+        UserDetails user = userDetailsService.loadUserByUsername(username);
+        String token = tokenProvider.generateToken(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        String base = "http://127.0.0.1:" + port;
+
+        CompilationMXBean compilation = ManagementFactory.getCompilationMXBean();
+        boolean compilationMonitored = compilation != null && compilation.isCompilationTimeMonitoringSupported();
+        long compileStart = compilationMonitored ? compilation.getTotalCompilationTime() : 0;
+        long deadline = System.currentTimeMillis() + maxDurationMs;
+
+        Map<String, Long> firstNanos = new LinkedHashMap<>();
+        Map<String, Long> lastNanos = new LinkedHashMap<>();
+        Map<String, Integer> failures = new LinkedHashMap<>();
+        int rounds = 0;
+        int settled = 0;
+        long lastCompileTime = compileStart;
+        while (rounds < maxRounds && System.currentTimeMillis() < deadline) {
+            for (String endpoint : endpoints) {
+                long begin = System.nanoTime();
+                int status = get(client, base + endpoint, token);
+                long elapsed = System.nanoTime() - begin;
+                if (status != 200) {
+                    failures.merge(endpoint, 1, Integer::sum);
+                }
+                firstNanos.putIfAbsent(endpoint, elapsed);
+                lastNanos.put(endpoint, elapsed);
+            }
+            rounds++;
+
+            if (compilationMonitored) {
+                long compileTime = compilation.getTotalCompilationTime();
+                settled = compileTime - lastCompileTime < settleCompileMs ? settled + 1 : 0;
+                lastCompileTime = compileTime;
+                if (rounds >= minRounds && settled >= settleRounds) {
+                    break;
+                }
+            }
+        }
+
+        Map<String, Object> latency = new LinkedHashMap<>();
+        for (String endpoint : firstNanos.keySet()) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("firstMs", firstNanos.get(endpoint) / 1_000_000.0);
+            item.put("warmMs", lastNanos.get(endpoint) / 1_000_000.0);
+            if (failures.containsKey(endpoint)) {
+                item.put("failures", failures.get(endpoint));
+            }
+            latency.put(endpoint, item);
+        }
+        result.put("rounds", rounds);
+        result.put("jitSettled", settled >= settleRounds);
+        result.put("jitCompileMs", compilationMonitored ? lastCompileTime - compileStart : null);
+        result.put("latency", latency);
+    }
+
+    private int get(HttpClient client, String url, String token) {
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                    .timeout(Duration.ofSeconds(10))
+                    .header("Authorization", "Bearer " + token)
+                    .header("Accept", "application/json")
+                    .GET()
+                    .build();
+            return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return -1;
+        } catch (Exception e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.india.management.stats;
+
+import java.util.Map;
+
+/**
+ * 按天分桶的计数环形缓冲区，只保留最近 days 天，更新和读取单个桶都是 O(1)
+ */
+class DailyHistogram {
+
+    private final int days;
+    private final long[] epochDays;
+    private final long[] counts;
+
+    DailyHistogram(int days) {
+        this.days = days;
+        this.epochDays = new long[days];
+        this.counts = new long[days];
+    }
+
+    synchronized void add(long epochDay, long today, long delta) {
+        if (epochDay <= today - days || epochDay > today) {
+            return;
+        }
+        int index = (int) Math.floorMod(epochDay, (long) days);
+        if (epochDays[index] != epochDay) {
+            // 桶里是 days 天之前的数据，复用
+            epochDays[index] = epochDay;
+            counts[index] = 0;
+        }
+        counts[index] = Math.max(0, counts[index] + delta);
+    }
+
+    synchronized long get(long epochDay) {
+        int index = (int) Math.floorMod(epochDay, (long) days);
+        return epochDays[index] == epochDay ? counts[index] : 0;
+    }
+
+    /**
+     * 用数据库统计结果整体替换
+     */
+    synchronized void replace(Map<Long, Long> countsByDay) {
+        for (int i = 0; i < days; i++) {
+            epochDays[i] = 0;
+            counts[i] = 0;
+        }
+        countsByDay.forEach((epochDay, count) -> {
+            int index = (int) Math.floorMod(epochDay, (long) days);
+            epochDays[index] = epochDay;
+            counts[index] = count;
+        });
+    }
+
+    int getDays() {
+        return days;
+    }
+}
@@ -0,0 +1,299 @@
+package com.india.management.stats;
+
+import com.india.management.entity.Permission;
+import com.india.management.entity.Role;
+import com.india.management.entity.User;
+import com.india.management.mapper.StatisticsMapper;
+import com.india.management.sharding.UserShardRouter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 仪表盘统计
+ * <p>
+ * 计数全部保存在内存中，由各 Service 的增删改在事务提交后增量更新，仪表盘读取时不访问数据库。
+ * 定时用聚合查询对账并整体替换内存计数，用来纠正其他节点的修改、并发更新和重启造成的偏差，
+ * 多节点部署时其他节点的修改最多延迟一个对账周期可见。开启分库时用户相关的聚合在每个分片上执行后相加。
+ */
+@Component
+@Slf4j
+public class DashboardStatistics {
+
+    private final StatisticsMapper statisticsMapper;
+    private final UserShardRouter userShardRouter;
+    private final DailyHistogram registrations;
+
+    private final AtomicLong users = new AtomicLong();
+    private final AtomicLong enabledUsers = new AtomicLong();
+    private final AtomicLong roles = new AtomicLong();
+    private final Map<String, AtomicLong> permissionsByType = new ConcurrentHashMap<>();
+    private final Map<Long, RoleUsers> usersPerRole = new ConcurrentHashMap<>();
+
+    private volatile long reconciledAt;
+
+    public DashboardStatistics(StatisticsMapper statisticsMapper, UserShardRouter userShardRouter,
+                               @Value("${stats.registration-days:90}") int registrationDays) {
+        this.statisticsMapper = statisticsMapper;
+        this.userShardRouter = userShardRouter;
+        this.registrations = new DailyHistogram(registrationDays);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        reconcile();
+    }
+
+    /**
+     * 用数据库聚合结果对账，偏差较大时输出日志
+     */
+    @Scheduled(fixedDelayString = "${stats.reconcile-interval:300000}",
+            initialDelayString = "${stats.reconcile-interval:300000}")
+    public void reconcile() {
+        try {
+            List<Map<String, Object>> userCounts = userShardRouter.acrossShards(shard -> statisticsMapper.countUsers());
+            long totalUsers = sum(userCounts, "total");
+            if (reconciledAt > 0 && totalUsers != users.get()) {
+                log.info("用户数对账修正: {} -> {}", users.get(), totalUsers);
+            }
+            users.set(totalUsers);
+            enabledUsers.set(sum(userCounts, "enabled"));
+            roles.set(statisticsMapper.countRoles());
+
+            Map<String, AtomicLong> byType = new HashMap<>();
+            statisticsMapper.countPermissionsByType().forEach(row ->
+                    byType.put(String.valueOf(row.get("type")), new AtomicLong(toLong(row.get("total")))));
+            permissionsByType.keySet().retainAll(byType.keySet());
+            permissionsByType.putAll(byType);
+
+            Map<Long, RoleUsers> perRole = new HashMap<>();
+            userShardRouter.acrossShards(shard -> statisticsMapper.countUsersPerRole()).forEach(rows ->
+                    rows.forEach(row -> perRole.merge(toLong(row.get("roleId")),
+                            new RoleUsers(String.valueOf(row.get("name")), toLong(row.get("total"))),
+                            (existing, shardCount) -> {
+                                existing.users.addAndGet(shardCount.users.get());
+                                return existing;
+                            })));
+            usersPerRole.keySet().retainAll(perRole.keySet());
+            usersPerRole.putAll(perRole);
+
+            long today = today();
+            long since = LocalDate.ofEpochDay(today - registrations.getDays() + 1)
+                    .atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            long offset = ZoneId.systemDefault().getRules().getOffset(Instant.now()).getTotalSeconds() * 1000L;
+            Map<Long, Long> perDay = new HashMap<>();
+            userShardRouter.acrossShards(shard -> statisticsMapper.countRegistrationsPerDay(since, offset)).forEach(rows ->
+                    rows.forEach(row -> perDay.merge(toLong(row.get("day")), toLong(row.get("total")), Long::sum)));
+            registrations.replace(perDay);
+
+            reconciledAt = System.currentTimeMillis();
+        } catch (Exception e) {
+            log.warn("统计对账失败: {}", e.getMessage());
+        }
+    }
+
+    public void userCreated(User user, Collection<Long> roleIds) {
+        afterCommit(() -> {
+            users.incrementAndGet();
+            if (!Boolean.FALSE.equals(user.getEnabled())) {
+                enabledUsers.incrementAndGet();
+            }
+            addRoleUsers(roleIds, 1);
+            if (user.getCreateTime() != null) {
+                registrations.add(epochDay(user.getCreateTime()), today(), 1);
+            }
+        });
+    }
+
+    /**
+     * @param before       修改前的用户
+     * @param rolesBefore  修改前的角色ID，角色未修改时为 null
+     * @param rolesAfter   修改后的角色ID，角色未修改时为 null
+     */
+    public void userUpdated(User before, Boolean enabledAfter, Collection<Long> rolesBefore, Collection<Long> rolesAfter) {
+        afterCommit(() -> {
+            if (enabledAfter != null && !enabledAfter.equals(before.getEnabled())) {
+                enabledUsers.addAndGet(enabledAfter ? 1 : -1);
+            }
+            if (rolesBefore != null && rolesAfter != null) {
+                addRoleUsers(rolesBefore, -1);
+                addRoleUsers(rolesAfter, 1);
+            }
+        });
+    }
+
+    public void userDeleted(User before, Collection<Long> rolesBefore) {
+        afterCommit(() -> {
+            users.decrementAndGet();
+            if (!Boolean.FALSE.equals(before.getEnabled())) {
+                enabledUsers.decrementAndGet();
+            }
+            addRoleUsers(rolesBefore, -1);
+            if (before.getCreateTime() != null) {
+                registrations.add(epochDay(before.getCreateTime()), today(), -1);
+            }
+        });
+    }
+
+    public void roleCreated(Role role) {
+        afterCommit(() -> {
+            roles.incrementAndGet();
+            usersPerRole.put(role.getId(), new RoleUsers(role.getName(), 0));
+        });
+    }
+
+    public void roleUpdated(Role role) {
+        afterCommit(() -> {
+            RoleUsers roleUsers = usersPerRole.get(role.getId());
+            if (roleUsers != null && role.getName() != null) {
+                roleUsers.name = role.getName();
+            }
+        });
+    }
+
+    public void roleDeleted(Long roleId) {
+        afterCommit(() -> {
+            roles.decrementAndGet();
+            usersPerRole.remove(roleId);
+        });
+    }
+
+    public void permissionCreated(Permission permission) {
+        afterCommit(() -> addPermissions(permission.getType(), 1));
+    }
+
+    public void permissionTypeChanged(String before, String after) {
+        afterCommit(() -> {
+            addPermissions(before, -1);
+            addPermissions(after, 1);
+        });
+    }
+
+    public void permissionDeleted(Permission before) {
+        afterCommit(() -> addPermissions(before.getType(), -1));
+    }
+
+    /**
+     * 仪表盘数据
+     *
+     * @param days 返回最近多少天的注册数，不超过保留天数
+     */
+    public Map<String, Object> snapshot(int days) {
+        long totalUsers = users.get();
+        long enabled = enabledUsers.get();
+        Map<String, Object> userStats = new LinkedHashMap<>();
+        userStats.put("total", totalUsers);
+        userStats.put("enabled", enabled);
+        userStats.put("disabled", totalUsers - enabled);
+
+        List<Map<String, Object>> roleStats = new ArrayList<>();
+        usersPerRole.forEach((roleId, roleUsers) -> {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("roleId", roleId);
+            item.put("name", roleUsers.name);
+            item.put("users", roleUsers.users.get());
+            roleStats.add(item);
+        });
+
+        Map<String, Object> permissionStats = new LinkedHashMap<>();
+        long totalPermissions = 0;
+        for (Map.Entry<String, AtomicLong> entry : permissionsByType.entrySet()) {
+            permissionStats.put(entry.getKey(), entry.getValue().get());
+            totalPermissions += entry.getValue().get();
+        }
+        permissionStats.put("total", totalPermissions);
+
+        int range = Math.max(1, Math.min(days, registrations.getDays()));
+        long today = today();
+        List<Map<String, Object>> registrationStats = new ArrayList<>(range);
+        for (long day = today - range + 1; day <= today; day++) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("date", LocalDate.ofEpochDay(day).toString());
+            item.put("count", registrations.get(day));
+            registrationStats.add(item);
+        }
+
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("users", userStats);
+        map.put("roles", Map.of("total", roles.get(), "users", roleStats));
+        map.put("permissions", permissionStats);
+        map.put("registrations", registrationStats);
+        map.put("reconciledAt", reconciledAt);
+        return map;
+    }
+
+    private void addRoleUsers(Collection<Long> roleIds, long delta) {
+        if (roleIds == null) {
+            return;
+        }
+        for (Long roleId : roleIds) {
+            RoleUsers roleUsers = usersPerRole.get(roleId);
+            if (roleUsers != null) {
+                roleUsers.users.addAndGet(delta);
+            }
+        }
+    }
+
+    private void addPermissions(String type, long delta) {
+        if (type != null) {
+            permissionsByType.computeIfAbsent(type, k -> new AtomicLong()).addAndGet(delta);
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static long today() {
+        return LocalDate.now().toEpochDay();
+    }
+
+    private static long epochDay(long timestamp) {
+        return LocalDate.ofInstant(Instant.ofEpochMilli(timestamp), ZoneId.systemDefault()).toEpochDay();
+    }
+
+    private static long sum(List<Map<String, Object>> rows, String column) {
+        return rows.stream().mapToLong(row -> toLong(row.get(column))).sum();
+    }
+
+    private static long toLong(Object value) {
+        return value instanceof Number number ? number.longValue() : 0L;
+    }
+
+    private static class RoleUsers {
+
+        private volatile String name;
+        private final AtomicLong users;
+
+        RoleUsers(String name, long users) {
+            this.name = name;
+            this.users = new AtomicLong(users);
+        }
+    }
+}
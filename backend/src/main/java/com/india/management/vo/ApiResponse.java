@@ -1,5 +1,7 @@
 package com.india.management.vo;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.india.management.exception.ErrorCode;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -12,6 +14,16 @@ public class ApiResponse<T> {
     private boolean success;
     private String message;
     private T data;
+
+    /**
+     * 错误码，仅失败响应返回
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer code;
+
+    public ApiResponse(boolean success, String message, T data) {
+        this(success, message, data, null);
+    }
     
     public static <T> ApiResponse<T> success(T data) {
         return new ApiResponse<>(true, "操作成功", data);
@@ -24,4 +36,12 @@ public class ApiResponse<T> {
     public static <T> ApiResponse<T> error(String message) {
         return new ApiResponse<>(false, message, null);
     }
+
+    public static <T> ApiResponse<T> error(ErrorCode errorCode) {
+        return new ApiResponse<>(false, errorCode.getMessage(), null, errorCode.getCode());
+    }
+
+    public static <T> ApiResponse<T> error(ErrorCode errorCode, String message) {
+        return new ApiResponse<>(false, message, null, errorCode.getCode());
+    }
 }
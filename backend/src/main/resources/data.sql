@@ -37,6 +37,19 @@ INSERT INTO `sys_permission` (`code`, `name`, `description`, `type`, `path`, `co
 INSERT INTO `sys_permission` (`code`, `name`, `description`, `type`, `path`, `component`, `icon`, `sort`, `parent_id`, `create_time`, `update_time`) SELECT 'system:permission:delete', '删除权限', '删除权限', 'button', null, null, null, 4, (SELECT id FROM `sys_permission` WHERE `code` = 'system:permission'), UNIX_TIMESTAMP(NOW()) * 1000, UNIX_TIMESTAMP(NOW()) * 1000 FROM DUAL WHERE NOT EXISTS (SELECT 1 FROM `sys_permission` WHERE `code` = 'system:permission:delete');
 INSERT INTO `sys_permission` (`code`, `name`, `description`, `type`, `path`, `component`, `icon`, `sort`, `parent_id`, `create_time`, `update_time`) SELECT 'system:permission:query', '查询权限', '查询权限详情', 'button', null, null, null, 5, (SELECT id FROM `sys_permission` WHERE `code` = 'system:permission'), UNIX_TIMESTAMP(NOW()) * 1000, UNIX_TIMESTAMP(NOW()) * 1000 FROM DUAL WHERE NOT EXISTS (SELECT 1 FROM `sys_permission` WHERE `code` = 'system:permission:query');
 
+-- 审计日志按钮
+INSERT INTO `sys_permission` (`code`, `name`, `description`, `type`, `path`, `component`, `icon`, `sort`, `parent_id`, `create_time`, `update_time`) SELECT 'system:audit:list', '审计日志', '查看审计日志', 'button', null, null, null, 9, (SELECT id FROM `sys_permission` WHERE `code` = 'system'), UNIX_TIMESTAMP(NOW()) * 1000, UNIX_TIMESTAMP(NOW()) * 1000 FROM DUAL WHERE NOT EXISTS (SELECT 1 FROM `sys_permission` WHERE `code` = 'system:audit:list');
+
+-- 商户管理菜单与按钮
+-- 按钮权限码早期版本为 merchant:*，统一改为 system:merchant:*
+UPDATE `sys_permission` SET `code` = CONCAT('system:', `code`) WHERE `code` IN ('merchant:list', 'merchant:add', 'merchant:edit', 'merchant:delete', 'merchant:query');
+INSERT INTO `sys_permission` (`code`, `name`, `description`, `type`, `path`, `component`, `icon`, `sort`, `parent_id`, `create_time`, `update_time`) SELECT 'merchant', '商户管理', '商户管理菜单', 'menu', '/merchant', null, 'ShopOutlined', 2, 0, UNIX_TIMESTAMP(NOW()) * 1000, UNIX_TIMESTAMP(NOW()) * 1000 FROM DUAL WHERE NOT EXISTS (SELECT 1 FROM `sys_permission` WHERE `code` = 'merchant');
+INSERT INTO `sys_permission` (`code`, `name`, `description`, `type`, `path`, `component`, `icon`, `sort`, `parent_id`, `create_time`, `update_time`) SELECT 'system:merchant:list', '商户列表', '查看商户列表', 'button', null, null, null, 1, (SELECT id FROM `sys_permission` WHERE `code` = 'merchant'), UNIX_TIMESTAMP(NOW()) * 1000, UNIX_TIMESTAMP(NOW()) * 1000 FROM DUAL WHERE NOT EXISTS (SELECT 1 FROM `sys_permission` WHERE `code` = 'system:merchant:list');
+INSERT INTO `sys_permission` (`code`, `name`, `description`, `type`, `path`, `component`, `icon`, `sort`, `parent_id`, `create_time`, `update_time`) SELECT 'system:merchant:add', '添加商户', '添加商户', 'button', null, null, null, 2, (SELECT id FROM `sys_permission` WHERE `code` = 'merchant'), UNIX_TIMESTAMP(NOW()) * 1000, UNIX_TIMESTAMP(NOW()) * 1000 FROM DUAL WHERE NOT EXISTS (SELECT 1 FROM `sys_permission` WHERE `code` = 'system:merchant:add');
+INSERT INTO `sys_permission` (`code`, `name`, `description`, `type`, `path`, `component`, `icon`, `sort`, `parent_id`, `create_time`, `update_time`) SELECT 'system:merchant:edit', '编辑商户', '编辑商户及修改状态', 'button', null, null, null, 3, (SELECT id FROM `sys_permission` WHERE `code` = 'merchant'), UNIX_TIMESTAMP(NOW()) * 1000, UNIX_TIMESTAMP(NOW()) * 1000 FROM DUAL WHERE NOT EXISTS (SELECT 1 FROM `sys_permission` WHERE `code` = 'system:merchant:edit');
+INSERT INTO `sys_permission` (`code`, `name`, `description`, `type`, `path`, `component`, `icon`, `sort`, `parent_id`, `create_time`, `update_time`) SELECT 'system:merchant:delete', '删除商户', '删除商户', 'button', null, null, null, 4, (SELECT id FROM `sys_permission` WHERE `code` = 'merchant'), UNIX_TIMESTAMP(NOW()) * 1000, UNIX_TIMESTAMP(NOW()) * 1000 FROM DUAL WHERE NOT EXISTS (SELECT 1 FROM `sys_permission` WHERE `code` = 'system:merchant:delete');
+INSERT INTO `sys_permission` (`code`, `name`, `description`, `type`, `path`, `component`, `icon`, `sort`, `parent_id`, `create_time`, `update_time`) SELECT 'system:merchant:query', '查询商户', '查询商户详情', 'button', null, null, null, 5, (SELECT id FROM `sys_permission` WHERE `code` = 'merchant'), UNIX_TIMESTAMP(NOW()) * 1000, UNIX_TIMESTAMP(NOW()) * 1000 FROM DUAL WHERE NOT EXISTS (SELECT 1 FROM `sys_permission` WHERE `code` = 'system:merchant:query');
+
 -- 为管理员角色分配所有权限
 INSERT INTO `sys_role_permission` (`role_id`, `permission_id`) SELECT (SELECT id FROM `sys_role` WHERE `code` = 'ADMIN'), p.id FROM `sys_permission` p WHERE NOT EXISTS (SELECT 1 FROM `sys_role_permission` rp WHERE rp.role_id = (SELECT id FROM `sys_role` WHERE `code` = 'ADMIN') AND rp.permission_id = p.id);
 
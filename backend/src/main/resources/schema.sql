@@ -13,6 +13,7 @@ CREATE TABLE IF NOT EXISTS `sys_user` (
   `enabled` tinyint(1) NOT NULL DEFAULT '1' COMMENT '是否启用：1-启用，0-禁用',
   `create_time` bigint(20) NOT NULL DEFAULT 0 COMMENT '创建时间',
   `update_time` bigint(20) NOT NULL DEFAULT 0 COMMENT '更新时间',
+  `version` int(11) NOT NULL DEFAULT 0 COMMENT '乐观锁版本号',
   `deleted` tinyint(1) NOT NULL DEFAULT '0' COMMENT '是否删除：1-已删除，0-未删除',
   PRIMARY KEY (`id`),
   UNIQUE KEY `uk_username` (`username`),
@@ -27,6 +28,7 @@ CREATE TABLE IF NOT EXISTS `sys_role` (
   `description` varchar(255) DEFAULT NULL COMMENT '角色描述',
   `create_time` bigint(20) NOT NULL DEFAULT 0 COMMENT '创建时间',
   `update_time` bigint(20) NOT NULL DEFAULT 0 COMMENT '更新时间',
+  `version` int(11) NOT NULL DEFAULT 0 COMMENT '乐观锁版本号',
   `deleted` tinyint(1) NOT NULL DEFAULT '0' COMMENT '是否删除：1-已删除，0-未删除',
   PRIMARY KEY (`id`),
   UNIQUE KEY `uk_code` (`code`)
@@ -46,6 +48,7 @@ CREATE TABLE IF NOT EXISTS `sys_permission` (
   `parent_id` bigint(20) DEFAULT '0' COMMENT '父权限ID',
   `create_time` bigint(20) NOT NULL DEFAULT 0 COMMENT '创建时间',
   `update_time` bigint(20) NOT NULL DEFAULT 0 COMMENT '更新时间',
+  `version` int(11) NOT NULL DEFAULT 0 COMMENT '乐观锁版本号',
   `deleted` tinyint(1) NOT NULL DEFAULT '0' COMMENT '是否删除：1-已删除，0-未删除',
   PRIMARY KEY (`id`),
   UNIQUE KEY `uk_code` (`code`)
@@ -72,3 +75,175 @@ CREATE TABLE IF NOT EXISTS `sys_role_permission` (
   KEY `idx_permission_id` (`permission_id`),
   KEY `idx_role_id` (`role_id`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='角色权限关联表';
+
+-- 缓存失效事件表（多节点缓存失效 outbox）
+CREATE TABLE IF NOT EXISTS `sys_cache_event` (
+  `id` bigint(20) NOT NULL AUTO_INCREMENT COMMENT '主键ID',
+  `region` varchar(50) NOT NULL COMMENT '缓存区域',
+  `entity_id` bigint(20) DEFAULT NULL COMMENT '实体ID，为空表示整个区域',
+  `node_id` varchar(100) NOT NULL COMMENT '发布节点',
+  `create_time` bigint(20) NOT NULL DEFAULT 0 COMMENT '创建时间',
+  PRIMARY KEY (`id`),
+  KEY `idx_create_time` (`create_time`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='缓存失效事件表';
+
+-- 审计日志表（按 create_time 按月分区，分区由 AuditPartitionManager 维护）
+CREATE TABLE IF NOT EXISTS `sys_audit_log` (
+  `id` bigint(20) NOT NULL AUTO_INCREMENT COMMENT '主键ID',
+  `operator_id` bigint(20) DEFAULT NULL COMMENT '操作人ID',
+  `operator_name` varchar(50) DEFAULT NULL COMMENT '操作人用户名',
+  `action` varchar(20) NOT NULL COMMENT '操作类型',
+  `target_type` varchar(20) NOT NULL COMMENT '操作对象类型',
+  `target_id` bigint(20) DEFAULT NULL COMMENT '操作对象ID',
+  `detail` text COMMENT '变更详情',
+  `create_time` bigint(20) NOT NULL DEFAULT 0 COMMENT '创建时间',
+  PRIMARY KEY (`id`, `create_time`),
+  KEY `idx_target` (`target_type`, `target_id`, `create_time`),
+  KEY `idx_operator` (`operator_id`, `create_time`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='审计日志表'
+PARTITION BY RANGE (`create_time`) (
+  PARTITION p_future VALUES LESS THAN MAXVALUE
+);
+
+-- 商户表（按千万级数据量设计：列表按 id 倒序做键集分页，筛选条件都有对应的联合索引，
+-- 名称、编码只支持前缀匹配以便走索引）
+CREATE TABLE IF NOT EXISTS `sys_merchant` (
+  `id` bigint(20) NOT NULL AUTO_INCREMENT COMMENT '主键ID',
+  `code` varchar(64) NOT NULL COMMENT '商户编码',
+  `name` varchar(128) NOT NULL COMMENT '商户名称',
+  `contact_person` varchar(64) NOT NULL COMMENT '联系人',
+  `contact_phone` varchar(32) NOT NULL COMMENT '联系电话',
+  `email` varchar(100) DEFAULT NULL COMMENT '邮箱',
+  `address` varchar(255) DEFAULT NULL COMMENT '地址',
+  `status` varchar(16) NOT NULL DEFAULT 'active' COMMENT '状态：active-启用，inactive-禁用',
+  `business_type` varchar(64) DEFAULT NULL COMMENT '业务类型',
+  `description` varchar(500) DEFAULT NULL COMMENT '描述',
+  `create_time` bigint(20) NOT NULL DEFAULT 0 COMMENT '创建时间',
+  `update_time` bigint(20) NOT NULL DEFAULT 0 COMMENT '更新时间',
+  `deleted` tinyint(1) NOT NULL DEFAULT '0' COMMENT '是否删除：1-已删除，0-未删除',
+  PRIMARY KEY (`id`),
+  UNIQUE KEY `uk_code` (`code`),
+  KEY `idx_deleted_id` (`deleted`, `id`),
+  KEY `idx_name` (`deleted`, `name`),
+  KEY `idx_status` (`deleted`, `status`, `id`),
+  KEY `idx_business_type_status` (`deleted`, `business_type`, `status`, `id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='商户表';
+
+-- 归档表：逻辑删除的数据由 SoftDeleteArchiver 分批从热表移入，结构与热表相同，
+-- 去掉唯一键（同名数据可以多次删除归档），增加归档时间
+CREATE TABLE IF NOT EXISTS `sys_user_archive` (
+  `id` bigint(20) NOT NULL COMMENT '主键ID',
+  `username` varchar(50) NOT NULL COMMENT '用户名',
+  `password` varchar(100) NOT NULL COMMENT '密码',
+  `email` varchar(100) NOT NULL COMMENT '邮箱',
+  `full_name` varchar(100) DEFAULT NULL COMMENT '姓名',
+  `enabled` tinyint(1) NOT NULL DEFAULT '1' COMMENT '是否启用：1-启用，0-禁用',
+  `create_time` bigint(20) NOT NULL DEFAULT 0 COMMENT '创建时间',
+  `update_time` bigint(20) NOT NULL DEFAULT 0 COMMENT '更新时间',
+  `version` int(11) NOT NULL DEFAULT 0 COMMENT '乐观锁版本号',
+  `deleted` tinyint(1) NOT NULL DEFAULT '1' COMMENT '是否删除',
+  `archived_time` bigint(20) NOT NULL COMMENT '归档时间',
+  PRIMARY KEY (`id`),
+  KEY `idx_username` (`username`),
+  KEY `idx_archived_time` (`archived_time`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='用户归档表';
+
+CREATE TABLE IF NOT EXISTS `sys_role_archive` (
+  `id` bigint(20) NOT NULL COMMENT '主键ID',
+  `name` varchar(50) NOT NULL COMMENT '角色名称',
+  `code` varchar(50) NOT NULL COMMENT '角色编码',
+  `description` varchar(255) DEFAULT NULL COMMENT '角色描述',
+  `create_time` bigint(20) NOT NULL DEFAULT 0 COMMENT '创建时间',
+  `update_time` bigint(20) NOT NULL DEFAULT 0 COMMENT '更新时间',
+  `version` int(11) NOT NULL DEFAULT 0 COMMENT '乐观锁版本号',
+  `deleted` tinyint(1) NOT NULL DEFAULT '1' COMMENT '是否删除',
+  `archived_time` bigint(20) NOT NULL COMMENT '归档时间',
+  PRIMARY KEY (`id`),
+  KEY `idx_archived_time` (`archived_time`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='角色归档表';
+
+CREATE TABLE IF NOT EXISTS `sys_permission_archive` (
+  `id` bigint(20) NOT NULL COMMENT '主键ID',
+  `code` varchar(100) NOT NULL COMMENT '权限编码',
+  `name` varchar(50) NOT NULL COMMENT '权限名称',
+  `description` varchar(255) DEFAULT NULL COMMENT '权限描述',
+  `type` varchar(20) NOT NULL COMMENT '权限类型：menu-菜单，button-按钮',
+  `path` varchar(255) DEFAULT NULL COMMENT '前端路由路径',
+  `component` varchar(255) DEFAULT NULL COMMENT '前端组件路径',
+  `icon` varchar(50) DEFAULT NULL COMMENT '图标',
+  `sort` int(11) DEFAULT '0' COMMENT '排序',
+  `parent_id` bigint(20) DEFAULT '0' COMMENT '父权限ID',
+  `create_time` bigint(20) NOT NULL DEFAULT 0 COMMENT '创建时间',
+  `update_time` bigint(20) NOT NULL DEFAULT 0 COMMENT '更新时间',
+  `version` int(11) NOT NULL DEFAULT 0 COMMENT '乐观锁版本号',
+  `deleted` tinyint(1) NOT NULL DEFAULT '1' COMMENT '是否删除',
+  `archived_time` bigint(20) NOT NULL COMMENT '归档时间',
+  PRIMARY KEY (`id`),
+  KEY `idx_archived_time` (`archived_time`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='权限归档表';
+
+CREATE TABLE IF NOT EXISTS `sys_merchant_archive` (
+  `id` bigint(20) NOT NULL COMMENT '主键ID',
+  `code` varchar(64) NOT NULL COMMENT '商户编码',
+  `name` varchar(128) NOT NULL COMMENT '商户名称',
+  `contact_person` varchar(64) NOT NULL COMMENT '联系人',
+  `contact_phone` varchar(32) NOT NULL COMMENT '联系电话',
+  `email` varchar(100) DEFAULT NULL COMMENT '邮箱',
+  `address` varchar(255) DEFAULT NULL COMMENT '地址',
+  `status` varchar(16) NOT NULL DEFAULT 'active' COMMENT '状态',
+  `business_type` varchar(64) DEFAULT NULL COMMENT '业务类型',
+  `description` varchar(500) DEFAULT NULL COMMENT '描述',
+  `create_time` bigint(20) NOT NULL DEFAULT 0 COMMENT '创建时间',
+  `update_time` bigint(20) NOT NULL DEFAULT 0 COMMENT '更新时间',
+  `deleted` tinyint(1) NOT NULL DEFAULT '1' COMMENT '是否删除',
+  `archived_time` bigint(20) NOT NULL COMMENT '归档时间',
+  PRIMARY KEY (`id`),
+  KEY `idx_code` (`code`),
+  KEY `idx_archived_time` (`archived_time`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='商户归档表';
+
+CREATE TABLE IF NOT EXISTS `sys_user_role_archive` (
+  `id` bigint(20) NOT NULL COMMENT '主键ID',
+  `user_id` bigint(20) NOT NULL COMMENT '用户ID',
+  `role_id` bigint(20) NOT NULL COMMENT '角色ID',
+  `archived_time` bigint(20) NOT NULL COMMENT '归档时间',
+  PRIMARY KEY (`id`),
+  KEY `idx_user_id` (`user_id`),
+  KEY `idx_role_id` (`role_id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='用户角色关联归档表';
+
+CREATE TABLE IF NOT EXISTS `sys_role_permission_archive` (
+  `id` bigint(20) NOT NULL COMMENT '主键ID',
+  `role_id` bigint(20) NOT NULL COMMENT '角色ID',
+  `permission_id` bigint(20) NOT NULL COMMENT '权限ID',
+  `archived_time` bigint(20) NOT NULL COMMENT '归档时间',
+  PRIMARY KEY (`id`),
+  KEY `idx_role_id` (`role_id`),
+  KEY `idx_permission_id` (`permission_id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='角色权限关联归档表';
+
+-- 用户全局索引表（开启分库时使用，见 UserShardRouter）：新用户在这里登记，用户数据按ID哈希分布到各分片，
+-- 按用户名登录时据此定位分片，用户名、邮箱的跨分片唯一性由这里的唯一键保证
+CREATE TABLE IF NOT EXISTS `sys_user_index` (
+  `id` bigint(20) NOT NULL AUTO_INCREMENT COMMENT '用户ID',
+  `username` varchar(50) NOT NULL COMMENT '用户名',
+  `email` varchar(100) NOT NULL COMMENT '邮箱',
+  `create_time` bigint(20) NOT NULL DEFAULT 0 COMMENT '创建时间',
+  PRIMARY KEY (`id`),
+  UNIQUE KEY `uk_username` (`username`),
+  UNIQUE KEY `uk_email` (`email`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='用户全局索引表';
+
+-- ID 生成器节点号租约表（见 SnowflakeIdGenerator），每个节点占用一个节点号并定时续约
+CREATE TABLE IF NOT EXISTS `sys_id_worker` (
+  `worker_id` int(11) NOT NULL COMMENT '节点号',
+  `owner` varchar(100) NOT NULL COMMENT '持有者（主机名-进程号-随机串）',
+  `heartbeat_time` bigint(20) NOT NULL DEFAULT 0 COMMENT '最近续约时间，0 表示已释放',
+  `last_timestamp` bigint(20) NOT NULL DEFAULT 0 COMMENT '持有者最后使用的ID时间戳',
+  PRIMARY KEY (`worker_id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='ID 生成器节点号租约表';
+
+-- 已有库升级：乐观锁版本号（新建库时列已存在，重复添加的报错会被忽略）
+ALTER TABLE `sys_user` ADD COLUMN `version` int(11) NOT NULL DEFAULT 0 COMMENT '乐观锁版本号' AFTER `update_time`;
+ALTER TABLE `sys_role` ADD COLUMN `version` int(11) NOT NULL DEFAULT 0 COMMENT '乐观锁版本号' AFTER `update_time`;
+ALTER TABLE `sys_permission` ADD COLUMN `version` int(11) NOT NULL DEFAULT 0 COMMENT '乐观锁版本号' AFTER `update_time`;
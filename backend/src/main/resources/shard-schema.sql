@@ -0,0 +1,100 @@
+-- 分片库结构（开启分库时由 SchemaInitializer 在每个分片上执行，见 schema-init.shard-locations）
+-- 分片的库名由 sharding.shards[].url 决定，这里不创建数据库
+
+-- 用户数据：按用户ID分布，id 由主库 sys_user_index 分配，不使用本表自增
+CREATE TABLE IF NOT EXISTS `sys_user` (
+  `id` bigint(20) NOT NULL AUTO_INCREMENT COMMENT '主键ID',
+  `username` varchar(50) NOT NULL COMMENT '用户名',
+  `password` varchar(100) NOT NULL COMMENT '密码',
+  `email` varchar(100) NOT NULL COMMENT '邮箱',
+  `full_name` varchar(100) DEFAULT NULL COMMENT '姓名',
+  `enabled` tinyint(1) NOT NULL DEFAULT '1' COMMENT '是否启用：1-启用，0-禁用',
+  `create_time` bigint(20) NOT NULL DEFAULT 0 COMMENT '创建时间',
+  `update_time` bigint(20) NOT NULL DEFAULT 0 COMMENT '更新时间',
+  `version` int(11) NOT NULL DEFAULT 0 COMMENT '乐观锁版本号',
+  `deleted` tinyint(1) NOT NULL DEFAULT '0' COMMENT '是否删除：1-已删除，0-未删除',
+  PRIMARY KEY (`id`),
+  UNIQUE KEY `uk_username` (`username`),
+  UNIQUE KEY `uk_email` (`email`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='用户表';
+
+CREATE TABLE IF NOT EXISTS `sys_user_role` (
+  `id` bigint(20) NOT NULL AUTO_INCREMENT COMMENT '主键ID',
+  `user_id` bigint(20) NOT NULL COMMENT '用户ID',
+  `role_id` bigint(20) NOT NULL COMMENT '角色ID',
+  PRIMARY KEY (`id`),
+  UNIQUE KEY `uk_user_role` (`user_id`,`role_id`),
+  KEY `idx_role_id` (`role_id`),
+  KEY `idx_user_id` (`user_id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='用户角色关联表';
+
+-- 角色、权限主数据：主库的副本，由 ShardMaintenance 从主库整表同步，不要直接修改
+CREATE TABLE IF NOT EXISTS `sys_role` (
+  `id` bigint(20) NOT NULL AUTO_INCREMENT COMMENT '主键ID',
+  `name` varchar(50) NOT NULL COMMENT '角色名称',
+  `code` varchar(50) NOT NULL COMMENT '角色编码',
+  `description` varchar(255) DEFAULT NULL COMMENT '角色描述',
+  `create_time` bigint(20) NOT NULL DEFAULT 0 COMMENT '创建时间',
+  `update_time` bigint(20) NOT NULL DEFAULT 0 COMMENT '更新时间',
+  `version` int(11) NOT NULL DEFAULT 0 COMMENT '乐观锁版本号',
+  `deleted` tinyint(1) NOT NULL DEFAULT '0' COMMENT '是否删除：1-已删除，0-未删除',
+  PRIMARY KEY (`id`),
+  UNIQUE KEY `uk_code` (`code`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='角色表';
+
+CREATE TABLE IF NOT EXISTS `sys_permission` (
+  `id` bigint(20) NOT NULL AUTO_INCREMENT COMMENT '主键ID',
+  `code` varchar(100) NOT NULL COMMENT '权限编码',
+  `name` varchar(50) NOT NULL COMMENT '权限名称',
+  `description` varchar(255) DEFAULT NULL COMMENT '权限描述',
+  `type` varchar(20) NOT NULL COMMENT '权限类型：menu-菜单，button-按钮',
+  `path` varchar(255) DEFAULT NULL COMMENT '前端路由路径',
+  `component` varchar(255) DEFAULT NULL COMMENT '前端组件路径',
+  `icon` varchar(50) DEFAULT NULL COMMENT '图标',
+  `sort` int(11) DEFAULT '0' COMMENT '排序',
+  `parent_id` bigint(20) DEFAULT '0' COMMENT '父权限ID',
+  `create_time` bigint(20) NOT NULL DEFAULT 0 COMMENT '创建时间',
+  `update_time` bigint(20) NOT NULL DEFAULT 0 COMMENT '更新时间',
+  `version` int(11) NOT NULL DEFAULT 0 COMMENT '乐观锁版本号',
+  `deleted` tinyint(1) NOT NULL DEFAULT '0' COMMENT '是否删除：1-已删除，0-未删除',
+  PRIMARY KEY (`id`),
+  UNIQUE KEY `uk_code` (`code`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='权限表';
+
+CREATE TABLE IF NOT EXISTS `sys_role_permission` (
+  `id` bigint(20) NOT NULL AUTO_INCREMENT COMMENT '主键ID',
+  `role_id` bigint(20) NOT NULL COMMENT '角色ID',
+  `permission_id` bigint(20) NOT NULL COMMENT '权限ID',
+  PRIMARY KEY (`id`),
+  UNIQUE KEY `uk_role_permission` (`role_id`,`permission_id`),
+  KEY `idx_permission_id` (`permission_id`),
+  KEY `idx_role_id` (`role_id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='角色权限关联表';
+
+-- 归档表：分片上逻辑删除的用户及其角色关系由 SoftDeleteArchiver 在各分片上归档
+CREATE TABLE IF NOT EXISTS `sys_user_archive` (
+  `id` bigint(20) NOT NULL COMMENT '主键ID',
+  `username` varchar(50) NOT NULL COMMENT '用户名',
+  `password` varchar(100) NOT NULL COMMENT '密码',
+  `email` varchar(100) NOT NULL COMMENT '邮箱',
+  `full_name` varchar(100) DEFAULT NULL COMMENT '姓名',
+  `enabled` tinyint(1) NOT NULL DEFAULT '1' COMMENT '是否启用：1-启用，0-禁用',
+  `create_time` bigint(20) NOT NULL DEFAULT 0 COMMENT '创建时间',
+  `update_time` bigint(20) NOT NULL DEFAULT 0 COMMENT '更新时间',
+  `version` int(11) NOT NULL DEFAULT 0 COMMENT '乐观锁版本号',
+  `deleted` tinyint(1) NOT NULL DEFAULT '1' COMMENT '是否删除',
+  `archived_time` bigint(20) NOT NULL COMMENT '归档时间',
+  PRIMARY KEY (`id`),
+  KEY `idx_username` (`username`),
+  KEY `idx_archived_time` (`archived_time`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='用户归档表';
+
+CREATE TABLE IF NOT EXISTS `sys_user_role_archive` (
+  `id` bigint(20) NOT NULL COMMENT '主键ID',
+  `user_id` bigint(20) NOT NULL COMMENT '用户ID',
+  `role_id` bigint(20) NOT NULL COMMENT '角色ID',
+  `archived_time` bigint(20) NOT NULL COMMENT '归档时间',
+  PRIMARY KEY (`id`),
+  KEY `idx_user_id` (`user_id`),
+  KEY `idx_role_id` (`role_id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='用户角色关联归档表';
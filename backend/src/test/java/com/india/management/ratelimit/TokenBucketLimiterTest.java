@@ -0,0 +1,36 @@
+package com.india.management.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 桶数量达到上限后新键共用溢出桶，以及规则参数校验
+ */
+class TokenBucketLimiterTest {
+
+    @Test
+    void newKeysShareOverflowBucketWhenFull() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter("test", 2, 0.001, 1);
+
+        assertEquals(0, limiter.tryAcquire("alice"));
+        // 桶表已满，不断更换的新键共用一个容量为 2 的溢出桶
+        assertEquals(0, limiter.tryAcquire("bob"));
+        assertEquals(0, limiter.tryAcquire("carol"));
+        assertTrue(limiter.tryAcquire("dave") > 0);
+        assertEquals(3L, limiter.statistics().get("overflow"));
+        // 已有桶的键不受溢出桶影响
+        assertEquals(0, limiter.tryAcquire("alice"));
+        assertTrue(limiter.tryAcquire("alice") > 0);
+    }
+
+    @Test
+    void rejectsInvalidRules() {
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucketLimiter("test", 0, 1, 10));
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucketLimiter("test", 5, 0, 10));
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucketLimiter("test", 5, Double.NaN, 10));
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucketLimiter("test", Integer.MAX_VALUE, 1e-9, 10));
+    }
+}
@@ -0,0 +1,272 @@
+package com.india.management.rbac;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 以 java.util.BitSet 为对照：随机增删、交并差、分页取出的结果一致，覆盖 4096 个元素的数组/位图容器转换和多桶
+ */
+class RoaringBitmapTest {
+
+    private static final int BUCKET = 1 << 16;
+
+    @Test
+    void randomOperationsMatchBitSet() {
+        for (long seed = 1; seed <= 20; seed++) {
+            Random random = new Random(seed);
+            // 值域跨 3 个桶；密度有时低于、有时高于 4096 个/桶，两种容器都会出现
+            int range = 3 * BUCKET;
+            int operations = random.nextBoolean() ? 3_000 : 30_000;
+            BitSet expectedA = new BitSet();
+            BitSet expectedB = new BitSet();
+            RoaringBitmap a = new RoaringBitmap();
+            RoaringBitmap b = new RoaringBitmap();
+            for (int i = 0; i < operations; i++) {
+                mutate(random, range, a, expectedA);
+                mutate(random, range, b, expectedB);
+            }
+            assertMatches(expectedA, a, random);
+            assertMatches(expectedB, b, random);
+
+            assertMatches(and(expectedA, expectedB), RoaringBitmap.and(a, b), random);
+            assertMatches(or(expectedA, expectedB), RoaringBitmap.or(a, b), random);
+            assertMatches(andNot(expectedA, expectedB), RoaringBitmap.andNot(a, b), random);
+            assertMatches(andNot(expectedB, expectedA), RoaringBitmap.andNot(b, a), random);
+            // 集合运算不修改参数
+            assertMatches(expectedA, a, random);
+            assertMatches(expectedB, b, random);
+        }
+    }
+
+    @Test
+    void randomOperationsAroundArrayLimit() {
+        // 一个桶内 8192 个候选值、增删各半，元素数在 4096 上下反复穿越，两种容器来回转换
+        Random random = new Random(7);
+        int base = 3 * BUCKET;
+        BitSet expected = new BitSet();
+        RoaringBitmap bitmap = new RoaringBitmap();
+        for (int i = 0; i < 4096; i++) {
+            add(bitmap, expected, base + i * 2);
+        }
+        for (int i = 0; i < 50_000; i++) {
+            int value = base + random.nextInt(8192);
+            if (random.nextBoolean()) {
+                add(bitmap, expected, value);
+            } else {
+                remove(bitmap, expected, value);
+            }
+            if (i % 5_000 == 0) {
+                assertMatches(expected, bitmap, random);
+            }
+        }
+        assertMatches(expected, bitmap, random);
+
+        RoaringBitmap other = new RoaringBitmap();
+        BitSet expectedOther = new BitSet();
+        for (int i = 0; i < 4097; i++) {
+            add(other, expectedOther, base + random.nextInt(8192));
+        }
+        assertMatches(and(expected, expectedOther), RoaringBitmap.and(bitmap, other), random);
+        assertMatches(or(expected, expectedOther), RoaringBitmap.or(bitmap, other), random);
+        assertMatches(andNot(expected, expectedOther), RoaringBitmap.andNot(bitmap, other), random);
+        assertMatches(andNot(expectedOther, expected), RoaringBitmap.andNot(other, bitmap), random);
+    }
+
+    @Test
+    void containerConvertsAtArrayLimit() {
+        RoaringBitmap bitmap = new RoaringBitmap();
+        BitSet expected = new BitSet();
+        for (int i = 0; i < 4096; i++) {
+            add(bitmap, expected, i * 16);
+        }
+        assertMatches(expected, bitmap, new Random(1));
+        assertEquals(3 + 4096 * 2, bitmap.sizeInBytes());
+
+        // 第 4097 个元素转为位图容器
+        add(bitmap, expected, 1);
+        assertMatches(expected, bitmap, new Random(2));
+        assertEquals(3 + 8192, bitmap.sizeInBytes());
+
+        // 删回 4096 个以内转回数组容器，之后照常增删
+        remove(bitmap, expected, 1);
+        remove(bitmap, expected, 16);
+        assertMatches(expected, bitmap, new Random(3));
+        assertEquals(3 + 4095 * 2, bitmap.sizeInBytes());
+        add(bitmap, expected, 2);
+        add(bitmap, expected, 3);
+        assertMatches(expected, bitmap, new Random(4));
+        assertEquals(3 + 8192, bitmap.sizeInBytes());
+    }
+
+    @Test
+    void setOperationsCrossArrayLimit() {
+        // 两个数组容器合并超过 4096 个得到位图，两个位图相交不超过 4096 个得到数组
+        RoaringBitmap evens = new RoaringBitmap();
+        RoaringBitmap odds = new RoaringBitmap();
+        BitSet expectedEvens = new BitSet();
+        BitSet expectedOdds = new BitSet();
+        for (int i = 0; i < 4096; i++) {
+            add(evens, expectedEvens, i * 2);
+            add(odds, expectedOdds, i * 2 + 1);
+        }
+        Random random = new Random(5);
+        RoaringBitmap union = RoaringBitmap.or(evens, odds);
+        assertMatches(or(expectedEvens, expectedOdds), union, random);
+        assertEquals(3 + 8192, union.sizeInBytes());
+
+        RoaringBitmap low = new RoaringBitmap();
+        RoaringBitmap high = new RoaringBitmap();
+        BitSet expectedLow = new BitSet();
+        BitSet expectedHigh = new BitSet();
+        for (int i = 0; i < 6000; i++) {
+            add(low, expectedLow, i);
+            add(high, expectedHigh, i + 3000);
+        }
+        RoaringBitmap intersection = RoaringBitmap.and(low, high);
+        assertMatches(and(expectedLow, expectedHigh), intersection, random);
+        assertEquals(3 + 3000 * 2, intersection.sizeInBytes());
+
+        RoaringBitmap difference = RoaringBitmap.andNot(low, high);
+        assertMatches(andNot(expectedLow, expectedHigh), difference, random);
+        assertEquals(3 + 3000 * 2, difference.sizeInBytes());
+
+        // 差集把整桶删空时不保留空桶
+        assertTrue(RoaringBitmap.andNot(evens, union).isEmpty());
+        assertEquals(0, RoaringBitmap.andNot(evens, union).sizeInBytes());
+    }
+
+    @Test
+    void multiBucketValuesAndSlices() {
+        RoaringBitmap bitmap = new RoaringBitmap();
+        BitSet expected = new BitSet();
+        int[] values = {0, BUCKET - 1, BUCKET, BUCKET + 1, 5 * BUCKET, 5 * BUCKET + 4095,
+                40 * BUCKET, 41 * BUCKET - 2, 41 * BUCKET - 1};
+        for (int value : values) {
+            add(bitmap, expected, value);
+        }
+        // 一个桶放满位图容器，分页时整桶跳过
+        for (int i = 0; i < 5000; i++) {
+            add(bitmap, expected, 2 * BUCKET + i * 3);
+        }
+        Random random = new Random(6);
+        assertMatches(expected, bitmap, random);
+
+        assertArrayEquals(new int[]{BUCKET, BUCKET + 1, 2 * BUCKET}, bitmap.slice(2, 3));
+        assertArrayEquals(new int[]{5 * BUCKET, 5 * BUCKET + 4095, 40 * BUCKET},
+                bitmap.slice(4 + 5000, 3));
+        assertArrayEquals(new int[]{41 * BUCKET - 1}, bitmap.slice(bitmap.cardinality() - 1, 10));
+        assertArrayEquals(new int[0], bitmap.slice(bitmap.cardinality(), 10));
+
+        remove(bitmap, expected, 41 * BUCKET - 1);
+        remove(bitmap, expected, BUCKET - 1);
+        remove(bitmap, expected, 0);
+        assertMatches(expected, bitmap, random);
+
+        RoaringBitmap other = new RoaringBitmap();
+        BitSet expectedOther = new BitSet();
+        for (int value : new int[]{BUCKET, 3 * BUCKET, 5 * BUCKET + 4095, 41 * BUCKET - 2}) {
+            add(other, expectedOther, value);
+        }
+        assertMatches(and(expected, expectedOther), RoaringBitmap.and(bitmap, other), random);
+        assertMatches(or(expected, expectedOther), RoaringBitmap.or(bitmap, other), random);
+        assertMatches(andNot(expected, expectedOther), RoaringBitmap.andNot(bitmap, other), random);
+        assertMatches(andNot(expectedOther, expected), RoaringBitmap.andNot(other, bitmap), random);
+    }
+
+    @Test
+    void highestBucketKeepsValuesNonNegative() {
+        // 最高的桶键 0x7FFF 左移 16 位仍是非负数；BitSet 放不下这么大的下标，直接断言
+        RoaringBitmap bitmap = new RoaringBitmap();
+        bitmap.add(Integer.MAX_VALUE);
+        bitmap.add(Integer.MAX_VALUE - BUCKET);
+        bitmap.add(7);
+        assertTrue(bitmap.contains(Integer.MAX_VALUE));
+        assertArrayEquals(new int[]{7, Integer.MAX_VALUE - BUCKET, Integer.MAX_VALUE}, bitmap.slice(0, 10));
+        assertArrayEquals(new int[]{Integer.MAX_VALUE}, bitmap.slice(2, 10));
+
+        RoaringBitmap other = new RoaringBitmap();
+        other.add(Integer.MAX_VALUE);
+        assertArrayEquals(new int[]{Integer.MAX_VALUE}, RoaringBitmap.and(bitmap, other).slice(0, 10));
+        assertArrayEquals(new int[]{7, Integer.MAX_VALUE - BUCKET},
+                RoaringBitmap.andNot(bitmap, other).slice(0, 10));
+        bitmap.remove(Integer.MAX_VALUE);
+        assertEquals(2, bitmap.cardinality());
+    }
+
+    private static void mutate(Random random, int range, RoaringBitmap bitmap, BitSet expected) {
+        int value = random.nextInt(range);
+        if (random.nextInt(4) == 0) {
+            remove(bitmap, expected, value);
+        } else {
+            add(bitmap, expected, value);
+        }
+    }
+
+    private static void add(RoaringBitmap bitmap, BitSet expected, int value) {
+        bitmap.add(value);
+        expected.set(value);
+    }
+
+    private static void remove(RoaringBitmap bitmap, BitSet expected, int value) {
+        bitmap.remove(value);
+        expected.clear(value);
+    }
+
+    /**
+     * 元素个数、升序遍历、随机抽查 contains 和随机分页都与 BitSet 一致
+     */
+    private static void assertMatches(BitSet expected, RoaringBitmap actual, Random random) {
+        int[] values = expected.stream().toArray();
+        assertEquals(values.length, actual.cardinality());
+        assertEquals(values.length == 0, actual.isEmpty());
+
+        IntStream.Builder iterated = IntStream.builder();
+        actual.forEach(iterated::add);
+        assertArrayEquals(values, iterated.build().toArray());
+        assertArrayEquals(values, actual.slice(0, values.length));
+        assertArrayEquals(values, actual.copy().slice(0, Integer.MAX_VALUE));
+
+        int bound = values.length == 0 ? 1 : values[values.length - 1] + 2;
+        for (int i = 0; i < 200; i++) {
+            // 一半抽查已有元素的相邻值，一半在值域内随机
+            int probe = values.length > 0 && random.nextBoolean()
+                    ? Math.max(0, values[random.nextInt(values.length)] + random.nextInt(3) - 1)
+                    : random.nextInt(bound);
+            assertEquals(expected.get(probe), actual.contains(probe), "contains(" + probe + ")");
+        }
+        for (int i = 0; i < 20; i++) {
+            int offset = random.nextInt(values.length + 2);
+            int limit = random.nextInt(6000);
+            int from = Math.min(offset, values.length);
+            int to = (int) Math.min((long) from + limit, values.length);
+            assertArrayEquals(Arrays.copyOfRange(values, from, to), actual.slice(offset, limit),
+                    "slice(" + offset + ", " + limit + ")");
+        }
+    }
+
+    private static BitSet and(BitSet a, BitSet b) {
+        BitSet result = (BitSet) a.clone();
+        result.and(b);
+        return result;
+    }
+
+    private static BitSet or(BitSet a, BitSet b) {
+        BitSet result = (BitSet) a.clone();
+        result.or(b);
+        return result;
+    }
+
+    private static BitSet andNot(BitSet a, BitSet b) {
+        BitSet result = (BitSet) a.clone();
+        result.andNot(b);
+        return result;
+    }
+}
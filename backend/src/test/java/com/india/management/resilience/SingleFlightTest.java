@@ -0,0 +1,96 @@
+package com.india.management.resilience;
+
+import com.india.management.exception.DeadlineExceededException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * 加载方失败时等待者的处理：普通异常共享，加载方自己的截止时间造成的失败由等待者重新加载
+ */
+class SingleFlightTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+    private final SingleFlight<String, String> flight = new SingleFlight<>("test");
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void followerReloadsWhenLeaderExceedsItsDeadline() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> leader = startLeader(() -> {
+            await(release);
+            throw new DeadlineExceededException();
+        });
+        Future<String> follower = startFollower(() -> "reloaded");
+        release.countDown();
+
+        assertEquals("reloaded", follower.get(5, TimeUnit.SECONDS));
+        ExecutionException leaderFailure = assertThrows(ExecutionException.class, () -> leader.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(DeadlineExceededException.class, leaderFailure.getCause());
+        assertEquals(1L, flight.statistics().get("retried"));
+    }
+
+    @Test
+    void followerSharesOtherLeaderFailures() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        IllegalStateException failure = new IllegalStateException("数据库不可用");
+        Future<String> leader = startLeader(() -> {
+            await(release);
+            throw failure;
+        });
+        Future<String> follower = startFollower(() -> "reloaded");
+        release.countDown();
+
+        ExecutionException followerFailure = assertThrows(ExecutionException.class,
+                () -> follower.get(5, TimeUnit.SECONDS));
+        assertSame(failure, followerFailure.getCause());
+        assertThrows(ExecutionException.class, () -> leader.get(5, TimeUnit.SECONDS));
+        assertEquals(0L, flight.statistics().get("retried"));
+    }
+
+    private Future<String> startLeader(Supplier<String> loader) throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        Future<String> leader = executor.submit(() -> flight.load("key", () -> {
+            started.countDown();
+            return loader.get();
+        }));
+        started.await(5, TimeUnit.SECONDS);
+        return leader;
+    }
+
+    /**
+     * 启动等待者，返回前确认它已加入进行中的加载
+     */
+    private Future<String> startFollower(Supplier<String> loader) throws InterruptedException {
+        Future<String> follower = executor.submit(() -> flight.load("key", loader));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while ((long) flight.statistics().get("coalesced") == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        return follower;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
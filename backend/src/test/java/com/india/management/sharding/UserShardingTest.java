@@ -0,0 +1,222 @@
+package com.india.management.sharding;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.india.management.entity.Role;
+import com.india.management.entity.User;
+import com.india.management.entity.UserRole;
+import com.india.management.exception.ValidationException;
+import com.india.management.fieldset.EntityFields;
+import com.india.management.mapper.RoleMapper;
+import com.india.management.mapper.UserIndexMapper;
+import com.india.management.mapper.UserMapper;
+import com.india.management.mapper.UserRoleMapper;
+import com.india.management.service.AuthService;
+import com.india.management.service.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 用户分库：主库和两个分片都是内嵌的 H2（MySQL 兼容模式），经 SchemaInitializer、ShardMaintenance 完整启动
+ * <p>
+ * 建表脚本用 test/resources/sharding 下的 H2 版本（H2 的索引名在整个库内唯一，也不支持分区表）
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:paypro;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "schema-init.locations=classpath:sharding/schema.sql,classpath:sharding/data.sql",
+        "schema-init.shard-locations=classpath:sharding/shard-schema.sql",
+        "sharding.enabled=true",
+        "sharding.shards[0].url=jdbc:h2:mem:paypro_shard0;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "sharding.shards[0].driver-class-name=org.h2.Driver",
+        "sharding.shards[0].maximum-pool-size=4",
+        "sharding.shards[1].url=jdbc:h2:mem:paypro_shard1;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "sharding.shards[1].driver-class-name=org.h2.Driver",
+        "sharding.shards[1].maximum-pool-size=4",
+        "mybatis-plus.configuration.log-impl=org.apache.ibatis.logging.nologging.NoLoggingImpl",
+        "audit.enabled=false",
+        "archive.enabled=false",
+        "warmup.enabled=false",
+        "id-generator.worker-id=1"
+})
+class UserShardingTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private UserShardRouter router;
+
+    @Autowired
+    private UserMapper userMapper;
+
+    @Autowired
+    private UserRoleMapper userRoleMapper;
+
+    @Autowired
+    private UserIndexMapper userIndexMapper;
+
+    @Autowired
+    private RoleMapper roleMapper;
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void createUserWritesOwningShardAndGlobalIndex() {
+        Role admin = adminRole();
+        User user = userService.createUser(newUser("create_1", admin));
+
+        int owner = router.shardOf(user.getId());
+        assertNotNull(router.onShard(owner, () -> userMapper.selectById(user.getId())));
+        assertNull(router.onShard(1 - owner, () -> userMapper.selectById(user.getId())));
+        assertEquals(user.getId(), router.onPrimary(() -> userIndexMapper.selectIdByUsername("create_1")));
+
+        List<UserRole> userRoles = router.onShard(owner, () -> userRoleMapper.selectList(
+                new LambdaQueryWrapper<UserRole>().eq(UserRole::getUserId, user.getId())));
+        assertEquals(List.of(admin.getId()), userRoles.stream().map(UserRole::getRoleId).collect(Collectors.toList()));
+        // 角色主数据已同步到分片，关联查询在分片上原样执行
+        List<Role> roles = router.forUser(user.getId(), () -> roleMapper.selectRolesByUserId(user.getId()));
+        assertEquals(List.of("ADMIN"), roles.stream().map(Role::getCode).collect(Collectors.toList()));
+    }
+
+    @Test
+    void createUserRejectsUsernameTakenOnAnotherShard() {
+        Role admin = adminRole();
+        userService.createUser(newUser("taken_1", admin));
+
+        User duplicate = newUser("taken_1", admin);
+        duplicate.setEmail("taken_1_other@example.com");
+        assertThrows(DuplicateKeyException.class, () -> userService.createUser(duplicate));
+    }
+
+    @Test
+    void loginLocatesShardByUsername() {
+        User user = userService.createUser(newUser("login_1", adminRole()));
+
+        Map<String, Object> result = authService.login("login_1", "password123");
+        assertNotNull(result.get("token"));
+        assertEquals(user.getId(), ((User) result.get("user")).getId());
+    }
+
+    @Test
+    void loginFindsLegacyUserMigratedFromPrimary() {
+        // data.sql 在主库初始化的管理员由 ShardMaintenance 启动时迁入分片并建立索引
+        Long adminId = router.onPrimary(() -> userIndexMapper.selectIdByUsername("admin"));
+        assertNotNull(adminId);
+        assertNotNull(router.forUser(adminId, () -> userMapper.selectById(adminId)));
+
+        Map<String, Object> result = authService.login("admin", "admin");
+        assertEquals(adminId, ((User) result.get("user")).getId());
+    }
+
+    @Test
+    void getUserPageMergesShardsInIdOrder() {
+        Role admin = adminRole();
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            ids.add(userService.createUser(newUser("page_" + i, admin)).getId());
+        }
+        ids.sort(Comparator.naturalOrder());
+        assertEquals(2, ids.stream().map(router::shardOf).distinct().count(), "测试数据应分布在两个分片上");
+
+        Page<User> first = userService.getUserPage(1, 5, "page_", EntityFields.USER.all());
+        assertEquals(12, first.getTotal());
+        assertEquals(ids.subList(0, 5), first.getRecords().stream().map(User::getId).collect(Collectors.toList()));
+        assertTrue(first.getRecords().stream().allMatch(user -> user.getRoles().size() == 1));
+
+        Page<User> last = userService.getUserPage(3, 5, "page_", EntityFields.USER.all());
+        assertEquals(ids.subList(10, 12), last.getRecords().stream().map(User::getId).collect(Collectors.toList()));
+    }
+
+    @Test
+    void updateUserKeepsIndexAndShardConsistent() {
+        Role admin = adminRole();
+        User user = userService.createUser(newUser("update_1", admin));
+        int owner = router.shardOf(user.getId());
+
+        User patch = new User();
+        patch.setId(user.getId());
+        patch.setVersion(0);
+        patch.setUsername("update_1_renamed");
+        patch.setEmail("update_1_renamed@example.com");
+        userService.updateUser(patch);
+
+        assertNull(router.onPrimary(() -> userIndexMapper.selectIdByUsername("update_1")));
+        assertEquals(user.getId(), router.onPrimary(() -> userIndexMapper.selectIdByUsername("update_1_renamed")));
+        User stored = router.onShard(owner, () -> userMapper.selectById(user.getId()));
+        assertEquals("update_1_renamed", stored.getUsername());
+        assertEquals("update_1_renamed@example.com", stored.getEmail());
+        assertEquals(1, stored.getVersion());
+        assertEquals(user.getId(), userService.getUserByUsername("update_1_renamed").getId());
+    }
+
+    @Test
+    void updateUserConflictLeavesShardUnchanged() {
+        Role admin = adminRole();
+        userService.createUser(newUser("conflict_1", admin));
+        User user = userService.createUser(newUser("conflict_2", admin));
+
+        User patch = new User();
+        patch.setId(user.getId());
+        patch.setVersion(0);
+        patch.setUsername("conflict_1");
+        assertThrows(DuplicateKeyException.class, () -> userService.updateUser(patch));
+
+        User stored = router.forUser(user.getId(), () -> userMapper.selectById(user.getId()));
+        assertEquals("conflict_2", stored.getUsername());
+        assertEquals(0, stored.getVersion());
+        assertEquals(user.getId(), router.onPrimary(() -> userIndexMapper.selectIdByUsername("conflict_2")));
+    }
+
+    @Test
+    void updateUserRequiresVersion() {
+        User user = userService.createUser(newUser("noversion_1", adminRole()));
+
+        User patch = new User();
+        patch.setId(user.getId());
+        patch.setFullName("覆盖");
+        assertThrows(ValidationException.class, () -> userService.updateUser(patch));
+        assertEquals("noversion_1", router.forUser(user.getId(), () -> userMapper.selectById(user.getId())).getFullName());
+    }
+
+    private Role adminRole() {
+        return router.onPrimary(() -> roleMapper.selectOne(new LambdaQueryWrapper<Role>().eq(Role::getCode, "ADMIN")));
+    }
+
+    private User newUser(String username, Role role) {
+        User user = new User();
+        user.setUsername(username);
+        user.setPassword("password123");
+        user.setEmail(username + "@example.com");
+        user.setFullName(username);
+        user.setEnabled(true);
+        Role ref = new Role();
+        ref.setId(role.getId());
+        user.setRoles(List.of(ref));
+        return user;
+    }
+}
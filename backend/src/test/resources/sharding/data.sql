@@ -0,0 +1,15 @@
+-- 分库测试的初始数据：开启分库前就存在于主库的管理员（密码：admin），启动时由 ShardMaintenance 迁入分片
+
+INSERT INTO `sys_user` (`id`, `username`, `password`, `email`, `full_name`, `enabled`, `create_time`, `update_time`) VALUES (1, 'admin', '$2a$10$ItcO6sO0aIAV8sJU3NUwqu/Fwl9KqGzM8zdZhTMxv5ZDWBmYYHa62', 'admin@example.com', '系统管理员', 1, 1700000000000, 1700000000000);
+
+INSERT INTO `sys_role` (`id`, `name`, `code`, `description`, `create_time`, `update_time`) VALUES (1, '管理员', 'ADMIN', '系统管理员，拥有所有权限', 1700000000000, 1700000000000);
+INSERT INTO `sys_role` (`id`, `name`, `code`, `description`, `create_time`, `update_time`) VALUES (2, '普通用户', 'USER', '普通用户，拥有基本权限', 1700000000000, 1700000000000);
+
+INSERT INTO `sys_permission` (`id`, `code`, `name`, `description`, `type`, `path`, `icon`, `sort`, `parent_id`, `create_time`, `update_time`) VALUES (1, 'system', '系统管理', '系统管理菜单', 'menu', '/system', 'SettingOutlined', 1, 0, 1700000000000, 1700000000000);
+INSERT INTO `sys_permission` (`id`, `code`, `name`, `description`, `type`, `path`, `icon`, `sort`, `parent_id`, `create_time`, `update_time`) VALUES (2, 'system:user', '用户管理', '用户管理菜单', 'menu', '/user', 'UserOutlined', 1, 1, 1700000000000, 1700000000000);
+INSERT INTO `sys_permission` (`id`, `code`, `name`, `description`, `type`, `sort`, `parent_id`, `create_time`, `update_time`) VALUES (3, 'system:user:list', '用户列表', '查看用户列表', 'button', 1, 2, 1700000000000, 1700000000000);
+INSERT INTO `sys_permission` (`id`, `code`, `name`, `description`, `type`, `sort`, `parent_id`, `create_time`, `update_time`) VALUES (4, 'system:user:edit', '编辑用户', '编辑用户', 'button', 3, 2, 1700000000000, 1700000000000);
+
+INSERT INTO `sys_role_permission` (`role_id`, `permission_id`) VALUES (1, 1), (1, 2), (1, 3), (1, 4), (2, 3);
+
+INSERT INTO `sys_user_role` (`user_id`, `role_id`) VALUES (1, 1);
@@ -0,0 +1,67 @@
+-- 分库测试的分片结构（H2 MySQL 兼容模式），与 shard-schema.sql 相同的表和列，索引名加了表名前缀
+
+CREATE TABLE IF NOT EXISTS `sys_user` (
+  `id` bigint NOT NULL AUTO_INCREMENT,
+  `username` varchar(50) NOT NULL,
+  `password` varchar(100) NOT NULL,
+  `email` varchar(100) NOT NULL,
+  `full_name` varchar(100) DEFAULT NULL,
+  `enabled` tinyint NOT NULL DEFAULT 1,
+  `create_time` bigint NOT NULL DEFAULT 0,
+  `update_time` bigint NOT NULL DEFAULT 0,
+  `version` int NOT NULL DEFAULT 0,
+  `deleted` tinyint NOT NULL DEFAULT 0,
+  PRIMARY KEY (`id`),
+  UNIQUE KEY `uk_user_username` (`username`),
+  UNIQUE KEY `uk_user_email` (`email`)
+);
+
+CREATE TABLE IF NOT EXISTS `sys_user_role` (
+  `id` bigint NOT NULL AUTO_INCREMENT,
+  `user_id` bigint NOT NULL,
+  `role_id` bigint NOT NULL,
+  PRIMARY KEY (`id`),
+  UNIQUE KEY `uk_user_role` (`user_id`,`role_id`),
+  KEY `idx_user_role_role_id` (`role_id`)
+);
+
+CREATE TABLE IF NOT EXISTS `sys_role` (
+  `id` bigint NOT NULL AUTO_INCREMENT,
+  `name` varchar(50) NOT NULL,
+  `code` varchar(50) NOT NULL,
+  `description` varchar(255) DEFAULT NULL,
+  `create_time` bigint NOT NULL DEFAULT 0,
+  `update_time` bigint NOT NULL DEFAULT 0,
+  `version` int NOT NULL DEFAULT 0,
+  `deleted` tinyint NOT NULL DEFAULT 0,
+  PRIMARY KEY (`id`),
+  UNIQUE KEY `uk_role_code` (`code`)
+);
+
+CREATE TABLE IF NOT EXISTS `sys_permission` (
+  `id` bigint NOT NULL AUTO_INCREMENT,
+  `code` varchar(100) NOT NULL,
+  `name` varchar(50) NOT NULL,
+  `description` varchar(255) DEFAULT NULL,
+  `type` varchar(20) NOT NULL,
+  `path` varchar(255) DEFAULT NULL,
+  `component` varchar(255) DEFAULT NULL,
+  `icon` varchar(50) DEFAULT NULL,
+  `sort` int DEFAULT 0,
+  `parent_id` bigint DEFAULT 0,
+  `create_time` bigint NOT NULL DEFAULT 0,
+  `update_time` bigint NOT NULL DEFAULT 0,
+  `version` int NOT NULL DEFAULT 0,
+  `deleted` tinyint NOT NULL DEFAULT 0,
+  PRIMARY KEY (`id`),
+  UNIQUE KEY `uk_permission_code` (`code`)
+);
+
+CREATE TABLE IF NOT EXISTS `sys_role_permission` (
+  `id` bigint NOT NULL AUTO_INCREMENT,
+  `role_id` bigint NOT NULL,
+  `permission_id` bigint NOT NULL,
+  PRIMARY KEY (`id`),
+  UNIQUE KEY `uk_role_permission` (`role_id`,`permission_id`),
+  KEY `idx_role_permission_permission_id` (`permission_id`)
+);
@@ -5,6 +5,7 @@ import zhCN from 'antd/locale/zh_CN';
 import { routes } from './router';
 import { useAuthStore } from './store/authStore';
 import { initMessage } from './utils/message';
+import { subscribeAuthorizationEvents } from './api/events';
 
 const App: React.FC = () => {
   const element = useRoutes(routes);
@@ -17,6 +18,16 @@ const App: React.FC = () => {
     }
   }, [token, fetchCurrentUser]);
 
+  useEffect(() => {
+    // 角色、权限变更时由服务端推送通知，收到后重新获取权限和菜单
+    if (!token) {
+      return;
+    }
+    return subscribeAuthorizationEvents(token, () => {
+      fetchCurrentUser();
+    });
+  }, [token, fetchCurrentUser]);
+
   return (
     <ConfigProvider
       locale={zhCN}
@@ -1,5 +1,5 @@
 import request from './request';
-import { ApiResponse, Permission, User } from '@/types';
+import { ApiResponse, Bootstrap, Permission, User } from '@/types';
 
 // 登录接口
 export const login = (data: {
@@ -19,15 +19,29 @@ export const register = (data: {
   return request.post<ApiResponse<User>>('/auth/register', data);
 };
 
+// 检查用户名、邮箱是否可用（只返回传入的项）
+export const checkAvailability = (params: {
+  username?: string;
+  email?: string;
+}): Promise<ApiResponse<{ username?: boolean; email?: boolean }>> => {
+  return request.get<ApiResponse<{ username?: boolean; email?: boolean }>>('/auth/availability', { params });
+};
+
 // 获取当前用户信息
 export const getCurrentUser = (): Promise<ApiResponse<{ user: User; permissions: Permission[] }>> => {
   return request.get<ApiResponse<{ user: User; permissions: Permission[] }>>('/auth/me');
 };
 
+// 获取前端启动数据（当前用户、权限、菜单树、角色列表）
+export const getBootstrap = (): Promise<ApiResponse<Bootstrap>> => {
+  return request.get<ApiResponse<Bootstrap>>('/auth/bootstrap');
+};
+
 // 更新当前用户信息
 export const updateCurrentUser = (data: {
   email: string;
   fullName?: string;
+  version?: number;
 }): Promise<User> => {
   return request.put<User>('/auth/me', data);
 };
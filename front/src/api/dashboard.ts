@@ -0,0 +1,14 @@
+import request from './request';
+
+export interface DashboardStats {
+  users: { total: number; enabled: number; disabled: number };
+  roles: { total: number; users: { roleId: number; name: string; users: number }[] };
+  permissions: { total: number; [type: string]: number };
+  registrations: { date: string; count: number }[];
+  reconciledAt: number;
+}
+
+// 获取仪表盘统计
+export const getDashboardStats = (days = 30): Promise<DashboardStats> => {
+  return request.get<DashboardStats>('/dashboard/stats', { params: { days } });
+};
@@ -0,0 +1,90 @@
+// 授权变更推送（Server-Sent Events）
+// EventSource 不能携带 Authorization 请求头，这里用 fetch 读取事件流，断线后按服务端建议的间隔重连
+
+interface ServerEvent {
+  event: string;
+  data: string;
+}
+
+const DEFAULT_RETRY = 5000;
+
+// 订阅当前用户的授权变更，重连成功时也回调一次（断线期间的事件不会补发）；返回取消订阅函数
+export const subscribeAuthorizationEvents = (token: string, onChange: () => void): (() => void) => {
+  const controller = new AbortController();
+  let retry = DEFAULT_RETRY;
+  let connectedBefore = false;
+  let stopped = false;
+
+  const dispatch = (event: ServerEvent) => {
+    if (event.event === 'connected') {
+      if (connectedBefore) {
+        onChange();
+      }
+      connectedBefore = true;
+    } else if (event.event === 'authorization') {
+      onChange();
+    }
+  };
+
+  const connect = async () => {
+    while (!stopped) {
+      try {
+        const response = await fetch('/api/auth/events', {
+          headers: { Authorization: `Bearer ${token}`, Accept: 'text/event-stream' },
+          signal: controller.signal,
+        });
+        if (response.status === 401 || response.status === 403) {
+          // 登录已失效，由其他请求触发登出
+          return;
+        }
+        if (!response.ok || !response.body) {
+          throw new Error(`推送连接失败: ${response.status}`);
+        }
+        const reader = response.body.getReader();
+        const decoder = new TextDecoder();
+        let buffer = '';
+        let current: ServerEvent = { event: 'message', data: '' };
+        for (;;) {
+          const { value, done } = await reader.read();
+          if (done) {
+            break;
+          }
+          buffer += decoder.decode(value, { stream: true });
+          let newline = buffer.indexOf('\n');
+          while (newline >= 0) {
+            const line = buffer.slice(0, newline).replace(/\r$/, '');
+            buffer = buffer.slice(newline + 1);
+            if (line === '') {
+              dispatch(current);
+              current = { event: 'message', data: '' };
+            } else if (!line.startsWith(':')) {
+              const colon = line.indexOf(':');
+              const field = colon < 0 ? line : line.slice(0, colon);
+              const fieldValue = colon < 0 ? '' : line.slice(colon + 1).replace(/^ /, '');
+              if (field === 'event') {
+                current.event = fieldValue;
+              } else if (field === 'data') {
+                current.data = current.data ? `${current.data}\n${fieldValue}` : fieldValue;
+              } else if (field === 'retry' && /^\d+$/.test(fieldValue)) {
+                retry = Number(fieldValue);
+              }
+            }
+            newline = buffer.indexOf('\n');
+          }
+        }
+      } catch (error) {
+        if (stopped) {
+          return;
+        }
+        console.warn('授权变更推送连接中断:', error);
+      }
+      await new Promise((resolve) => setTimeout(resolve, retry));
+    }
+  };
+
+  connect();
+  return () => {
+    stopped = true;
+    controller.abort();
+  };
+};
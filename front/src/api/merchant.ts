@@ -7,6 +7,10 @@ export const getMerchantList = (params: {
   size: number;
   name?: string;
   code?: string;
+  status?: 'active' | 'inactive';
+  businessType?: string;
+  lastId?: number; // 传入上一页最后一条的 id 时使用键集分页
+  searchCount?: boolean;
 }): Promise<PageResponse<Merchant>> => {
   return request.get<PageResponse<Merchant>>('/merchants', { params });
 };
@@ -35,3 +39,13 @@ export const deleteMerchant = (id: number): Promise<boolean> => {
 export const updateMerchantStatus = (id: number, status: 'active' | 'inactive'): Promise<boolean> => {
   return request.put<boolean>(`/merchants/${id}/status`, { status });
 };
+
+// 批量更新商户状态，返回实际修改的数量
+export const updateMerchantStatusBatch = (ids: number[], status: 'active' | 'inactive'): Promise<number> => {
+  return request.put<number>('/merchants/status', { ids, status });
+};
+
+// 按编码查询商户
+export const getMerchantByCode = (code: string): Promise<Merchant> => {
+  return request.get<Merchant>(`/merchants/code/${encodeURIComponent(code)}`);
+};
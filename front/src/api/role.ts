@@ -1,5 +1,5 @@
 import request from './request';
-import { PageResponse, Role } from '@/types';
+import { PageResponse, PermissionMatrix, Role, RoleImpact } from '@/types';
 
 // 获取角色列表
 export const getRoleList = (params: {
@@ -21,6 +21,38 @@ export const getRoleDetail = (id: number): Promise<Role> => {
   return request.get<Role>(`/roles/${id}`);
 };
 
+// 缓存的角色权限矩阵，请求时带上版本号，未变化时直接复用
+let cachedMatrix: PermissionMatrix | null = null;
+
+// 获取全部角色的权限矩阵
+export const getPermissionMatrix = async (): Promise<PermissionMatrix> => {
+  const matrix = await request.get<PermissionMatrix>('/roles/matrix', {
+    params: { version: cachedMatrix?.version },
+  });
+  if (!matrix.modified && cachedMatrix) {
+    return cachedMatrix;
+  }
+  cachedMatrix = matrix;
+  return matrix;
+};
+
+// 从矩阵中解码角色拥有的权限ID
+export const decodePermissionIds = (matrix: PermissionMatrix, bits: string): number[] => {
+  const bytes = atob(bits);
+  const permissions = matrix.permissions || [];
+  const ids: number[] = [];
+  for (let i = 0; i < bytes.length; i++) {
+    const byte = bytes.charCodeAt(i);
+    for (let bit = 0; bit < 8; bit++) {
+      const column = permissions[i * 8 + bit];
+      if ((byte & (1 << bit)) !== 0 && column) {
+        ids.push(column.id);
+      }
+    }
+  }
+  return ids;
+};
+
 // 创建角色
 export const createRole = <T = Role>(data: Partial<Role>): Promise<T> => {
   return request.post<T>('/roles', data);
@@ -32,6 +64,11 @@ export const updateRole = <T = Role>(id: number, data: Partial<Role>): Promise<T
   return request.put<T>(`/roles/${id}`, data);
 };
 
+// 预估更新角色权限后受影响的用户，不做修改
+export const previewRoleImpact = (id: number, data: Partial<Role>): Promise<RoleImpact> => {
+  return request.post<RoleImpact>(`/roles/${id}/impact`, data);
+};
+
 // 删除角色
 export const deleteRole = (id: number): Promise<boolean> => {
   return request.delete<boolean>(`/roles/${id}`);
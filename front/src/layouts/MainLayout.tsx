@@ -22,7 +22,7 @@ const MainLayout: React.FC = () => {
   const location = useLocation();
   const { token: { colorBgContainer } } = theme.useToken();
 
-  const { user, permissions, logout } = useAuthStore();
+  const { user, menus, logout } = useAuthStore();
 
   // 移除重复的fetchCurrentUser调用，该逻辑已在App.tsx中处理
 
@@ -32,23 +32,17 @@ const MainLayout: React.FC = () => {
   }, [location.pathname]);
 
   useEffect(() => {
-    // 构建菜单项
-    if (permissions && permissions.length > 0) {
-      const menuPermissions = permissions.filter(
-        (p: Permission) => p.type === 'menu'
-      );
-
-      // 构建菜单树
-      const menuTree = buildMenuTree(menuPermissions);
-      setMenuItems(menuTree);
+    // 菜单树随启动数据（/auth/bootstrap）返回，已按 sort 排序
+    if (menus && menus.length > 0) {
+      setMenuItems(menus.map((menu) => buildMenuItem(menu)));
 
       // 设置默认展开的菜单项
-      const defaultOpenKeys = menuPermissions
-        .filter(p => p.parentId === 0 && p.path)
-        .map(p => p.path || String(p.id));
+      const defaultOpenKeys = menus
+        .filter((menu) => menu.path)
+        .map((menu) => menu.path || String(menu.id));
       setOpenKeys(defaultOpenKeys);
     }
-  }, [permissions]);
+  }, [menus]);
 
   // 处理菜单展开/收起
   const handleOpenChange = (keys: string[]) => {
@@ -71,32 +65,24 @@ const MainLayout: React.FC = () => {
     return Icon ? React.createElement(Icon) : null;
   };
 
-  // 构建菜单树
-  const buildMenuTree = (menuList: Permission[]) => {
-    // 顶级菜单
-    const rootMenus = menuList.filter((menu) => menu.parentId === 0);
-
-    // 递归构建子菜单
-    const buildChildren = (menu: Permission): any => {
-      const children = menuList.filter((item) => item.parentId === menu.id);
-
-      if (children.length > 0) {
-        return {
-          key: menu.path || String(menu.id),
-          icon: menu.icon ? getIconComponent(menu.icon) : null,
-          label: menu.name,
-          children: children.map((child) => buildChildren(child)),
-        };
-      }
+  // 菜单树节点转换为菜单项
+  const buildMenuItem = (menu: Permission): any => {
+    const children = menu.children || [];
 
+    if (children.length > 0) {
       return {
         key: menu.path || String(menu.id),
         icon: menu.icon ? getIconComponent(menu.icon) : null,
-        label: <Link to={menu.path || '/'}>{menu.name}</Link>,
+        label: menu.name,
+        children: children.map((child) => buildMenuItem(child)),
       };
-    };
+    }
 
-    return rootMenus.map((menu) => buildChildren(menu));
+    return {
+      key: menu.path || String(menu.id),
+      icon: menu.icon ? getIconComponent(menu.icon) : null,
+      label: <Link to={menu.path || '/'}>{menu.name}</Link>,
+    };
   };
 
   // 处理登出
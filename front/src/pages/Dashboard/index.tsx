@@ -1,10 +1,19 @@
-import React from 'react';
+import React, { useEffect, useState } from 'react';
 import { Card, Col, Row, Statistic } from 'antd';
 import { UserOutlined, TeamOutlined, KeyOutlined } from '@ant-design/icons';
 import { useAuthStore } from '../../store/authStore';
+import { getDashboardStats, DashboardStats } from '../../api/dashboard';
 
 const Dashboard: React.FC = () => {
   const { user, permissions } = useAuthStore();
+  const [stats, setStats] = useState<DashboardStats>();
+
+  useEffect(() => {
+    getDashboardStats(7).then(setStats).catch(() => undefined);
+  }, []);
+
+  // 最近7天注册数
+  const recentRegistrations = stats?.registrations.reduce((sum, item) => sum + item.count, 0) ?? 0;
 
   // 统计按钮权限数量
   const buttonPermissions = permissions.filter(p => p.type === 'button').length;
@@ -46,6 +55,31 @@ const Dashboard: React.FC = () => {
         </Col>
       </Row>
 
+      {stats && (
+        <Row gutter={16} style={{ marginTop: 24 }}>
+          <Col span={6}>
+            <Card>
+              <Statistic title="用户总数" value={stats.users.total} suffix={`/ 启用 ${stats.users.enabled}`} />
+            </Card>
+          </Col>
+          <Col span={6}>
+            <Card>
+              <Statistic title="近7天注册" value={recentRegistrations} />
+            </Card>
+          </Col>
+          <Col span={6}>
+            <Card>
+              <Statistic title="角色数" value={stats.roles.total} />
+            </Card>
+          </Col>
+          <Col span={6}>
+            <Card>
+              <Statistic title="权限数" value={stats.permissions.total} />
+            </Card>
+          </Col>
+        </Row>
+      )}
+
       <Card style={{ marginTop: 24 }}>
         <h2>系统说明</h2>
         <p>这是一个基于React 18和Antd UI组件的权限管理系统，具有以下特点：</p>
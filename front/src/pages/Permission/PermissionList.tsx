@@ -75,7 +75,7 @@ const PermissionList: React.FC = () => {
 
       if (editingPermission) {
         // 编辑权限
-        await updatePermission(editingPermission.id, values);
+        await updatePermission(editingPermission.id, { ...values, version: editingPermission.version });
         message.success('更新成功');
       } else {
         // 新增权限
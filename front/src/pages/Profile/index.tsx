@@ -29,6 +29,8 @@ const Profile: React.FC = () => {
       await updateCurrentUser({
         email: values.email,
         fullName: values.fullName,
+        // 加载时的版本号，期间被管理员修改过时返回冲突而不是覆盖
+        version: user?.version,
       });
       message.success('个人信息更新成功');
       // 重新获取用户信息
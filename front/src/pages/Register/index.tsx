@@ -2,7 +2,7 @@ import React from 'react';
 import { Button, Card, Form, Input, message } from 'antd';
 import { LockOutlined, UserOutlined, MailOutlined, UserAddOutlined } from '@ant-design/icons';
 import { useNavigate, Link } from 'react-router-dom';
-import { register } from '../../api/auth';
+import { checkAvailability, register } from '../../api/auth';
 import styles from './index.module.css';
 
 interface RegisterFormValues {
@@ -13,6 +13,26 @@ interface RegisterFormValues {
   fullName?: string;
 }
 
+// 失焦时检查是否已被占用，请求失败时不阻止提交（以注册接口结果为准）
+const availabilityRule = (field: 'username' | 'email', message: string) => ({
+  validateTrigger: 'onBlur',
+  async validator(_: unknown, value?: string) {
+    if (!value) {
+      return;
+    }
+    let available = true;
+    try {
+      const response = await checkAvailability({ [field]: value });
+      available = response.data?.[field] !== false;
+    } catch {
+      return;
+    }
+    if (!available) {
+      throw new Error(message);
+    }
+  },
+});
+
 const Register: React.FC = () => {
   const navigate = useNavigate();
   const [loading, setLoading] = React.useState(false);
@@ -50,8 +70,11 @@ const Register: React.FC = () => {
             name="username"
             rules={[
               { required: true, message: '请输入用户名!' },
-              { min: 3, max: 20, message: '用户名长度必须在3-20之间!' }
+              { min: 3, max: 20, message: '用户名长度必须在3-20之间!' },
+              availabilityRule('username', '用户名已存在!')
             ]}
+            validateTrigger={['onChange', 'onBlur']}
+            validateFirst
           >
             <Input
               prefix={<UserOutlined />}
@@ -64,8 +87,11 @@ const Register: React.FC = () => {
             name="email"
             rules={[
               { required: true, message: '请输入邮箱!' },
-              { type: 'email', message: '请输入有效的邮箱地址!' }
+              { type: 'email', message: '请输入有效的邮箱地址!' },
+              availabilityRule('email', '邮箱已存在!')
             ]}
+            validateTrigger={['onChange', 'onBlur']}
+            validateFirst
           >
             <Input
               prefix={<MailOutlined />}
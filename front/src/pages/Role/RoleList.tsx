@@ -1,8 +1,17 @@
 import React, { useEffect, useState } from 'react';
 import { Button, Card, Form, Input, Modal, Space, Table, Tree, message } from 'antd';
 import { DeleteOutlined, EditOutlined, PlusOutlined, SearchOutlined } from '@ant-design/icons';
-import { Permission, Role } from '../../types';
-import { createRole, deleteRole, getRoleDetail, getRoleList, updateRole } from '../../api/role';
+import { Permission, PermissionMatrix, Role, RoleImpact } from '../../types';
+import {
+  createRole,
+  decodePermissionIds,
+  deleteRole,
+  getPermissionMatrix,
+  getRoleDetail,
+  getRoleList,
+  previewRoleImpact,
+  updateRole,
+} from '../../api/role';
 import { getPermissionTree } from '../../api/permission';
 import PermissionButton from '../../components/Permission/PermissionButton';
 import { useAuthStore } from '../../store/authStore';
@@ -10,6 +19,7 @@ import { formatTimestamp } from '../../utils';
 
 const RoleList: React.FC = () => {
   const hasPermission = useAuthStore((state) => state.hasPermission);
+  const fetchCurrentUser = useAuthStore((state) => state.fetchCurrentUser);
   const [loading, setLoading] = useState(false);
   const [roleList, setRoleList] = useState<Role[]>([]);
   const [pagination, setPagination] = useState({
@@ -24,6 +34,7 @@ const RoleList: React.FC = () => {
   const [editingRole, setEditingRole] = useState<Role | null>(null);
   const [permissionTree, setPermissionTree] = useState<Permission[]>([]);
   const [selectedPermissions, setSelectedPermissions] = useState<number[]>([]);
+  const [matrix, setMatrix] = useState<PermissionMatrix | null>(null);
 
   // 检查用户是否有任何操作权限（编辑或删除）
   const hasAnyActionPermission = (): boolean => {
@@ -59,9 +70,22 @@ const RoleList: React.FC = () => {
     }
   };
 
+  // 获取角色权限矩阵（版本未变化时复用缓存），返回最新矩阵
+  const fetchMatrix = async (): Promise<PermissionMatrix | null> => {
+    try {
+      const latest = await getPermissionMatrix();
+      setMatrix(latest);
+      return latest;
+    } catch (error) {
+      console.error('获取角色权限矩阵失败:', error);
+      return null;
+    }
+  };
+
   useEffect(() => {
     fetchRoleList();
     fetchPermissionTree();
+    fetchMatrix();
   }, []);
 
   // 处理搜索
@@ -89,10 +113,22 @@ const RoleList: React.FC = () => {
     setModalVisible(true);
   };
 
-  // 打开编辑角色模态框
-  const handleEdit = async (id: number) => {
+  // 打开编辑角色模态框：优先从权限矩阵取已分配的权限，矩阵中没有该角色时再请求角色详情
+  const handleEdit = async (record: Role) => {
+    const id = record.id;
     try {
       setLoading(true);
+      const latest = await fetchMatrix();
+      const row = latest?.roles?.find(r => r.id === id);
+      if (latest && row) {
+        setModalTitle('编辑角色');
+        setEditingRole(record);
+        roleForm.setFieldsValue(record);
+        setSelectedPermissions(decodePermissionIds(latest, row.bits));
+        setModalVisible(true);
+        return;
+      }
+
       console.log('获取角色详情，ID:', id);
       const role = await getRoleDetail(id);
       console.log('获取到的角色详情:', role);
@@ -137,12 +173,47 @@ const RoleList: React.FC = () => {
     try {
       await deleteRole(id);
       message.success('删除成功');
+      // 刷新启动数据中的角色列表（用户管理页的角色选项）
+      fetchCurrentUser();
+      fetchMatrix();
       fetchRoleList(pagination.current, pagination.pageSize, searchForm.getFieldValue('name'));
     } catch (error) {
       console.error('删除角色失败:', error);
     }
   };
 
+  // 权限变化会影响已有用户时先确认，预估失败时不阻止保存
+  const confirmImpact = async (id: number, permissionIds: number[]): Promise<boolean> => {
+    let impact: RoleImpact;
+    try {
+      impact = await previewRoleImpact(id, { permissionIds });
+    } catch (error) {
+      console.error('预估角色修改影响失败:', error);
+      return true;
+    }
+    if (impact.affectedUsers === 0) {
+      return true;
+    }
+    const describe = (changes: RoleImpact['added']) =>
+      changes.filter((change) => change.users > 0).map((change) => `${change.name}（${change.users} 人）`).join('、');
+    const gained = describe(impact.added);
+    const lost = describe(impact.removed);
+    return new Promise((resolve) => {
+      Modal.confirm({
+        title: '确认修改角色权限',
+        content: (
+          <div>
+            <p>该角色共 {impact.roleUsers} 个用户，其中 {impact.affectedUsers} 个用户的权限将发生变化。</p>
+            {gained && <p>新获得：{gained}</p>}
+            {lost && <p>将失去：{lost}</p>}
+          </div>
+        ),
+        onOk: () => resolve(true),
+        onCancel: () => resolve(false),
+      });
+    });
+  };
+
   // 处理模态框确认
   const handleModalOk = async () => {
     try {
@@ -162,7 +233,10 @@ const RoleList: React.FC = () => {
       if (editingRole) {
         // 编辑角色
         console.log('更新角色ID:', editingRole.id);
-        await updateRole(editingRole.id, roleData);
+        if (!(await confirmImpact(editingRole.id, selectedPermissions))) {
+          return;
+        }
+        await updateRole(editingRole.id, { ...roleData, version: editingRole.version });
         message.success('更新成功');
       } else {
         // 新增角色
@@ -171,7 +245,10 @@ const RoleList: React.FC = () => {
       }
 
       setModalVisible(false);
+      // 刷新启动数据中的角色列表（用户管理页的角色选项）
+      fetchCurrentUser();
       fetchRoleList(pagination.current, pagination.pageSize, searchForm.getFieldValue('name'));
+      fetchMatrix();
     } catch (error) {
       console.error('保存角色失败:', error);
       message.error('保存角色失败，请稍后重试');
@@ -297,6 +374,11 @@ const RoleList: React.FC = () => {
         dataIndex: 'description',
         key: 'description',
       },
+      {
+        title: '权限数',
+        key: 'permissionCount',
+        render: (_: any, record: Role) => matrix?.roles?.find(r => r.id === record.id)?.count ?? '-',
+      },
       {
         title: '创建时间',
         dataIndex: 'createTime',
@@ -316,7 +398,7 @@ const RoleList: React.FC = () => {
               <Button
                 type="primary"
                 icon={<EditOutlined />}
-                onClick={() => handleEdit(record.id)}
+                onClick={() => handleEdit(record)}
               >
                 编辑
               </Button>
@@ -4,7 +4,6 @@ import { globalMessage } from '../../utils/message';
 import { DeleteOutlined, EditOutlined, PlusOutlined, SearchOutlined } from '@ant-design/icons';
 import { Role, User } from '../../types';
 import { createUser, deleteUser, getUserList, updateUser } from '../../api/user';
-import { getAllRoles } from '../../api/role';
 import PermissionButton from '../../components/Permission/PermissionButton';
 import { useAuthStore } from '../../store/authStore';
 import { formatTimestamp } from '../../utils';
@@ -24,7 +23,8 @@ const UserList: React.FC = () => {
   const [modalVisible, setModalVisible] = useState(false);
   const [modalTitle, setModalTitle] = useState('');
   const [editingUser, setEditingUser] = useState<User | null>(null);
-  const [roleList, setRoleList] = useState<Role[]>([]);
+  // 角色选项取自启动数据（/auth/bootstrap），角色管理页增删改后会刷新
+  const roleList = useAuthStore((state) => state.roles);
 
   // 检查用户是否有任何操作权限（编辑或删除）
   const hasAnyActionPermission = (): boolean => {
@@ -50,20 +50,8 @@ const UserList: React.FC = () => {
     }
   };
 
-  // 获取所有角色
-  const fetchRoleList = async () => {
-    try {
-      const roles = await getAllRoles();
-      setRoleList(roles);
-    } catch (error) {
-      console.error('获取角色列表失败:', error);
-      globalMessage.error('获取角色列表失败');
-    }
-  };
-
   useEffect(() => {
     fetchUserList();
-    fetchRoleList();
   }, []);
 
   // 处理搜索
@@ -113,12 +101,12 @@ const UserList: React.FC = () => {
   };
 
   // 处理用户状态切换
-  const handleStatusChange = async (id: number, enabled: boolean) => {
+  const handleStatusChange = async (id: number, enabled: boolean, version?: number) => {
     try {
       // 添加到加载状态
       setLoadingUserIds(prev => [...prev, id]);
 
-      await updateUser(id, { enabled });
+      await updateUser(id, { enabled, version });
       globalMessage.success(`用户状态${enabled ? '启用' : '禁用'}成功`);
       fetchUserList(pagination.current, pagination.pageSize, searchForm.getFieldValue('username'));
     } catch (error) {
@@ -143,7 +131,7 @@ const UserList: React.FC = () => {
 
       if (editingUser) {
         // 编辑用户
-        await updateUser(editingUser.id, userData);
+        await updateUser(editingUser.id, { ...userData, version: editingUser.version });
         globalMessage.success('更新成功');
       } else {
         // 新增用户
@@ -205,7 +193,7 @@ const UserList: React.FC = () => {
           <Switch
             checked={enabled}
             loading={loadingUserIds.includes(record.id)}
-            onChange={(checked) => handleStatusChange(record.id, checked)}
+            onChange={(checked) => handleStatusChange(record.id, checked, record.version)}
           />
         ),
       });
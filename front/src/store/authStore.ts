@@ -1,13 +1,15 @@
 import { create } from 'zustand';
 import { persist } from 'zustand/middleware';
-import { Permission, User } from '@/types';
-import { getCurrentUser, login } from '../api/auth';
+import { Permission, Role, User } from '@/types';
+import { getBootstrap, login } from '../api/auth';
 
 interface AuthState {
   token: string | null;
   user: User | null;
   permissions: Permission[];
   permissionCodes: string[];
+  menus: Permission[];
+  roles: Role[];
   isLoggedIn: boolean;
   isLoading: boolean; // 添加加载状态标志
   login: (username: string, password: string) => Promise<void>;
@@ -23,6 +25,8 @@ export const useAuthStore = create<AuthState>()(
       user: null,
       permissions: [],
       permissionCodes: [],
+      menus: [],
+      roles: [],
       isLoggedIn: false,
       isLoading: false,
 
@@ -60,6 +64,8 @@ export const useAuthStore = create<AuthState>()(
           user: null,
           permissions: [],
           permissionCodes: [],
+          menus: [],
+          roles: [],
           isLoggedIn: false,
         });
       },
@@ -74,14 +80,15 @@ export const useAuthStore = create<AuthState>()(
           // 设置加载状态
           set({ isLoading: true });
 
-          const response = await getCurrentUser();
+          // 启动数据一次请求取回
+          const response = await getBootstrap();
 
           // 检查响应是否成功
           if (!response.success) {
             throw new Error(response.message || '获取用户信息失败');
           }
 
-          const { user, permissions } = response.data;
+          const { user, permissions, menus, roles } = response.data;
 
           // 提取权限编码
           const permissionCodes = permissions.map((p: Permission) => p.code);
@@ -90,6 +97,8 @@ export const useAuthStore = create<AuthState>()(
             user,
             permissions,
             permissionCodes,
+            menus,
+            roles,
             isLoggedIn: true,
             isLoading: false, // 重置加载状态
           });
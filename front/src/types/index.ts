@@ -8,6 +8,7 @@ export interface User {
   roles?: Role[];
   createTime?: number;
   updateTime?: number;
+  version?: number; // 乐观锁版本号，更新时回传
 }
 
 // 角色类型
@@ -20,6 +21,7 @@ export interface Role {
   permissionIds?: number[]; // 添加permissionIds字段，用于接收后端返回的权限ID数组
   createTime?: number;
   updateTime?: number;
+  version?: number; // 乐观锁版本号，更新时回传
 }
 
 // 权限类型
@@ -37,6 +39,47 @@ export interface Permission {
   children?: Permission[];
   createTime?: number;
   updateTime?: number;
+  version?: number; // 乐观锁版本号，更新时回传
+}
+
+// 角色 × 权限矩阵
+export interface PermissionMatrix {
+  version: string;
+  modified: boolean; // false 表示与请求中的版本相同，未返回内容
+  permissions?: PermissionMatrixColumn[]; // 下标即权限序号
+  roles?: PermissionMatrixRow[];
+}
+
+export interface PermissionMatrixColumn {
+  id: number;
+  code: string;
+  name: string;
+  type: 'menu' | 'button';
+  parentId: number;
+}
+
+export interface PermissionMatrixRow {
+  id: number;
+  code: string;
+  name: string;
+  count: number; // 拥有的权限数
+  bits: string; // 按权限序号排列的位图（低位在前），Base64 编码
+}
+
+// 修改角色权限的影响预估
+export interface RoleImpact {
+  roleId: number;
+  roleUsers: number; // 持有该角色的用户数
+  added: RoleImpactChange[];
+  removed: RoleImpactChange[];
+  affectedUsers: number; // 权限有变化的用户数（去重）
+}
+
+export interface RoleImpactChange {
+  permissionId: number;
+  code: string;
+  name: string;
+  users: number; // 新获得或失去该权限的用户数
 }
 
 // 商户类型
@@ -55,6 +98,14 @@ export interface Merchant {
   updateTime?: number;
 }
 
+// 前端启动数据
+export interface Bootstrap {
+  user: User;
+  permissions: Permission[];
+  menus: Permission[]; // 当前用户的菜单树
+  roles: Role[];
+}
+
 // 分页响应类型
 export interface PageResponse<T> {
   records: T[];